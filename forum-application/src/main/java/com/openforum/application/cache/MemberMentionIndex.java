@@ -0,0 +1,138 @@
+package com.openforum.application.cache;
+
+import com.openforum.domain.repository.MemberSuggestionRepository;
+import com.openforum.domain.valueobject.MemberSuggestion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Optional per-tenant in-memory prefix index of member names and emails for
+ * @mention autocomplete.
+ * <p>
+ * Off by default: the expression indexes already answer a prefix with a short
+ * range scan, and holding every member of every tenant costs memory. When
+ * enabled, a tenant's members are loaded on first use into two arrays sorted by
+ * lowercased name and email; a prefix is the contiguous run found by binary
+ * search in each, with the same limits as the database path. New members and renames
+ * show up when the tenant is reloaded after the TTL.
+ */
+@Component
+public class MemberMentionIndex {
+
+    private static final Comparator<MemberSuggestion> BY_NAME = Comparator
+            .comparing((MemberSuggestion member) -> key(member.name()))
+            .thenComparing(MemberSuggestion::id);
+
+    private final MemberSuggestionRepository memberSuggestionRepository;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final ConcurrentMap<String, TenantMembers> tenants = new ConcurrentHashMap<>();
+
+    public MemberMentionIndex(MemberSuggestionRepository memberSuggestionRepository,
+            @Value("${app.members.mention-index.enabled:false}") boolean enabled,
+            @Value("${app.members.mention-index.ttl:PT10M}") Duration ttl) {
+        this.memberSuggestionRepository = memberSuggestionRepository;
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Up to {@code limit} members whose name or email starts with
+     * {@code prefix} (case-insensitive), by name.
+     */
+    public List<MemberSuggestion> complete(String tenantId, String prefix, int limit) {
+        if (!enabled) {
+            return memberSuggestionRepository.findByPrefix(tenantId, prefix, limit);
+        }
+        return members(tenantId).complete(prefix.toLowerCase(Locale.ROOT), limit);
+    }
+
+    public void evict(String tenantId) {
+        tenants.remove(tenantId);
+    }
+
+    private TenantMembers members(String tenantId) {
+        TenantMembers cached = tenants.get(tenantId);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos < ttlNanos) {
+            return cached;
+        }
+        TenantMembers loaded = new TenantMembers(memberSuggestionRepository.findAll(tenantId), System.nanoTime());
+        tenants.put(tenantId, loaded);
+        return loaded;
+    }
+
+    private static String key(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static final class TenantMembers {
+        private final KeyIndex byName;
+        private final KeyIndex byEmail;
+        private final long loadedAtNanos;
+
+        TenantMembers(List<MemberSuggestion> members, long loadedAtNanos) {
+            this.byName = new KeyIndex(members, MemberSuggestion::name);
+            this.byEmail = new KeyIndex(members, MemberSuggestion::email);
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        List<MemberSuggestion> complete(String prefix, int limit) {
+            if (limit <= 0) {
+                return List.of();
+            }
+            Map<UUID, MemberSuggestion> matches = new LinkedHashMap<>();
+            byName.collect(prefix, limit, matches);
+            byEmail.collect(prefix, limit, matches);
+            List<MemberSuggestion> merged = new ArrayList<>(matches.values());
+            merged.sort(BY_NAME);
+            return merged.size() > limit ? merged.subList(0, limit) : merged;
+        }
+    }
+
+    /**
+     * Members sorted by one lowercased field; members without it are left out.
+     */
+    private static final class KeyIndex {
+        private final String[] keys;
+        private final MemberSuggestion[] members;
+
+        KeyIndex(List<MemberSuggestion> all, Function<MemberSuggestion, String> field) {
+            MemberSuggestion[] sorted = all.stream()
+                    .filter(member -> field.apply(member) != null)
+                    .sorted(Comparator.comparing((MemberSuggestion member) -> key(field.apply(member)))
+                            .thenComparing(MemberSuggestion::id))
+                    .toArray(MemberSuggestion[]::new);
+            this.members = sorted;
+            this.keys = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                keys[i] = key(field.apply(sorted[i]));
+            }
+        }
+
+        void collect(String prefix, int limit, Map<UUID, MemberSuggestion> into) {
+            int found = Arrays.binarySearch(keys, prefix);
+            int from = found >= 0 ? found : -found - 1;
+            // Equal keys can sit on either side of a binary search hit
+            while (from > 0 && keys[from - 1].equals(prefix)) {
+                from--;
+            }
+            for (int i = from, taken = 0; i < keys.length && taken < limit && keys[i].startsWith(prefix);
+                    i++, taken++) {
+                into.putIfAbsent(members[i].id(), members[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.openforum.application.cache;
+
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Per-tenant cache of search result pages, keyed by the normalized query with
+ * its filters and cursor, so repeated searches skip the index.
+ * <p>
+ * Each tenant has a generation that {@link #invalidate} bumps when one of its
+ * threads or posts is written; entries from an older generation are never
+ * served. Invalidations arrive from the event stream, so a write is visible to
+ * cached searches after its event is consumed, and in any case after the TTL.
+ * A TTL of zero disables the cache.
+ * <p>
+ * Exports {@code openforum.search.cache.requests} (tagged {@code result=hit}
+ * or {@code miss}) and {@code openforum.search.cache.saved}, the index time the
+ * hits would have cost.
+ */
+@Component
+public class SearchResultCache {
+
+    private final long ttlNanos;
+    private final int maxEntriesPerTenant;
+    private final LongSupplier nanoTime;
+    private final ConcurrentMap<String, TenantResults> tenants = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter saved;
+
+    @Autowired
+    public SearchResultCache(MeterRegistry meterRegistry,
+            @Value("${app.search.result-cache.ttl:PT30S}") Duration ttl,
+            @Value("${app.search.result-cache.max-entries-per-tenant:1000}") int maxEntriesPerTenant) {
+        this(meterRegistry, ttl, maxEntriesPerTenant, System::nanoTime);
+    }
+
+    SearchResultCache(MeterRegistry meterRegistry, Duration ttl, int maxEntriesPerTenant, LongSupplier nanoTime) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntriesPerTenant = maxEntriesPerTenant;
+        this.nanoTime = nanoTime;
+        this.hits = meterRegistry.counter("openforum.search.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("openforum.search.cache.requests", "result", "miss");
+        this.saved = Counter.builder("openforum.search.cache.saved")
+                .baseUnit("seconds")
+                .description("Index time avoided by cache hits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached hits for {@code query}, or those returned by {@code loader},
+     * which are then cached unless the tenant was written meanwhile.
+     */
+    public List<SearchHit> get(SearchQuery query, Supplier<List<SearchHit>> loader) {
+        if (ttlNanos <= 0) {
+            return loader.get();
+        }
+        TenantResults results = tenants.computeIfAbsent(query.tenantId(), id -> new TenantResults());
+        long generation = results.generation.get();
+        Entry cached = results.entries.get(query);
+        if (cached != null && results.isCurrent(cached, generation, nanoTime.getAsLong(), ttlNanos)) {
+            hits.increment();
+            saved.increment(cached.loadNanos() / 1e9);
+            return cached.hits();
+        }
+
+        misses.increment();
+        long started = nanoTime.getAsLong();
+        List<SearchHit> loaded = List.copyOf(loader.get());
+        long now = nanoTime.getAsLong();
+        if (results.generation.get() == generation && hasRoom(results, generation, now)) {
+            results.entries.put(query, new Entry(loaded, generation, now, now - started));
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the tenant's cached results, including any still being loaded.
+     */
+    public void invalidate(String tenantId) {
+        TenantResults results = tenants.get(tenantId);
+        if (results != null) {
+            results.generation.incrementAndGet();
+            results.entries.clear();
+        }
+    }
+
+    private boolean hasRoom(TenantResults results, long generation, long now) {
+        if (results.entries.size() < maxEntriesPerTenant) {
+            return true;
+        }
+        results.entries.values().removeIf(entry -> !results.isCurrent(entry, generation, now, ttlNanos));
+        return results.entries.size() < maxEntriesPerTenant;
+    }
+
+    private record Entry(List<SearchHit> hits, long generation, long storedAtNanos, long loadNanos) {
+    }
+
+    private static final class TenantResults {
+        private final AtomicLong generation = new AtomicLong();
+        private final ConcurrentMap<SearchQuery, Entry> entries = new ConcurrentHashMap<>();
+
+        boolean isCurrent(Entry entry, long generation, long now, long ttlNanos) {
+            return entry.generation() == generation && now - entry.storedAtNanos() < ttlNanos;
+        }
+    }
+}
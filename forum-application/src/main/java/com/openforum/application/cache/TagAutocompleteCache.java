@@ -0,0 +1,224 @@
+package com.openforum.application.cache;
+
+import com.openforum.domain.aggregate.Tag;
+import com.openforum.domain.repository.TagRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Per-tenant in-memory index of tag names for autocomplete, so keystrokes never
+ * reach the database.
+ * <p>
+ * A tenant's tags are loaded on first use into a name-sorted array; a prefix is
+ * the contiguous run found by binary search, and its best matches by usage count
+ * are picked in one pass over the run. New tags are added copy-on-write (rare);
+ * usage counts are updated in place. Changes made on other nodes show up when
+ * the tenant is reloaded after the TTL. A TTL of zero disables the index and
+ * queries the database on every call.
+ * <p>
+ * One caller loads a tenant at a time; others wait for that load, or keep
+ * reading the expired index while it is reloaded. The {@link #beforeLoad}
+ * action runs first, so usage counts buffered for the database are written
+ * before the reload would drop them from the index.
+ */
+@Component
+public class TagAutocompleteCache {
+
+    private final TagRepository tagRepository;
+    private final long ttlNanos;
+    private final ConcurrentMap<String, TenantTags> tenants = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<TenantTags>> loads = new ConcurrentHashMap<>();
+    private volatile Consumer<String> beforeLoad = tenantId -> {
+    };
+
+    public TagAutocompleteCache(TagRepository tagRepository,
+            @Value("${app.tags.autocomplete.ttl:PT10M}") Duration ttl) {
+        this.tagRepository = tagRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Tags whose names start with {@code prefix}, most used first, ties by name.
+     */
+    public List<Suggestion> complete(String tenantId, String prefix, int limit) {
+        if (ttlNanos <= 0) {
+            return tagRepository.findByNameStartingWith(tenantId, prefix, limit).stream()
+                    .map(Suggestion::from)
+                    .sorted(Comparator.comparingLong(Suggestion::usageCount).reversed())
+                    .toList();
+        }
+        return tags(tenantId).complete(prefix, limit);
+    }
+
+    /**
+     * The tenant's tag named {@code name}, if it exists.
+     */
+    public Optional<Suggestion> find(String tenantId, String name) {
+        if (ttlNanos <= 0) {
+            return tagRepository.findByName(tenantId, name).map(Suggestion::from);
+        }
+        TagEntry entry = tags(tenantId).byName.get(name);
+        return Optional.ofNullable(entry).map(TagEntry::toSuggestion);
+    }
+
+    /**
+     * Adds a newly created tag to its tenant's index, if loaded.
+     */
+    public void added(Tag tag) {
+        tenants.computeIfPresent(tag.getTenantId(), (id, tags) -> tags.with(tag));
+    }
+
+    /**
+     * Counts one use of a tag in its tenant's index, if loaded.
+     */
+    public void used(String tenantId, String name) {
+        TenantTags tags = tenants.get(tenantId);
+        if (tags != null) {
+            TagEntry entry = tags.byName.get(name);
+            if (entry != null) {
+                entry.usage.incrementAndGet();
+            }
+        }
+    }
+
+    public void evict(String tenantId) {
+        tenants.remove(tenantId);
+    }
+
+    /**
+     * Sets the action run with a tenant's id before each load of its tags.
+     */
+    public void beforeLoad(Consumer<String> action) {
+        this.beforeLoad = action;
+    }
+
+    private TenantTags tags(String tenantId) {
+        TenantTags cached = tenants.get(tenantId);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos < ttlNanos) {
+            return cached;
+        }
+        CompletableFuture<TenantTags> load = new CompletableFuture<>();
+        CompletableFuture<TenantTags> running = loads.putIfAbsent(tenantId, load);
+        if (running != null) {
+            return cached != null ? cached : await(running);
+        }
+        try {
+            beforeLoad.accept(tenantId);
+            TenantTags loaded = TenantTags.of(tagRepository.findByTenantId(tenantId), System.nanoTime());
+            tenants.put(tenantId, loaded);
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(tenantId, load);
+        }
+    }
+
+    private static TenantTags await(CompletableFuture<TenantTags> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public record Suggestion(UUID id, String name, long usageCount) {
+
+        static Suggestion from(Tag tag) {
+            return new Suggestion(tag.getId(), tag.getName(), tag.getUsageCount());
+        }
+    }
+
+    private record TagEntry(UUID id, String name, AtomicLong usage) {
+
+        Suggestion toSuggestion() {
+            return new Suggestion(id, name, usage.get());
+        }
+    }
+
+    private static final class TenantTags {
+        private final String[] names;
+        private final TagEntry[] entries;
+        private final Map<String, TagEntry> byName;
+        private final long loadedAtNanos;
+
+        private TenantTags(TagEntry[] entries, long loadedAtNanos) {
+            Arrays.sort(entries, Comparator.comparing(TagEntry::name));
+            this.entries = entries;
+            this.names = new String[entries.length];
+            this.byName = new HashMap<>(entries.length * 2);
+            for (int i = 0; i < entries.length; i++) {
+                names[i] = entries[i].name();
+                byName.put(entries[i].name(), entries[i]);
+            }
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        static TenantTags of(List<Tag> tags, long loadedAtNanos) {
+            TagEntry[] entries = tags.stream()
+                    .map(tag -> new TagEntry(tag.getId(), tag.getName(), new AtomicLong(tag.getUsageCount())))
+                    .toArray(TagEntry[]::new);
+            return new TenantTags(entries, loadedAtNanos);
+        }
+
+        TenantTags with(Tag tag) {
+            if (byName.containsKey(tag.getName())) {
+                return this;
+            }
+            TagEntry[] grown = Arrays.copyOf(entries, entries.length + 1);
+            grown[entries.length] = new TagEntry(tag.getId(), tag.getName(), new AtomicLong(tag.getUsageCount()));
+            return new TenantTags(grown, loadedAtNanos);
+        }
+
+        List<Suggestion> complete(String prefix, int limit) {
+            if (limit <= 0) {
+                return List.of();
+            }
+            int found = Arrays.binarySearch(names, prefix);
+            int from = found >= 0 ? found : -found - 1;
+
+            // Best matches so far, most used first; scanning in name order settles ties by name
+            TagEntry[] best = new TagEntry[limit];
+            long[] bestUsage = new long[limit];
+            int size = 0;
+            for (int i = from; i < names.length && names[i].startsWith(prefix); i++) {
+                long usage = entries[i].usage().get();
+                if (size == limit && usage <= bestUsage[size - 1]) {
+                    continue;
+                }
+                int at = size < limit ? size++ : size - 1;
+                while (at > 0 && bestUsage[at - 1] < usage) {
+                    best[at] = best[at - 1];
+                    bestUsage[at] = bestUsage[at - 1];
+                    at--;
+                }
+                best[at] = entries[i];
+                bestUsage[at] = usage;
+            }
+
+            List<Suggestion> suggestions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                suggestions.add(new Suggestion(best[i].id(), best[i].name(), bestUsage[i]));
+            }
+            return suggestions;
+        }
+    }
+}
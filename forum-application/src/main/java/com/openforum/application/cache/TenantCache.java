@@ -0,0 +1,134 @@
+package com.openforum.application.cache;
+
+import com.openforum.application.event.TenantConfigChangedEvent;
+import com.openforum.domain.aggregate.Tenant;
+import com.openforum.domain.repository.TenantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for tenants, keyed by id with a secondary slug index.
+ * <p>
+ * Tenants change rarely but are read on almost every request, so entries are
+ * kept until the tenant's config is changed ({@link TenantConfigChangedEvent},
+ * evicted after commit) or until the TTL elapses. The TTL is only a safety net
+ * for invalidations that never arrive (e.g. a missed cross-node message); a TTL
+ * of zero disables caching entirely.
+ * <p>
+ * Each entry also memoizes typed views of the raw config map, so callers such as
+ * the AI config lookup parse the map once per tenant rather than once per request.
+ */
+@Component
+public class TenantCache {
+
+    private final TenantRepository tenantRepository;
+    private final long ttlNanos;
+
+    private final ConcurrentMap<String, Entry> entriesById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idsBySlug = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction; a load that raced with an eviction is not cached.
+    // Writes to both maps hold the monitor, so an entry and its slug are stored
+    // and removed together; reads stay lock-free.
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TenantCache(TenantRepository tenantRepository,
+            @Value("${app.tenant-cache.ttl:PT5M}") Duration ttl) {
+        this.tenantRepository = tenantRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Optional<Tenant> get(String tenantId) {
+        return entry(tenantId).map(Entry::tenant);
+    }
+
+    public Optional<Tenant> getBySlug(String slug) {
+        String tenantId = idsBySlug.get(slug);
+        if (tenantId != null) {
+            Entry cached = entriesById.get(tenantId);
+            if (cached != null && !cached.isExpired(ttlNanos) && cached.tenant().getSlug().equals(slug)) {
+                return Optional.of(cached.tenant());
+            }
+        }
+        long generation = evictions.get();
+        Optional<Tenant> loaded = tenantRepository.findBySlug(slug);
+        loaded.ifPresent(tenant -> put(tenant, generation));
+        return loaded;
+    }
+
+    /**
+     * Returns a typed view of the tenant's config, parsing it at most once per
+     * cached tenant. {@code type} is the memoization key, so each view type must
+     * always be built by the same parser.
+     */
+    public <T> Optional<T> view(String tenantId, Class<T> type, Function<Map<String, Object>, T> parser) {
+        return entry(tenantId).map(entry -> entry.view(type, parser));
+    }
+
+    public synchronized void evict(String tenantId) {
+        evictions.incrementAndGet();
+        Entry removed = entriesById.remove(tenantId);
+        if (removed != null) {
+            idsBySlug.remove(removed.tenant().getSlug(), tenantId);
+        }
+    }
+
+    public synchronized void evictAll() {
+        evictions.incrementAndGet();
+        entriesById.clear();
+        idsBySlug.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        evict(event.getTenantId());
+    }
+
+    private Optional<Entry> entry(String tenantId) {
+        Entry cached = entriesById.get(tenantId);
+        if (cached != null && !cached.isExpired(ttlNanos)) {
+            return Optional.of(cached);
+        }
+        long generation = evictions.get();
+        return tenantRepository.findById(tenantId)
+                .map(tenant -> put(tenant, generation));
+    }
+
+    private synchronized Entry put(Tenant tenant, long generation) {
+        Entry entry = new Entry(tenant, System.nanoTime());
+        if (ttlNanos <= 0 || evictions.get() != generation) {
+            return entry;
+        }
+        Entry replaced = entriesById.put(tenant.getId(), entry);
+        if (replaced != null && !replaced.tenant().getSlug().equals(tenant.getSlug())) {
+            idsBySlug.remove(replaced.tenant().getSlug(), tenant.getId());
+        }
+        idsBySlug.put(tenant.getSlug(), tenant.getId());
+        return entry;
+    }
+
+    private record Entry(Tenant tenant, long loadedAtNanos, ConcurrentMap<Class<?>, Object> views) {
+
+        Entry(Tenant tenant, long loadedAtNanos) {
+            this(tenant, loadedAtNanos, new ConcurrentHashMap<>());
+        }
+
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - loadedAtNanos >= ttlNanos;
+        }
+
+        <T> T view(Class<T> type, Function<Map<String, Object>, T> parser) {
+            return type.cast(views.computeIfAbsent(type, key -> parser.apply(tenant.getConfig())));
+        }
+    }
+}
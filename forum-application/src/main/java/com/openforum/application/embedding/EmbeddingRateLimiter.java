@@ -0,0 +1,86 @@
+package com.openforum.application.embedding;
+
+import com.openforum.application.service.TenantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-tenant token bucket on texts sent to the embedding provider, so one busy
+ * or bulk-importing tenant cannot use up the provider quota of everyone else.
+ * A tenant may burst up to a minute's allowance, which refills continuously.
+ * <p>
+ * The allowance is {@code embedding.textsPerMinute} in the tenant config, or
+ * {@code app.embedding.rate-limit.texts-per-minute}. Buckets are per node.
+ */
+@Component
+public class EmbeddingRateLimiter {
+
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final TenantService tenantService;
+    private final int defaultTextsPerMinute;
+    private final LongSupplier nanoTime;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EmbeddingRateLimiter(TenantService tenantService,
+            @Value("${app.embedding.rate-limit.texts-per-minute:600}") int defaultTextsPerMinute) {
+        this(tenantService, defaultTextsPerMinute, System::nanoTime);
+    }
+
+    EmbeddingRateLimiter(TenantService tenantService, int defaultTextsPerMinute, LongSupplier nanoTime) {
+        this.tenantService = tenantService;
+        this.defaultTextsPerMinute = defaultTextsPerMinute;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Takes up to {@code requested} texts from the tenant's allowance.
+     *
+     * @return how many may be embedded now (0 to {@code requested})
+     */
+    public int acquire(String tenantId, int requested) {
+        int perMinute = tenantService.getConfigView(tenantId, Quota.class, Quota::from)
+                .map(Quota::textsPerMinute)
+                .filter(limit -> limit >= 0)
+                .orElse(defaultTextsPerMinute);
+        Bucket bucket = buckets.computeIfAbsent(tenantId, id -> new Bucket(perMinute, nanoTime.getAsLong()));
+        return bucket.take(requested, perMinute, nanoTime.getAsLong());
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        private synchronized int take(int requested, int perMinute, long now) {
+            tokens = Math.min(perMinute, tokens + (double) (now - refilledAt) * perMinute / NANOS_PER_MINUTE);
+            refilledAt = now;
+            int granted = (int) Math.min(requested, Math.floor(tokens));
+            tokens -= granted;
+            return granted;
+        }
+    }
+
+    /**
+     * A tenant's override, or -1 for the default.
+     */
+    public record Quota(int textsPerMinute) {
+
+        public static Quota from(Map<String, Object> tenantConfig) {
+            return new Quota(tenantConfig.get("embedding.textsPerMinute") instanceof Number number
+                    ? number.intValue()
+                    : -1);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.openforum.application.embedding;
+
+import com.openforum.domain.search.EmbeddingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Local, deterministic {@link EmbeddingProvider} for development and tests:
+ * each lowercased word is hashed to one signed component (the hashing trick)
+ * and the vector is normalised to unit length. Texts sharing words come out
+ * close, which is enough to exercise similarity search without a model or
+ * network access; it captures no meaning beyond word overlap.
+ * <p>
+ * Active only with {@code app.embedding.provider=hashing}: its vectors are
+ * useless for real similarity, so it is never picked by default.
+ */
+@Component
+@ConditionalOnProperty(name = "app.embedding.provider", havingValue = "hashing")
+public class HashingEmbeddingProvider implements EmbeddingProvider {
+
+    private final int dimensions;
+
+    public HashingEmbeddingProvider(@Value("${app.embedding.dimensions:1536}") int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public String model() {
+        return "hashing-" + dimensions;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            vectors.add(embedOne(text));
+        }
+        return vectors;
+    }
+
+    private float[] embedOne(String text) {
+        float[] vector = new float[dimensions];
+        if (text == null) {
+            return vector;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            int hash = mix(word.hashCode());
+            vector[Math.floorMod(hash, dimensions)] += (hash & 0x40000000) == 0 ? 1f : -1f;
+        }
+        double norm = 0;
+        for (float component : vector) {
+            norm += component * component;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Spreads String.hashCode's bits so similar words land in unrelated components.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,37 @@
+package com.openforum.application.event;
+
+import java.util.UUID;
+
+/**
+ * Published after a vote changes a post's score. Read models that rank posts by
+ * score (e.g. cached top-N lists) use it to refresh.
+ */
+public class PostVotedEvent {
+    private final UUID postId;
+    private final UUID threadId;
+    private final String tenantId;
+    private final int scoreDelta;
+
+    public PostVotedEvent(UUID postId, UUID threadId, String tenantId, int scoreDelta) {
+        this.postId = postId;
+        this.threadId = threadId;
+        this.tenantId = tenantId;
+        this.scoreDelta = scoreDelta;
+    }
+
+    public UUID getPostId() {
+        return postId;
+    }
+
+    public UUID getThreadId() {
+        return threadId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public int getScoreDelta() {
+        return scoreDelta;
+    }
+}
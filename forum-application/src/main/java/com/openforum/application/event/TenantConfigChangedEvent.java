@@ -0,0 +1,18 @@
+package com.openforum.application.event;
+
+/**
+ * Published when a tenant's configuration has been replaced. Listeners that
+ * hold derived tenant state (e.g. {@link com.openforum.application.cache.TenantCache})
+ * should drop it once the surrounding transaction commits.
+ */
+public class TenantConfigChangedEvent {
+    private final String tenantId;
+
+    public TenantConfigChangedEvent(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+}
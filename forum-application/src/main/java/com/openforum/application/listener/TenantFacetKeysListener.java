@@ -0,0 +1,31 @@
+package com.openforum.application.listener;
+
+import com.openforum.application.event.TenantConfigChangedEvent;
+import com.openforum.application.event.TenantCreatedEvent;
+import com.openforum.application.service.ThreadFacetService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Syncs a tenant's declared facet keys in the transaction that creates the
+ * tenant or changes its config, so the keys and their counts commit with it.
+ */
+@Component
+public class TenantFacetKeysListener {
+
+    private final ThreadFacetService threadFacetService;
+
+    public TenantFacetKeysListener(ThreadFacetService threadFacetService) {
+        this.threadFacetService = threadFacetService;
+    }
+
+    @EventListener
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        threadFacetService.syncKeys(event.getTenantId());
+    }
+
+    @EventListener
+    public void onTenantCreated(TenantCreatedEvent event) {
+        threadFacetService.syncKeys(event.getTenantId());
+    }
+}
@@ -0,0 +1,31 @@
+package com.openforum.application.listener;
+
+import com.openforum.application.event.TenantConfigChangedEvent;
+import com.openforum.application.event.TenantCreatedEvent;
+import com.openforum.application.service.ThreadMetadataSchemaService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Syncs a tenant's declared metadata keys in the transaction that creates the
+ * tenant or changes its config, so typed storage commits with it.
+ */
+@Component
+public class TenantMetadataSchemaListener {
+
+    private final ThreadMetadataSchemaService threadMetadataSchemaService;
+
+    public TenantMetadataSchemaListener(ThreadMetadataSchemaService threadMetadataSchemaService) {
+        this.threadMetadataSchemaService = threadMetadataSchemaService;
+    }
+
+    @EventListener
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        threadMetadataSchemaService.syncSchema(event.getTenantId());
+    }
+
+    @EventListener
+    public void onTenantCreated(TenantCreatedEvent event) {
+        threadMetadataSchemaService.syncSchema(event.getTenantId());
+    }
+}
@@ -0,0 +1,164 @@
+package com.openforum.application.service;
+
+import com.openforum.application.embedding.EmbeddingRateLimiter;
+import com.openforum.domain.repository.EmbeddingRepository;
+import com.openforum.domain.search.EmbeddingProvider;
+import com.openforum.domain.valueobject.PostEmbedding;
+import com.openforum.domain.valueobject.PostText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Computes post embeddings in batches.
+ * <p>
+ * Posts named by create/edit events are queued and sent to the provider
+ * together once {@code batch-size} have accumulated, or at the latest after
+ * {@code linger}. Each tenant's share of a batch is capped by
+ * {@link EmbeddingRateLimiter}. Posts left out (rate-limited, failed, or lost
+ * from the queue on shutdown) keep a NULL embedding, and the backfill picks them
+ * up later, so the queue needs no durability of its own.
+ * <p>
+ * Only present with {@code app.embedding.enabled=true}, which then requires an
+ * {@link EmbeddingProvider} chosen by {@code app.embedding.provider}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.embedding.enabled", havingValue = "true")
+public class EmbeddingService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingService.class);
+
+    private final EmbeddingRepository embeddingRepository;
+    private final EmbeddingProvider embeddingProvider;
+    private final EmbeddingRateLimiter rateLimiter;
+    private final RelatedThreadService relatedThreadService;
+    private final int batchSize;
+    private final Set<UUID> queued = new LinkedHashSet<>();
+
+    public EmbeddingService(
+            EmbeddingRepository embeddingRepository,
+            EmbeddingProvider embeddingProvider,
+            EmbeddingRateLimiter rateLimiter,
+            RelatedThreadService relatedThreadService,
+            @Value("${app.embedding.batch-size:64}") int batchSize) {
+        this.embeddingRepository = embeddingRepository;
+        this.embeddingProvider = embeddingProvider;
+        this.rateLimiter = rateLimiter;
+        this.relatedThreadService = relatedThreadService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queues a created or edited post; embeds the queue right away once it
+     * holds a full batch.
+     */
+    public void submit(UUID postId) {
+        List<UUID> batch = null;
+        synchronized (queued) {
+            queued.add(postId);
+            if (queued.size() >= batchSize) {
+                batch = drain();
+            }
+        }
+        if (batch != null) {
+            embedPending(batch);
+        }
+    }
+
+    /**
+     * Embeds whatever is queued, however little, so no post waits longer than
+     * about {@code linger}.
+     */
+    @Scheduled(fixedDelayString = "${app.embedding.linger:PT2S}")
+    public void flush() {
+        List<UUID> batch;
+        synchronized (queued) {
+            batch = drain();
+        }
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            embedPending(batch.subList(from, Math.min(batch.size(), from + batchSize)));
+        }
+    }
+
+    /**
+     * Embeds {@code posts} with one provider call and stores the vectors in one
+     * batch, within each tenant's rate limit, then refreshes the related-thread
+     * lists the new vectors affect.
+     *
+     * @return the number of embeddings stored
+     */
+    public int embed(List<PostText> posts) {
+        List<PostText> allowed = withinRateLimits(posts);
+        if (allowed.isEmpty()) {
+            return 0;
+        }
+
+        List<float[]> vectors;
+        try {
+            vectors = embeddingProvider.embed(allowed.stream().map(PostText::content).toList());
+        } catch (RuntimeException e) {
+            log.warn("Embedding provider failed for {} posts; they stay in the backlog", allowed.size(), e);
+            return 0;
+        }
+
+        List<PostEmbedding> embeddings = new ArrayList<>(allowed.size());
+        for (int i = 0; i < allowed.size(); i++) {
+            PostText post = allowed.get(i);
+            embeddings.add(new PostEmbedding(post.postId(), post.version(), embeddingProvider.model(), vectors.get(i)));
+        }
+        int stored = embeddingRepository.saveAll(embeddings);
+        if (stored > 0) {
+            relatedThreadService.onPostsEmbedded(allowed.stream().map(PostText::postId).toList());
+        }
+        return stored;
+    }
+
+    /**
+     * Returns up to {@code limit} posts embedded by another model than the
+     * active provider's to the backlog, so vectors from two models are never
+     * compared for long.
+     *
+     * @return the number of embeddings cleared
+     */
+    public int invalidateOtherModels(int limit) {
+        return embeddingRepository.invalidateOtherModels(embeddingProvider.model(), limit);
+    }
+
+    private void embedPending(List<UUID> postIds) {
+        // Only posts still without an embedding: repeated events cost one lookup
+        embed(embeddingRepository.findPending(postIds));
+    }
+
+    private List<PostText> withinRateLimits(List<PostText> posts) {
+        Map<String, List<PostText>> byTenant = new LinkedHashMap<>();
+        posts.forEach(post -> byTenant.computeIfAbsent(post.tenantId(), id -> new ArrayList<>()).add(post));
+
+        List<PostText> allowed = new ArrayList<>(posts.size());
+        byTenant.forEach((tenantId, tenantPosts) -> {
+            int granted = rateLimiter.acquire(tenantId, tenantPosts.size());
+            allowed.addAll(tenantPosts.subList(0, granted));
+            if (granted < tenantPosts.size()) {
+                log.debug("Deferring {} embeddings for tenant {} (rate limited)", tenantPosts.size() - granted,
+                        tenantId);
+            }
+        });
+        return allowed;
+    }
+
+    private List<UUID> drain() {
+        List<UUID> batch = new ArrayList<>(queued);
+        queued.clear();
+        return batch;
+    }
+}
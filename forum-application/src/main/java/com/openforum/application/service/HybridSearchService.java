@@ -0,0 +1,233 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.repository.SearchRepository;
+import com.openforum.domain.search.EmbeddingProvider;
+import com.openforum.domain.search.SearchIndex;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SearchScope;
+import com.openforum.domain.valueobject.SimilarityQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hybrid search: the keyword query ({@link SearchIndex}) and a nearest-neighbour
+ * query over post embeddings run in parallel, and their rankings are merged with
+ * reciprocal rank fusion. A hit scores {@code weight / (k + position)} in each
+ * list it appears in; the scores are summed, so hits both legs agree on rise to
+ * the top. Weights are per tenant ({@code search.keywordWeight} and
+ * {@code search.semanticWeight} in the tenant config, default 1); a weight of 0
+ * skips that leg.
+ * <p>
+ * Only posts carry embeddings, so the semantic leg contributes nothing to a
+ * threads-only search, and is skipped entirely when no {@link EmbeddingProvider}
+ * is configured ({@code app.embedding.provider}). If it fails (e.g. the embedding provider is
+ * down) the keyword hits are returned alone. Fused scores are not comparable across
+ * queries and don't support keyset paging, so results are a single page.
+ */
+@Service
+public class HybridSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(HybridSearchService.class);
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_EF_SEARCH = 1000;
+
+    private final SearchIndex searchIndex;
+    private final SearchRepository searchRepository;
+    private final Optional<EmbeddingProvider> embeddingProvider;
+    private final TenantService tenantService;
+    private final Executor executor;
+    private final int candidates;
+    private final int rrfK;
+    private final int defaultEfSearch;
+
+    public HybridSearchService(
+            SearchIndex searchIndex,
+            SearchRepository searchRepository,
+            Optional<EmbeddingProvider> embeddingProvider,
+            TenantService tenantService,
+            @Qualifier("applicationTaskExecutor") Executor executor,
+            @Value("${app.search.hybrid.candidates:50}") int candidates,
+            @Value("${app.search.hybrid.rrf-k:60}") int rrfK,
+            @Value("${app.search.hybrid.ef-search:100}") int defaultEfSearch) {
+        this.searchIndex = searchIndex;
+        this.searchRepository = searchRepository;
+        this.embeddingProvider = embeddingProvider;
+        this.tenantService = tenantService;
+        this.executor = executor;
+        this.candidates = candidates;
+        this.rrfK = rrfK;
+        this.defaultEfSearch = defaultEfSearch;
+    }
+
+    /**
+     * @param tenantId   Tenant to search
+     * @param text       Query in web-search syntax for the keyword leg, embedded as
+     *                   is for the semantic leg; blank returns no hits
+     * @param scope      Threads, posts or both
+     * @param categoryId Optional category filter
+     * @param from       Optional inclusive lower bound on creation time
+     * @param to         Optional exclusive upper bound on creation time
+     * @param size       Number of hits (capped at MAX_PAGE_SIZE)
+     * @param efSearch   HNSW candidate list size for this request, or null for
+     *                   the configured default; raised to at least the number
+     *                   of candidates fetched per leg
+     */
+    @Transactional(readOnly = true)
+    public HybridSearchResults search(String tenantId, String text, SearchScope scope, UUID categoryId,
+            Instant from, Instant to, int size, Integer efSearch) {
+        int effectiveSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (text == null || text.isBlank()) {
+            return new HybridSearchResults(List.of(), new Timings(0, 0, 0, 0));
+        }
+        long start = System.nanoTime();
+        String query = text.trim();
+        SearchScope effectiveScope = scope != null ? scope : SearchScope.ALL;
+        Weights weights = tenantService.getConfigView(tenantId, Weights.class, Weights::from)
+                .orElse(Weights.DEFAULT);
+        int effectiveEfSearch = Math.min(Math.max(efSearch != null ? efSearch : defaultEfSearch, candidates),
+                MAX_EF_SEARCH);
+
+        CompletableFuture<SemanticLeg> semantic;
+        if (embeddingProvider.isPresent() && effectiveScope.includesPosts() && weights.semantic() > 0) {
+            semantic = CompletableFuture
+                    .supplyAsync(() -> semanticLeg(tenantId, query, categoryId, from, to, effectiveEfSearch),
+                            executor)
+                    .exceptionally(e -> {
+                        log.warn("Semantic search failed for tenant {}; returning keyword hits only", tenantId, e);
+                        return SemanticLeg.EMPTY;
+                    });
+        } else {
+            semantic = CompletableFuture.completedFuture(SemanticLeg.EMPTY);
+        }
+
+        long keywordStart = System.nanoTime();
+        List<SearchHit> keywordHits = weights.keyword() > 0
+                ? searchIndex.search(new SearchQuery(tenantId, query, effectiveScope, categoryId, from, to, null,
+                        candidates))
+                : List.of();
+        long keywordMillis = millisSince(keywordStart);
+
+        SemanticLeg semanticLeg = semantic.join();
+        List<SearchHit> hits = fuse(keywordHits, semanticLeg.hits(), weights, effectiveSize);
+
+        Timings timings = new Timings(keywordMillis, semanticLeg.embeddingMillis(), semanticLeg.searchMillis(),
+                millisSince(start));
+        log.debug("Hybrid search for tenant {}: {} keyword and {} semantic candidates, {}", tenantId,
+                keywordHits.size(), semanticLeg.hits().size(), timings);
+        return new HybridSearchResults(hits, timings);
+    }
+
+    private SemanticLeg semanticLeg(String tenantId, String query, UUID categoryId, Instant from, Instant to,
+            int efSearch) {
+        long embedStart = System.nanoTime();
+        float[] embedding = embeddingProvider.orElseThrow().embed(query);
+        long embeddingMillis = millisSince(embedStart);
+        if (isZero(embedding)) {
+            // Nothing to compare against: cosine distance to a zero vector is undefined
+            return new SemanticLeg(List.of(), embeddingMillis, 0);
+        }
+
+        long searchStart = System.nanoTime();
+        List<SearchHit> hits = searchRepository.searchSimilar(new SimilarityQuery(tenantId, embedding, categoryId,
+                from, to, candidates, efSearch));
+        return new SemanticLeg(hits, embeddingMillis, millisSince(searchStart));
+    }
+
+    private List<SearchHit> fuse(List<SearchHit> keywordHits, List<SearchHit> semanticHits, Weights weights,
+            int size) {
+        Map<String, Fused> fused = new LinkedHashMap<>();
+        for (int i = 0; i < keywordHits.size(); i++) {
+            SearchHit hit = keywordHits.get(i);
+            fused.computeIfAbsent(key(hit), key -> new Fused(hit)).score += weights.keyword() / (rrfK + i + 1);
+        }
+        for (int i = 0; i < semanticHits.size(); i++) {
+            SearchHit hit = semanticHits.get(i);
+            // A keyword hit keeps its highlighted snippet
+            fused.computeIfAbsent(key(hit), key -> new Fused(hit)).score += weights.semantic() / (rrfK + i + 1);
+        }
+
+        List<Fused> ranked = new ArrayList<>(fused.values());
+        ranked.sort(Comparator.comparingDouble((Fused f) -> f.score).reversed()
+                .thenComparing(f -> f.hit.id()));
+        List<SearchHit> hits = new ArrayList<>(Math.min(size, ranked.size()));
+        for (Fused f : ranked.subList(0, Math.min(size, ranked.size()))) {
+            hits.add(new SearchHit(f.hit.kind(), f.hit.id(), f.hit.threadId(), f.hit.title(), f.hit.snippet(),
+                    (float) f.score, f.hit.createdAt()));
+        }
+        return hits;
+    }
+
+    private static String key(SearchHit hit) {
+        return hit.kind() + ":" + hit.id();
+    }
+
+    private static boolean isZero(float[] vector) {
+        for (float component : vector) {
+            if (component != 0f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static final class Fused {
+        private final SearchHit hit;
+        private double score;
+
+        private Fused(SearchHit hit) {
+            this.hit = hit;
+        }
+    }
+
+    private record SemanticLeg(List<SearchHit> hits, long embeddingMillis, long searchMillis) {
+        static final SemanticLeg EMPTY = new SemanticLeg(List.of(), 0, 0);
+    }
+
+    /**
+     * Per-tenant leg weights, read from the tenant config.
+     */
+    public record Weights(double keyword, double semantic) {
+
+        static final Weights DEFAULT = new Weights(1, 1);
+
+        public static Weights from(Map<String, Object> tenantConfig) {
+            return new Weights(weight(tenantConfig.get("search.keywordWeight")),
+                    weight(tenantConfig.get("search.semanticWeight")));
+        }
+
+        private static double weight(Object value) {
+            return value instanceof Number number ? Math.max(0, number.doubleValue()) : 1;
+        }
+    }
+
+    /**
+     * Wall-clock time of each leg and of the whole search, in milliseconds. The
+     * semantic leg is split into embedding the query and the vector search.
+     */
+    public record Timings(long keywordMillis, long embeddingMillis, long semanticMillis, long totalMillis) {
+    }
+
+    public record HybridSearchResults(List<SearchHit> hits, Timings timings) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.openforum.application.service;
+
+import com.openforum.application.cache.MemberMentionIndex;
+import com.openforum.domain.repository.MemberSuggestionRepository;
+import com.openforum.domain.valueobject.MemberSuggestion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * @mention suggestions. Members who have posted in the thread being replied to
+ * come first, most recent poster first, since they are the likeliest to be
+ * mentioned; the rest of the tenant's matches follow by name.
+ */
+@Service
+public class MemberMentionService {
+
+    private final MemberSuggestionRepository memberSuggestionRepository;
+    private final MemberMentionIndex memberMentionIndex;
+    private final int participantLimit;
+
+    public MemberMentionService(MemberSuggestionRepository memberSuggestionRepository,
+            MemberMentionIndex memberMentionIndex,
+            @Value("${app.members.mention-participant-limit:50}") int participantLimit) {
+        this.memberSuggestionRepository = memberSuggestionRepository;
+        this.memberMentionIndex = memberMentionIndex;
+        this.participantLimit = participantLimit;
+    }
+
+    /**
+     * Up to {@code limit} members whose name or email starts with {@code query}.
+     * A blank query suggests only the thread's participants.
+     */
+    public List<MemberSuggestion> suggest(String tenantId, String query, UUID threadId, int limit) {
+        String prefix = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        List<MemberSuggestion> suggestions = new ArrayList<>(limit);
+        Set<UUID> seen = new HashSet<>();
+        if (threadId != null) {
+            for (MemberSuggestion participant : memberSuggestionRepository.findThreadParticipants(tenantId, threadId,
+                    participantLimit)) {
+                if (suggestions.size() < limit && matches(participant, prefix) && seen.add(participant.id())) {
+                    suggestions.add(participant);
+                }
+            }
+        }
+        if (prefix.isEmpty()) {
+            return suggestions;
+        }
+        for (MemberSuggestion member : memberMentionIndex.complete(tenantId, prefix, limit)) {
+            if (suggestions.size() < limit && seen.add(member.id())) {
+                suggestions.add(member);
+            }
+        }
+        return suggestions;
+    }
+
+    private static boolean matches(MemberSuggestion member, String prefix) {
+        return startsWith(member.name(), prefix) || startsWith(member.email(), prefix);
+    }
+
+    private static boolean startsWith(String value, String prefix) {
+        return value != null && value.toLowerCase(Locale.ROOT).startsWith(prefix);
+    }
+}
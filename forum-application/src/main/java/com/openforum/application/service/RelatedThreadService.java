@@ -0,0 +1,75 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.repository.RelatedThreadRepository;
+import com.openforum.domain.valueobject.RelatedThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * "Related discussions" for a thread: the threads whose opening posts are
+ * nearest to its own by embedding.
+ * <p>
+ * Lists are precomputed, so showing one is a single-row lookup. They are
+ * refreshed as opening posts are embedded ({@link #onPostsEmbedded}), which also
+ * slots a new thread into the lists of its neighbours. A thread whose list was
+ * never computed (embedded before lists existed) gets it on first view; one
+ * whose opening post has no embedding (none yet, or embeddings are off) has no
+ * list, and views of it only check for the embedding.
+ */
+@Service
+public class RelatedThreadService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatedThreadService.class);
+
+    private final RelatedThreadRepository relatedThreadRepository;
+    private final int limit;
+    private final int efSearch;
+
+    public RelatedThreadService(
+            RelatedThreadRepository relatedThreadRepository,
+            @Value("${app.related-threads.limit:5}") int limit,
+            @Value("${app.related-threads.ef-search:100}") int efSearch) {
+        this.relatedThreadRepository = relatedThreadRepository;
+        this.limit = limit;
+        this.efSearch = efSearch;
+    }
+
+    /**
+     * The related threads of {@code threadId}, best first; an empty list if its
+     * opening post has no embedding yet.
+     */
+    public RelatedThreads getRelated(UUID threadId) {
+        return relatedThreadRepository.findByThreadId(threadId)
+                .or(() -> {
+                    if (!relatedThreadRepository.hasOpeningEmbedding(threadId)) {
+                        return Optional.empty();
+                    }
+                    relatedThreadRepository.refreshForThreads(List.of(threadId), limit, efSearch);
+                    return relatedThreadRepository.findByThreadId(threadId);
+                })
+                .orElseGet(() -> new RelatedThreads(threadId, List.of(), null));
+    }
+
+    /**
+     * Refreshes the lists affected by new embeddings; posts other than opening
+     * posts are ignored. A failure only leaves lists stale, so it is logged
+     * rather than passed to the embedding pipeline.
+     */
+    public void onPostsEmbedded(Collection<UUID> postIds) {
+        try {
+            int refreshed = relatedThreadRepository.refreshForPosts(postIds, limit, efSearch);
+            if (refreshed > 0) {
+                log.debug("Refreshed {} related-thread lists after {} embeddings", refreshed, postIds.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh related threads for {} posts", postIds.size(), e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.openforum.application.service;
+
+import com.openforum.application.cache.SearchResultCache;
+import com.openforum.domain.search.SearchIndex;
+import com.openforum.domain.valueobject.SearchCursor;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SearchScope;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Ranked full-text search across a tenant's threads and posts, with keyset
+ * paging on (rank, id). Pages are served from {@link SearchResultCache} when
+ * the same normalized query was run recently.
+ */
+@Service
+public class SearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SearchIndex searchIndex;
+    private final SearchResultCache searchResultCache;
+
+    public SearchService(SearchIndex searchIndex, SearchResultCache searchResultCache) {
+        this.searchIndex = searchIndex;
+        this.searchResultCache = searchResultCache;
+    }
+
+    /**
+     * @param tenantId   Tenant to search
+     * @param text       Query in web-search syntax; blank returns no hits
+     * @param scope      Threads, posts or both
+     * @param categoryId Optional category filter
+     * @param from       Optional inclusive lower bound on creation time
+     * @param to         Optional exclusive upper bound on creation time
+     * @param after      Position to continue from, or null for the first page
+     * @param size       Page size (capped at MAX_PAGE_SIZE)
+     */
+    @Transactional(readOnly = true)
+    public SearchResults search(String tenantId, String text, SearchScope scope, UUID categoryId,
+            Instant from, Instant to, SearchCursor after, int size) {
+        int effectiveSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (text == null || text.isBlank()) {
+            return new SearchResults(List.of(), effectiveSize, null);
+        }
+
+        // One extra hit tells us whether another page exists
+        SearchQuery query = new SearchQuery(tenantId, normalize(text), scope != null ? scope : SearchScope.ALL,
+                categoryId, from, to, after, effectiveSize + 1);
+        List<SearchHit> hits = searchResultCache.get(query, () -> searchIndex.search(query));
+
+        if (hits.size() <= effectiveSize) {
+            return new SearchResults(hits, effectiveSize, null);
+        }
+        List<SearchHit> page = hits.subList(0, effectiveSize);
+        return new SearchResults(page, effectiveSize, SearchCursor.of(page.get(effectiveSize - 1)));
+    }
+
+    /**
+     * Both backends match case-insensitively (web-search "or" included) and
+     * ignore extra whitespace, so queries differing only in those share a cache
+     * entry.
+     */
+    static String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A page of hits; {@code next} is null on the last page.
+     */
+    public record SearchResults(List<SearchHit> hits, int size, SearchCursor next) {
+    }
+}
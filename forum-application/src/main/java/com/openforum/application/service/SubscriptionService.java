@@ -7,6 +7,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -51,6 +53,11 @@ public class SubscriptionService {
         subscriptionRepository.delete(tenantId, memberId, targetId);
     }
 
+    @Transactional(readOnly = true)
+    public boolean isSubscribed(UUID memberId, UUID targetId) {
+        return subscriptionRepository.exists(memberId, targetId);
+    }
+
     @Transactional(readOnly = true)
     public List<UUID> getSubscribers(UUID targetId) {
         return subscriptionRepository.findByTarget(targetId).stream()
@@ -67,16 +74,18 @@ public class SubscriptionService {
             return List.of();
         }
 
+        // One title lookup per target type for the whole page, not one per subscription
+        Map<UUID, String> threadTitles = threadRepository.findTitlesByIds(
+                targetIds(subscriptions, TargetType.THREAD));
+        Map<UUID, String> categoryNames = categoryRepository.findNamesByIds(
+                targetIds(subscriptions, TargetType.CATEGORY));
+
         return subscriptions.stream().map(sub -> {
             String title = "Unknown";
             if (sub.getTargetType() == TargetType.THREAD) {
-                title = threadRepository.findById(sub.getTargetId())
-                        .map(com.openforum.domain.aggregate.Thread::getTitle)
-                        .orElse("Unknown Thread");
+                title = threadTitles.getOrDefault(sub.getTargetId(), "Unknown Thread");
             } else if (sub.getTargetType() == TargetType.CATEGORY) {
-                title = categoryRepository.findById(sub.getTargetId())
-                        .map(com.openforum.domain.aggregate.Category::getName)
-                        .orElse("Unknown Category");
+                title = categoryNames.getOrDefault(sub.getTargetId(), "Unknown Category");
             }
             return new com.openforum.application.dto.SubscriptionDto(
                     sub.getTargetId(),
@@ -86,6 +95,13 @@ public class SubscriptionService {
         }).collect(Collectors.toList());
     }
 
+    private static Set<UUID> targetIds(List<Subscription> subscriptions, TargetType targetType) {
+        return subscriptions.stream()
+                .filter(sub -> sub.getTargetType() == targetType)
+                .map(Subscription::getTargetId)
+                .collect(Collectors.toSet());
+    }
+
     @Transactional(readOnly = true)
     public long countSubscriptionsForMember(UUID memberId) {
         return subscriptionRepository.countByMemberId(memberId);
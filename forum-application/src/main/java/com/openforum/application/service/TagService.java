@@ -0,0 +1,105 @@
+package com.openforum.application.service;
+
+import com.openforum.application.cache.TagAutocompleteCache;
+import com.openforum.domain.aggregate.Tag;
+import com.openforum.domain.factory.TagFactory;
+import com.openforum.domain.repository.TagRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tag autocomplete and usage tracking.
+ * <p>
+ * Autocomplete is answered from {@link TagAutocompleteCache}. Uses are counted
+ * in the cache at once and buffered per tenant, then written to the database in
+ * one batch per tenant every {@code usage-flush-interval}, instead of one UPDATE
+ * per use, and before the cache reloads the tenant. A failed flush keeps its
+ * counts for the next one; counts still buffered when a node dies are lost,
+ * which only affects ranking.
+ */
+@Service
+public class TagService {
+
+    private static final Logger log = LoggerFactory.getLogger(TagService.class);
+
+    private final TagRepository tagRepository;
+    private final TagAutocompleteCache tagAutocompleteCache;
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> pendingUsage = new ConcurrentHashMap<>();
+
+    public TagService(TagRepository tagRepository, TagAutocompleteCache tagAutocompleteCache) {
+        this.tagRepository = tagRepository;
+        this.tagAutocompleteCache = tagAutocompleteCache;
+        tagAutocompleteCache.beforeLoad(this::flushUsage);
+    }
+
+    public List<TagAutocompleteCache.Suggestion> autocomplete(String tenantId, String prefix, int limit) {
+        return tagAutocompleteCache.complete(tenantId, prefix.toLowerCase(Locale.ROOT), limit);
+    }
+
+    /**
+     * Records one use of a tag, creating the tag on its first use.
+     */
+    public void recordUsage(String tenantId, String name, UUID memberId) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        if (tagAutocompleteCache.find(tenantId, normalized).isEmpty()) {
+            create(tenantId, normalized, memberId);
+        }
+        tagAutocompleteCache.used(tenantId, normalized);
+        pendingUsage.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(normalized, n -> new LongAdder())
+                .increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tags.usage-flush-interval:PT5S}")
+    @PreDestroy
+    public void flushUsage() {
+        pendingUsage.keySet().forEach(this::flushUsage);
+    }
+
+    private void flushUsage(String tenantId) {
+        ConcurrentMap<String, LongAdder> counters = pendingUsage.get(tenantId);
+        if (counters == null) {
+            return;
+        }
+        Map<String, Long> increments = new HashMap<>();
+        counters.forEach((name, counter) -> {
+            long uses = counter.sumThenReset();
+            if (uses > 0) {
+                increments.put(name, uses);
+            }
+        });
+        if (increments.isEmpty()) {
+            return;
+        }
+        try {
+            tagRepository.incrementUsageCounts(tenantId, increments);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} tag usage counts for tenant {}; retrying next flush",
+                    increments.size(), tenantId, e);
+            increments.forEach((name, uses) -> counters.computeIfAbsent(name, n -> new LongAdder()).add(uses));
+        }
+    }
+
+    private void create(String tenantId, String name, UUID memberId) {
+        try {
+            Tag tag = tagRepository.save(TagFactory.create(tenantId, name, memberId));
+            tagAutocompleteCache.added(tag);
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently (possibly on another node); pick it up on the next reload
+            tagAutocompleteCache.evict(tenantId);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.openforum.application.service;
 
+import com.openforum.application.cache.TenantCache;
+import com.openforum.application.event.TenantConfigChangedEvent;
 import com.openforum.domain.aggregate.Tenant;
 import com.openforum.domain.repository.TenantRepository;
 import org.springframework.stereotype.Service;
@@ -7,25 +9,33 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 public class TenantService {
 
     private final TenantRepository tenantRepository;
     private final org.springframework.context.ApplicationEventPublisher eventPublisher;
+    private final TenantCache tenantCache;
 
     public TenantService(TenantRepository tenantRepository,
-            org.springframework.context.ApplicationEventPublisher eventPublisher) {
+            org.springframework.context.ApplicationEventPublisher eventPublisher,
+            TenantCache tenantCache) {
         this.tenantRepository = tenantRepository;
         this.eventPublisher = eventPublisher;
+        this.tenantCache = tenantCache;
     }
 
     public Optional<Tenant> getTenant(String tenantId) {
-        return tenantRepository.findById(tenantId);
+        return tenantCache.get(tenantId);
     }
 
     public Optional<Tenant> getTenantBySlug(String slug) {
-        return tenantRepository.findBySlug(slug);
+        return tenantCache.getBySlug(slug);
+    }
+
+    public <T> Optional<T> getConfigView(String tenantId, Class<T> type, Function<Map<String, Object>, T> parser) {
+        return tenantCache.view(tenantId, type, parser);
     }
 
     @Transactional
@@ -37,7 +47,12 @@ public class TenantService {
         Tenant updatedTenant = com.openforum.domain.factory.TenantFactory.create(tenant.getId(), tenant.getSlug(),
                 tenant.getName(), config, tenant.getCreatedAt(), tenant.getCreatedBy(), tenant.getLastModifiedAt(),
                 tenant.getLastModifiedBy());
-        return tenantRepository.save(updatedTenant);
+        Tenant savedTenant = tenantRepository.save(updatedTenant);
+
+        // Cached copies (on this node and others) are dropped once this commits
+        eventPublisher.publishEvent(new TenantConfigChangedEvent(savedTenant.getId()));
+
+        return savedTenant;
     }
 
     @Transactional
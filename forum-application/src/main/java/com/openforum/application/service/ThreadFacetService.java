@@ -0,0 +1,71 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.repository.TenantRepository;
+import com.openforum.domain.repository.ThreadFacetRepository;
+import com.openforum.domain.valueobject.Facet;
+import com.openforum.domain.valueobject.MetadataFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sidebar facets for thread listings: per-value thread counts for the metadata
+ * keys a tenant declares under {@code facets.keys} in its config.
+ * <p>
+ * Unfiltered views read counts maintained as threads are written, so they are
+ * exact and cost one small indexed read. Filtered views count the matching
+ * threads at query time; their filters use the listing's indexes.
+ */
+@Service
+public class ThreadFacetService {
+
+    static final String CONFIG_KEY = "facets.keys";
+
+    private final ThreadFacetRepository threadFacetRepository;
+    private final TenantRepository tenantRepository;
+    private final ThreadMetadataSchemaService threadMetadataSchemaService;
+    private final int maxValues;
+
+    public ThreadFacetService(ThreadFacetRepository threadFacetRepository, TenantRepository tenantRepository,
+            ThreadMetadataSchemaService threadMetadataSchemaService,
+            @Value("${app.threads.facets.max-values:20}") int maxValues) {
+        this.threadFacetRepository = threadFacetRepository;
+        this.tenantRepository = tenantRepository;
+        this.threadMetadataSchemaService = threadMetadataSchemaService;
+        this.maxValues = maxValues;
+    }
+
+    public List<Facet> getFacets(String tenantId, List<MetadataFilter> filters) {
+        if (filters.isEmpty()) {
+            return threadFacetRepository.findCounts(tenantId, maxValues);
+        }
+        return threadFacetRepository.countMatching(tenantId, filters,
+                threadMetadataSchemaService.readableSchema(tenantId), maxValues);
+    }
+
+    /**
+     * Brings the tenant's facet keys in line with its config; newly declared
+     * keys are counted over existing threads in the background
+     * ({@link com.openforum.application.service.scheduler.ThreadMetadataBackfillService}).
+     */
+    @Transactional
+    public void syncKeys(String tenantId) {
+        tenantRepository.findById(tenantId)
+                .ifPresent(tenant -> threadFacetRepository.declareKeys(tenantId, keys(tenant.getConfig())));
+    }
+
+    static List<String> keys(Map<String, Object> config) {
+        if (!(config.get(CONFIG_KEY) instanceof List<?> keys)) {
+            return List.of();
+        }
+        return keys.stream()
+                .filter(String.class::isInstance)
+                .map(key -> ((String) key).trim())
+                .filter(key -> !key.isEmpty())
+                .distinct()
+                .toList();
+    }
+}
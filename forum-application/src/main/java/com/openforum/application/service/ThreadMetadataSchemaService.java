@@ -0,0 +1,61 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.repository.TenantRepository;
+import com.openforum.domain.repository.ThreadMetadataSchemaRepository;
+import com.openforum.domain.valueobject.MetadataSchema;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-tenant typed thread metadata, declared under {@code metadata.schema} in
+ * the tenant config. Thread writers validate against {@link #schema}; listings
+ * and facets use {@link #readableSchema} to read declared keys from typed
+ * storage.
+ */
+@Service
+public class ThreadMetadataSchemaService {
+
+    private final ThreadMetadataSchemaRepository threadMetadataSchemaRepository;
+    private final TenantRepository tenantRepository;
+    private final TenantService tenantService;
+
+    public ThreadMetadataSchemaService(ThreadMetadataSchemaRepository threadMetadataSchemaRepository,
+            TenantRepository tenantRepository, TenantService tenantService) {
+        this.threadMetadataSchemaRepository = threadMetadataSchemaRepository;
+        this.tenantRepository = tenantRepository;
+        this.tenantService = tenantService;
+    }
+
+    /**
+     * The tenant's schema, parsed once per cached tenant; empty for an unknown
+     * tenant.
+     */
+    public MetadataSchema schema(String tenantId) {
+        return tenantService.getConfigView(tenantId, MetadataSchema.class, MetadataSchema::from)
+                .orElse(MetadataSchema.EMPTY);
+    }
+
+    /**
+     * The tenant's schema without the keys whose typed storage is still being
+     * filled; reads treat those as free-form until it is.
+     */
+    public MetadataSchema readableSchema(String tenantId) {
+        MetadataSchema schema = schema(tenantId);
+        if (schema.fields().isEmpty()) {
+            return schema;
+        }
+        return schema.without(threadMetadataSchemaRepository.findBackfillingKeys(tenantId));
+    }
+
+    /**
+     * Brings the tenant's typed storage in line with its config; newly declared
+     * keys are copied out of existing threads in the background
+     * ({@link com.openforum.application.service.scheduler.ThreadMetadataBackfillService}).
+     */
+    @Transactional
+    public void syncSchema(String tenantId) {
+        tenantRepository.findById(tenantId)
+                .ifPresent(tenant -> threadMetadataSchemaRepository.declare(tenantId,
+                        MetadataSchema.from(tenant.getConfig())));
+    }
+}
@@ -6,7 +6,6 @@ import com.openforum.domain.repository.ThreadRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -123,11 +122,6 @@ public class ThreadService {
         return threadRepository.findByIdAndTenantId(id, tenantId);
     }
 
-    @Transactional(readOnly = true)
-    public List<Thread> getThreads(String tenantId, int page, int size) {
-        return threadRepository.findByTenantId(tenantId, page, size);
-    }
-
     /**
      * Updates the status of a thread (OPEN/CLOSED).
      * Only Moderators and Admins can change thread status.
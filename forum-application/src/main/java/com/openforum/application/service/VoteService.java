@@ -1,20 +1,27 @@
 package com.openforum.application.service;
 
+import com.openforum.application.event.PostVotedEvent;
 import com.openforum.domain.repository.VoteRepository;
 import com.openforum.domain.repository.VoteRepository.VoteRecord;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class VoteService {
 
     private final VoteRepository voteRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public VoteService(VoteRepository voteRepository) {
+    public VoteService(VoteRepository voteRepository, ApplicationEventPublisher eventPublisher) {
         this.voteRepository = voteRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -37,8 +44,7 @@ public class VoteService {
         if (existingVote.isEmpty()) {
             // Scenario A: New Vote
             voteRepository.save(postId, memberId, tenantId, value);
-            voteRepository.updatePostScore(postId, value);
-            return value;
+            return applyScoreDelta(postId, tenantId, value);
         }
 
         VoteRecord vote = existingVote.get();
@@ -47,17 +53,21 @@ public class VoteService {
         if (existingValue == value) {
             // Scenario C: Un-vote (clicking same vote removes it)
             voteRepository.delete(postId, memberId);
-            voteRepository.updatePostScore(postId, -existingValue);
-            return -existingValue;
+            return applyScoreDelta(postId, tenantId, -existingValue);
         } else {
             // Scenario B: Change Vote (e.g., Up to Down)
             int delta = value - existingValue; // e.g., -1 - 1 = -2 or 1 - (-1) = 2
             voteRepository.update(postId, memberId, value);
-            voteRepository.updatePostScore(postId, delta);
-            return delta;
+            return applyScoreDelta(postId, tenantId, delta);
         }
     }
 
+    private int applyScoreDelta(UUID postId, String tenantId, int delta) {
+        voteRepository.updatePostScore(postId, delta).ifPresent(threadId -> eventPublisher
+                .publishEvent(new PostVotedEvent(postId, threadId, tenantId, delta)));
+        return delta;
+    }
+
     /**
      * Get the current user's vote on a post.
      * 
@@ -70,4 +80,19 @@ public class VoteService {
                 .map(VoteRecord::value)
                 .orElse(0);
     }
+
+    /**
+     * Get the current user's votes on a page of posts in one query.
+     *
+     * @param postIds The post IDs
+     * @param memberId The user ID
+     * @return Vote value (1 or -1) per voted post; posts without a vote are absent
+     */
+    public Map<UUID, Integer> getUserVotes(List<UUID> postIds, UUID memberId) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return voteRepository.findByPostIdsAndMemberId(postIds, memberId).stream()
+                .collect(Collectors.toMap(VoteRecord::postId, VoteRecord::value));
+    }
 }
@@ -0,0 +1,32 @@
+package com.openforum.application.service.scheduler;
+
+import java.time.Duration;
+
+/**
+ * The pause background jobs take between batches, so a long backlog never
+ * saturates the primary.
+ */
+public final class BatchPause {
+
+    private BatchPause() {
+    }
+
+    /**
+     * Sleeps for {@code pause}.
+     *
+     * @return false if the thread was interrupted, with its interrupt flag set
+     *         again; the job should stop for this run
+     */
+    public static boolean sleep(Duration pause) {
+        if (pause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.application.service.EmbeddingService;
+import com.openforum.domain.repository.EmbeddingRepository;
+import com.openforum.domain.valueobject.PostText;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Works through the backlog of posts without an embedding: posts from before
+ * the pipeline existed, and any the event path skipped or failed on.
+ * <p>
+ * Each run embeds at most {@code max-batches-per-run} batches, pausing between
+ * them. The scan position is kept in the database, so later runs, restarts and
+ * other nodes carry on where the last batch stopped. A run stops early when a
+ * batch embeds nothing (provider down or every tenant in it rate-limited); those
+ * posts come round again on the next pass.
+ * <p>
+ * Each run first returns posts embedded by a model other than the active one to
+ * the backlog, so switching providers re-embeds everything over the next runs.
+ */
+@Service
+@ConditionalOnProperty(name = "app.embedding.enabled", havingValue = "true")
+public class EmbeddingBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingBackfillService.class);
+
+    private final EmbeddingRepository embeddingRepository;
+    private final EmbeddingService embeddingService;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+
+    public EmbeddingBackfillService(
+            EmbeddingRepository embeddingRepository,
+            EmbeddingService embeddingService,
+            @Value("${app.embedding.backfill.batch-size:64}") int batchSize,
+            @Value("${app.embedding.backfill.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${app.embedding.backfill.pause:PT1S}") Duration pause) {
+        this.embeddingRepository = embeddingRepository;
+        this.embeddingService = embeddingService;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+    }
+
+    @Scheduled(fixedDelayString = "${app.embedding.backfill.interval:PT1M}")
+    public void backfill() {
+        int invalidated = embeddingService.invalidateOtherModels(batchSize * maxBatchesPerRun);
+        if (invalidated > 0) {
+            log.info("Embedding backfill returned {} embeddings from another model to the backlog", invalidated);
+        }
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<PostText> posts = embeddingRepository.claimBacklog(batchSize);
+            if (posts.isEmpty()) {
+                break;
+            }
+            int embedded = embeddingService.embed(posts);
+            total += embedded;
+            if (embedded == 0 || posts.size() < batchSize || !BatchPause.sleep(pause)) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Embedding backfill stored {} embeddings in this run", total);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.ReplyCountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps reply subtree descendant counts current by applying the queued reply
+ * changes, a batch per transaction and at most {@code max-batches-per-run}
+ * batches per run. A backlog (such as every existing reply, queued when the
+ * counts were introduced) is worked off over several runs.
+ */
+@Service
+public class ReplyCountService {
+
+    private final ReplyCountRepository replyCountRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public ReplyCountService(ReplyCountRepository replyCountRepository,
+            @Value("${app.posts.reply-counts.batch-size:1000}") int batchSize,
+            @Value("${app.posts.reply-counts.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.replyCountRepository = replyCountRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.posts.reply-counts.interval:PT2S}")
+    public void applyQueuedChanges() {
+        for (int batch = 0; batch < maxBatchesPerRun && replyCountRepository.applyQueuedChanges(batchSize); batch++) {
+            // next batch
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.SearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rebuilds stale thread search documents in the background.
+ * <p>
+ * Each run first publishes the configured metadata keys (once per process),
+ * then works through at most {@code max-batches-per-run} batches, pausing
+ * between them so the reindex never saturates the primary. Progress is kept in
+ * the database, so later runs, restarts and other nodes carry on where the last
+ * batch stopped. Batches are not wrapped in a transaction: each commits as it
+ * completes.
+ */
+@Service
+public class SearchReindexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final SearchRepository searchRepository;
+    private final List<String> metadataKeys;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+
+    private volatile boolean configured;
+
+    public SearchReindexService(
+            SearchRepository searchRepository,
+            @Value("${app.search.thread-document.metadata-keys:}") List<String> metadataKeys,
+            @Value("${app.search.reindex.batch-size:500}") int batchSize,
+            @Value("${app.search.reindex.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${app.search.reindex.pause:PT0.2S}") Duration pause) {
+        this.searchRepository = searchRepository;
+        this.metadataKeys = metadataKeys.stream().map(String::trim).filter(key -> !key.isEmpty()).toList();
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.reindex.interval:PT1M}")
+    public void reindex() {
+        if (!configured) {
+            searchRepository.configureThreadDocument(metadataKeys);
+            configured = true;
+        }
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int scanned = searchRepository.reindexThreads(batchSize);
+            total += scanned;
+            if (scanned < batchSize) {
+                if (total > 0) {
+                    log.info("Thread search reindex complete ({} threads scanned in this run)", total);
+                }
+                return;
+            }
+            if (!BatchPause.sleep(pause)) {
+                return;
+            }
+        }
+        log.info("Thread search reindex in progress: {} threads scanned in this run", total);
+    }
+}
@@ -0,0 +1,59 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.ThreadFacetRepository;
+import com.openforum.domain.repository.ThreadMetadataSchemaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Works newly declared facet keys and typed metadata keys into the existing
+ * threads, a batch of threads per transaction, so declaring a key never holds
+ * up thread writes.
+ * <p>
+ * Each run handles at most {@code max-batches-per-run} batches of each kind.
+ * Progress is kept per key in the database, so later runs, restarts and other
+ * nodes carry on where the last batch stopped.
+ */
+@Service
+public class ThreadMetadataBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadMetadataBackfillService.class);
+
+    private final ThreadFacetRepository threadFacetRepository;
+    private final ThreadMetadataSchemaRepository threadMetadataSchemaRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public ThreadMetadataBackfillService(
+            ThreadFacetRepository threadFacetRepository,
+            ThreadMetadataSchemaRepository threadMetadataSchemaRepository,
+            @Value("${app.threads.metadata-backfill.batch-size:1000}") int batchSize,
+            @Value("${app.threads.metadata-backfill.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.threadFacetRepository = threadFacetRepository;
+        this.threadMetadataSchemaRepository = threadMetadataSchemaRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.threads.metadata-backfill.interval:PT5S}")
+    public void backfill() {
+        int facetBatches = run(threadFacetRepository::backfillKeys);
+        int schemaBatches = run(threadMetadataSchemaRepository::backfillKeys);
+        if (facetBatches > 0 || schemaBatches > 0) {
+            log.info("Metadata key backfill ran {} facet and {} typed-value batches", facetBatches, schemaBatches);
+        }
+    }
+
+    private int run(IntPredicate batch) {
+        int batches = 0;
+        while (batches < maxBatchesPerRun && batch.test(batchSize)) {
+            batches++;
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,125 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.ThreadMetadataIndexRepository;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates hot-key indexes for metadata range filters on demand.
+ * <p>
+ * Equality filters are served by the GIN index on {@code metadata}; ranges on
+ * a key need an expression index of their own. Only range filters on keys the
+ * tenant declares in its {@link MetadataSchema}, comparing values of the
+ * declared type, are counted, so clients can't have indexes built on arbitrary
+ * keys; they read the JSON while the key's typed storage is being filled, and
+ * for tenants using the same key undeclared. A key becomes hot once a single
+ * tenant has filtered on it {@code min-uses} times within one
+ * {@code interval}. Each run indexes the hot keys that have no index yet, at
+ * most {@code max-indexes} in total, and starts a new counting interval.
+ * Indexes lead with {@code tenant_id}, so once built they serve every tenant.
+ * <p>
+ * Off by default: building indexes at runtime needs the application's database
+ * user to be allowed DDL on {@code threads}.
+ */
+@Service
+public class ThreadMetadataIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadMetadataIndexService.class);
+
+    private final ThreadMetadataIndexRepository threadMetadataIndexRepository;
+    private final boolean enabled;
+    private final long minUses;
+    private final int maxIndexes;
+    private final ConcurrentMap<Usage, LongAdder> usage = new ConcurrentHashMap<>();
+
+    public ThreadMetadataIndexService(
+            ThreadMetadataIndexRepository threadMetadataIndexRepository,
+            @Value("${app.threads.metadata-index.enabled:false}") boolean enabled,
+            @Value("${app.threads.metadata-index.min-uses:100}") long minUses,
+            @Value("${app.threads.metadata-index.max-indexes:16}") int maxIndexes) {
+        this.threadMetadataIndexRepository = threadMetadataIndexRepository;
+        this.enabled = enabled;
+        this.minUses = minUses;
+        this.maxIndexes = maxIndexes;
+    }
+
+    /**
+     * Counts the range filters of {@code filters} that {@code schema}, the
+     * tenant's declared schema, covers; the rest can't make a key hot.
+     */
+    public void recordFilters(String tenantId, MetadataSchema schema, List<MetadataFilter> filters) {
+        if (!enabled) {
+            return;
+        }
+        for (MetadataFilter filter : filters) {
+            if (filter.operator() != MetadataFilter.Operator.EQ && schema.covers(filter)) {
+                usage.computeIfAbsent(new Usage(tenantId, filter.key(), filter.valueType()), u -> new LongAdder())
+                        .increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.threads.metadata-index.interval:PT5M}")
+    public void createHotIndexes() {
+        if (!enabled || usage.isEmpty()) {
+            return;
+        }
+        List<Usage> hot = new ArrayList<>();
+        usage.forEach((key, uses) -> {
+            if (uses.sum() >= minUses) {
+                hot.add(key);
+            }
+        });
+        usage.clear();
+        if (hot.isEmpty()) {
+            return;
+        }
+
+        Map<MetadataFilter.ValueType, Set<String>> indexed = new EnumMap<>(MetadataFilter.ValueType.class);
+        int existing = 0;
+        for (MetadataFilter.ValueType type : MetadataFilter.ValueType.values()) {
+            Set<String> keys = new HashSet<>(threadMetadataIndexRepository.findIndexedKeys(type));
+            indexed.put(type, keys);
+            existing += keys.size();
+        }
+        for (Usage candidate : hot) {
+            Set<String> keys = indexed.get(candidate.type());
+            if (keys.contains(candidate.key())) {
+                continue;
+            }
+            if (existing >= maxIndexes) {
+                log.warn("Not indexing hot metadata key {} ({}): {} metadata indexes already exist",
+                        candidate.key(), candidate.type(), existing);
+                continue;
+            }
+            try {
+                threadMetadataIndexRepository.createIndex(candidate.key(), candidate.type());
+                keys.add(candidate.key());
+                existing++;
+                log.info("Indexed hot metadata key {} ({}), first hot for tenant {}",
+                        candidate.key(), candidate.type(), candidate.tenantId());
+            } catch (RuntimeException e) {
+                log.warn("Failed to index metadata key {} ({}); retrying once it is hot again",
+                        candidate.key(), candidate.type(), e);
+            }
+        }
+    }
+
+    private record Usage(String tenantId, String key, MetadataFilter.ValueType type) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.openforum.application.cache;
+
+import com.openforum.domain.repository.MemberSuggestionRepository;
+import com.openforum.domain.valueobject.MemberSuggestion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MemberMentionIndexTest {
+
+    @Mock
+    private MemberSuggestionRepository memberSuggestionRepository;
+
+    @Test
+    void complete_shouldMatchNameOrEmailPrefix_byName_andLoadTenantOnce() {
+        // Given
+        MemberMentionIndex index = new MemberMentionIndex(memberSuggestionRepository, true, Duration.ofMinutes(10));
+        when(memberSuggestionRepository.findAll("tenant-1")).thenReturn(List.of(
+                member("Bob", "alpha@example.com"),
+                member("Alice", "alice@example.com"),
+                member("alan", "x@example.com"),
+                member("Carol", "carol@example.com")));
+
+        // When
+        List<MemberSuggestion> first = index.complete("tenant-1", "AL", 10);
+        List<MemberSuggestion> second = index.complete("tenant-1", "al", 2);
+
+        // Then: Alice matches on both name and email but is suggested once
+        assertThat(first).extracting(MemberSuggestion::name).containsExactly("alan", "Alice", "Bob");
+        assertThat(second).extracting(MemberSuggestion::name).containsExactly("alan", "Alice");
+        verify(memberSuggestionRepository, times(1)).findAll("tenant-1");
+        verifyNoMoreInteractions(memberSuggestionRepository);
+    }
+
+    @Test
+    void complete_shouldSkipMembersWithoutEmail() {
+        // Given
+        MemberMentionIndex index = new MemberMentionIndex(memberSuggestionRepository, true, Duration.ofMinutes(10));
+        when(memberSuggestionRepository.findAll("tenant-1")).thenReturn(List.of(member("Dave", null)));
+
+        // When / Then
+        assertThat(index.complete("tenant-1", "d", 10)).extracting(MemberSuggestion::name).containsExactly("Dave");
+        assertThat(index.complete("tenant-1", "x", 10)).isEmpty();
+    }
+
+    @Test
+    void complete_shouldQueryDatabase_whenDisabled() {
+        // Given
+        MemberMentionIndex index = new MemberMentionIndex(memberSuggestionRepository, false, Duration.ofMinutes(10));
+        List<MemberSuggestion> matches = List.of(member("Alice", "alice@example.com"));
+        when(memberSuggestionRepository.findByPrefix("tenant-1", "al", 5)).thenReturn(matches);
+
+        // When / Then
+        assertThat(index.complete("tenant-1", "al", 5)).isEqualTo(matches);
+        verifyNoMoreInteractions(memberSuggestionRepository);
+    }
+
+    private static MemberSuggestion member(String name, String email) {
+        return new MemberSuggestion(UUID.randomUUID(), name, email, null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.openforum.application.cache;
+
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SearchScope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SearchResultCache(meterRegistry, Duration.ofSeconds(30), 2, clock::get);
+    }
+
+    @Test
+    void get_shouldServeRepeatedQueryFromCache() {
+        // Given
+        SearchQuery query = query("tenant-1", "postgres");
+        cache.get(query, slowLoader(Duration.ofMillis(40)));
+
+        // When
+        List<SearchHit> hits = cache.get(query, slowLoader(Duration.ofMillis(40)));
+
+        // Then
+        assertThat(hits).hasSize(1);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("openforum.search.cache.requests", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("openforum.search.cache.requests", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("openforum.search.cache.saved").count()).isEqualTo(0.04);
+    }
+
+    @Test
+    void invalidate_shouldOnlyDropThatTenant() {
+        // Given
+        cache.get(query("tenant-1", "postgres"), slowLoader(Duration.ZERO));
+        cache.get(query("tenant-2", "postgres"), slowLoader(Duration.ZERO));
+
+        // When
+        cache.invalidate("tenant-1");
+        cache.get(query("tenant-1", "postgres"), slowLoader(Duration.ZERO));
+        cache.get(query("tenant-2", "postgres"), slowLoader(Duration.ZERO));
+
+        // Then
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_shouldNotCacheResultsLoadedAcrossAnInvalidation() {
+        // Given
+        SearchQuery query = query("tenant-1", "postgres");
+
+        // When: a write lands while the index is being read
+        cache.get(query, () -> {
+            cache.invalidate("tenant-1");
+            return slowLoader(Duration.ZERO).get();
+        });
+        cache.get(query, slowLoader(Duration.ZERO));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldReloadAfterTtl() {
+        // Given
+        SearchQuery query = query("tenant-1", "postgres");
+        cache.get(query, slowLoader(Duration.ZERO));
+
+        // When
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        cache.get(query, slowLoader(Duration.ZERO));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldSkipCachingWhenTenantIsFull() {
+        // Given
+        cache.get(query("tenant-1", "a"), slowLoader(Duration.ZERO));
+        cache.get(query("tenant-1", "b"), slowLoader(Duration.ZERO));
+
+        // When
+        cache.get(query("tenant-1", "c"), slowLoader(Duration.ZERO));
+        cache.get(query("tenant-1", "c"), slowLoader(Duration.ZERO));
+        cache.get(query("tenant-1", "a"), slowLoader(Duration.ZERO));
+
+        // Then
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void get_shouldAlwaysLoadWhenDisabled() {
+        // Given
+        cache = new SearchResultCache(meterRegistry, Duration.ZERO, 2, clock::get);
+        SearchQuery query = query("tenant-1", "postgres");
+
+        // When
+        cache.get(query, slowLoader(Duration.ZERO));
+        cache.get(query, slowLoader(Duration.ZERO));
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    private Supplier<List<SearchHit>> slowLoader(Duration took) {
+        return () -> {
+            loads.incrementAndGet();
+            clock.addAndGet(took.toNanos());
+            return List.of(new SearchHit(SearchHit.Kind.POST, UUID.randomUUID(), UUID.randomUUID(), "Thread",
+                    "<b>postgres</b>", 0.5f, Instant.now()));
+        };
+    }
+
+    private static SearchQuery query(String tenantId, String text) {
+        return new SearchQuery(tenantId, text, SearchScope.ALL, null, null, null, null, 21);
+    }
+}
@@ -0,0 +1,164 @@
+package com.openforum.application.cache;
+
+import com.openforum.domain.aggregate.Tag;
+import com.openforum.domain.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagAutocompleteCacheTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private Consumer<String> beforeLoad;
+
+    private TagAutocompleteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TagAutocompleteCache(tagRepository, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void complete_shouldRankPrefixMatchesByUsage_andLoadTenantOnce() {
+        // Given
+        when(tagRepository.findByTenantId("tenant-1")).thenReturn(List.of(
+                tag("java", 5), tag("javascript", 40), tag("jvm", 100), tag("jakarta", 5), tag("python", 70)));
+
+        // When
+        List<TagAutocompleteCache.Suggestion> first = cache.complete("tenant-1", "ja", 10);
+        List<TagAutocompleteCache.Suggestion> second = cache.complete("tenant-1", "ja", 2);
+
+        // Then: ties are broken by name
+        assertThat(first).extracting(TagAutocompleteCache.Suggestion::name)
+                .containsExactly("javascript", "jakarta", "java");
+        assertThat(second).extracting(TagAutocompleteCache.Suggestion::name)
+                .containsExactly("javascript", "jakarta");
+        verify(tagRepository, times(1)).findByTenantId("tenant-1");
+        verifyNoMoreInteractions(tagRepository);
+    }
+
+    @Test
+    void complete_shouldReflectNewTagsAndUsageWithoutReloading() {
+        // Given
+        when(tagRepository.findByTenantId("tenant-1")).thenReturn(List.of(tag("java", 1), tag("javascript", 2)));
+        cache.complete("tenant-1", "j", 10);
+
+        // When
+        cache.added(tag("jax", 0));
+        cache.used("tenant-1", "jax");
+        cache.used("tenant-1", "jax");
+        cache.used("tenant-1", "jax");
+
+        // Then
+        assertThat(cache.complete("tenant-1", "ja", 10)).extracting(TagAutocompleteCache.Suggestion::name)
+                .containsExactly("jax", "javascript", "java");
+        assertThat(cache.find("tenant-1", "jax")).get()
+                .extracting(TagAutocompleteCache.Suggestion::usageCount).isEqualTo(3L);
+        verify(tagRepository, times(1)).findByTenantId("tenant-1");
+    }
+
+    @Test
+    void complete_shouldReturnNothing_whenNoTagMatches() {
+        // Given
+        when(tagRepository.findByTenantId("tenant-1")).thenReturn(List.of(tag("java", 1)));
+
+        // When / Then
+        assertThat(cache.complete("tenant-1", "rust", 10)).isEmpty();
+        assertThat(cache.complete("tenant-1", "javaa", 10)).isEmpty();
+    }
+
+    @Test
+    void complete_shouldQueryDatabase_whenDisabled() {
+        // Given
+        TagAutocompleteCache disabled = new TagAutocompleteCache(tagRepository, Duration.ZERO);
+        when(tagRepository.findByNameStartingWith("tenant-1", "ja", 10))
+                .thenReturn(List.of(tag("java", 1), tag("javascript", 2)));
+
+        // When
+        List<TagAutocompleteCache.Suggestion> result = disabled.complete("tenant-1", "ja", 10);
+
+        // Then
+        assertThat(result).extracting(TagAutocompleteCache.Suggestion::name).containsExactly("javascript", "java");
+    }
+
+    @Test
+    void complete_shouldRunBeforeLoadActionBeforeEachReload() {
+        // Given
+        TagAutocompleteCache expiring = new TagAutocompleteCache(tagRepository, Duration.ofNanos(1));
+        expiring.beforeLoad(beforeLoad);
+        when(tagRepository.findByTenantId("tenant-1")).thenReturn(List.of(tag("java", 1)));
+
+        // When
+        expiring.complete("tenant-1", "ja", 10);
+        expiring.complete("tenant-1", "ja", 10);
+
+        // Then
+        InOrder order = inOrder(beforeLoad, tagRepository);
+        order.verify(beforeLoad).accept("tenant-1");
+        order.verify(tagRepository).findByTenantId("tenant-1");
+        order.verify(beforeLoad).accept("tenant-1");
+        order.verify(tagRepository).findByTenantId("tenant-1");
+    }
+
+    @Test
+    void complete_shouldLoadTenantOnce_whenCalledConcurrently() throws Exception {
+        // Given a load that blocks until released
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(tagRepository.findByTenantId("tenant-1")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(tag("java", 1));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<TagAutocompleteCache.Suggestion>> first =
+                    executor.submit(() -> cache.complete("tenant-1", "ja", 10));
+            loading.await();
+            Future<List<TagAutocompleteCache.Suggestion>> second =
+                    executor.submit(() -> cache.complete("tenant-1", "ja", 10));
+
+            // When
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS)).extracting(TagAutocompleteCache.Suggestion::name)
+                    .containsExactly("java");
+            assertThat(second.get(5, TimeUnit.SECONDS)).extracting(TagAutocompleteCache.Suggestion::name)
+                    .containsExactly("java");
+            verify(tagRepository, times(1)).findByTenantId("tenant-1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Tag tag(String name, long usageCount) {
+        return Tag.reconstitute(UUID.randomUUID(), "tenant-1", name, usageCount, Instant.now(), null, Instant.now(),
+                null);
+    }
+}
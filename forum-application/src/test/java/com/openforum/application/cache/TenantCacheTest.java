@@ -0,0 +1,171 @@
+package com.openforum.application.cache;
+
+import com.openforum.application.event.TenantConfigChangedEvent;
+import com.openforum.domain.aggregate.Tenant;
+import com.openforum.domain.factory.TenantFactory;
+import com.openforum.domain.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantCacheTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    private TenantCache tenantCache;
+
+    @BeforeEach
+    void setUp() {
+        tenantCache = new TenantCache(tenantRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void get_shouldHitRepositoryOnlyOnce() {
+        // Given
+        Tenant tenant = tenant("tenant-1", "slug-1", Map.of());
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant));
+
+        // When
+        tenantCache.get("tenant-1");
+        Optional<Tenant> result = tenantCache.get("tenant-1");
+
+        // Then
+        assertThat(result).contains(tenant);
+        verify(tenantRepository, times(1)).findById("tenant-1");
+    }
+
+    @Test
+    void getBySlug_shouldPopulateIdLookup() {
+        // Given
+        Tenant tenant = tenant("tenant-1", "slug-1", Map.of());
+        when(tenantRepository.findBySlug("slug-1")).thenReturn(Optional.of(tenant));
+
+        // When
+        tenantCache.getBySlug("slug-1");
+        Optional<Tenant> bySlug = tenantCache.getBySlug("slug-1");
+        Optional<Tenant> byId = tenantCache.get("tenant-1");
+
+        // Then
+        assertThat(bySlug).contains(tenant);
+        assertThat(byId).contains(tenant);
+        verify(tenantRepository, times(1)).findBySlug("slug-1");
+        verify(tenantRepository, never()).findById("tenant-1");
+    }
+
+    @Test
+    void get_shouldNotCacheMissingTenants() {
+        // Given
+        when(tenantRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // When
+        tenantCache.get("missing");
+        tenantCache.get("missing");
+
+        // Then
+        verify(tenantRepository, times(2)).findById("missing");
+    }
+
+    @Test
+    void onTenantConfigChanged_shouldReloadTenantAndViews() {
+        // Given
+        Tenant before = tenant("tenant-1", "slug-1", Map.of("flag", "old"));
+        Tenant after = tenant("tenant-1", "slug-1", Map.of("flag", "new"));
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(before), Optional.of(after));
+        assertThat(tenantCache.view("tenant-1", String.class, config -> (String) config.get("flag")))
+                .contains("old");
+
+        // When
+        tenantCache.onTenantConfigChanged(new TenantConfigChangedEvent("tenant-1"));
+
+        // Then
+        assertThat(tenantCache.view("tenant-1", String.class, config -> (String) config.get("flag")))
+                .contains("new");
+        verify(tenantRepository, times(2)).findById("tenant-1");
+    }
+
+    @Test
+    void getBySlug_shouldNotServeSlugReplacedByReload() {
+        // Given
+        when(tenantRepository.findBySlug("slug-1")).thenReturn(Optional.of(tenant("tenant-1", "slug-1", Map.of())),
+                Optional.empty());
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant("tenant-1", "slug-2", Map.of())));
+        tenantCache.getBySlug("slug-1");
+        tenantCache.evict("tenant-1");
+        tenantCache.get("tenant-1");
+
+        // When
+        Optional<Tenant> oldSlug = tenantCache.getBySlug("slug-1");
+        Optional<Tenant> newSlug = tenantCache.getBySlug("slug-2");
+
+        // Then
+        assertThat(oldSlug).isEmpty();
+        assertThat(newSlug).map(Tenant::getSlug).contains("slug-2");
+        verify(tenantRepository, times(2)).findBySlug("slug-1");
+        verify(tenantRepository, never()).findBySlug("slug-2");
+    }
+
+    @Test
+    void getBySlug_shouldNotCacheLoadThatRacedAnEviction() {
+        // Given
+        Tenant tenant = tenant("tenant-1", "slug-1", Map.of());
+        when(tenantRepository.findBySlug("slug-1")).thenAnswer(invocation -> {
+            tenantCache.evict("tenant-1");
+            return Optional.of(tenant);
+        });
+
+        // When
+        tenantCache.getBySlug("slug-1");
+        tenantCache.getBySlug("slug-1");
+
+        // Then
+        verify(tenantRepository, times(2)).findBySlug("slug-1");
+    }
+
+    @Test
+    void view_shouldParseConfigOncePerEntry() {
+        // Given
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant("tenant-1", "slug-1", Map.of())));
+        AtomicInteger parses = new AtomicInteger();
+
+        // When
+        tenantCache.view("tenant-1", Integer.class, config -> parses.incrementAndGet());
+        tenantCache.view("tenant-1", Integer.class, config -> parses.incrementAndGet());
+
+        // Then
+        assertThat(parses).hasValue(1);
+    }
+
+    @Test
+    void zeroTtl_shouldDisableCaching() {
+        // Given
+        TenantCache uncached = new TenantCache(tenantRepository, Duration.ZERO);
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant("tenant-1", "slug-1", Map.of())));
+
+        // When
+        uncached.get("tenant-1");
+        uncached.get("tenant-1");
+
+        // Then
+        verify(tenantRepository, times(2)).findById("tenant-1");
+    }
+
+    private Tenant tenant(String id, String slug, Map<String, Object> config) {
+        return TenantFactory.create(id, slug, "Tenant", config, Instant.now(), null, Instant.now(), null);
+    }
+}
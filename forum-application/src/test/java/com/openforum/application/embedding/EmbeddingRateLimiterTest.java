@@ -0,0 +1,54 @@
+package com.openforum.application.embedding;
+
+import com.openforum.application.service.TenantService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingRateLimiterTest {
+
+    @Mock
+    private TenantService tenantService;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void should_grant_up_to_allowance_and_refill_over_time() {
+        // Given
+        when(tenantService.getConfigView(anyString(), eq(EmbeddingRateLimiter.Quota.class), any()))
+                .thenReturn(Optional.empty());
+        EmbeddingRateLimiter limiter = new EmbeddingRateLimiter(tenantService, 60, now::get);
+
+        // When & Then
+        assertThat(limiter.acquire("tenant-1", 50)).isEqualTo(50);
+        assertThat(limiter.acquire("tenant-1", 50)).isEqualTo(10);
+        assertThat(limiter.acquire("tenant-2", 50)).isEqualTo(50);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(limiter.acquire("tenant-1", 50)).isEqualTo(5);
+    }
+
+    @Test
+    void should_use_tenant_override() {
+        // Given
+        when(tenantService.getConfigView(eq("tenant-1"), eq(EmbeddingRateLimiter.Quota.class), any()))
+                .thenReturn(Optional.of(EmbeddingRateLimiter.Quota.from(Map.of("embedding.textsPerMinute", 2))));
+        EmbeddingRateLimiter limiter = new EmbeddingRateLimiter(tenantService, 60, now::get);
+
+        // When & Then
+        assertThat(limiter.acquire("tenant-1", 5)).isEqualTo(2);
+    }
+}
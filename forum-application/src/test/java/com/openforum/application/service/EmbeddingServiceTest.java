@@ -0,0 +1,153 @@
+package com.openforum.application.service;
+
+import com.openforum.application.embedding.EmbeddingRateLimiter;
+import com.openforum.domain.repository.EmbeddingRepository;
+import com.openforum.domain.search.EmbeddingProvider;
+import com.openforum.domain.valueobject.PostEmbedding;
+import com.openforum.domain.valueobject.PostText;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingServiceTest {
+
+    @Mock
+    private EmbeddingRepository embeddingRepository;
+
+    @Mock
+    private EmbeddingProvider embeddingProvider;
+
+    @Mock
+    private EmbeddingRateLimiter rateLimiter;
+
+    @Mock
+    private RelatedThreadService relatedThreadService;
+
+    private EmbeddingService embeddingService;
+
+    @BeforeEach
+    void setUp() {
+        embeddingService = new EmbeddingService(embeddingRepository, embeddingProvider, rateLimiter,
+                relatedThreadService, 3);
+    }
+
+    @Test
+    void should_embed_queued_posts_in_one_call_once_batch_is_full() {
+        // Given
+        List<PostText> posts = List.of(text("tenant-1", "a"), text("tenant-1", "b"), text("tenant-1", "c"));
+        when(embeddingRepository.findPending(any())).thenReturn(posts);
+        when(rateLimiter.acquire("tenant-1", 3)).thenReturn(3);
+        when(embeddingProvider.embed(List.of("a", "b", "c")))
+                .thenReturn(List.of(new float[] { 1f }, new float[] { 2f }, new float[] { 3f }));
+        when(embeddingProvider.model()).thenReturn("hashing-1");
+        when(embeddingRepository.saveAll(anyList())).thenReturn(3);
+
+        // When
+        embeddingService.submit(posts.get(0).postId());
+        embeddingService.submit(posts.get(1).postId());
+        verifyNoInteractions(embeddingProvider);
+        embeddingService.submit(posts.get(2).postId());
+
+        // Then
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(embeddingRepository).findPending(ids.capture());
+        assertThat(ids.getValue()).containsExactly(posts.get(0).postId(), posts.get(1).postId(),
+                posts.get(2).postId());
+
+        ArgumentCaptor<List<PostEmbedding>> saved = ArgumentCaptor.forClass(List.class);
+        verify(embeddingRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(PostEmbedding::postId)
+                .containsExactly(posts.get(0).postId(), posts.get(1).postId(), posts.get(2).postId());
+        assertThat(saved.getValue()).extracting(PostEmbedding::version).containsOnly(7L);
+        assertThat(saved.getValue()).extracting(PostEmbedding::model).containsOnly("hashing-1");
+        verify(relatedThreadService).onPostsEmbedded(List.of(posts.get(0).postId(), posts.get(1).postId(),
+                posts.get(2).postId()));
+    }
+
+    @Test
+    void should_flush_partial_batch_after_linger() {
+        // Given
+        PostText post = text("tenant-1", "a");
+        when(embeddingRepository.findPending(any())).thenReturn(List.of(post));
+        when(rateLimiter.acquire("tenant-1", 1)).thenReturn(1);
+        when(embeddingProvider.embed(List.of("a"))).thenReturn(List.of(new float[] { 1f }));
+
+        // When
+        embeddingService.submit(post.postId());
+        embeddingService.flush();
+        embeddingService.flush();
+
+        // Then: the second flush has nothing left to do
+        verify(embeddingRepository).findPending(any());
+        verify(embeddingRepository).saveAll(anyList());
+    }
+
+    @Test
+    void should_defer_posts_over_tenant_rate_limit() {
+        // Given
+        List<PostText> posts = List.of(text("busy", "a"), text("busy", "b"), text("quiet", "c"));
+        when(rateLimiter.acquire("busy", 2)).thenReturn(1);
+        when(rateLimiter.acquire("quiet", 1)).thenReturn(1);
+        when(embeddingProvider.embed(List.of("a", "c")))
+                .thenReturn(List.of(new float[] { 1f }, new float[] { 2f }));
+
+        // When
+        embeddingService.embed(posts);
+
+        // Then
+        ArgumentCaptor<List<PostEmbedding>> saved = ArgumentCaptor.forClass(List.class);
+        verify(embeddingRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(PostEmbedding::postId)
+                .containsExactly(posts.get(0).postId(), posts.get(2).postId());
+    }
+
+    @Test
+    void should_leave_posts_in_backlog_when_provider_fails() {
+        // Given
+        when(rateLimiter.acquire(eq("tenant-1"), anyInt())).thenReturn(1);
+        when(embeddingProvider.embed(anyList())).thenThrow(new IllegalStateException("quota exceeded"));
+
+        // When
+        int stored = embeddingService.embed(List.of(text("tenant-1", "a")));
+
+        // Then
+        assertThat(stored).isZero();
+        verify(embeddingRepository, never()).saveAll(anyList());
+        verifyNoInteractions(relatedThreadService);
+    }
+
+    @Test
+    void should_invalidate_embeddings_of_other_models() {
+        // Given
+        when(embeddingProvider.model()).thenReturn("hashing-1536");
+        when(embeddingRepository.invalidateOtherModels("hashing-1536", 100)).thenReturn(4);
+
+        // When
+        int invalidated = embeddingService.invalidateOtherModels(100);
+
+        // Then
+        assertThat(invalidated).isEqualTo(4);
+    }
+
+    private static PostText text(String tenantId, String content) {
+        return new PostText(UUID.randomUUID(), tenantId, 7L, content);
+    }
+}
@@ -0,0 +1,158 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.repository.SearchRepository;
+import com.openforum.domain.search.EmbeddingProvider;
+import com.openforum.domain.search.SearchIndex;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchScope;
+import com.openforum.domain.valueobject.SimilarityQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HybridSearchServiceTest {
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    @Mock
+    private EmbeddingProvider embeddingProvider;
+
+    @Mock
+    private TenantService tenantService;
+
+    private HybridSearchService hybridSearchService;
+
+    @BeforeEach
+    void setUp() {
+        hybridSearchService = new HybridSearchService(searchIndex, searchRepository, Optional.of(embeddingProvider),
+                tenantService, Runnable::run, 50, 60, 100);
+    }
+
+    @Test
+    void should_rank_hits_found_by_both_legs_first() {
+        // Given
+        SearchHit both = hit(SearchHit.Kind.POST, "keyword <b>snippet</b>");
+        SearchHit keywordOnly = hit(SearchHit.Kind.THREAD, "thread");
+        SearchHit semanticOnly = hit(SearchHit.Kind.POST, "semantic");
+        SearchHit bothSemantic = new SearchHit(SearchHit.Kind.POST, both.id(), both.threadId(), both.title(),
+                "plain text", 0.9f, both.createdAt());
+        givenWeights(Map.of());
+        when(searchIndex.search(any())).thenReturn(List.of(both, keywordOnly));
+        when(embeddingProvider.embed(anyString())).thenReturn(new float[] { 1f, 0f });
+        when(searchRepository.searchSimilar(any())).thenReturn(List.of(semanticOnly, bothSemantic));
+
+        // When
+        HybridSearchService.HybridSearchResults results = hybridSearchService.search("tenant-1", "postgres",
+                null, null, null, null, 10, null);
+
+        // Then: a first place in one list outweighs a second place in the other
+        assertThat(results.hits()).extracting(SearchHit::id)
+                .containsExactly(both.id(), semanticOnly.id(), keywordOnly.id());
+        assertThat(results.hits().get(0).snippet()).isEqualTo("keyword <b>snippet</b>");
+        assertThat(results.hits().get(0).rank()).isEqualTo((float) (1.0 / 61 + 1.0 / 62));
+        assertThat(results.timings().totalMillis()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void should_apply_tenant_weights_and_skip_zero_weighted_leg() {
+        // Given
+        givenWeights(Map.of("search.semanticWeight", 0));
+        when(searchIndex.search(any())).thenReturn(List.of(hit(SearchHit.Kind.POST, "a")));
+
+        // When
+        HybridSearchService.HybridSearchResults results = hybridSearchService.search("tenant-1", "postgres",
+                SearchScope.ALL, null, null, null, 10, null);
+
+        // Then
+        assertThat(results.hits()).hasSize(1);
+        verifyNoInteractions(embeddingProvider);
+        verify(searchRepository, never()).searchSimilar(any());
+    }
+
+    @Test
+    void should_skip_semantic_leg_when_embeddings_are_disabled() {
+        // Given
+        hybridSearchService = new HybridSearchService(searchIndex, searchRepository, Optional.empty(),
+                tenantService, Runnable::run, 50, 60, 100);
+        givenWeights(Map.of());
+        when(searchIndex.search(any())).thenReturn(List.of(hit(SearchHit.Kind.POST, "a")));
+
+        // When
+        HybridSearchService.HybridSearchResults results = hybridSearchService.search("tenant-1", "postgres",
+                SearchScope.ALL, null, null, null, 10, null);
+
+        // Then
+        assertThat(results.hits()).hasSize(1);
+        verify(searchRepository, never()).searchSimilar(any());
+    }
+
+    @Test
+    void should_return_keyword_hits_when_semantic_leg_fails() {
+        // Given
+        givenWeights(Map.of());
+        SearchHit keywordHit = hit(SearchHit.Kind.POST, "a");
+        when(searchIndex.search(any())).thenReturn(List.of(keywordHit));
+        when(embeddingProvider.embed(anyString())).thenThrow(new IllegalStateException("provider down"));
+
+        // When
+        HybridSearchService.HybridSearchResults results = hybridSearchService.search("tenant-1", "postgres",
+                null, null, null, null, 10, null);
+
+        // Then
+        assertThat(results.hits()).extracting(SearchHit::id).containsExactly(keywordHit.id());
+    }
+
+    @Test
+    void should_keep_ef_search_between_candidate_count_and_limit() {
+        // Given
+        givenWeights(Map.of("search.keywordWeight", 0));
+        when(embeddingProvider.embed(anyString())).thenReturn(new float[] { 1f, 0f });
+        when(searchRepository.searchSimilar(any())).thenReturn(List.of());
+
+        // When
+        hybridSearchService.search("tenant-1", "postgres", null, null, null, null, 10, 10);
+        hybridSearchService.search("tenant-1", "postgres", null, null, null, null, 10, 5000);
+
+        // Then
+        ArgumentCaptor<SimilarityQuery> queries = ArgumentCaptor.forClass(SimilarityQuery.class);
+        verify(searchRepository, times(2)).searchSimilar(queries.capture());
+        assertThat(queries.getAllValues()).extracting(SimilarityQuery::efSearch).containsExactly(50, 1000);
+        assertThat(queries.getAllValues()).extracting(SimilarityQuery::limit).containsOnly(50);
+        verifyNoInteractions(searchIndex);
+    }
+
+    private void givenWeights(Map<String, Object> tenantConfig) {
+        when(tenantService.getConfigView(eq("tenant-1"), eq(HybridSearchService.Weights.class), any()))
+                .thenReturn(Optional.of(HybridSearchService.Weights.from(tenantConfig)));
+    }
+
+    private static SearchHit hit(SearchHit.Kind kind, String snippet) {
+        UUID id = UUID.randomUUID();
+        return new SearchHit(kind, id, kind == SearchHit.Kind.THREAD ? id : UUID.randomUUID(), "Title", snippet,
+                0.5f, Instant.parse("2024-06-01T00:00:00Z"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.openforum.application.service;
+
+import com.openforum.application.cache.MemberMentionIndex;
+import com.openforum.domain.repository.MemberSuggestionRepository;
+import com.openforum.domain.valueobject.MemberSuggestion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MemberMentionServiceTest {
+
+    @Mock
+    private MemberSuggestionRepository memberSuggestionRepository;
+
+    @Mock
+    private MemberMentionIndex memberMentionIndex;
+
+    private MemberMentionService memberMentionService;
+
+    @BeforeEach
+    void setUp() {
+        memberMentionService = new MemberMentionService(memberSuggestionRepository, memberMentionIndex, 50);
+    }
+
+    @Test
+    void suggest_shouldRankMatchingThreadParticipantsFirst() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        MemberSuggestion alan = member("Alan", "alan@example.com");
+        MemberSuggestion bob = member("Bob", "bob@example.com");
+        MemberSuggestion alice = member("Alice", "alice@example.com");
+        when(memberSuggestionRepository.findThreadParticipants("tenant-1", threadId, 50))
+                .thenReturn(List.of(bob, alan));
+        when(memberMentionIndex.complete("tenant-1", "al", 10)).thenReturn(List.of(alan, alice));
+
+        // When
+        List<MemberSuggestion> suggestions = memberMentionService.suggest("tenant-1", " Al", threadId, 10);
+
+        // Then: Bob posted but doesn't match; Alan is suggested once
+        assertThat(suggestions).containsExactly(alan, alice);
+    }
+
+    @Test
+    void suggest_shouldStopAtLimit() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        MemberSuggestion alan = member("Alan", "alan@example.com");
+        MemberSuggestion alice = member("Alice", "alice@example.com");
+        when(memberSuggestionRepository.findThreadParticipants("tenant-1", threadId, 50))
+                .thenReturn(List.of(alice, alan));
+        when(memberMentionIndex.complete("tenant-1", "al", 1)).thenReturn(List.of(alan));
+
+        // When / Then
+        assertThat(memberMentionService.suggest("tenant-1", "al", threadId, 1)).containsExactly(alice);
+    }
+
+    @Test
+    void suggest_shouldOfferOnlyParticipants_forBlankQuery() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        MemberSuggestion bob = member("Bob", "bob@example.com");
+        when(memberSuggestionRepository.findThreadParticipants("tenant-1", threadId, 50)).thenReturn(List.of(bob));
+
+        // When / Then
+        assertThat(memberMentionService.suggest("tenant-1", "", threadId, 10)).containsExactly(bob);
+        verify(memberMentionIndex, never()).complete(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void suggest_shouldSkipParticipants_withoutThread() {
+        // Given
+        MemberSuggestion alice = member("Alice", "alice@example.com");
+        when(memberMentionIndex.complete("tenant-1", "al", 10)).thenReturn(List.of(alice));
+
+        // When / Then
+        assertThat(memberMentionService.suggest("tenant-1", "al", null, 10)).containsExactly(alice);
+        verify(memberSuggestionRepository, never()).findThreadParticipants(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void suggest_shouldReturnNothing_forBlankQueryWithoutThread() {
+        assertThat(memberMentionService.suggest("tenant-1", " ", null, 10)).isEmpty();
+        verifyNoInteractions(memberSuggestionRepository, memberMentionIndex);
+    }
+
+    private static MemberSuggestion member(String name, String email) {
+        return new MemberSuggestion(UUID.randomUUID(), name, email, null);
+    }
+}
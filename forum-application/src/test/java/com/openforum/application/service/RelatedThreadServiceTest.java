@@ -0,0 +1,98 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.repository.RelatedThreadRepository;
+import com.openforum.domain.valueobject.RelatedThread;
+import com.openforum.domain.valueobject.RelatedThreads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RelatedThreadServiceTest {
+
+    @Mock
+    private RelatedThreadRepository relatedThreadRepository;
+
+    private RelatedThreadService relatedThreadService;
+
+    @BeforeEach
+    void setUp() {
+        relatedThreadService = new RelatedThreadService(relatedThreadRepository, 5, 100);
+    }
+
+    @Test
+    void should_serve_stored_list_without_recomputing() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        RelatedThreads stored = new RelatedThreads(threadId,
+                List.of(new RelatedThread(UUID.randomUUID(), "Similar", 3, 0.9f)), Instant.now());
+        when(relatedThreadRepository.findByThreadId(threadId)).thenReturn(Optional.of(stored));
+
+        // When
+        RelatedThreads related = relatedThreadService.getRelated(threadId);
+
+        // Then
+        assertThat(related).isEqualTo(stored);
+        verify(relatedThreadRepository, never()).refreshForThreads(anyCollection(), anyInt(), anyInt());
+    }
+
+    @Test
+    void should_compute_missing_list_on_first_view() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        RelatedThreads computed = new RelatedThreads(threadId, List.of(), Instant.now());
+        when(relatedThreadRepository.findByThreadId(threadId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(computed));
+        when(relatedThreadRepository.hasOpeningEmbedding(threadId)).thenReturn(true);
+
+        // When
+        RelatedThreads related = relatedThreadService.getRelated(threadId);
+
+        // Then
+        assertThat(related).isEqualTo(computed);
+        verify(relatedThreadRepository).refreshForThreads(List.of(threadId), 5, 100);
+    }
+
+    @Test
+    void should_return_empty_list_without_computing_when_opening_post_not_embedded() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        when(relatedThreadRepository.findByThreadId(threadId)).thenReturn(Optional.empty());
+        when(relatedThreadRepository.hasOpeningEmbedding(threadId)).thenReturn(false);
+
+        // When
+        RelatedThreads related = relatedThreadService.getRelated(threadId);
+
+        // Then
+        assertThat(related.threads()).isEmpty();
+        assertThat(related.computedAt()).isNull();
+        verify(relatedThreadRepository, never()).refreshForThreads(anyCollection(), anyInt(), anyInt());
+    }
+
+    @Test
+    void should_not_fail_embedding_when_refresh_fails() {
+        // Given
+        when(relatedThreadRepository.refreshForPosts(anyCollection(), anyInt(), anyInt()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        // When / Then
+        assertThatCode(() -> relatedThreadService.onPostsEmbedded(List.of(UUID.randomUUID())))
+                .doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,131 @@
+package com.openforum.application.service;
+
+import com.openforum.application.cache.SearchResultCache;
+import com.openforum.domain.search.SearchIndex;
+import com.openforum.domain.valueobject.SearchCursor;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SearchScope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchService(searchIndex,
+                new SearchResultCache(new SimpleMeterRegistry(), Duration.ofSeconds(30), 100));
+    }
+
+    @Test
+    void should_return_next_cursor_when_more_hits_exist() {
+        // Given
+        List<SearchHit> hits = IntStream.range(0, 3).mapToObj(i -> hit(1.0f - i * 0.1f)).toList();
+        when(searchIndex.search(any())).thenReturn(hits);
+
+        // When
+        SearchService.SearchResults results = searchService.search("tenant-1", "postgres index", null, null,
+                null, null, null, 2);
+
+        // Then
+        assertThat(results.hits()).hasSize(2);
+        assertThat(results.next()).isEqualTo(SearchCursor.of(hits.get(1)));
+
+        ArgumentCaptor<SearchQuery> query = ArgumentCaptor.forClass(SearchQuery.class);
+        verify(searchIndex).search(query.capture());
+        assertThat(query.getValue().limit()).isEqualTo(3);
+        assertThat(query.getValue().scope()).isEqualTo(SearchScope.ALL);
+    }
+
+    @Test
+    void should_return_no_cursor_on_last_page() {
+        // Given
+        when(searchIndex.search(any())).thenReturn(List.of(hit(0.5f)));
+
+        // When
+        SearchService.SearchResults results = searchService.search("tenant-1", "postgres", SearchScope.POSTS,
+                null, null, null, null, 20);
+
+        // Then
+        assertThat(results.hits()).hasSize(1);
+        assertThat(results.next()).isNull();
+    }
+
+    @Test
+    void should_not_query_for_blank_text() {
+        // When
+        SearchService.SearchResults results = searchService.search("tenant-1", "  ", SearchScope.ALL, null,
+                null, null, null, 20);
+
+        // Then
+        assertThat(results.hits()).isEmpty();
+        verify(searchIndex, never()).search(any());
+    }
+
+    @Test
+    void should_serve_repeated_query_from_cache_regardless_of_case_and_spacing() {
+        // Given
+        when(searchIndex.search(any())).thenReturn(List.of(hit(0.5f)));
+
+        // When
+        searchService.search("tenant-1", "Postgres  Index", SearchScope.ALL, null, null, null, null, 20);
+        SearchService.SearchResults results = searchService.search("tenant-1", " postgres index ", SearchScope.ALL,
+                null, null, null, null, 20);
+
+        // Then
+        assertThat(results.hits()).hasSize(1);
+        ArgumentCaptor<SearchQuery> query = ArgumentCaptor.forClass(SearchQuery.class);
+        verify(searchIndex).search(query.capture());
+        assertThat(query.getValue().text()).isEqualTo("postgres index");
+    }
+
+    @Test
+    void should_not_share_cache_entries_across_filters() {
+        // Given
+        when(searchIndex.search(any())).thenReturn(List.of(hit(0.5f)));
+
+        // When
+        searchService.search("tenant-1", "postgres", SearchScope.ALL, null, null, null, null, 20);
+        searchService.search("tenant-1", "postgres", SearchScope.POSTS, null, null, null, null, 20);
+
+        // Then
+        verify(searchIndex, times(2)).search(any());
+    }
+
+    @Test
+    void cursor_should_round_trip_through_its_token() {
+        SearchCursor cursor = new SearchCursor(0.1f, UUID.randomUUID());
+
+        assertThat(SearchCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    private static SearchHit hit(float rank) {
+        UUID id = UUID.randomUUID();
+        return new SearchHit(SearchHit.Kind.POST, id, UUID.randomUUID(), "Thread", "<b>postgres</b>", rank,
+                Instant.now());
+    }
+}
@@ -1,7 +1,6 @@
 package com.openforum.application.service;
 
 import com.openforum.domain.aggregate.Subscription;
-import com.openforum.domain.aggregate.Thread;
 import com.openforum.domain.repository.SubscriptionRepository;
 import com.openforum.domain.repository.ThreadRepository;
 import com.openforum.domain.valueobject.TargetType;
@@ -12,12 +11,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,12 +47,10 @@ class SubscriptionServiceTest {
         String threadTitle = "Test Thread";
         Subscription subscription = Subscription.create("tenant-1", memberId, threadId, TargetType.THREAD);
 
-        Thread thread = org.mockito.Mockito.mock(Thread.class);
-        when(thread.getTitle()).thenReturn(threadTitle);
-
         when(subscriptionRepository.findByMemberId(eq(memberId), anyInt(), anyInt()))
                 .thenReturn(List.of(subscription));
-        when(threadRepository.findById(threadId)).thenReturn(Optional.of(thread));
+        when(threadRepository.findTitlesByIds(Set.of(threadId))).thenReturn(Map.of(threadId, threadTitle));
+        when(categoryRepository.findNamesByIds(Set.of())).thenReturn(Map.of());
 
         // When
         List<com.openforum.application.dto.SubscriptionDto> result = subscriptionService.getSubscriptionsForMember("tenant-1", memberId, 0, 10);
@@ -60,4 +62,35 @@ class SubscriptionServiceTest {
         assertThat(result.get(0).title()).isEqualTo(threadTitle);
         assertThat(result.get(0).targetType()).isEqualTo(TargetType.THREAD);
     }
+
+    @Test
+    void should_resolve_titles_with_one_lookup_per_target_type() {
+        // Given
+        UUID memberId = UUID.randomUUID();
+        UUID threadA = UUID.randomUUID();
+        UUID threadB = UUID.randomUUID();
+        UUID missingThread = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        List<Subscription> subscriptions = List.of(
+                Subscription.create("tenant-1", memberId, threadA, TargetType.THREAD),
+                Subscription.create("tenant-1", memberId, categoryId, TargetType.CATEGORY),
+                Subscription.create("tenant-1", memberId, threadB, TargetType.THREAD),
+                Subscription.create("tenant-1", memberId, missingThread, TargetType.THREAD));
+
+        when(subscriptionRepository.findByMemberId(eq(memberId), anyInt(), anyInt())).thenReturn(subscriptions);
+        when(threadRepository.findTitlesByIds(Set.of(threadA, threadB, missingThread)))
+                .thenReturn(Map.of(threadA, "Thread A", threadB, "Thread B"));
+        when(categoryRepository.findNamesByIds(Set.of(categoryId))).thenReturn(Map.of(categoryId, "General"));
+
+        // When
+        List<com.openforum.application.dto.SubscriptionDto> result = subscriptionService.getSubscriptionsForMember("tenant-1", memberId, 0, 10);
+
+        // Then
+        assertThat(result).extracting(com.openforum.application.dto.SubscriptionDto::title)
+                .containsExactly("Thread A", "General", "Thread B", "Unknown Thread");
+        verify(threadRepository, times(1)).findTitlesByIds(any());
+        verify(categoryRepository, times(1)).findNamesByIds(any());
+        verify(threadRepository, never()).findById(any());
+        verify(categoryRepository, never()).findById(any());
+    }
 }
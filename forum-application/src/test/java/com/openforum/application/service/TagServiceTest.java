@@ -0,0 +1,122 @@
+package com.openforum.application.service;
+
+import com.openforum.application.cache.TagAutocompleteCache;
+import com.openforum.domain.aggregate.Tag;
+import com.openforum.domain.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceTest {
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private TagAutocompleteCache tagAutocompleteCache;
+
+    private TagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new TagService(tagRepository, tagAutocompleteCache);
+    }
+
+    @Test
+    void recordUsage_shouldBufferUsesAndFlushThemInOneBatch() {
+        // Given
+        when(tagAutocompleteCache.find(anyString(), anyString()))
+                .thenReturn(Optional.of(new TagAutocompleteCache.Suggestion(UUID.randomUUID(), "java", 1)));
+
+        // When
+        tagService.recordUsage("tenant-1", "Java", null);
+        tagService.recordUsage("tenant-1", "java", null);
+        tagService.recordUsage("tenant-1", "kotlin", null);
+        verify(tagRepository, never()).incrementUsageCounts(anyString(), anyMap());
+        tagService.flushUsage();
+        tagService.flushUsage();
+
+        // Then: one batch, and nothing left for the second flush
+        ArgumentCaptor<Map<String, Long>> increments = ArgumentCaptor.forClass(Map.class);
+        verify(tagRepository, times(1)).incrementUsageCounts(eq("tenant-1"), increments.capture());
+        assertThat(increments.getValue()).containsExactlyInAnyOrderEntriesOf(Map.of("java", 2L, "kotlin", 1L));
+        verify(tagAutocompleteCache, times(2)).used("tenant-1", "java");
+    }
+
+    @Test
+    void recordUsage_shouldCreateTagOnFirstUse() {
+        // Given
+        UUID memberId = UUID.randomUUID();
+        when(tagAutocompleteCache.find("tenant-1", "rust")).thenReturn(Optional.empty());
+        when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        tagService.recordUsage("tenant-1", " Rust ", memberId);
+
+        // Then
+        ArgumentCaptor<Tag> created = ArgumentCaptor.forClass(Tag.class);
+        verify(tagRepository).save(created.capture());
+        assertThat(created.getValue().getName()).isEqualTo("rust");
+        assertThat(created.getValue().getCreatedBy()).isEqualTo(memberId);
+        verify(tagAutocompleteCache).added(created.getValue());
+    }
+
+    @Test
+    void flushUsage_shouldKeepCountsWhenWriteFails() {
+        // Given
+        when(tagAutocompleteCache.find(anyString(), anyString()))
+                .thenReturn(Optional.of(new TagAutocompleteCache.Suggestion(UUID.randomUUID(), "java", 1)));
+        tagService.recordUsage("tenant-1", "java", null);
+        doThrow(new IllegalStateException("database unavailable"))
+                .doNothing()
+                .when(tagRepository).incrementUsageCounts(anyString(), anyMap());
+
+        // When
+        tagService.flushUsage();
+        tagService.recordUsage("tenant-1", "java", null);
+        tagService.flushUsage();
+
+        // Then
+        ArgumentCaptor<Map<String, Long>> increments = ArgumentCaptor.forClass(Map.class);
+        verify(tagRepository, times(2)).incrementUsageCounts(eq("tenant-1"), increments.capture());
+        assertThat(increments.getAllValues().get(1)).containsEntry("java", 2L);
+    }
+
+    @Test
+    void cacheReload_shouldFlushTheTenantsBufferedUsesFirst() {
+        // Given
+        ArgumentCaptor<Consumer<String>> beforeLoad = ArgumentCaptor.forClass(Consumer.class);
+        verify(tagAutocompleteCache).beforeLoad(beforeLoad.capture());
+        when(tagAutocompleteCache.find(anyString(), anyString()))
+                .thenReturn(Optional.of(new TagAutocompleteCache.Suggestion(UUID.randomUUID(), "java", 1)));
+        tagService.recordUsage("tenant-1", "java", null);
+        tagService.recordUsage("tenant-2", "java", null);
+
+        // When
+        beforeLoad.getValue().accept("tenant-1");
+
+        // Then: only the reloaded tenant is written
+        verify(tagRepository).incrementUsageCounts("tenant-1", Map.of("java", 1L));
+        verify(tagRepository, never()).incrementUsageCounts(eq("tenant-2"), anyMap());
+    }
+}
@@ -1,5 +1,6 @@
 package com.openforum.application.service;
 
+import com.openforum.application.cache.TenantCache;
 import com.openforum.domain.aggregate.Tenant;
 import com.openforum.domain.repository.TenantRepository;
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,9 @@ class TenantServiceTest {
     @Mock
     private org.springframework.context.ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private TenantCache tenantCache;
+
     @InjectMocks
     private TenantService tenantService;
 
@@ -36,7 +40,7 @@ class TenantServiceTest {
         Tenant tenant = com.openforum.domain.factory.TenantFactory.create(tenantId, "slug-1", "Tenant 1", Map.of(),
                 java.time.Instant.now(), java.util.UUID.randomUUID(), java.time.Instant.now(),
                 java.util.UUID.randomUUID());
-        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
+        when(tenantCache.get(tenantId)).thenReturn(Optional.of(tenant));
 
         // When
         Optional<Tenant> result = tenantService.getTenant(tenantId);
@@ -65,6 +69,7 @@ class TenantServiceTest {
         // Then
         assertThat(updatedTenant.getConfig()).containsEntry("key", "new");
         verify(tenantRepository).save(any(Tenant.class));
+        verify(eventPublisher).publishEvent(any(com.openforum.application.event.TenantConfigChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,105 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.aggregate.Tenant;
+import com.openforum.domain.repository.TenantRepository;
+import com.openforum.domain.repository.ThreadFacetRepository;
+import com.openforum.domain.valueobject.Facet;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadFacetServiceTest {
+
+    @Mock
+    private ThreadFacetRepository threadFacetRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private ThreadMetadataSchemaService threadMetadataSchemaService;
+
+    private ThreadFacetService threadFacetService;
+
+    @BeforeEach
+    void setUp() {
+        threadFacetService = new ThreadFacetService(threadFacetRepository, tenantRepository,
+                threadMetadataSchemaService, 20);
+    }
+
+    @Test
+    void should_read_maintained_counts_when_unfiltered() {
+        // Given
+        List<Facet> facets = List.of(new Facet("make", List.of(new Facet.Value("volvo", 2))));
+        when(threadFacetRepository.findCounts("tenant-1", 20)).thenReturn(facets);
+
+        // When
+        List<Facet> result = threadFacetService.getFacets("tenant-1", List.of());
+
+        // Then
+        assertThat(result).isEqualTo(facets);
+        verify(threadFacetRepository, never()).countMatching(anyString(), any(), any(), anyInt());
+    }
+
+    @Test
+    void should_count_matching_threads_when_filtered() {
+        // Given
+        List<MetadataFilter> filters = List.of(MetadataFilter.parse("year>=2021"));
+        List<Facet> facets = List.of(new Facet("make", List.of(new Facet.Value("saab", 1))));
+        when(threadMetadataSchemaService.readableSchema("tenant-1")).thenReturn(MetadataSchema.EMPTY);
+        when(threadFacetRepository.countMatching("tenant-1", filters, MetadataSchema.EMPTY, 20)).thenReturn(facets);
+
+        // When
+        List<Facet> result = threadFacetService.getFacets("tenant-1", filters);
+
+        // Then
+        assertThat(result).isEqualTo(facets);
+    }
+
+    @Test
+    void should_declare_keys_from_tenant_config() {
+        // Given
+        Tenant tenant = new Tenant("tenant-1", "tenant-1", "Tenant", Map.of(
+                "facets.keys", List.of(" make ", "year", "make", "", 42)),
+                Instant.now(), null, Instant.now(), null);
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant));
+
+        // When
+        threadFacetService.syncKeys("tenant-1");
+
+        // Then
+        verify(threadFacetRepository).declareKeys("tenant-1", List.of("make", "year"));
+    }
+
+    @Test
+    void should_clear_keys_when_config_declares_none() {
+        // Given
+        Tenant tenant = new Tenant("tenant-1", "tenant-1", "Tenant", Map.of("facets.keys", "make"),
+                Instant.now(), null, Instant.now(), null);
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant));
+
+        // When
+        threadFacetService.syncKeys("tenant-1");
+
+        // Then
+        verify(threadFacetRepository).declareKeys("tenant-1", List.of());
+    }
+}
@@ -0,0 +1,102 @@
+package com.openforum.application.service;
+
+import com.openforum.domain.aggregate.Tenant;
+import com.openforum.domain.repository.TenantRepository;
+import com.openforum.domain.repository.ThreadMetadataSchemaRepository;
+import com.openforum.domain.valueobject.MetadataSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadMetadataSchemaServiceTest {
+
+    @Mock
+    private ThreadMetadataSchemaRepository threadMetadataSchemaRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private TenantService tenantService;
+
+    private ThreadMetadataSchemaService threadMetadataSchemaService;
+
+    @BeforeEach
+    void setUp() {
+        threadMetadataSchemaService = new ThreadMetadataSchemaService(threadMetadataSchemaRepository,
+                tenantRepository, tenantService);
+    }
+
+    @Test
+    void should_default_to_empty_schema_for_unknown_tenant() {
+        // Given
+        when(tenantService.getConfigView(eq("missing"), eq(MetadataSchema.class), any()))
+                .thenReturn(Optional.empty());
+
+        // When
+        MetadataSchema schema = threadMetadataSchemaService.schema("missing");
+
+        // Then
+        assertThat(schema).isEqualTo(MetadataSchema.EMPTY);
+    }
+
+    @Test
+    void should_read_keys_still_backfilling_as_free_form() {
+        // Given
+        MetadataSchema schema = new MetadataSchema(Map.of(
+                "deal_irr", MetadataSchema.FieldType.NUMBER,
+                "listed_on", MetadataSchema.FieldType.DATE));
+        when(tenantService.getConfigView(eq("tenant-1"), eq(MetadataSchema.class), any()))
+                .thenReturn(Optional.of(schema));
+        when(threadMetadataSchemaRepository.findBackfillingKeys("tenant-1")).thenReturn(Set.of("listed_on"));
+
+        // When
+        MetadataSchema readable = threadMetadataSchemaService.readableSchema("tenant-1");
+
+        // Then
+        assertThat(readable).isEqualTo(new MetadataSchema(Map.of("deal_irr", MetadataSchema.FieldType.NUMBER)));
+    }
+
+    @Test
+    void should_declare_schema_from_tenant_config() {
+        // Given
+        Tenant tenant = new Tenant("tenant-1", "tenant-1", "Tenant", Map.of(
+                "metadata.schema", Map.of("deal_irr", "number")),
+                Instant.now(), null, Instant.now(), null);
+        when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant));
+
+        // When
+        threadMetadataSchemaService.syncSchema("tenant-1");
+
+        // Then
+        verify(threadMetadataSchemaRepository).declare("tenant-1",
+                new MetadataSchema(Map.of("deal_irr", MetadataSchema.FieldType.NUMBER)));
+    }
+
+    @Test
+    void should_skip_sync_for_unknown_tenant() {
+        // Given
+        when(tenantRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // When
+        threadMetadataSchemaService.syncSchema("missing");
+
+        // Then
+        verifyNoInteractions(threadMetadataSchemaRepository);
+    }
+}
@@ -1,5 +1,6 @@
 package com.openforum.application.service;
 
+import com.openforum.application.event.PostVotedEvent;
 import com.openforum.domain.repository.VoteRepository;
 import com.openforum.domain.repository.VoteRepository.VoteRecord;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,14 +8,19 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +29,9 @@ class VoteServiceTest {
     @Mock
     private VoteRepository voteRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private VoteService voteService;
 
     private final UUID postId = UUID.randomUUID();
@@ -31,7 +40,7 @@ class VoteServiceTest {
 
     @BeforeEach
     void setUp() {
-        voteService = new VoteService(voteRepository);
+        voteService = new VoteService(voteRepository, eventPublisher);
     }
 
     @Nested
@@ -42,7 +51,9 @@ class VoteServiceTest {
         @DisplayName("Scenario A: New upvote creates vote and returns +1")
         void newUpvote_createsVoteAndReturnsPositiveOne() {
             // Given: No existing vote
+            UUID threadId = UUID.randomUUID();
             when(voteRepository.findByPostIdAndMemberId(postId, memberId)).thenReturn(Optional.empty());
+            when(voteRepository.updatePostScore(postId, 1)).thenReturn(Optional.of(threadId));
 
             // When
             int result = voteService.vote(postId, memberId, tenantId, 1);
@@ -51,6 +62,9 @@ class VoteServiceTest {
             assertThat(result).isEqualTo(1);
             verify(voteRepository).save(postId, memberId, tenantId, 1);
             verify(voteRepository).updatePostScore(postId, 1);
+            ArgumentCaptor<PostVotedEvent> event = ArgumentCaptor.forClass(PostVotedEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().getThreadId()).isEqualTo(threadId);
         }
 
         @Test
@@ -182,4 +196,32 @@ class VoteServiceTest {
             assertThat(result).isEqualTo(0);
         }
     }
+
+    @Nested
+    @DisplayName("getUserVotes")
+    class GetUserVotes {
+
+        @Test
+        @DisplayName("Maps each voted post to its value in a single lookup")
+        void mapsVotesByPostId() {
+            UUID otherPostId = UUID.randomUUID();
+            UUID unvotedPostId = UUID.randomUUID();
+            List<UUID> postIds = List.of(postId, otherPostId, unvotedPostId);
+            when(voteRepository.findByPostIdsAndMemberId(postIds, memberId))
+                    .thenReturn(List.of(new VoteRecord(postId, memberId, 1),
+                            new VoteRecord(otherPostId, memberId, -1)));
+
+            Map<UUID, Integer> result = voteService.getUserVotes(postIds, memberId);
+
+            assertThat(result).containsOnly(entry(postId, 1), entry(otherPostId, -1));
+            verify(voteRepository, times(1)).findByPostIdsAndMemberId(postIds, memberId);
+        }
+
+        @Test
+        @DisplayName("Skips the lookup for an empty page")
+        void emptyPageSkipsLookup() {
+            assertThat(voteService.getUserVotes(List.of(), memberId)).isEmpty();
+            verifyNoInteractions(voteRepository);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.ReplyCountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplyCountServiceTest {
+
+    @Mock
+    private ReplyCountRepository replyCountRepository;
+
+    @Test
+    void applyQueuedChanges_shouldRunBatchesUntilQueueIsDrained() {
+        // Given
+        ReplyCountService service = new ReplyCountService(replyCountRepository, 100, 10);
+        when(replyCountRepository.applyQueuedChanges(100)).thenReturn(true, true, false);
+
+        // When
+        service.applyQueuedChanges();
+
+        // Then
+        verify(replyCountRepository, times(3)).applyQueuedChanges(100);
+    }
+
+    @Test
+    void applyQueuedChanges_shouldStopAfterMaxBatchesPerRun() {
+        // Given
+        ReplyCountService service = new ReplyCountService(replyCountRepository, 100, 2);
+        when(replyCountRepository.applyQueuedChanges(100)).thenReturn(true);
+
+        // When
+        service.applyQueuedChanges();
+
+        // Then
+        verify(replyCountRepository, times(2)).applyQueuedChanges(100);
+    }
+}
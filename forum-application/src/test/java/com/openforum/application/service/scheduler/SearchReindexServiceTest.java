@@ -0,0 +1,56 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.SearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchReindexServiceTest {
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    private SearchReindexService searchReindexService;
+
+    @BeforeEach
+    void setUp() {
+        searchReindexService = new SearchReindexService(searchRepository, List.of(" card_rarity", "deal_irr ", ""),
+                100, 3, Duration.ZERO);
+    }
+
+    @Test
+    void reindex_shouldStopAtShortBatch() {
+        // Given
+        when(searchRepository.reindexThreads(anyInt())).thenReturn(100).thenReturn(40);
+
+        // When
+        searchReindexService.reindex();
+
+        // Then
+        verify(searchRepository).configureThreadDocument(List.of("card_rarity", "deal_irr"));
+        verify(searchRepository, times(2)).reindexThreads(100);
+    }
+
+    @Test
+    void reindex_shouldCapBatchesPerRunAndConfigureOnce() {
+        // Given
+        when(searchRepository.reindexThreads(anyInt())).thenReturn(100);
+
+        // When
+        searchReindexService.reindex();
+        searchReindexService.reindex();
+
+        // Then
+        verify(searchRepository, times(1)).configureThreadDocument(anyList());
+        verify(searchRepository, times(6)).reindexThreads(100);
+    }
+}
@@ -0,0 +1,54 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.ThreadFacetRepository;
+import com.openforum.domain.repository.ThreadMetadataSchemaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadMetadataBackfillServiceTest {
+
+    @Mock
+    private ThreadFacetRepository threadFacetRepository;
+
+    @Mock
+    private ThreadMetadataSchemaRepository threadMetadataSchemaRepository;
+
+    @Test
+    void backfill_shouldRunBatchesUntilNoKeyIsReady() {
+        // Given
+        ThreadMetadataBackfillService service = new ThreadMetadataBackfillService(threadFacetRepository,
+                threadMetadataSchemaRepository, 100, 10);
+        when(threadFacetRepository.backfillKeys(100)).thenReturn(true, true, false);
+        when(threadMetadataSchemaRepository.backfillKeys(100)).thenReturn(true, false);
+
+        // When
+        service.backfill();
+
+        // Then
+        verify(threadFacetRepository, times(3)).backfillKeys(100);
+        verify(threadMetadataSchemaRepository, times(2)).backfillKeys(100);
+    }
+
+    @Test
+    void backfill_shouldStopAfterMaxBatchesPerRun() {
+        // Given
+        ThreadMetadataBackfillService service = new ThreadMetadataBackfillService(threadFacetRepository,
+                threadMetadataSchemaRepository, 100, 2);
+        when(threadFacetRepository.backfillKeys(100)).thenReturn(true);
+        when(threadMetadataSchemaRepository.backfillKeys(100)).thenReturn(false);
+
+        // When
+        service.backfill();
+
+        // Then
+        verify(threadFacetRepository, times(2)).backfillKeys(100);
+        verify(threadMetadataSchemaRepository, times(1)).backfillKeys(100);
+    }
+}
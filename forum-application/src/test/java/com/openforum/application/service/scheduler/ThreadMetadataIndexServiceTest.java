@@ -0,0 +1,116 @@
+package com.openforum.application.service.scheduler;
+
+import com.openforum.domain.repository.ThreadMetadataIndexRepository;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadMetadataIndexServiceTest {
+
+    private static final MetadataSchema SCHEMA = new MetadataSchema(Map.of(
+            "difficulty", MetadataSchema.FieldType.NUMBER,
+            "price", MetadataSchema.FieldType.NUMBER,
+            "publishedAt", MetadataSchema.FieldType.DATE));
+
+    @Mock
+    private ThreadMetadataIndexRepository threadMetadataIndexRepository;
+
+    @Test
+    void createHotIndexes_shouldIndexRangeKeysOneTenantUsesOften() {
+        // Given
+        ThreadMetadataIndexService service = new ThreadMetadataIndexService(threadMetadataIndexRepository, true, 2, 16);
+        when(threadMetadataIndexRepository.findIndexedKeys(any())).thenReturn(Set.of());
+        List<MetadataFilter> filters = List.of(MetadataFilter.parse("subject:math"),
+                MetadataFilter.parse("difficulty>=3"));
+
+        // When
+        service.recordFilters("tenant-1", SCHEMA, filters);
+        service.recordFilters("tenant-1", SCHEMA, filters);
+        service.recordFilters("tenant-1", SCHEMA, List.of(MetadataFilter.parse("publishedAt<2024-06-01")));
+        service.recordFilters("tenant-2", SCHEMA, List.of(MetadataFilter.parse("publishedAt<2024-06-01")));
+        service.createHotIndexes();
+
+        // Then: publishedAt was used twice, but by two tenants; equality needs no index
+        verify(threadMetadataIndexRepository).createIndex("difficulty", MetadataFilter.ValueType.NUMBER);
+        verify(threadMetadataIndexRepository, times(1)).createIndex(anyString(), any());
+    }
+
+    @Test
+    void createHotIndexes_shouldSkipIndexedKeys_andStartNewInterval() {
+        // Given
+        ThreadMetadataIndexService service = new ThreadMetadataIndexService(threadMetadataIndexRepository, true, 1, 16);
+        when(threadMetadataIndexRepository.findIndexedKeys(MetadataFilter.ValueType.NUMBER))
+                .thenReturn(Set.of("difficulty"));
+        when(threadMetadataIndexRepository.findIndexedKeys(MetadataFilter.ValueType.DATE)).thenReturn(Set.of());
+
+        // When
+        service.recordFilters("tenant-1", SCHEMA, List.of(MetadataFilter.parse("difficulty>3")));
+        service.recordFilters("tenant-2", SCHEMA, List.of(MetadataFilter.parse("difficulty>3")));
+        service.createHotIndexes();
+        service.createHotIndexes();
+
+        // Then
+        verify(threadMetadataIndexRepository, times(1)).findIndexedKeys(MetadataFilter.ValueType.NUMBER);
+        verify(threadMetadataIndexRepository, never()).createIndex(anyString(), any());
+    }
+
+    @Test
+    void createHotIndexes_shouldStopAtMaxIndexes() {
+        // Given
+        ThreadMetadataIndexService service = new ThreadMetadataIndexService(threadMetadataIndexRepository, true, 1, 1);
+        when(threadMetadataIndexRepository.findIndexedKeys(MetadataFilter.ValueType.NUMBER))
+                .thenReturn(Set.of("difficulty"));
+        when(threadMetadataIndexRepository.findIndexedKeys(MetadataFilter.ValueType.DATE)).thenReturn(Set.of());
+
+        // When
+        service.recordFilters("tenant-1", SCHEMA, List.of(MetadataFilter.parse("price<10")));
+        service.createHotIndexes();
+
+        // Then
+        verify(threadMetadataIndexRepository, never()).createIndex(anyString(), any());
+    }
+
+    @Test
+    void createHotIndexes_shouldIgnoreKeysTheTenantDoesNotDeclare() {
+        // Given
+        ThreadMetadataIndexService service = new ThreadMetadataIndexService(threadMetadataIndexRepository, true, 1, 16);
+
+        // When: rank is undeclared, and publishedAt is a date, not a number
+        service.recordFilters("tenant-1", SCHEMA, List.of(MetadataFilter.parse("rank>3")));
+        service.recordFilters("tenant-1", SCHEMA, List.of(MetadataFilter.parse("publishedAt>3")));
+        service.recordFilters("tenant-2", MetadataSchema.EMPTY, List.of(MetadataFilter.parse("difficulty>3")));
+        service.createHotIndexes();
+
+        // Then
+        verifyNoInteractions(threadMetadataIndexRepository);
+    }
+
+    @Test
+    void recordFilters_shouldDoNothing_whenDisabled() {
+        // Given
+        ThreadMetadataIndexService service = new ThreadMetadataIndexService(threadMetadataIndexRepository, false, 1, 16);
+
+        // When
+        service.recordFilters("tenant-1", SCHEMA, List.of(MetadataFilter.parse("difficulty>3")));
+        service.createHotIndexes();
+
+        // Then
+        verifyNoInteractions(threadMetadataIndexRepository);
+    }
+}
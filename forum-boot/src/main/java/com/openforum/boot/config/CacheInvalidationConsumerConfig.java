@@ -0,0 +1,77 @@
+package com.openforum.boot.config;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Properties;
+
+/**
+ * Consumer setup for the cache invalidation listeners. Every node must see
+ * every message, so each reads every partition of its topic by manual
+ * assignment rather than through a consumer group, starting from the latest
+ * offset. Nothing is committed: a node that was down has nothing cached to
+ * invalidate, so there is no position worth resuming from, and no consumer
+ * group is left behind per start.
+ */
+@Configuration
+public class CacheInvalidationConsumerConfig {
+
+    static final String CONTAINER_FACTORY = "cacheInvalidationContainerFactory";
+
+    /**
+     * Messages are never acknowledged, so the container never commits.
+     */
+    @Bean(CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> cacheInvalidationContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer, ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        Properties consumer = new Properties();
+        consumer.setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        consumer.setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        factory.getContainerProperties().setKafkaConsumerProperties(consumer);
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tenant-cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public String[] tenantCachePartitions(KafkaAdmin kafkaAdmin) {
+        return partitions(kafkaAdmin, TenantCacheInvalidationRelay.TOPIC);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.posts.top-cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public String[] topPostsCachePartitions(KafkaAdmin kafkaAdmin) {
+        return partitions(kafkaAdmin, TopPostsCacheInvalidationRelay.TOPIC);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.search.result-cache.invalidation.enabled", havingValue = "true",
+            matchIfMissing = true)
+    public String[] searchCachePartitions(KafkaAdmin kafkaAdmin) {
+        return partitions(kafkaAdmin, SearchResultCacheInvalidator.TOPIC);
+    }
+
+    /**
+     * Partitions of {@code topic} as they are at startup, creating it first if
+     * no node has published to it yet; partitions added later are picked up on
+     * restart.
+     */
+    static String[] partitions(KafkaAdmin kafkaAdmin, String topic) {
+        kafkaAdmin.createOrModifyTopics(TopicBuilder.name(topic).partitions(1).build());
+        TopicDescription description = kafkaAdmin.describeTopics(topic).get(topic);
+        return description.partitions().stream()
+                .map(partition -> Integer.toString(partition.partition()))
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,49 @@
+package com.openforum.boot.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openforum.application.service.EmbeddingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Queues posts for embedding when the domain event stream reports them created
+ * or edited. Unlike the cache relay, all nodes share one group id, so each
+ * event is embedded once across the cluster.
+ * <p>
+ * The payloads carry no type, so events are recognised by shape: a post id with
+ * {@code content} (created, imported) or {@code newContent} (edited).
+ */
+@Component
+@ConditionalOnProperty(name = "app.embedding.enabled", havingValue = "true")
+public class EmbeddingEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingEventListener.class);
+    static final String TOPIC = "forum-events-v1";
+
+    private final EmbeddingService embeddingService;
+    private final ObjectMapper objectMapper;
+
+    public EmbeddingEventListener(EmbeddingService embeddingService, ObjectMapper objectMapper) {
+        this.embeddingService = embeddingService;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = TOPIC, groupId = "openforum-embedding")
+    public void onEvent(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            if (event.hasNonNull("postId") && (event.has("content") || event.has("newContent"))) {
+                embeddingService.submit(UUID.fromString(event.get("postId").asText()));
+            }
+        } catch (Exception e) {
+            // The backfill covers any post whose event is skipped here
+            logger.warn("Skipping unreadable event for embedding", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.openforum.boot.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openforum.application.cache.SearchResultCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bumps a tenant's {@link SearchResultCache} generation whenever the domain
+ * event stream reports one of its threads or posts written. Each node is
+ * assigned every partition of the topic without committing (see
+ * {@link CacheInvalidationConsumerConfig}), so every node drops its own cached
+ * results.
+ * <p>
+ * Thread and post events are recognised by shape: a {@code threadId} with a
+ * {@code tenantId}. A skipped or lost event is bounded by the cache TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.result-cache.invalidation.enabled", havingValue = "true",
+        matchIfMissing = true)
+public class SearchResultCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCacheInvalidator.class);
+    static final String TOPIC = "forum-events-v1";
+
+    private final SearchResultCache searchResultCache;
+    private final ObjectMapper objectMapper;
+
+    public SearchResultCacheInvalidator(SearchResultCache searchResultCache, ObjectMapper objectMapper) {
+        this.searchResultCache = searchResultCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = TOPIC, partitions = "#{@searchCachePartitions}"),
+            groupId = "openforum-search-cache",
+            containerFactory = CacheInvalidationConsumerConfig.CONTAINER_FACTORY)
+    public void onEvent(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            if (event.hasNonNull("threadId") && event.hasNonNull("tenantId")) {
+                searchResultCache.invalidate(event.get("tenantId").asText());
+            }
+        } catch (Exception e) {
+            logger.warn("Skipping unreadable event for search cache invalidation", e);
+        }
+    }
+}
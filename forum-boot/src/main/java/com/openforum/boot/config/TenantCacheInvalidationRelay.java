@@ -0,0 +1,55 @@
+package com.openforum.boot.config;
+
+import com.openforum.application.cache.TenantCache;
+import com.openforum.application.event.TenantConfigChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fans tenant config changes out to every node so their {@link TenantCache}
+ * entries are dropped as well. Each node is assigned every partition of the
+ * topic (see {@link CacheInvalidationConsumerConfig}), so every node sees every
+ * message.
+ * <p>
+ * Delivery is best effort: a lost message is bounded by the cache TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tenant-cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class TenantCacheInvalidationRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantCacheInvalidationRelay.class);
+    static final String TOPIC = "forum-tenant-cache-v1";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TenantCache tenantCache;
+
+    public TenantCacheInvalidationRelay(KafkaTemplate<String, String> kafkaTemplate, TenantCache tenantCache) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.tenantCache = tenantCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTenantConfigChanged(TenantConfigChangedEvent event) {
+        kafkaTemplate.send(TOPIC, event.getTenantId(), event.getTenantId())
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        logger.warn("Failed to broadcast cache invalidation for tenant {}", event.getTenantId(), ex);
+                    }
+                });
+    }
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = TOPIC, partitions = "#{@tenantCachePartitions}"),
+            groupId = "openforum-tenant-cache",
+            containerFactory = CacheInvalidationConsumerConfig.CONTAINER_FACTORY)
+    public void onRemoteInvalidation(String tenantId) {
+        logger.debug("Evicting tenant {} from cache after remote config change", tenantId);
+        tenantCache.evict(tenantId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.openforum.boot.config;
+
+import com.openforum.application.event.PostVotedEvent;
+import com.openforum.rest.service.TopPostsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Fans votes out to every node so their {@link TopPostsCache} entries for the
+ * thread are dropped as well. Each node is assigned every partition of the
+ * topic (see {@link CacheInvalidationConsumerConfig}), so every node sees every
+ * message.
+ * <p>
+ * Delivery is best effort: entries are validated against the thread's stamp,
+ * which votes change, so a lost message only keeps a dead entry until the TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.posts.top-cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class TopPostsCacheInvalidationRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopPostsCacheInvalidationRelay.class);
+    static final String TOPIC = "forum-top-posts-cache-v1";
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TopPostsCache topPostsCache;
+
+    public TopPostsCacheInvalidationRelay(KafkaTemplate<String, String> kafkaTemplate, TopPostsCache topPostsCache) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topPostsCache = topPostsCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostVoted(PostVotedEvent event) {
+        String threadId = event.getThreadId().toString();
+        kafkaTemplate.send(TOPIC, threadId, threadId)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        logger.warn("Failed to broadcast top posts eviction for thread {}", threadId, ex);
+                    }
+                });
+    }
+
+    @KafkaListener(topicPartitions = @TopicPartition(topic = TOPIC, partitions = "#{@topPostsCachePartitions}"),
+            groupId = "openforum-top-posts-cache",
+            containerFactory = CacheInvalidationConsumerConfig.CONTAINER_FACTORY)
+    public void onRemoteInvalidation(String threadId) {
+        try {
+            topPostsCache.evict(UUID.fromString(threadId));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring top posts eviction for malformed thread id {}", threadId);
+        }
+    }
+}
@@ -116,6 +116,14 @@ public abstract class AbstractIntegrationTest {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("jwt.public-key", () -> System.getProperty("TEST_PUBLIC_KEY_PATH"));
+        // Tests truncate and re-seed tenants behind the cache's back
+        registry.add("app.tenant-cache.ttl", () -> "0s");
+        registry.add("app.tenant-cache.invalidation.enabled", () -> "false");
+        registry.add("app.search.result-cache.ttl", () -> "0s");
+        registry.add("app.search.result-cache.invalidation.enabled", () -> "false");
+        registry.add("app.posts.top-cache.invalidation.enabled", () -> "false");
+        // Keep background embedding writes out of the tests' statement counts
+        registry.add("app.embedding.enabled", () -> "false");
     }
 
     @BeforeEach
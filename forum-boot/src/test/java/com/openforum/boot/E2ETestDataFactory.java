@@ -127,7 +127,8 @@ public class E2ETestDataFactory {
     }
 
     /**
-     * Creates a post in the given thread.
+     * Creates a post in the given thread, numbered after the thread's existing
+     * posts.
      * 
      * @param tenantId The tenant ID
      * @param threadId The thread ID
@@ -136,6 +137,10 @@ public class E2ETestDataFactory {
      * @return The saved PostEntity with generated UUID
      */
     public PostEntity createPost(String tenantId, UUID threadId, UUID authorId, String content) {
+        ThreadEntity thread = threadRepository.findById(threadId).orElseThrow();
+        thread.setPostCount(thread.getPostCount() + 1);
+        threadRepository.save(thread);
+
         UUID postId = UUID.randomUUID();
         PostEntity post = new PostEntity();
         post.setId(postId);
@@ -143,6 +148,7 @@ public class E2ETestDataFactory {
         post.setThreadId(threadId);
         post.setAuthorId(authorId);
         post.setContent(content);
+        post.setPostNumber(thread.getPostCount());
         post.setCreatedAt(Instant.now());
         post.setDeleted(false);
         post.setScore(0);
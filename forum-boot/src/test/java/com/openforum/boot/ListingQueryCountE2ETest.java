@@ -0,0 +1,119 @@
+package com.openforum.boot;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Guards the member bookmark and subscription listings against N+1 loading: the
+ * number of SQL statements a request issues must not grow with the page size.
+ */
+class ListingQueryCountE2ETest extends AbstractIntegrationTest {
+
+        private static final String TENANT_ID = "test-tenant";
+        private static final String EXTERNAL_ID = "user-query-count";
+        private static final int THREADS = 12;
+
+        @DynamicPropertySource
+        static void recordStatements(DynamicPropertyRegistry registry) {
+                registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                                RequestStatementRecorder.class::getName);
+        }
+
+        private UUID memberId;
+        private String token;
+
+        @BeforeEach
+        void setUpTestData() throws Exception {
+                E2ETestDataFactory dataFactory = new E2ETestDataFactory(
+                                tenantJpaRepository,
+                                memberJpaRepository,
+                                categoryJpaRepository,
+                                threadJpaRepository,
+                                postJpaRepository);
+
+                dataFactory.createTenant(TENANT_ID);
+                memberId = dataFactory.createMember(TENANT_ID, EXTERNAL_ID).getId();
+                UUID categoryId = dataFactory.createCategory(TENANT_ID, "General").getId();
+                token = createValidToken(TENANT_ID, EXTERNAL_ID);
+
+                authorized().post("/categories/" + categoryId + "/subscriptions").then().statusCode(200);
+                for (int i = 0; i < THREADS; i++) {
+                        UUID threadId = dataFactory.createThread(TENANT_ID, memberId, categoryId, "Thread " + i).getId();
+                        UUID postId = dataFactory.createPost(TENANT_ID, threadId, memberId, "Post " + i).getId();
+
+                        authorized().post("/threads/" + threadId + "/subscriptions").then().statusCode(200);
+                        authorized().post("/posts/" + postId + "/bookmark").then().statusCode(201);
+                }
+        }
+
+        @Test
+        void subscriptionListing_issuesSameStatementCountForAnyPageSize() {
+                // Warm up so one-off work (e.g. member provisioning) isn't counted
+                authorized().get("/subscriptions?size=1").then().statusCode(200);
+
+                long small = countStatements(() -> authorized().get("/subscriptions?size=2"), "data", 2);
+                long large = countStatements(() -> authorized().get("/subscriptions?size=" + (THREADS + 1)), "data",
+                                THREADS + 1);
+
+                assertThat(large).isEqualTo(small);
+        }
+
+        @Test
+        void bookmarkListing_issuesSameStatementCountForAnyPageSize() {
+                authorized().get("/members/" + memberId + "/bookmarks?size=1").then().statusCode(200);
+
+                long small = countStatements(() -> authorized().get("/members/" + memberId + "/bookmarks?size=2"),
+                                "content", 2);
+                long large = countStatements(
+                                () -> authorized().get("/members/" + memberId + "/bookmarks?size=" + THREADS),
+                                "content", THREADS);
+
+                assertThat(large).isEqualTo(small);
+        }
+
+        private long countStatements(java.util.function.Supplier<Response> request, String listPath,
+                        int expectedRows) {
+                RequestStatementRecorder.STATEMENTS.clear();
+                Response response = request.get();
+                response.then().statusCode(200);
+                assertThat(response.jsonPath().getList(listPath)).hasSize(expectedRows);
+                return RequestStatementRecorder.STATEMENTS.size();
+        }
+
+        private io.restassured.specification.RequestSpecification authorized() {
+                return given()
+                                .contentType(ContentType.JSON)
+                                .header("Authorization", "Bearer " + token)
+                                .header("X-Tenant-ID", TENANT_ID)
+                                .when();
+        }
+
+        /**
+         * Records SQL issued on servlet threads only, so background jobs (outbox
+         * polling, schedulers) don't skew the counts.
+         */
+        public static class RequestStatementRecorder implements StatementInspector {
+
+                static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+                @Override
+                public String inspect(String sql) {
+                        if (Thread.currentThread().getName().startsWith("http-nio")) {
+                                STATEMENTS.add(sql);
+                        }
+                        return sql;
+                }
+        }
+}
@@ -0,0 +1,105 @@
+package com.openforum.boot;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import com.openforum.infra.jpa.entity.PostEntity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * E2E Integration Test for the streamed (unpaged) export endpoints.
+ */
+class StreamingExportE2ETest extends AbstractIntegrationTest {
+
+        private static final String TENANT_ID = "test-tenant";
+        private static final String EXTERNAL_ID = "user-stream-test";
+        private static final int POST_COUNT = 450; // spans several flush intervals
+
+        private UUID threadId;
+
+        @BeforeEach
+        void setUpTestData() {
+                E2ETestDataFactory dataFactory = new E2ETestDataFactory(
+                                tenantJpaRepository,
+                                memberJpaRepository,
+                                categoryJpaRepository,
+                                threadJpaRepository,
+                                postJpaRepository);
+
+                dataFactory.createTenant(TENANT_ID);
+                var member = dataFactory.createMember(TENANT_ID, EXTERNAL_ID);
+                var category = dataFactory.createCategory(TENANT_ID, "General");
+                threadId = dataFactory.createThread(TENANT_ID, member.getId(), category.getId(), "Export Thread")
+                                .getId();
+
+                for (int i = 1; i <= POST_COUNT; i++) {
+                        PostEntity post = dataFactory.createPost(TENANT_ID, threadId, member.getId(), "Post " + i);
+                        post.setPostNumber(i);
+                        postJpaRepository.save(post);
+                }
+        }
+
+        @Test
+        void shouldStreamAllPostsAsNdjson_InPostNumberOrder() {
+                String body = given()
+                                .header("X-Tenant-ID", TENANT_ID)
+                                .when()
+                                .get("/threads/" + threadId + "/posts/stream")
+                                .then()
+                                .statusCode(200)
+                                .contentType(containsString("application/x-ndjson"))
+                                .extract().asString();
+
+                List<String> lines = body.lines().toList();
+                assertThat(lines).hasSize(POST_COUNT);
+                assertThat(lines.get(0)).contains("\"postNumber\":1,");
+                assertThat(lines.get(POST_COUNT - 1)).contains("\"postNumber\":" + POST_COUNT + ",");
+                assertThat(lines.get(0)).contains("\"authorName\":");
+        }
+
+        @Test
+        void shouldStreamAllPostsAsJsonArray() {
+                given()
+                                .header("X-Tenant-ID", TENANT_ID)
+                                .queryParam("format", "json")
+                                .when()
+                                .get("/threads/" + threadId + "/posts/stream")
+                                .then()
+                                .statusCode(200)
+                                .body("$", hasSize(POST_COUNT))
+                                .body("[0].content", equalTo("Post 1"));
+        }
+
+        @Test
+        void shouldStreamNothing_ForOtherTenant() {
+                String body = given()
+                                .header("X-Tenant-ID", "other-tenant")
+                                .when()
+                                .get("/threads/" + threadId + "/posts/stream")
+                                .then()
+                                .statusCode(200)
+                                .extract().asString();
+
+                assertThat(body).isEmpty();
+        }
+
+        @Test
+        void shouldStreamTenantThreads() {
+                String body = given()
+                                .header("X-Tenant-ID", TENANT_ID)
+                                .when()
+                                .get("/threads/stream")
+                                .then()
+                                .statusCode(200)
+                                .extract().asString();
+
+                assertThat(body.lines()).hasSize(1);
+                assertThat(body).contains("\"title\":\"Export Thread\"");
+        }
+}
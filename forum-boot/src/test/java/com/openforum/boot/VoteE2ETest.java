@@ -164,6 +164,53 @@ class VoteE2ETest extends AbstractIntegrationTest {
         assertThat(postAfterUnvote.get().getScore()).isEqualTo(0);
     }
 
+    @Test
+    void shouldChangeThreadETag_WhenPostIsVoted() throws Exception {
+        // Given: a cached copy of the thread's posts
+        String json = """
+                {
+                    "value": 1
+                }
+                """;
+
+        String token = createValidToken(TENANT_ID, EXTERNAL_ID);
+        UUID threadId = testData.thread().getId();
+        String etag = given()
+                .header("Authorization", "Bearer " + token)
+                .header("X-Tenant-ID", TENANT_ID)
+                .when()
+                .get("/threads/{threadId}/posts", threadId.toString())
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+
+        // When: the post is upvoted
+        given()
+                .contentType(ContentType.JSON)
+                .header("Authorization", "Bearer " + token)
+                .header("X-Tenant-ID", TENANT_ID)
+                .body(json)
+                .when()
+                .put("/posts/{postId}/vote", postId.toString())
+                .then()
+                .statusCode(200);
+
+        // Then: revalidation returns the new score instead of 304
+        String revalidatedEtag = given()
+                .header("Authorization", "Bearer " + token)
+                .header("X-Tenant-ID", TENANT_ID)
+                .header("If-None-Match", etag)
+                .when()
+                .get("/threads/{threadId}/posts", threadId.toString())
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+        assertThat(etag).isNotNull();
+        assertThat(revalidatedEtag).isNotEqualTo(etag);
+    }
+
     @Test
     void shouldReturn401_WhenNoAuthToken() {
         // Given: A valid vote request but no auth token
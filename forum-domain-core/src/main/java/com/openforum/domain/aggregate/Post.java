@@ -25,7 +25,8 @@ public class Post {
     private int score = 0;
     private int bookmarkCount = 0;
 
-    private final List<Double> embedding;
+    private final float[] embedding;
+    private final String embeddingModel;
     private Instant deletedAt;
     private final Instant lastModifiedAt;
     private final UUID lastModifiedBy;
@@ -49,15 +50,16 @@ public class Post {
         this.isDeleted = builder.isDeleted;
         this.score = builder.score;
         this.bookmarkCount = builder.bookmarkCount;
-        this.embedding = builder.embedding != null ? List.copyOf(builder.embedding) : null;
+        this.embedding = builder.embedding != null ? builder.embedding.clone() : null;
+        this.embeddingModel = builder.embeddingModel;
         this.deletedAt = builder.deletedAt;
         this.lastModifiedAt = builder.lastModifiedAt;
         this.lastModifiedBy = builder.lastModifiedBy;
         this.createdBy = builder.createdBy;
 
         if (builder.isNew) {
-            this.domainEvents.add(new PostCreatedEvent(id, threadId, authorId, content, createdAt, builder.isBot,
-                    mentionedMemberIds));
+            this.domainEvents.add(new PostCreatedEvent(id, threadId, tenantId, authorId, content, createdAt,
+                    builder.isBot, mentionedMemberIds));
         }
     }
 
@@ -82,7 +84,8 @@ public class Post {
         private boolean isDeleted = false;
         private int score = 0;
         private int bookmarkCount = 0;
-        private List<Double> embedding;
+        private float[] embedding;
+        private String embeddingModel;
         private Instant deletedAt;
         private Instant lastModifiedAt;
         private UUID lastModifiedBy;
@@ -168,11 +171,16 @@ public class Post {
             return this;
         }
 
-        public Builder embedding(List<Double> embedding) {
+        public Builder embedding(float[] embedding) {
             this.embedding = embedding;
             return this;
         }
 
+        public Builder embeddingModel(String embeddingModel) {
+            this.embeddingModel = embeddingModel;
+            return this;
+        }
+
         public Builder deletedAt(Instant deletedAt) {
             this.deletedAt = deletedAt;
             return this;
@@ -262,8 +270,20 @@ public class Post {
         }
     }
 
-    public List<Double> getEmbedding() {
-        return embedding;
+    /**
+     * The post's semantic embedding, or null when it has not been loaded or
+     * not yet generated. Posts are normally loaded without it.
+     */
+    public float[] getEmbedding() {
+        return embedding != null ? embedding.clone() : null;
+    }
+
+    /**
+     * The {@link com.openforum.domain.search.EmbeddingProvider#model()} that
+     * computed {@link #getEmbedding()}, or null when unknown.
+     */
+    public String getEmbeddingModel() {
+        return embeddingModel;
     }
 
     public Instant getDeletedAt() {
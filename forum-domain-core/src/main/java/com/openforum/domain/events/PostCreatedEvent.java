@@ -7,6 +7,7 @@ import java.util.UUID;
 public record PostCreatedEvent(
         UUID postId,
         UUID threadId,
+        String tenantId,
         UUID authorId,
         String content,
         Instant createdAt,
@@ -6,6 +6,7 @@ import java.util.UUID;
 public record PostImportedEvent(
                 UUID postId,
                 UUID threadId,
+                String tenantId,
                 UUID authorId,
                 String content,
                 boolean isBot,
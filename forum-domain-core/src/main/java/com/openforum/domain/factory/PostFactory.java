@@ -73,7 +73,8 @@ public class PostFactory {
                         UUID replyToPostId,
                         Map<String, Object> metadata,
                         boolean isBot,
-                        Instant createdAt) {
+                        Instant createdAt,
+                        int postNumber) {
                 java.util.Objects.requireNonNull(tenantId, "Tenant ID cannot be null when creating a Post");
                 return Post.builder()
                                 .id(id)
@@ -85,6 +86,7 @@ public class PostFactory {
                                 .replyToPostId(replyToPostId)
                                 .metadata(metadata)
                                 .createdAt(createdAt)
+                                .postNumber(postNumber)
                                 .isNew(false) // Critical: Do NOT generate PostCreatedEvent
                                 .isBot(isBot)
                                 .build();
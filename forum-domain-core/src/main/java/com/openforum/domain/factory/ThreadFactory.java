@@ -3,6 +3,7 @@ package com.openforum.domain.factory;
 import com.openforum.domain.aggregate.Post;
 import com.openforum.domain.aggregate.Thread;
 import com.openforum.domain.aggregate.ThreadStatus;
+import com.openforum.domain.valueobject.MetadataSchema;
 
 import java.time.Instant;
 import java.util.List;
@@ -13,7 +14,21 @@ public class ThreadFactory {
 
         public static Thread create(String tenantId, UUID authorId, UUID categoryId, String title,
                         Map<String, Object> metadata) {
+                return create(tenantId, authorId, categoryId, title, metadata, MetadataSchema.EMPTY);
+        }
+
+        /**
+         * Creates a thread whose metadata must match the tenant's metadata schema.
+         *
+         * @throws IllegalArgumentException if a declared key holds a value of the
+         *                                  wrong type
+         */
+        public static Thread create(String tenantId, UUID authorId, UUID categoryId, String title,
+                        Map<String, Object> metadata, MetadataSchema schema) {
                 java.util.Objects.requireNonNull(tenantId, "Tenant ID cannot be null when creating a Thread");
+                if (metadata != null) {
+                        schema.validate(metadata);
+                }
                 return Thread.builder()
                                 .id(UUID.randomUUID())
                                 .tenantId(tenantId)
@@ -50,8 +65,33 @@ public class ThreadFactory {
                         Instant createdAt,
                         Map<String, Object> metadata,
                         List<ImportedPostData> importedPosts) {
+                return createImported(id, tenantId, authorId, categoryId, title, status, createdAt, metadata,
+                                importedPosts, MetadataSchema.EMPTY);
+        }
+
+        /**
+         * Creates an imported thread for bulk migration, as above, whose metadata
+         * must match the tenant's metadata schema.
+         *
+         * @throws IllegalArgumentException if a declared key holds a value of the
+         *                                  wrong type
+         */
+        public static Thread createImported(
+                        UUID id,
+                        String tenantId,
+                        UUID authorId,
+                        UUID categoryId,
+                        String title,
+                        ThreadStatus status,
+                        Instant createdAt,
+                        Map<String, Object> metadata,
+                        List<ImportedPostData> importedPosts,
+                        MetadataSchema schema) {
 
                 java.util.Objects.requireNonNull(tenantId, "Tenant ID cannot be null when creating a Thread");
+                if (metadata != null) {
+                        schema.validate(metadata);
+                }
 
                 Thread thread = Thread.builder()
                                 .id(id)
@@ -65,7 +105,8 @@ public class ThreadFactory {
                                 .isNew(false) // Critical: Do NOT generate ThreadCreatedEvent
                                 .build();
 
-                // Reconstitute posts without events
+                // Reconstitute posts without events, numbered in import order
+                int postNumber = 0;
                 for (ImportedPostData postData : importedPosts) {
                         Post post = PostFactory.createImported(
                                         postData.id(),
@@ -76,7 +117,8 @@ public class ThreadFactory {
                                         postData.replyToPostId(),
                                         postData.metadata(),
                                         postData.isBot(),
-                                        postData.createdAt());
+                                        postData.createdAt(),
+                                        ++postNumber);
                         thread.addImportedPost(post);
                 }
 
@@ -2,7 +2,9 @@ package com.openforum.domain.repository;
 
 import com.openforum.domain.aggregate.Category;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,6 +13,12 @@ public interface CategoryRepository {
 
     Optional<Category> findById(UUID id);
 
+    /**
+     * Names of the given categories in one query, without loading the
+     * aggregates. Ids that don't exist are absent from the result.
+     */
+    Map<UUID, String> findNamesByIds(Collection<UUID> ids);
+
     List<Category> findAll(String tenantId);
 
     Optional<Category> findBySlug(String tenantId, String slug);
@@ -0,0 +1,48 @@
+package com.openforum.domain.repository;
+
+import com.openforum.domain.valueobject.PostEmbedding;
+import com.openforum.domain.valueobject.PostText;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Post embeddings: finding posts that need one and storing the vectors. A post
+ * needs an embedding while its {@code embedding} is NULL, which is the case
+ * after it is created, again after its content is edited, and once its vector
+ * is invalidated for coming from another model.
+ */
+public interface EmbeddingRepository {
+
+    /**
+     * Returns those of {@code postIds} that are not deleted and still need an
+     * embedding.
+     */
+    List<PostText> findPending(Collection<UUID> postIds);
+
+    /**
+     * Claims the next batch of the backlog of posts needing an embedding, in id
+     * order after the position the previous batch reached, and records the new
+     * position. Once the scan reaches the end it starts over, so posts that
+     * failed or were skipped are picked up by the next pass. Concurrent callers
+     * get disjoint batches.
+     */
+    List<PostText> claimBacklog(int batchSize);
+
+    /**
+     * Stores the vectors in one batch. An embedding is dropped if its post has
+     * changed since its text was read.
+     *
+     * @return the number of posts updated
+     */
+    int saveAll(List<PostEmbedding> embeddings);
+
+    /**
+     * Clears up to {@code limit} embeddings computed by a model other than
+     * {@code model}, returning those posts to the backlog.
+     *
+     * @return the number of embeddings cleared
+     */
+    int invalidateOtherModels(String model, int limit);
+}
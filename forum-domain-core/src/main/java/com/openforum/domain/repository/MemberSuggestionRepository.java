@@ -0,0 +1,30 @@
+package com.openforum.domain.repository;
+
+import com.openforum.domain.valueobject.MemberSuggestion;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lookups behind @mention autocomplete. Prefixes match the start of a member's
+ * name or email, case-insensitively.
+ */
+public interface MemberSuggestionRepository {
+
+    /**
+     * Up to {@code limit} members whose name or email starts with
+     * {@code prefix}, by name.
+     */
+    List<MemberSuggestion> findByPrefix(String tenantId, String prefix, int limit);
+
+    /**
+     * Up to {@code limit} members who have posted in the thread, most recent
+     * poster first.
+     */
+    List<MemberSuggestion> findThreadParticipants(String tenantId, UUID threadId, int limit);
+
+    /**
+     * Every member of a tenant, for building an in-memory index.
+     */
+    List<MemberSuggestion> findAll(String tenantId);
+}
@@ -13,6 +13,12 @@ public interface PostRepository {
 
     Optional<Post> findByIdAndTenantId(UUID id, String tenantId);
 
+    /**
+     * Loads a post's embedding on its own; posts are loaded without it. Empty
+     * when the post does not exist or its embedding is still pending.
+     */
+    Optional<float[]> findEmbedding(UUID postId);
+
     List<Post> findByThreadId(UUID threadId, int limit);
 
     List<Post> findByTenantId(String tenantId, int page, int size);
@@ -0,0 +1,41 @@
+package com.openforum.domain.repository;
+
+import com.openforum.domain.valueobject.RelatedThreads;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Precomputed nearest-neighbour lists between threads, by the embeddings of
+ * their opening posts.
+ */
+public interface RelatedThreadRepository {
+
+    /**
+     * The stored list of a thread; empty if it has never been computed.
+     */
+    Optional<RelatedThreads> findByThreadId(UUID threadId);
+
+    /**
+     * Whether the thread's opening post has an embedding, which its list is
+     * computed from.
+     */
+    boolean hasOpeningEmbedding(UUID threadId);
+
+    /**
+     * Recomputes the lists of the threads whose opening posts are among
+     * {@code postIds}, and of the threads whose lists those now enter or
+     * already appear in.
+     *
+     * @param limit    threads kept per list
+     * @param efSearch HNSW candidate list size for the neighbour queries
+     * @return the number of lists written
+     */
+    int refreshForPosts(Collection<UUID> postIds, int limit, int efSearch);
+
+    /**
+     * As {@link #refreshForPosts}, for the given threads' opening posts.
+     */
+    int refreshForThreads(Collection<UUID> threadIds, int limit, int efSearch);
+}
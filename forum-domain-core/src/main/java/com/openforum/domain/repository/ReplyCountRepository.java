@@ -0,0 +1,17 @@
+package com.openforum.domain.repository;
+
+/**
+ * Descendant counts of posts in reply trees. Reply inserts and purges are
+ * queued as they happen and added to the counts of every ancestor later, so
+ * replying never waits on the ancestors' rows.
+ */
+public interface ReplyCountRepository {
+
+    /**
+     * Adds the next {@code batchSize} queued reply changes to their ancestors'
+     * counts, in its own transaction.
+     *
+     * @return whether a full batch was applied, so more may be queued
+     */
+    boolean applyQueuedChanges(int batchSize);
+}
@@ -0,0 +1,66 @@
+package com.openforum.domain.repository;
+
+import com.openforum.domain.search.SearchIndex;
+import com.openforum.domain.valueobject.SearchDocument;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SimilarityQuery;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Postgres full-text search: the default {@link SearchIndex}, plus upkeep of
+ * the thread search documents it matches against, and nearest-neighbour search
+ * over post embeddings.
+ */
+public interface SearchRepository extends SearchIndex {
+
+    /**
+     * Sets the metadata keys whose values go into thread search documents. If
+     * they differ from the current ones, existing documents are marked stale for
+     * {@link #reindexThreads(int)}.
+     */
+    void configureThreadDocument(List<String> metadataKeys);
+
+    /**
+     * Rebuilds the next batch of stale thread search documents and records the
+     * position reached.
+     *
+     * @return the number of threads scanned; less than {@code batchSize} once the
+     *         reindex is complete (0 when nothing is stale, or another worker
+     *         holds the reindex)
+     */
+    int reindexThreads(int batchSize);
+
+    /**
+     * Version of the thread document definition. It changes whenever
+     * {@link #configureThreadDocument(List)} changes the definition, so indexes
+     * built from {@link #findThreadDocuments(UUID, int)} can tell they are stale.
+     */
+    int threadDocumentVersion();
+
+    /**
+     * The next {@code limit} searchable threads with an id above {@code afterId}
+     * (null to start from the first), in id order.
+     */
+    List<SearchDocument> findThreadDocuments(UUID afterId, int limit);
+
+    /**
+     * The thread's document, or empty if it is deleted, archived or missing.
+     */
+    Optional<SearchDocument> findThreadDocument(UUID threadId);
+
+    /**
+     * The next {@code limit} live posts of searchable threads with an id above
+     * {@code afterId} (null to start from the first), in id order.
+     */
+    List<SearchDocument> findPostDocuments(UUID afterId, int limit);
+
+    /**
+     * Returns up to {@code query.limit()} posts closest to {@code query.embedding()}
+     * by cosine distance, as POST hits ranked by cosine similarity. Posts without
+     * an embedding are never returned.
+     */
+    List<SearchHit> searchSimilar(SimilarityQuery query);
+}
@@ -3,6 +3,7 @@ package com.openforum.domain.repository;
 import com.openforum.domain.aggregate.Tag;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface TagRepository {
@@ -13,4 +14,15 @@ public interface TagRepository {
     List<Tag> findByNameStartingWith(String tenantId, String prefix, int limit);
 
     void incrementUsageCount(String tenantId, String name);
+
+    /**
+     * Every tag of a tenant, for building an in-memory index.
+     */
+    List<Tag> findByTenantId(String tenantId);
+
+    /**
+     * Adds {@code increments} (tag name to uses) to the tenant's usage counts
+     * in one batch.
+     */
+    void incrementUsageCounts(String tenantId, Map<String, Long> increments);
 }
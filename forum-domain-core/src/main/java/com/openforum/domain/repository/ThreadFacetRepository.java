@@ -0,0 +1,42 @@
+package com.openforum.domain.repository;
+
+import com.openforum.domain.valueobject.Facet;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+
+import java.util.List;
+
+/**
+ * Facet counts over a tenant's visible threads (not archived, not deleted),
+ * for the metadata keys the tenant declares as facets. Both lookups return
+ * every declared key, by key, each with its {@code maxValues} most frequent
+ * values.
+ */
+public interface ThreadFacetRepository {
+
+    /**
+     * Makes {@code keys} the tenant's facet keys. Newly declared keys are
+     * counted over the existing threads later, by {@link #backfillKeys}. Must
+     * run in a transaction.
+     */
+    void declareKeys(String tenantId, List<String> keys);
+
+    /**
+     * Counts the next {@code batchSize} existing threads for one newly declared
+     * key, in its own transaction.
+     *
+     * @return whether a batch was counted; false once no key is ready for one
+     */
+    boolean backfillKeys(int batchSize);
+
+    /**
+     * Counts over all of the tenant's visible threads, as maintained on write.
+     */
+    List<Facet> findCounts(String tenantId, int maxValues);
+
+    /**
+     * Counts over the visible threads matching every filter, computed at query
+     * time; filters on keys {@code schema} declares use typed storage.
+     */
+    List<Facet> countMatching(String tenantId, List<MetadataFilter> filters, MetadataSchema schema, int maxValues);
+}
@@ -0,0 +1,23 @@
+package com.openforum.domain.repository;
+
+import com.openforum.domain.valueobject.MetadataFilter;
+
+import java.util.Set;
+
+/**
+ * Expression indexes on single thread metadata keys, which serve range
+ * filters on those keys.
+ */
+public interface ThreadMetadataIndexRepository {
+
+    /**
+     * Keys with a usable index for range filters on values of {@code type}.
+     */
+    Set<String> findIndexedKeys(MetadataFilter.ValueType type);
+
+    /**
+     * Builds the index for {@code key} without blocking writes to threads. Must
+     * not be called inside a transaction; takes as long as a scan of threads.
+     */
+    void createIndex(String key, MetadataFilter.ValueType type);
+}
@@ -0,0 +1,33 @@
+package com.openforum.domain.repository;
+
+import com.openforum.domain.valueobject.MetadataSchema;
+
+import java.util.Set;
+
+/**
+ * Typed storage for the thread metadata keys a tenant declares in its
+ * {@link MetadataSchema}.
+ */
+public interface ThreadMetadataSchemaRepository {
+
+    /**
+     * Makes {@code schema} the tenant's declared keys. Newly declared (or
+     * retyped) keys are copied out of the existing threads' metadata later, by
+     * {@link #backfillKeys}. Must run in a transaction.
+     */
+    void declare(String tenantId, MetadataSchema schema);
+
+    /**
+     * Declared keys whose typed storage is still being filled, so can't answer
+     * reads yet.
+     */
+    Set<String> findBackfillingKeys(String tenantId);
+
+    /**
+     * Copies the next {@code batchSize} existing threads' values for one newly
+     * declared key, in its own transaction.
+     *
+     * @return whether a batch was copied; false once no key is ready for one
+     */
+    boolean backfillKeys(int batchSize);
+}
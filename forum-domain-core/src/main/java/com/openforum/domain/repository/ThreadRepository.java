@@ -1,7 +1,9 @@
 package com.openforum.domain.repository;
 
 import com.openforum.domain.aggregate.Thread;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,6 +18,12 @@ public interface ThreadRepository {
 
     Optional<Thread> findByIdAndTenantId(UUID id, String tenantId);
 
+    /**
+     * Titles of the given threads in one query, without loading the aggregates.
+     * Ids that don't exist are absent from the result.
+     */
+    Map<UUID, String> findTitlesByIds(Collection<UUID> ids);
+
     /**
      * Find thread by ID with a pessimistic write lock for race condition
      * prevention.
@@ -51,8 +51,9 @@ public interface VoteRepository {
      * 
      * @param postId The post ID
      * @param delta  The score delta to apply
+     * @return The post's thread ID, or empty if the post doesn't exist
      */
-    void updatePostScore(UUID postId, int delta);
+    Optional<UUID> updatePostScore(UUID postId, int delta);
 
     /**
      * Find all votes by a user for a list of posts.
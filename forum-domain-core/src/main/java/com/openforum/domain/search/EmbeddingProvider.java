@@ -0,0 +1,32 @@
+package com.openforum.domain.search;
+
+import java.util.List;
+
+/**
+ * Turns text into embedding vectors comparable with {@code posts.embedding}.
+ * Vectors from one provider are only comparable with each other, so every
+ * embedding stored and every query embedded must come from the same one.
+ */
+public interface EmbeddingProvider {
+
+    /**
+     * Identifies the vector space: the provider and model, plus anything else
+     * that changes the vectors (such as dimensions). It is stored with every
+     * embedding, and stored embeddings with a different id are recomputed.
+     */
+    String model();
+
+    /**
+     * Number of components in every vector this provider returns.
+     */
+    int dimensions();
+
+    /**
+     * Embeds {@code texts} in one call; the result is in the same order.
+     */
+    List<float[]> embed(List<String> texts);
+
+    default float[] embed(String text) {
+        return embed(List.of(text)).get(0);
+    }
+}
@@ -0,0 +1,18 @@
+package com.openforum.domain.search;
+
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+
+import java.util.List;
+
+/**
+ * Backend that answers ranked full-text searches. Postgres full-text search
+ * (via {@link com.openforum.domain.repository.SearchRepository}) is the default;
+ * other engines plug in by providing a primary bean of this type.
+ */
+public interface SearchIndex {
+    /**
+     * Returns up to {@code query.limit()} hits ordered by rank descending, then id.
+     */
+    List<SearchHit> search(SearchQuery query);
+}
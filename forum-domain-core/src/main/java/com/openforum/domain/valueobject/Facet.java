@@ -0,0 +1,12 @@
+package com.openforum.domain.valueobject;
+
+import java.util.List;
+
+/**
+ * Thread counts per value of one metadata key, most frequent value first.
+ */
+public record Facet(String key, List<Value> values) {
+
+    public record Value(String value, long count) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.openforum.domain.valueobject;
+
+import java.util.UUID;
+
+/**
+ * A member offered by @mention autocomplete.
+ */
+public record MemberSuggestion(UUID id, String name, String email, String avatarUrl) {
+}
@@ -0,0 +1,131 @@
+package com.openforum.domain.valueobject;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+/**
+ * One condition on a thread's metadata. Equality ({@code key:value}) matches a
+ * string value, or a number or boolean written the same way. Ranges
+ * ({@code key>value}, {@code >=}, {@code <}, {@code <=}) compare numbers when
+ * {@code value} is a number, otherwise ISO-8601 dates ({@code 2024-06-01} or an
+ * instant); dates are compared as instants, a date being midnight UTC, so stored
+ * instants must carry an offset.
+ */
+public record MetadataFilter(String key, Operator operator, String value) {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_-]{1,40}");
+    private static final Pattern NUMBER = Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?");
+
+    public enum Operator {
+        EQ(":"), GT(">"), GTE(">="), LT("<"), LTE("<=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String symbol() {
+            return symbol;
+        }
+    }
+
+    public enum ValueType {
+        NUMBER, DATE
+    }
+
+    /**
+     * @throws IllegalArgumentException if a part is missing, or a range filter's
+     *                                  key has characters other than letters,
+     *                                  digits, {@code _} and {@code -} or its
+     *                                  value is neither a number nor a date
+     */
+    public MetadataFilter {
+        if (key == null || key.isEmpty() || operator == null || value == null) {
+            throw new IllegalArgumentException("Metadata filter needs a key, an operator and a value");
+        }
+        if (operator != Operator.EQ) {
+            if (!KEY.matcher(key).matches()) {
+                throw new IllegalArgumentException("Invalid metadata key for a range filter: " + key);
+            }
+            rangeType(value);
+        }
+    }
+
+    /**
+     * Parses {@code key:value}, {@code key>value}, {@code key>=value},
+     * {@code key<value} or {@code key<=value}.
+     *
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static MetadataFilter parse(String expression) {
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (c == ':') {
+                return new MetadataFilter(expression.substring(0, i), Operator.EQ, expression.substring(i + 1));
+            }
+            if (c == '<' || c == '>') {
+                boolean inclusive = i + 1 < expression.length() && expression.charAt(i + 1) == '=';
+                Operator operator = c == '<'
+                        ? (inclusive ? Operator.LTE : Operator.LT)
+                        : (inclusive ? Operator.GTE : Operator.GT);
+                return new MetadataFilter(expression.substring(0, i), operator,
+                        expression.substring(i + (inclusive ? 2 : 1)));
+            }
+        }
+        throw new IllegalArgumentException("Invalid metadata filter: " + expression);
+    }
+
+    /**
+     * How a range filter compares values; {@code null} for equality.
+     */
+    public ValueType valueType() {
+        return operator == Operator.EQ ? null : rangeType(value);
+    }
+
+    private static ValueType rangeType(String value) {
+        if (isNumber(value)) {
+            return ValueType.NUMBER;
+        }
+        try {
+            parseDate(value);
+            return ValueType.DATE;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Range filters need a number or an ISO-8601 date: " + value, e);
+        }
+    }
+
+    /**
+     * Reads an ISO-8601 date ({@code 2024-06-01}, taken as midnight UTC) or
+     * instant.
+     *
+     * @throws DateTimeParseException if {@code value} is neither
+     */
+    public static Instant parseDate(String value) {
+        return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+                : Instant.parse(value);
+    }
+
+    /**
+     * Whether {@code value} is an ISO-8601 date or instant.
+     */
+    public static boolean isDate(String value) {
+        try {
+            parseDate(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether {@code value} is a plain decimal number, written as JSON writes it.
+     */
+    public static boolean isNumber(String value) {
+        return NUMBER.matcher(value).matches();
+    }
+}
@@ -0,0 +1,117 @@
+package com.openforum.domain.valueobject;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The typed thread metadata keys a tenant declares under
+ * {@code metadata.schema} in its config, e.g.
+ * {@code {"deal_irr": "number", "pet_breed": "string", "listed_on": "date"}}.
+ * <p>
+ * Declared keys are checked once when a thread is written and kept in typed,
+ * b-tree indexed storage, so filters and sorts on them don't extract JSON.
+ * Undeclared keys stay free-form. Entries with an invalid key or an unknown
+ * type are ignored.
+ */
+public record MetadataSchema(Map<String, FieldType> fields) {
+
+    public static final String CONFIG_KEY = "metadata.schema";
+    public static final MetadataSchema EMPTY = new MetadataSchema(Map.of());
+
+    /** Longer strings don't fit a b-tree index entry reliably. */
+    public static final int MAX_STRING_LENGTH = 500;
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_-]{1,40}");
+
+    public enum FieldType {
+        STRING, NUMBER, DATE
+    }
+
+    public MetadataSchema {
+        fields = Map.copyOf(fields);
+    }
+
+    public static MetadataSchema from(Map<String, Object> tenantConfig) {
+        if (!(tenantConfig.get(CONFIG_KEY) instanceof Map<?, ?> declared)) {
+            return EMPTY;
+        }
+        Map<String, FieldType> fields = new LinkedHashMap<>();
+        declared.forEach((key, type) -> {
+            if (key instanceof String name && KEY.matcher(name).matches() && type instanceof String typeName) {
+                try {
+                    fields.put(name, FieldType.valueOf(typeName.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    // Unknown type; the key stays free-form
+                }
+            }
+        });
+        return new MetadataSchema(fields);
+    }
+
+    public FieldType type(String key) {
+        return fields.get(key);
+    }
+
+    /**
+     * This schema without {@code keys}, which are then read as free-form.
+     */
+    public MetadataSchema without(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return this;
+        }
+        Map<String, FieldType> remaining = new LinkedHashMap<>(fields);
+        remaining.keySet().removeAll(keys);
+        return new MetadataSchema(remaining);
+    }
+
+    /**
+     * Whether typed storage can answer {@code filter}: its key is declared and it
+     * compares values of the declared type (strings only by equality).
+     */
+    public boolean covers(MetadataFilter filter) {
+        FieldType type = fields.get(filter.key());
+        if (type == null) {
+            return false;
+        }
+        if (filter.operator() == MetadataFilter.Operator.EQ) {
+            return switch (type) {
+                case STRING -> true;
+                case NUMBER -> MetadataFilter.isNumber(filter.value());
+                case DATE -> MetadataFilter.isDate(filter.value());
+            };
+        }
+        return switch (type) {
+            case STRING -> false;
+            case NUMBER -> filter.valueType() == MetadataFilter.ValueType.NUMBER;
+            case DATE -> filter.valueType() == MetadataFilter.ValueType.DATE;
+        };
+    }
+
+    /**
+     * Checks that every declared key present in {@code metadata} holds a value of
+     * its type: a string of at most {@value #MAX_STRING_LENGTH} characters, a
+     * number, or an ISO-8601 date or instant string.
+     *
+     * @throws IllegalArgumentException naming the first key that doesn't
+     */
+    public void validate(Map<String, Object> metadata) {
+        fields.forEach((key, type) -> {
+            Object value = metadata.get(key);
+            if (value == null) {
+                return;
+            }
+            boolean valid = switch (type) {
+                case STRING -> value instanceof String string && string.length() <= MAX_STRING_LENGTH;
+                case NUMBER -> value instanceof Number number && Double.isFinite(number.doubleValue());
+                case DATE -> value instanceof String date && MetadataFilter.isDate(date);
+            };
+            if (!valid) {
+                throw new IllegalArgumentException(
+                        "Metadata key " + key + " must be a " + type.name().toLowerCase(Locale.ROOT) + ": " + value);
+            }
+        });
+    }
+}
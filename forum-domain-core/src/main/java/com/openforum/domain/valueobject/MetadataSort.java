@@ -0,0 +1,28 @@
+package com.openforum.domain.valueobject;
+
+/**
+ * Orders a thread listing by a metadata key declared in the tenant's
+ * {@link MetadataSchema}; threads without a value for the key come last.
+ */
+public record MetadataSort(String key, boolean descending) {
+
+    /**
+     * @throws IllegalArgumentException if {@code key} is empty
+     */
+    public MetadataSort {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Metadata sort needs a key");
+        }
+    }
+
+    /**
+     * Parses {@code key} (ascending) or {@code -key} (descending).
+     *
+     * @throws IllegalArgumentException if the key is empty
+     */
+    public static MetadataSort parse(String expression) {
+        return expression.startsWith("-")
+                ? new MetadataSort(expression.substring(1), true)
+                : new MetadataSort(expression, false);
+    }
+}
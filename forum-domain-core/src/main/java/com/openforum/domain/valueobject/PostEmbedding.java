@@ -0,0 +1,10 @@
+package com.openforum.domain.valueobject;
+
+import java.util.UUID;
+
+/**
+ * An embedding computed from the post text read at {@code version} by the
+ * provider {@code model} identifies.
+ */
+public record PostEmbedding(UUID postId, long version, String model, float[] embedding) {
+}
@@ -0,0 +1,11 @@
+package com.openforum.domain.valueobject;
+
+import java.util.UUID;
+
+/**
+ * A post's text as read for embedding. {@code version} is the post's
+ * optimistic-lock version at read time, so a vector computed from this text is
+ * only stored if the post has not changed since.
+ */
+public record PostText(UUID postId, String tenantId, long version, String content) {
+}
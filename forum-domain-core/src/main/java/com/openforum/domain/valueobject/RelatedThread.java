@@ -0,0 +1,10 @@
+package com.openforum.domain.valueobject;
+
+import java.util.UUID;
+
+/**
+ * A thread recommended next to another, with the cosine similarity of their
+ * opening posts (1 is identical).
+ */
+public record RelatedThread(UUID threadId, String title, int postCount, float score) {
+}
@@ -0,0 +1,12 @@
+package com.openforum.domain.valueobject;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The precomputed related-threads list of one thread, best first, as of
+ * {@code computedAt}. Threads deleted since are left out.
+ */
+public record RelatedThreads(UUID threadId, List<RelatedThread> threads, Instant computedAt) {
+}
@@ -0,0 +1,41 @@
+package com.openforum.domain.valueobject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a ranked search: the rank and id of the last hit returned.
+ * Hits are ordered by rank descending, then id, so the next page continues with
+ * lower ranks or the same rank and a higher id.
+ */
+public record SearchCursor(float rank, UUID id) {
+
+    public static SearchCursor of(SearchHit hit) {
+        return new SearchCursor(hit.rank(), hit.id());
+    }
+
+    /**
+     * Opaque URL-safe token for clients to pass back.
+     */
+    public String encode() {
+        String raw = Float.floatToIntBits(rank) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            return new SearchCursor(Float.intBitsToFloat(Integer.parseInt(parts[0])), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+}
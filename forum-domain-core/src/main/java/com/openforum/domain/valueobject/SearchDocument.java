@@ -0,0 +1,21 @@
+package com.openforum.domain.valueobject;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The searchable text of one thread or post, for indexes kept outside the
+ * database. A thread's {@code text} is what its Postgres search document is
+ * built from (title, opening post and the configured metadata values); a
+ * post's is its content. {@code title} is null for posts.
+ */
+public record SearchDocument(
+        SearchHit.Kind kind,
+        UUID id,
+        String tenantId,
+        UUID threadId,
+        UUID categoryId,
+        Instant createdAt,
+        String title,
+        String text) {
+}
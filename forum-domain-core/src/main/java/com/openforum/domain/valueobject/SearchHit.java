@@ -0,0 +1,48 @@
+package com.openforum.domain.valueobject;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One ranked search result. For a thread hit {@code id} and {@code threadId}
+ * are the same; for a post hit {@code title} is its thread's title.
+ * {@code snippet} is HTML: the matching text, escaped, with query terms
+ * wrapped in {@code <b>...</b>}.
+ */
+public record SearchHit(
+        Kind kind,
+        UUID id,
+        UUID threadId,
+        String title,
+        String snippet,
+        float rank,
+        Instant createdAt) {
+
+    public enum Kind {
+        THREAD,
+        POST
+    }
+
+    /**
+     * {@code text} with the characters HTML treats as markup escaped, so that
+     * post content can be placed in a snippet as text.
+     */
+    public static String escapeHtml(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&#39;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package com.openforum.domain.valueobject;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A full-text search within one tenant. {@code text} uses web-search syntax
+ * ("quoted phrases", -exclusions, OR). {@code categoryId}, {@code from} and
+ * {@code to} are optional filters ({@code from} inclusive, {@code to}
+ * exclusive); {@code after} continues from a previous page.
+ */
+public record SearchQuery(
+        String tenantId,
+        String text,
+        SearchScope scope,
+        UUID categoryId,
+        Instant from,
+        Instant to,
+        SearchCursor after,
+        int limit) {
+}
@@ -0,0 +1,18 @@
+package com.openforum.domain.valueobject;
+
+/**
+ * What a search covers: thread titles, post bodies, or both.
+ */
+public enum SearchScope {
+    ALL,
+    THREADS,
+    POSTS;
+
+    public boolean includesThreads() {
+        return this != POSTS;
+    }
+
+    public boolean includesPosts() {
+        return this != THREADS;
+    }
+}
@@ -0,0 +1,20 @@
+package com.openforum.domain.valueobject;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A nearest-neighbour search over post embeddings within one tenant.
+ * {@code categoryId}, {@code from} (inclusive) and {@code to} (exclusive) are
+ * optional filters. {@code efSearch} is the HNSW candidate list size: larger
+ * values trade latency for recall.
+ */
+public record SimilarityQuery(
+        String tenantId,
+        float[] embedding,
+        UUID categoryId,
+        Instant from,
+        Instant to,
+        int limit,
+        int efSearch) {
+}
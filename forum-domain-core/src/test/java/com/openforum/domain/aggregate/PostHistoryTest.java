@@ -42,6 +42,7 @@ class PostHistoryTest {
         PostCreatedEvent event = (PostCreatedEvent) events.get(0);
         assertThat(event.postId()).isEqualTo(id);
         assertThat(event.threadId()).isEqualTo(threadId);
+        assertThat(event.tenantId()).isEqualTo(tenantId);
         assertThat(event.authorId()).isEqualTo(authorId);
         assertThat(event.content()).isEqualTo(content);
     }
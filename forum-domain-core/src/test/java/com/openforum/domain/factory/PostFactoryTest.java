@@ -51,7 +51,8 @@ class PostFactoryTest {
                 null,
                 Map.of(),
                 false,
-                java.time.Instant.now()))
+                java.time.Instant.now(),
+                1))
                 .isInstanceOf(NullPointerException.class)
                 .hasMessage("Tenant ID cannot be null when creating a Post");
     }
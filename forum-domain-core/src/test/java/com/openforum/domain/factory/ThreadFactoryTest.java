@@ -3,6 +3,7 @@ package com.openforum.domain.factory;
 import com.openforum.domain.aggregate.Post;
 import com.openforum.domain.aggregate.Thread;
 import com.openforum.domain.aggregate.ThreadStatus;
+import com.openforum.domain.valueobject.MetadataSchema;
 
 import org.junit.jupiter.api.Test;
 
@@ -62,6 +63,7 @@ class ThreadFactoryTest {
                 assertThat(thread.getStatus()).isEqualTo(ThreadStatus.OPEN);
                 assertThat(thread.getMetadata()).containsEntry("legacy_id", "12345");
                 assertThat(thread.getPosts()).hasSize(2);
+                assertThat(thread.getPosts()).extracting(Post::getPostNumber).containsExactly(1, 2);
 
                 // Critical assertion: No events should be generated
                 assertThat(thread.pollEvents()).isEmpty();
@@ -160,4 +162,19 @@ class ThreadFactoryTest {
                                 .isInstanceOf(NullPointerException.class)
                                 .hasMessage("Tenant ID cannot be null when creating a Thread");
         }
+
+        @Test
+        void create_shouldRejectMetadataNotMatchingSchema() {
+                // Given
+                MetadataSchema schema = new MetadataSchema(Map.of("deal_irr", MetadataSchema.FieldType.NUMBER));
+
+                // When & Then
+                assertThat(ThreadFactory.create("tenant-1", UUID.randomUUID(), null, "Deal",
+                                Map.of("deal_irr", 0.12), schema).getMetadata())
+                                .containsEntry("deal_irr", 0.12);
+                assertThatThrownBy(() -> ThreadFactory.create("tenant-1", UUID.randomUUID(), null, "Deal",
+                                Map.of("deal_irr", "12%"), schema))
+                                .isInstanceOf(IllegalArgumentException.class)
+                                .hasMessageContaining("deal_irr");
+        }
 }
@@ -0,0 +1,47 @@
+package com.openforum.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetadataFilterTest {
+
+    @Test
+    void shouldParseEqualityAndRanges() {
+        assertThat(MetadataFilter.parse("questionId:102"))
+                .isEqualTo(new MetadataFilter("questionId", MetadataFilter.Operator.EQ, "102"));
+        assertThat(MetadataFilter.parse("url:https://example.com/a:b").value()).isEqualTo("https://example.com/a:b");
+        assertThat(MetadataFilter.parse("difficulty>=3").operator()).isEqualTo(MetadataFilter.Operator.GTE);
+        assertThat(MetadataFilter.parse("difficulty>3").operator()).isEqualTo(MetadataFilter.Operator.GT);
+        assertThat(MetadataFilter.parse("price<=9.5").operator()).isEqualTo(MetadataFilter.Operator.LTE);
+        assertThat(MetadataFilter.parse("price<10").value()).isEqualTo("10");
+    }
+
+    @Test
+    void shouldTypeRangeValues() {
+        assertThat(MetadataFilter.parse("difficulty>-2.5").valueType()).isEqualTo(MetadataFilter.ValueType.NUMBER);
+        assertThat(MetadataFilter.parse("publishedAt<2024-06-01").valueType()).isEqualTo(MetadataFilter.ValueType.DATE);
+        assertThat(MetadataFilter.parse("publishedAt>=2024-06-01T10:00:00Z").valueType())
+                .isEqualTo(MetadataFilter.ValueType.DATE);
+        assertThat(MetadataFilter.parse("questionId:102").valueType()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedFilters() {
+        assertThatThrownBy(() -> MetadataFilter.parse("questionId")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MetadataFilter.parse(":102")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MetadataFilter.parse("difficulty>hard")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MetadataFilter.parse("difficulty>007")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MetadataFilter.parse("a'b>1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRecognizeJsonNumbers() {
+        assertThat(MetadataFilter.isNumber("0")).isTrue();
+        assertThat(MetadataFilter.isNumber("-12.75")).isTrue();
+        assertThat(MetadataFilter.isNumber("007")).isFalse();
+        assertThat(MetadataFilter.isNumber("1e3")).isFalse();
+        assertThat(MetadataFilter.isNumber("")).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.openforum.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetadataSchemaTest {
+
+    private static final MetadataSchema SCHEMA = new MetadataSchema(Map.of(
+            "deal_irr", MetadataSchema.FieldType.NUMBER,
+            "listed_on", MetadataSchema.FieldType.DATE,
+            "pet_breed", MetadataSchema.FieldType.STRING));
+
+    @Test
+    void shouldReadSchemaFromTenantConfig() {
+        MetadataSchema schema = MetadataSchema.from(Map.of("metadata.schema", Map.of(
+                "deal_irr", "number",
+                "listed_on", " DATE ",
+                "bad key", "string",
+                "pet_breed", "colour")));
+
+        assertThat(schema.fields()).containsOnly(
+                Map.entry("deal_irr", MetadataSchema.FieldType.NUMBER),
+                Map.entry("listed_on", MetadataSchema.FieldType.DATE));
+        assertThat(MetadataSchema.from(Map.of())).isEqualTo(MetadataSchema.EMPTY);
+        assertThat(MetadataSchema.from(Map.of("metadata.schema", "deal_irr"))).isEqualTo(MetadataSchema.EMPTY);
+    }
+
+    @Test
+    void shouldAcceptValuesOfDeclaredTypes() {
+        assertThatCode(() -> SCHEMA.validate(Map.of(
+                "deal_irr", 0.12,
+                "listed_on", "2024-06-01",
+                "pet_breed", "beagle",
+                "free_form", Map.of("any", "thing"))))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> SCHEMA.validate(Map.of("listed_on", "2024-06-01T10:00:00Z")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldRejectValuesOfOtherTypes() {
+        assertThatThrownBy(() -> SCHEMA.validate(Map.of("deal_irr", "12%")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("deal_irr");
+        assertThatThrownBy(() -> SCHEMA.validate(Map.of("listed_on", "June 2024")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SCHEMA.validate(Map.of("pet_breed", 7)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SCHEMA.validate(Map.of("pet_breed", "x".repeat(501))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCoverFiltersComparingTheDeclaredType() {
+        assertThat(SCHEMA.covers(MetadataFilter.parse("deal_irr>=0.1"))).isTrue();
+        assertThat(SCHEMA.covers(MetadataFilter.parse("deal_irr:0.1"))).isTrue();
+        assertThat(SCHEMA.covers(MetadataFilter.parse("deal_irr:high"))).isFalse();
+        assertThat(SCHEMA.covers(MetadataFilter.parse("deal_irr>2024-01-01"))).isFalse();
+        assertThat(SCHEMA.covers(MetadataFilter.parse("listed_on<2024-07-01"))).isTrue();
+        assertThat(SCHEMA.covers(MetadataFilter.parse("pet_breed:beagle"))).isTrue();
+        assertThat(SCHEMA.covers(MetadataFilter.parse("pet_breed>2024-01-01"))).isFalse();
+        assertThat(SCHEMA.covers(MetadataFilter.parse("color:red"))).isFalse();
+    }
+
+    @Test
+    void shouldReadKeysLeftOutAsFreeForm() {
+        MetadataSchema schema = SCHEMA.without(Set.of("deal_irr"));
+
+        assertThat(schema.type("deal_irr")).isNull();
+        assertThat(schema.covers(MetadataFilter.parse("deal_irr>=0.1"))).isFalse();
+        assertThat(schema.type("listed_on")).isEqualTo(MetadataSchema.FieldType.DATE);
+        assertThat(SCHEMA.without(Set.of())).isSameAs(SCHEMA);
+    }
+}
@@ -0,0 +1,96 @@
+package com.openforum.infra.jpa.config;
+
+import com.openforum.infra.jpa.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes {@code @Transactional(readOnly = true)} work to read replicas. Active
+ * only when {@code app.datasource.replicas.urls} is set; otherwise Spring Boot's
+ * single {@code spring.datasource} pool is used as before.
+ * <p>
+ * Every pool (primary and replicas) reports Hikari metrics tagged with its pool
+ * name, and each replica's measured lag is exposed as
+ * {@code openforum.datasource.replica.lag}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReadReplicaConfig {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replicas.username:}") String replicaUsername,
+            @Value("${app.datasource.replicas.password:}") String replicaPassword,
+            @Value("${app.datasource.replicas.max-lag:PT5S}") Duration maxLag) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configurePool(primary, "primary", registry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls.get(i).trim())
+                    .username(replicaUsername.isBlank() ? properties.determineUsername() : replicaUsername)
+                    .password(replicaPassword.isBlank() ? properties.determinePassword() : replicaPassword)
+                    .build();
+            replica.setReadOnly(true);
+            configurePool(replica, "replica-" + i, registry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, maxLag);
+        routingDataSource.afterPropertiesSet();
+
+        if (registry != null) {
+            for (String name : replicas.keySet()) {
+                Gauge.builder("openforum.datasource.replica.lag", routingDataSource,
+                        routing -> routing.replicaLagSeconds().getOrDefault(name, Double.NaN))
+                        .tag("pool", name)
+                        .baseUnit("seconds")
+                        .register(registry);
+            }
+        }
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:PT5S}")
+    public void checkReplicaLag() {
+        if (routingDataSource != null) {
+            routingDataSource.checkReplicaLag();
+        }
+    }
+
+    private static void configurePool(HikariDataSource pool, String name, MeterRegistry registry) {
+        pool.setPoolName(name);
+        if (registry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.openforum.infra.jpa.entity;
+
+import com.openforum.infra.jpa.type.PgVectorType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Type;
+
+/**
+ * The embedding column of {@code posts}, mapped on its own so that loading a
+ * {@link PostEntity} (single posts and every listing) never reads or writes
+ * the 1536-float vector. Rows are created through {@link PostEntity}; this
+ * entity only reads and updates the column.
+ * <p>
+ * NULL indicates the embedding is pending generation; a content edit resets it
+ * to NULL (V47 trigger), together with the model that computed it (V54).
+ */
+@Entity
+@Table(name = "posts")
+public class PostEmbeddingEntity extends BaseEntity {
+
+    @Column(columnDefinition = "vector")
+    @Type(PgVectorType.class)
+    private float[] embedding;
+
+    @Column(name = "embedding_model")
+    private String embeddingModel;
+
+    public float[] getEmbedding() {
+        return embedding;
+    }
+
+    public void setEmbedding(float[] embedding) {
+        this.embedding = embedding;
+    }
+
+    public String getEmbeddingModel() {
+        return embeddingModel;
+    }
+
+    public void setEmbeddingModel(String embeddingModel) {
+        this.embeddingModel = embeddingModel;
+    }
+}
@@ -42,16 +42,6 @@ public class PostEntity extends TenantAwareEntity {
     @Column(name = "bookmark_count", nullable = false)
     private Integer bookmarkCount = 0;
 
-    /**
-     * AI-generated semantic embedding vector for similarity search.
-     * Dimension: 1536 (OpenAI text-embedding-3-small standard).
-     * Populated asynchronously by EmbeddingService after post creation.
-     * NULL indicates embedding is pending generation.
-     */
-    @Column(columnDefinition = "vector")
-    @org.hibernate.annotations.Type(io.hypersistence.utils.hibernate.type.array.ListArrayType.class)
-    private List<Double> embedding;
-
     @Column(nullable = false)
     private Boolean deleted = false;
 
@@ -153,14 +143,6 @@ public class PostEntity extends TenantAwareEntity {
         this.bookmarkCount = bookmarkCount;
     }
 
-    public List<Double> getEmbedding() {
-        return embedding;
-    }
-
-    public void setEmbedding(List<Double> embedding) {
-        this.embedding = embedding;
-    }
-
     public Boolean getDeleted() {
         return deleted;
     }
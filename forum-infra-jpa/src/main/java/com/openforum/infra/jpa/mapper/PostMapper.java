@@ -22,7 +22,6 @@ public class PostMapper {
         entity.setScore(domain.getScore());
         entity.setBookmarkCount(domain.getBookmarkCount());
         entity.setDeleted(domain.isDeleted());
-        entity.setEmbedding(domain.getEmbedding());
         entity.setDeletedAt(domain.getDeletedAt());
         entity.setLastModifiedAt(domain.getLastModifiedAt());
         entity.setLastModifiedBy(domain.getLastModifiedBy());
@@ -53,7 +52,6 @@ public class PostMapper {
                 .isDeleted(entity.getDeleted())
                 .score(entity.getScore())
                 .bookmarkCount(entity.getBookmarkCount() != null ? entity.getBookmarkCount() : 0)
-                .embedding(entity.getEmbedding())
                 .deletedAt(entity.getDeletedAt())
                 .lastModifiedAt(entity.getLastModifiedAt())
                 .lastModifiedBy(entity.getLastModifiedBy())
@@ -78,10 +76,7 @@ public class PostMapper {
         target.setLastModifiedAt(domain.getLastModifiedAt());
         target.setLastModifiedBy(domain.getLastModifiedBy());
 
-        // Only update embedding if present in domain (it might be null if not loaded)
-        if (domain.getEmbedding() != null) {
-            target.setEmbedding(domain.getEmbedding());
-        }
+        // Embedding is written separately (PostEmbeddingEntity), never through the post
 
         // CreatedBy usually doesn't change
     }
@@ -0,0 +1,18 @@
+package com.openforum.infra.jpa.projection;
+
+import java.time.Instant;
+
+/**
+ * Post row for a member's bookmark list. Bookmarks are read back one post at a
+ * time in the client, so the row also carries the columns the single-post view
+ * shows.
+ */
+public interface BookmarkedPostProjection extends PostRowProjection {
+    Long getVersion();
+
+    String getMetadata(); // posts.metadata as JSON text
+
+    Instant getDeletedAt();
+
+    Instant getLastModifiedAt();
+}
@@ -0,0 +1,13 @@
+package com.openforum.infra.jpa.projection;
+
+import java.util.UUID;
+
+/**
+ * Id and display title of a thread or category, for listings that reference
+ * many of them by id (e.g. a member's subscriptions).
+ */
+public interface IdTitleProjection {
+    UUID getId();
+
+    String getTitle();
+}
@@ -0,0 +1,33 @@
+package com.openforum.infra.jpa.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat projection of a post with its author's name resolved in the same query.
+ * Used for list/export reads that don't need the aggregate (no metadata,
+ * mentions or embedding).
+ */
+public interface PostRowProjection {
+    UUID getId();
+
+    UUID getThreadId();
+
+    UUID getAuthorId();
+
+    String getAuthorName(); // members.name via LEFT JOIN
+
+    String getContent();
+
+    UUID getReplyToPostId();
+
+    Integer getPostNumber();
+
+    Integer getScore();
+
+    Integer getBookmarkCount();
+
+    Instant getCreatedAt();
+
+    Boolean getDeleted();
+}
@@ -0,0 +1,11 @@
+package com.openforum.infra.jpa.projection;
+
+/**
+ * Post row within a reply subtree, with its depth below the subtree's root and
+ * the number of posts beneath it.
+ */
+public interface ReplyRowProjection extends PostRowProjection {
+    Integer getReplyDepth(); // 0 for the root of the subtree
+
+    Integer getDescendantCount();
+}
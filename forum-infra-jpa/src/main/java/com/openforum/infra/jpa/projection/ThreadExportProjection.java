@@ -0,0 +1,9 @@
+package com.openforum.infra.jpa.projection;
+
+/**
+ * {@link ThreadWithOPProjection} with the author's name resolved in the same
+ * query, so streamed exports need no per-row lookups.
+ */
+public interface ThreadExportProjection extends ThreadWithOPProjection {
+    String getAuthorName();
+}
@@ -0,0 +1,21 @@
+package com.openforum.infra.jpa.projection;
+
+import java.time.Instant;
+
+/**
+ * Projection of the columns that change whenever a thread or any of its posts
+ * changes. Used to answer conditional GETs without loading the thread body.
+ */
+public interface ThreadStampProjection {
+    Long getVersion();
+
+    Integer getPostCount();
+
+    Instant getLastActivityAt();
+
+    Instant getLastModifiedAt();
+
+    Instant getPostsLastModifiedAt(); // max(posts.last_modified_at) for the thread
+
+    Instant getPostsLastVotedAt(); // max(posts.last_voted_at) for the thread
+}
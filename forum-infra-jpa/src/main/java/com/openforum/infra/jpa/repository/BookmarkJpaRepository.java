@@ -1,16 +1,21 @@
 package com.openforum.infra.jpa.repository;
 
 import com.openforum.infra.jpa.entity.BookmarkEntity;
+import com.openforum.infra.jpa.projection.BookmarkedPostProjection;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookmarkJpaRepository extends JpaRepository<BookmarkEntity, UUID> {
@@ -25,11 +30,78 @@ public interface BookmarkJpaRepository extends JpaRepository<BookmarkEntity, UUI
     @Query("SELECT b.postId FROM BookmarkEntity b WHERE b.memberId = :memberId")
     Set<UUID> findPostIdsByMemberId(@Param("memberId") UUID memberId);
 
+    /**
+     * Which of the given posts a member has bookmarked. Bounded by the size of
+     * {@code postIds} rather than by the member's whole bookmark history.
+     */
+    @Query("SELECT b.postId FROM BookmarkEntity b WHERE b.memberId = :memberId AND b.postId IN :postIds")
+    Set<UUID> findPostIdsByMemberIdAndPostIdIn(@Param("memberId") UUID memberId,
+            @Param("postIds") Collection<UUID> postIds);
+
     /**
      * Get paginated bookmarks for a member.
      */
     Page<BookmarkEntity> findByMemberId(UUID memberId, Pageable pageable);
 
+    /**
+     * One page of a member's bookmarked posts, newest bookmark first, with the
+     * author name joined in and every column the post view shows. The order is fixed by the query, so pass an unsorted
+     * {@link Pageable}.
+     */
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted,
+                   p.version AS version,
+                   CAST(p.metadata AS text) AS metadata,
+                   p.deleted_at AS deletedAt,
+                   p.last_modified_at AS lastModifiedAt
+            FROM bookmarks b
+            JOIN posts p ON p.id = b.post_id
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE b.member_id = :memberId
+            ORDER BY b.created_at DESC, b.id
+            """, countQuery = "SELECT count(*) FROM bookmarks b WHERE b.member_id = :memberId", nativeQuery = true)
+    Page<BookmarkedPostProjection> findBookmarkedPosts(@Param("memberId") UUID memberId, Pageable pageable);
+
+    /**
+     * Streams a member's bookmarked posts, newest bookmark first, over a
+     * server-side cursor. Must be consumed (and closed) inside a read-only
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted,
+                   p.version AS version,
+                   CAST(p.metadata AS text) AS metadata,
+                   p.deleted_at AS deletedAt,
+                   p.last_modified_at AS lastModifiedAt
+            FROM bookmarks b
+            JOIN posts p ON p.id = b.post_id
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE b.member_id = :memberId
+            ORDER BY b.created_at DESC
+            """, nativeQuery = true)
+    Stream<BookmarkedPostProjection> streamBookmarkedPosts(@Param("memberId") UUID memberId);
+
     /**
      * Delete bookmark by member and post (for unbookmark operation).
      */
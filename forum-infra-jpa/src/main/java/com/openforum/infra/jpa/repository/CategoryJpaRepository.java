@@ -1,9 +1,13 @@
 package com.openforum.infra.jpa.repository;
 
 import com.openforum.infra.jpa.entity.CategoryEntity;
+import com.openforum.infra.jpa.projection.IdTitleProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,4 +17,7 @@ public interface CategoryJpaRepository extends JpaRepository<CategoryEntity, UUI
     List<CategoryEntity> findAllByTenantId(String tenantId);
 
     Optional<CategoryEntity> findByTenantIdAndSlug(String tenantId, String slug);
+
+    @Query("SELECT c.id AS id, c.name AS title FROM CategoryEntity c WHERE c.id IN :ids")
+    List<IdTitleProjection> findNamesByIdIn(@Param("ids") Collection<UUID> ids);
 }
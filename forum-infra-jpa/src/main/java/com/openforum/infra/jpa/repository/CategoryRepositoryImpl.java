@@ -3,9 +3,12 @@ package com.openforum.infra.jpa.repository;
 import com.openforum.domain.aggregate.Category;
 import com.openforum.domain.repository.CategoryRepository;
 import com.openforum.infra.jpa.entity.CategoryEntity;
+import com.openforum.infra.jpa.projection.IdTitleProjection;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,6 +34,15 @@ public class CategoryRepositoryImpl implements CategoryRepository {
         return jpaRepository.findById(id).map(this::toDomain);
     }
 
+    @Override
+    public Map<UUID, String> findNamesByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return jpaRepository.findNamesByIdIn(ids).stream()
+                .collect(Collectors.toMap(IdTitleProjection::getId, IdTitleProjection::getTitle));
+    }
+
     @Override
     public List<Category> findAll(String tenantId) {
         return jpaRepository.findAllByTenantId(tenantId).stream()
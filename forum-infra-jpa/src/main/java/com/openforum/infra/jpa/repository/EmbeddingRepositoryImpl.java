@@ -0,0 +1,127 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.EmbeddingRepository;
+import com.openforum.domain.valueobject.PostEmbedding;
+import com.openforum.domain.valueobject.PostText;
+import com.openforum.infra.jpa.type.PgVectorType;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Embedding bookkeeping on the {@code posts} table (see V47). Posts needing an
+ * embedding are found through the partial index on {@code embedding IS NULL};
+ * vectors are written with plain batched UPDATEs guarded by the post's version,
+ * and stamped with the model that computed them (see V54).
+ */
+@Component
+public class EmbeddingRepositoryImpl implements EmbeddingRepository {
+
+    private static final RowMapper<PostText> TEXT_MAPPER = (rs, rowNum) -> new PostText(
+            rs.getObject("id", UUID.class),
+            rs.getString("tenant_id"),
+            rs.getLong("version"),
+            rs.getString("content"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EmbeddingRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PostText> findPending(Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+                SELECT id, tenant_id, version, content FROM posts
+                WHERE id IN (:ids) AND embedding IS NULL AND deleted = FALSE
+                ORDER BY id
+                """, new MapSqlParameterSource("ids", postIds), TEXT_MAPPER);
+    }
+
+    /**
+     * One statement: the position row is locked only while the batch is chosen
+     * and the new position written, never while the batch is embedded. A batch
+     * whose embedding fails is therefore not retried until the next pass.
+     */
+    @Override
+    public List<PostText> claimBacklog(int batchSize) {
+        return jdbcTemplate.query("""
+                WITH pos AS (
+                    SELECT COALESCE(after_id, '00000000-0000-0000-0000-000000000000') AS after_id
+                    FROM embedding_backlog
+                    WHERE id = 1
+                    FOR UPDATE
+                ),
+                batch AS (
+                    SELECT p.id, p.tenant_id, p.version, p.content
+                    FROM posts p, pos
+                    WHERE p.embedding IS NULL AND p.deleted = FALSE AND p.id > pos.after_id
+                    ORDER BY p.id
+                    LIMIT :batchSize
+                ),
+                advanced AS (
+                    UPDATE embedding_backlog
+                    SET after_id = CASE WHEN (SELECT count(*) FROM batch) < :batchSize THEN NULL
+                                        ELSE (SELECT id FROM batch ORDER BY id DESC LIMIT 1) END
+                    WHERE id = 1
+                )
+                SELECT * FROM batch ORDER BY id
+                """, new MapSqlParameterSource("batchSize", batchSize), TEXT_MAPPER);
+    }
+
+    @Override
+    @Transactional
+    public int saveAll(List<PostEmbedding> embeddings) {
+        if (embeddings.isEmpty()) {
+            return 0;
+        }
+        SqlParameterSource[] batch = embeddings.stream()
+                .map(embedding -> new MapSqlParameterSource()
+                        .addValue("id", embedding.postId())
+                        .addValue("version", embedding.version())
+                        .addValue("model", embedding.model())
+                        .addValue("embedding", PgVectorType.format(embedding.embedding())))
+                .toArray(SqlParameterSource[]::new);
+        int[] updated = jdbcTemplate.batchUpdate("""
+                UPDATE posts SET embedding = CAST(:embedding AS vector), embedding_model = :model
+                WHERE id = :id AND version = :version AND deleted = FALSE
+                """, batch);
+        int total = 0;
+        for (int count : updated) {
+            // The driver may report SUCCESS_NO_INFO (-2) for batched statements
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Unknown models (NULL, e.g. vectors written before V54 by another path)
+     * count as different. The inequality is split in two so each half can use
+     * idx_posts_embedding_model; SKIP LOCKED keeps concurrent runs on different
+     * rows.
+     */
+    @Override
+    @Transactional
+    public int invalidateOtherModels(String model, int limit) {
+        return jdbcTemplate.update("""
+                UPDATE posts SET embedding = NULL, embedding_model = NULL
+                WHERE id IN (
+                    SELECT id FROM posts
+                    WHERE embedding IS NOT NULL
+                      AND (embedding_model < :model OR embedding_model > :model OR embedding_model IS NULL)
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                """, new MapSqlParameterSource().addValue("model", model).addValue("limit", limit));
+    }
+}
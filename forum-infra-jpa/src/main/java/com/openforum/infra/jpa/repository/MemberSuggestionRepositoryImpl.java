@@ -0,0 +1,97 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.MemberSuggestionRepository;
+import com.openforum.domain.valueobject.MemberSuggestion;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Mention lookups on {@code members}. Each prefix branch is an ordered range
+ * scan of its expression index (V59) that stops after {@code limit} rows; the
+ * two branches are merged by name. Matching and ordering both use the "C"
+ * collation of the indexes, so neither branch needs a sort.
+ */
+@Component
+public class MemberSuggestionRepositoryImpl implements MemberSuggestionRepository {
+
+    private static final RowMapper<MemberSuggestion> SUGGESTION_MAPPER = (rs, rowNum) -> new MemberSuggestion(
+            rs.getObject("id", UUID.class),
+            rs.getString("name"),
+            rs.getString("email"),
+            rs.getString("avatar_url"));
+
+    static final String PREFIX_SQL = """
+            SELECT id, name, email, avatar_url FROM (
+                (SELECT id, name, email, avatar_url FROM members
+                 WHERE tenant_id = :tenantId AND lower(name) COLLATE "C" LIKE :pattern
+                 ORDER BY lower(name) COLLATE "C" LIMIT :limit)
+                UNION
+                (SELECT id, name, email, avatar_url FROM members
+                 WHERE tenant_id = :tenantId AND lower(email) COLLATE "C" LIKE :pattern
+                 ORDER BY lower(email) COLLATE "C" LIMIT :limit)
+            ) matches
+            ORDER BY lower(name) COLLATE "C", id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public MemberSuggestionRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<MemberSuggestion> findByPrefix(String tenantId, String prefix, int limit) {
+        return jdbcTemplate.query(PREFIX_SQL, new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("pattern", likePrefix(prefix))
+                .addValue("limit", limit), SUGGESTION_MAPPER);
+    }
+
+    @Override
+    public List<MemberSuggestion> findThreadParticipants(String tenantId, UUID threadId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT m.id, m.name, m.email, m.avatar_url
+                FROM (
+                    SELECT author_id, max(created_at) AS last_posted_at
+                    FROM posts
+                    WHERE thread_id = :threadId AND tenant_id = :tenantId AND deleted = FALSE
+                    GROUP BY author_id
+                ) participant
+                JOIN members m ON m.id = participant.author_id
+                ORDER BY participant.last_posted_at DESC, m.id
+                LIMIT :limit
+                """, new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("threadId", threadId)
+                .addValue("limit", limit), SUGGESTION_MAPPER);
+    }
+
+    @Override
+    public List<MemberSuggestion> findAll(String tenantId) {
+        return jdbcTemplate.query("SELECT id, name, email, avatar_url FROM members WHERE tenant_id = :tenantId",
+                new MapSqlParameterSource("tenantId", tenantId), SUGGESTION_MAPPER);
+    }
+
+    /**
+     * {@code prefix} as a LIKE pattern matching itself literally, then anything.
+     */
+    static String likePrefix(String prefix) {
+        String lower = prefix.toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lower.length() + 1);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
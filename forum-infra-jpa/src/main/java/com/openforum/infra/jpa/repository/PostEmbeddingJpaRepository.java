@@ -0,0 +1,24 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.infra.jpa.entity.PostEmbeddingEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface PostEmbeddingJpaRepository extends JpaRepository<PostEmbeddingEntity, UUID> {
+
+    /**
+     * Sets the embedding of an existing post and the model that computed it,
+     * which the backfill compares against the current one. A bulk update rather
+     * than a merge, so a post inserted earlier in the same transaction is
+     * flushed first instead of being taken for a new row.
+     */
+    @Modifying
+    @Query("UPDATE PostEmbeddingEntity e SET e.embedding = :embedding, e.embeddingModel = :model WHERE e.id = :id")
+    int updateEmbedding(@Param("id") UUID id, @Param("embedding") float[] embedding, @Param("model") String model);
+}
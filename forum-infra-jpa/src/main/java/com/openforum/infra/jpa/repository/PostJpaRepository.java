@@ -1,15 +1,20 @@
 package com.openforum.infra.jpa.repository;
 
 import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.projection.PostRowProjection;
+import com.openforum.infra.jpa.projection.ReplyRowProjection;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 
@@ -36,6 +41,242 @@ public interface PostJpaRepository extends JpaRepository<PostEntity, UUID> {
 
     Page<PostEntity> findByTenantId(String tenantId, Pageable pageable);
 
+    /**
+     * Streams every post of a thread in post-number order over a server-side
+     * cursor. Must be consumed (and closed) inside a read-only transaction.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted
+            FROM posts p
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE p.thread_id = :threadId AND p.tenant_id = :tenantId
+            ORDER BY p.post_number
+            """, nativeQuery = true)
+    Stream<PostRowProjection> streamByThreadId(@Param("threadId") UUID threadId, @Param("tenantId") String tenantId);
+
+    /**
+     * First page of a thread's posts by rank (score desc, oldest first, id as
+     * tie-breaker). Served by idx_posts_thread_top.
+     */
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted
+            FROM posts p
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE p.thread_id = :threadId AND p.tenant_id = :tenantId
+            ORDER BY p.score DESC, p.created_at, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PostRowProjection> findTopByThreadId(@Param("threadId") UUID threadId, @Param("tenantId") String tenantId,
+            @Param("limit") int limit);
+
+    /**
+     * Next page of a thread's posts by rank, after the row identified by
+     * (score, createdAt, id). The key mixes a descending and ascending column, so
+     * it can't be a single row comparison; each branch is a contiguous range of
+     * idx_posts_thread_top (rest of the same score, then every lower score) and
+     * reads at most {@code limit} index entries.
+     */
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted
+            FROM (
+                (SELECT id, thread_id, author_id, content, reply_to_post_id, post_number, score,
+                        bookmark_count, created_at, deleted
+                 FROM posts
+                 WHERE thread_id = :threadId AND tenant_id = :tenantId
+                   AND score = :score AND (created_at, id) > (:createdAt, :id)
+                 ORDER BY created_at, id
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT id, thread_id, author_id, content, reply_to_post_id, post_number, score,
+                        bookmark_count, created_at, deleted
+                 FROM posts
+                 WHERE thread_id = :threadId AND tenant_id = :tenantId
+                   AND score < :score
+                 ORDER BY score DESC, created_at, id
+                 LIMIT :limit)
+            ) p
+            LEFT JOIN members m ON m.id = p.author_id
+            ORDER BY p.score DESC, p.created_at, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PostRowProjection> findTopByThreadIdAfter(@Param("threadId") UUID threadId,
+            @Param("tenantId") String tenantId, @Param("score") int score,
+            @Param("createdAt") java.time.Instant createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
+    /**
+     * Page of a thread's posts in post-number order with author names joined in.
+     * {@code contentLength} trims content in the database: negative returns it
+     * whole, zero returns null, anything else the first that many characters.
+     */
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   CASE WHEN :contentLength < 0 THEN p.content
+                        WHEN :contentLength > 0 THEN left(p.content, :contentLength) END AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted
+            FROM posts p
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE p.thread_id = :threadId AND p.tenant_id = :tenantId
+            ORDER BY p.post_number
+            """, countQuery = "SELECT count(*) FROM posts WHERE thread_id = :threadId AND tenant_id = :tenantId",
+            nativeQuery = true)
+    Page<PostRowProjection> findRowsByThreadId(@Param("threadId") UUID threadId, @Param("tenantId") String tenantId,
+            @Param("contentLength") int contentLength, Pageable pageable);
+
+    /**
+     * Page of a thread's posts by rank (score desc, oldest first, id as
+     * tie-breaker); content is trimmed as in {@link #findRowsByThreadId}.
+     */
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   CASE WHEN :contentLength < 0 THEN p.content
+                        WHEN :contentLength > 0 THEN left(p.content, :contentLength) END AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted
+            FROM posts p
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE p.thread_id = :threadId AND p.tenant_id = :tenantId
+            ORDER BY p.score DESC, p.created_at, p.id
+            """, countQuery = "SELECT count(*) FROM posts WHERE thread_id = :threadId AND tenant_id = :tenantId",
+            nativeQuery = true)
+    Page<PostRowProjection> findTopRowsByThreadId(@Param("threadId") UUID threadId,
+            @Param("tenantId") String tenantId, @Param("contentLength") int contentLength, Pageable pageable);
+
+    /**
+     * Posts numbered {@code postNumber} and up, in post-number order. A range
+     * scan of idx_posts_thread_post_number that stops at {@code limit} rows.
+     */
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted
+            FROM posts p
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE p.thread_id = :threadId AND p.tenant_id = :tenantId AND p.post_number >= :postNumber
+            ORDER BY p.post_number
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PostRowProjection> findFromPostNumber(@Param("threadId") UUID threadId, @Param("tenantId") String tenantId,
+            @Param("postNumber") int postNumber, @Param("limit") int limit);
+
+    /**
+     * Posts numbered below {@code postNumber}, nearest first (descending post
+     * number). Same index range as {@link #findFromPostNumber}, read backwards.
+     */
+    @Query(value = """
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted
+            FROM posts p
+            LEFT JOIN members m ON m.id = p.author_id
+            WHERE p.thread_id = :threadId AND p.tenant_id = :tenantId AND p.post_number < :postNumber
+            ORDER BY p.post_number DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PostRowProjection> findBeforePostNumber(@Param("threadId") UUID threadId, @Param("tenantId") String tenantId,
+            @Param("postNumber") int postNumber, @Param("limit") int limit);
+
+    /**
+     * A post and the replies beneath it down to {@code depth} levels, in
+     * depth-first order (siblings by post number). The subtree is one range of
+     * idx_posts_thread_reply_path: every descendant's path extends the root's.
+     * Descendant counts are read from post_reply_counts, which
+     * {@link ReplyCountRepositoryImpl} keeps current in the background, so they
+     * can lag the latest replies. Empty if the post is not in the tenant.
+     */
+    @Query(value = """
+            WITH root AS (
+                SELECT thread_id, reply_path, reply_depth
+                FROM posts
+                WHERE id = :postId AND tenant_id = :tenantId
+            )
+            SELECT p.id AS id,
+                   p.thread_id AS threadId,
+                   p.author_id AS authorId,
+                   m.name AS authorName,
+                   p.content AS content,
+                   p.reply_to_post_id AS replyToPostId,
+                   p.post_number AS postNumber,
+                   p.score AS score,
+                   p.bookmark_count AS bookmarkCount,
+                   p.created_at AS createdAt,
+                   p.deleted AS deleted,
+                   p.reply_depth - root.reply_depth AS replyDepth,
+                   COALESCE(c.descendant_count, 0) AS descendantCount
+            FROM root
+            JOIN posts p ON p.thread_id = root.thread_id
+                AND p.reply_path >= root.reply_path
+                AND p.reply_path < root.reply_path || '/'
+                AND p.reply_depth <= root.reply_depth + :depth
+            LEFT JOIN post_reply_counts c ON c.post_id = p.id
+            LEFT JOIN members m ON m.id = p.author_id
+            ORDER BY p.reply_path
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ReplyRowProjection> findReplyTree(@Param("postId") UUID postId, @Param("tenantId") String tenantId,
+            @Param("depth") int depth, @Param("limit") int limit);
+
     /**
      * Delete batch of soft-deleted posts older than cutoff.
      */
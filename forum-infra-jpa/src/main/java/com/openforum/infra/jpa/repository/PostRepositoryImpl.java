@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openforum.domain.aggregate.Post;
 import com.openforum.domain.repository.PostRepository;
 import com.openforum.infra.jpa.entity.OutboxEventEntity;
+import com.openforum.infra.jpa.entity.PostEmbeddingEntity;
 import com.openforum.infra.jpa.entity.PostEntity;
 import com.openforum.infra.jpa.mapper.PostMapper;
 import org.springframework.data.domain.PageRequest;
@@ -21,15 +22,18 @@ import java.util.stream.Collectors;
 public class PostRepositoryImpl implements PostRepository {
 
     private final PostJpaRepository postJpaRepository;
+    private final PostEmbeddingJpaRepository postEmbeddingJpaRepository;
     private final OutboxEventJpaRepository outboxEventJpaRepository;
     private final PostMapper postMapper;
     private final ObjectMapper objectMapper;
 
     public PostRepositoryImpl(PostJpaRepository postJpaRepository,
+            PostEmbeddingJpaRepository postEmbeddingJpaRepository,
             OutboxEventJpaRepository outboxEventJpaRepository,
             PostMapper postMapper,
             ObjectMapper objectMapper) {
         this.postJpaRepository = postJpaRepository;
+        this.postEmbeddingJpaRepository = postEmbeddingJpaRepository;
         this.outboxEventJpaRepository = outboxEventJpaRepository;
         this.postMapper = postMapper;
         this.objectMapper = objectMapper;
@@ -48,6 +52,12 @@ public class PostRepositoryImpl implements PostRepository {
 
         postJpaRepository.save(entity);
 
+        // The embedding lives outside PostEntity; write it only when the caller set one
+        float[] embedding = post.getEmbedding();
+        if (embedding != null) {
+            postEmbeddingJpaRepository.updateEmbedding(post.getId(), embedding, post.getEmbeddingModel());
+        }
+
         // 2. Poll and Save Events
         List<Object> events = post.pollEvents();
         events.stream()
@@ -63,6 +73,12 @@ public class PostRepositoryImpl implements PostRepository {
                 .map(postMapper::toDomain);
     }
 
+    @Override
+    public Optional<float[]> findEmbedding(UUID postId) {
+        return postEmbeddingJpaRepository.findById(postId)
+                .map(PostEmbeddingEntity::getEmbedding);
+    }
+
     @Override
     public List<Post> findByThreadId(UUID threadId, int limit) {
         PageRequest pageRequest = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "id"));
@@ -2,7 +2,6 @@ package com.openforum.infra.jpa.repository;
 
 import com.openforum.infra.jpa.entity.PostVoteEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,8 +19,4 @@ public interface PostVoteJpaRepository extends JpaRepository<PostVoteEntity, UUI
 
     @Query("SELECT pv FROM PostVoteEntity pv WHERE pv.postId IN :postIds AND pv.memberId = :memberId")
     List<PostVoteEntity> findByPostIdInAndMemberId(@Param("postIds") List<UUID> postIds, @Param("memberId") UUID memberId);
-
-    @Modifying
-    @Query("UPDATE PostEntity p SET p.score = p.score + :delta WHERE p.id = :postId")
-    int updatePostScore(@Param("postId") UUID postId, @Param("delta") int delta);
 }
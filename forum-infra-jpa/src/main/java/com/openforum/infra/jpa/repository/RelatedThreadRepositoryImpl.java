@@ -0,0 +1,188 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.RelatedThreadRepository;
+import com.openforum.domain.valueobject.RelatedThread;
+import com.openforum.domain.valueobject.RelatedThreads;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Related-thread lists in {@code thread_related} (see V48), one row per thread.
+ * <p>
+ * A list is computed with one HNSW scan per thread: the lateral subquery orders
+ * the other opening posts by {@code embedding <=> src.embedding}, so the planner
+ * uses the opening-post embedding index (see V55) for each source row. That
+ * index spans all tenants, and the tenant and deleted-thread filters apply to
+ * what the scan returns, so a plain scan of {@code ef_search} candidates comes
+ * back short whenever other tenants' threads are nearer. The scan therefore
+ * runs with {@code hnsw.iterative_scan = strict_order}, which keeps walking the
+ * graph until the limit is met (bounded by {@code hnsw.max_scan_tuples}),
+ * still in exact distance order.
+ * <p>
+ * Recomputing a thread's list can change other lists too: those it already
+ * appears in, and those of nearby threads whose last entry it now beats. The
+ * second set is looked for among the thread's nearest {@code efSearch} threads
+ * (what one HNSW walk yields anyway), and both sets are recomputed. A thread
+ * further away that should now list it keeps its list until its own opening
+ * post is next embedded.
+ */
+@Component
+public class RelatedThreadRepositoryImpl implements RelatedThreadRepository {
+
+    private static final String RECOMPUTE_SQL = """
+            WITH src AS (
+                SELECT DISTINCT ON (p.thread_id) p.thread_id, p.tenant_id, p.embedding
+                FROM posts p JOIN threads t ON t.id = p.thread_id
+                WHERE %s AND p.post_number = 1 AND p.deleted = FALSE AND p.embedding IS NOT NULL
+                  AND t.deleted = FALSE
+                ORDER BY p.thread_id, p.id
+            )
+            INSERT INTO thread_related (thread_id, tenant_id, related_ids, scores, computed_at)
+            SELECT src.thread_id, src.tenant_id,
+                   COALESCE(array_agg(n.thread_id ORDER BY n.distance) FILTER (WHERE n.thread_id IS NOT NULL), '{}'),
+                   COALESCE(array_agg(CAST(1 - n.distance AS real) ORDER BY n.distance)
+                            FILTER (WHERE n.thread_id IS NOT NULL), '{}'),
+                   now()
+            FROM src
+            LEFT JOIN LATERAL (
+                SELECT o.thread_id, o.embedding <=> src.embedding AS distance
+                FROM posts o JOIN threads ot ON ot.id = o.thread_id
+                WHERE o.tenant_id = src.tenant_id AND o.post_number = 1 AND o.deleted = FALSE
+                  AND o.embedding IS NOT NULL AND o.thread_id <> src.thread_id AND ot.deleted = FALSE
+                ORDER BY o.embedding <=> src.embedding
+                LIMIT :limit
+            ) n ON TRUE
+            GROUP BY src.thread_id, src.tenant_id
+            ON CONFLICT (thread_id) DO UPDATE
+            SET related_ids = EXCLUDED.related_ids, scores = EXCLUDED.scores, computed_at = EXCLUDED.computed_at
+            RETURNING thread_id
+            """;
+
+    private static final String AFFECTED_SQL = """
+            WITH src AS (
+                SELECT p.thread_id, p.tenant_id, p.embedding
+                FROM posts p
+                WHERE p.thread_id IN (:sources) AND p.post_number = 1 AND p.deleted = FALSE
+                  AND p.embedding IS NOT NULL
+            ),
+            candidate AS (
+                SELECT c.thread_id, c.score
+                FROM src CROSS JOIN LATERAL (
+                    SELECT o.thread_id, CAST(1 - (o.embedding <=> src.embedding) AS real) AS score
+                    FROM posts o
+                    WHERE o.tenant_id = src.tenant_id AND o.post_number = 1 AND o.deleted = FALSE
+                      AND o.embedding IS NOT NULL AND o.thread_id <> src.thread_id
+                    ORDER BY o.embedding <=> src.embedding
+                    LIMIT :candidates
+                ) c
+            )
+            SELECT n.thread_id
+            FROM candidate c JOIN thread_related n ON n.thread_id = c.thread_id
+            WHERE cardinality(n.scores) < :limit OR c.score > n.scores[cardinality(n.scores)]
+            UNION
+            SELECT n.thread_id
+            FROM thread_related n
+            WHERE n.related_ids && ARRAY[:sources]::uuid[]
+            EXCEPT
+            SELECT unnest(ARRAY[:sources]::uuid[])
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RelatedThreadRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<RelatedThreads> findByThreadId(UUID threadId) {
+        return Optional.ofNullable(jdbcTemplate.query("""
+                SELECT tr.computed_at, t.id, t.title, t.post_count, e.score
+                FROM thread_related tr
+                LEFT JOIN LATERAL unnest(tr.related_ids, tr.scores) WITH ORDINALITY AS e(related_id, score, ord) ON TRUE
+                LEFT JOIN threads t ON t.id = e.related_id AND t.deleted = FALSE
+                WHERE tr.thread_id = :threadId
+                ORDER BY e.ord
+                """, new MapSqlParameterSource("threadId", threadId),
+                (ResultSetExtractor<RelatedThreads>) rs -> {
+                    Instant computedAt = null;
+                    List<RelatedThread> threads = new ArrayList<>();
+                    while (rs.next()) {
+                        computedAt = rs.getTimestamp("computed_at").toInstant();
+                        UUID id = rs.getObject("id", UUID.class);
+                        if (id != null) {
+                            threads.add(new RelatedThread(id, rs.getString("title"), rs.getInt("post_count"),
+                                    rs.getFloat("score")));
+                        }
+                    }
+                    return computedAt != null ? new RelatedThreads(threadId, List.copyOf(threads), computedAt) : null;
+                }));
+    }
+
+    @Override
+    public boolean hasOpeningEmbedding(UUID threadId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1
+                    FROM posts p JOIN threads t ON t.id = p.thread_id
+                    WHERE p.thread_id = :threadId AND p.post_number = 1 AND p.deleted = FALSE
+                      AND p.embedding IS NOT NULL AND t.deleted = FALSE
+                )
+                """, new MapSqlParameterSource("threadId", threadId), Boolean.class));
+    }
+
+    @Override
+    @Transactional
+    public int refreshForPosts(Collection<UUID> postIds, int limit, int efSearch) {
+        return refresh("p.id IN (:ids)", postIds, limit, efSearch);
+    }
+
+    @Override
+    @Transactional
+    public int refreshForThreads(Collection<UUID> threadIds, int limit, int efSearch) {
+        return refresh("p.thread_id IN (:ids)", threadIds, limit, efSearch);
+    }
+
+    /**
+     * {@code hnsw.ef_search} and {@code hnsw.iterative_scan} are set with
+     * {@code set_config(..., true)} and so last only until the caller's
+     * transaction ends.
+     */
+    private int refresh(String sourceFilter, Collection<UUID> ids, int limit, int efSearch) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.queryForObject("SELECT set_config('hnsw.ef_search', :efSearch, true)",
+                new MapSqlParameterSource("efSearch", Integer.toString(efSearch)), String.class);
+        jdbcTemplate.queryForObject("SELECT set_config('hnsw.iterative_scan', 'strict_order', true)",
+                new MapSqlParameterSource(), String.class);
+
+        List<UUID> written = recompute(sourceFilter, ids, limit);
+        if (written.isEmpty()) {
+            return 0;
+        }
+        List<UUID> affected = jdbcTemplate.queryForList(AFFECTED_SQL, new MapSqlParameterSource()
+                .addValue("sources", written)
+                .addValue("limit", limit)
+                .addValue("candidates", efSearch), UUID.class);
+        return written.size() + recompute("p.thread_id IN (:ids)", affected, limit).size();
+    }
+
+    private List<UUID> recompute(String sourceFilter, Collection<UUID> ids, int limit) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(RECOMPUTE_SQL.formatted(sourceFilter), new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("limit", limit), UUID.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.ReplyCountRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Folds {@code post_reply_count_changes} into {@code post_reply_counts} (V61).
+ * A change names its reply's parent path; the parent and its ancestors are the
+ * path's prefixes, one per 9 characters ({@code 8 hex digits + '.'}), found
+ * through idx_posts_thread_reply_path.
+ * <p>
+ * Batches claim their changes with {@code SKIP LOCKED}, so nodes running at
+ * once apply disjoint changes, and update counts in post id order so they
+ * don't deadlock on shared ancestors. Changes for ancestors purged meanwhile
+ * are dropped.
+ */
+@Component
+public class ReplyCountRepositoryImpl implements ReplyCountRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReplyCountRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public boolean applyQueuedChanges(int batchSize) {
+        Integer applied = jdbcTemplate.queryForObject("""
+                WITH batch AS (
+                    DELETE FROM post_reply_count_changes
+                    WHERE id IN (
+                        SELECT id FROM post_reply_count_changes
+                        ORDER BY id
+                        LIMIT :batchSize
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    RETURNING thread_id, parent_path, delta
+                ), totals AS (
+                    SELECT b.thread_id, left(b.parent_path, 9 * k - 1) AS reply_path, sum(b.delta) AS delta
+                    FROM batch b
+                    CROSS JOIN LATERAL generate_series(1, (length(b.parent_path) + 1) / 9) AS k
+                    GROUP BY b.thread_id, left(b.parent_path, 9 * k - 1)
+                ), counted AS (
+                    INSERT INTO post_reply_counts (post_id, descendant_count)
+                    SELECT p.id, t.delta
+                    FROM totals t
+                    JOIN posts p ON p.thread_id = t.thread_id AND p.reply_path = t.reply_path
+                    ORDER BY p.id
+                    ON CONFLICT (post_id)
+                    DO UPDATE SET descendant_count = post_reply_counts.descendant_count + EXCLUDED.descendant_count
+                )
+                SELECT CAST(count(*) AS INT) FROM batch
+                """, new MapSqlParameterSource("batchSize", batchSize), Integer.class);
+        return applied != null && applied == batchSize;
+    }
+}
@@ -0,0 +1,333 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.SearchRepository;
+import com.openforum.domain.valueobject.SearchDocument;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SimilarityQuery;
+import com.openforum.infra.jpa.type.PgVectorType;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Full-text search over the {@code search_vector} columns of threads (title,
+ * opening post and selected metadata) and posts (content), both GIN-indexed.
+ * <p>
+ * Matching and ranking run on the index hits only; ts_headline, which re-parses
+ * the source text, runs only for the rows of the returned page. It marks terms
+ * with private-use characters rather than markup, so the text can be escaped
+ * before the marks become {@code <b>} tags. Filters are
+ * appended only when set, so the planner never sees {@code :x IS NULL OR ...}
+ * branches that would keep it off the indexes.
+ * <p>
+ * Thread documents are built by the {@code thread_search_document} function
+ * from the definition in {@code search_settings} (see V46). The document
+ * reads hand the same text, plain, to indexes kept outside the database.
+ * <p>
+ * Similarity search orders by {@code embedding <=> :query} so the planner walks
+ * the HNSW index (V31); tenant and other filters are applied to the candidates
+ * the walk yields. The walk runs with {@code hnsw.iterative_scan =
+ * strict_order}, so when other tenants' posts are nearer it keeps going until
+ * {@code limit} posts pass the filters (bounded by
+ * {@code hnsw.max_scan_tuples}), still in exact distance order.
+ */
+@Component
+public class SearchRepositoryImpl implements SearchRepository {
+
+    private static final String START_SEL = "\uE000";
+    private static final String STOP_SEL = "\uE001";
+    private static final String MARKS = "StartSel=\"" + START_SEL + "\", StopSel=\"" + STOP_SEL + "\"";
+    private static final String HEADLINE_OPTIONS = MARKS + ", MaxFragments=2, MaxWords=30, MinWords=10";
+    private static final String TITLE_HEADLINE_OPTIONS = MARKS + ", HighlightAll=true";
+    private static final int SIMILAR_SNIPPET_LENGTH = 200;
+
+    private static final RowMapper<SearchHit> HIT_MAPPER = (rs, rowNum) -> new SearchHit(
+            SearchHit.Kind.valueOf(rs.getString("kind")),
+            rs.getObject("id", UUID.class),
+            rs.getObject("thread_id", UUID.class),
+            rs.getString("title"),
+            snippet(rs.getString("snippet")),
+            rs.getFloat("rank"),
+            rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toInstant() : null);
+
+    private static final RowMapper<SearchDocument> DOCUMENT_MAPPER = (rs, rowNum) -> new SearchDocument(
+            SearchHit.Kind.valueOf(rs.getString("kind")),
+            rs.getObject("id", UUID.class),
+            rs.getString("tenant_id"),
+            rs.getObject("thread_id", UUID.class),
+            rs.getObject("category_id", UUID.class),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getString("title"),
+            rs.getString("text"));
+
+    /**
+     * Same parts as {@code thread_search_document}: title, opening post (deleted
+     * or not, as the trigger reads it) and the configured metadata values.
+     */
+    private static final String THREAD_DOCUMENTS = """
+            SELECT 'THREAD' AS kind, t.id, t.tenant_id, t.id AS thread_id, t.category_id, t.created_at, t.title,
+                   concat_ws(' ', t.title, op.content,
+                       (SELECT string_agg(t.metadata ->> key, ' ')
+                        FROM search_settings s, unnest(s.thread_metadata_keys) AS key
+                        WHERE s.id = 1)) AS text
+            FROM threads t
+            LEFT JOIN LATERAL (
+                SELECT content FROM posts WHERE thread_id = t.id AND post_number = 1 LIMIT 1
+            ) op ON TRUE
+            WHERE t.deleted = FALSE AND t.status <> 'ARCHIVED'
+            """;
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SearchHit> search(SearchQuery query) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        return jdbcTemplate.query(buildSql(query, params), params, HIT_MAPPER);
+    }
+
+    /**
+     * Runs in its own read-only transaction: {@code hnsw.ef_search} and
+     * {@code hnsw.iterative_scan} are set with {@code set_config(..., true)},
+     * which lasts only until the transaction ends.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchSimilar(SimilarityQuery query) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("efSearch", Integer.toString(query.efSearch()));
+        jdbcTemplate.queryForObject("SELECT set_config('hnsw.ef_search', :efSearch, true)", params, String.class);
+        jdbcTemplate.queryForObject("SELECT set_config('hnsw.iterative_scan', 'strict_order', true)",
+                new MapSqlParameterSource(), String.class);
+        return jdbcTemplate.query(buildSimilarSql(query, params), params, HIT_MAPPER);
+    }
+
+    String buildSimilarSql(SimilarityQuery query, MapSqlParameterSource params) {
+        params.addValue("embedding", PgVectorType.format(query.embedding()));
+        params.addValue("tenantId", query.tenantId());
+        params.addValue("limit", query.limit());
+        params.addValue("snippetLength", SIMILAR_SNIPPET_LENGTH);
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT 'POST' AS kind, p.id, p.thread_id, t.title, p.created_at,
+                       left(p.content, :snippetLength) AS snippet,
+                       1 - (p.embedding <=> CAST(:embedding AS vector)) AS rank
+                FROM posts p JOIN threads t ON t.id = p.thread_id
+                WHERE p.tenant_id = :tenantId AND p.deleted = FALSE AND p.embedding IS NOT NULL
+                  AND t.deleted = FALSE AND t.status <> 'ARCHIVED'
+                """);
+        if (query.categoryId() != null) {
+            sql.append("  AND t.category_id = :categoryId");
+            params.addValue("categoryId", query.categoryId());
+        }
+        sql.append(dateFilters("p", query.from(), query.to(), params)).append('\n');
+        sql.append("""
+                ORDER BY p.embedding <=> CAST(:embedding AS vector)
+                LIMIT :limit
+                """);
+        return sql.toString();
+    }
+
+    @Override
+    public void configureThreadDocument(List<String> metadataKeys) {
+        jdbcTemplate.update("""
+                UPDATE search_settings
+                SET thread_metadata_keys = string_to_array(:keys, ','),
+                    version = version + 1,
+                    reindex_cursor = NULL
+                WHERE id = 1 AND thread_metadata_keys <> string_to_array(:keys, ',')
+                """, new MapSqlParameterSource("keys", String.join(",", metadataKeys)));
+    }
+
+    /**
+     * One statement per batch, so each batch commits on its own. The settings row
+     * is locked with SKIP LOCKED: workers on other nodes see no work rather than
+     * queueing behind the one holding it.
+     */
+    @Override
+    public int reindexThreads(int batchSize) {
+        List<Integer> scanned = jdbcTemplate.queryForList("""
+                WITH s AS (
+                    SELECT version, COALESCE(reindex_cursor, '00000000-0000-0000-0000-000000000000') AS after_id
+                    FROM search_settings
+                    WHERE id = 1 AND indexed_version <> version
+                    FOR UPDATE SKIP LOCKED
+                ),
+                batch AS (
+                    SELECT t.id FROM threads t, s
+                    WHERE t.id > s.after_id
+                    ORDER BY t.id
+                    LIMIT :batchSize
+                ),
+                rebuilt AS (
+                    UPDATE threads t
+                    SET search_vector = thread_search_document(t.title, t.metadata,
+                            (SELECT p.content FROM posts p WHERE p.thread_id = t.id AND p.post_number = 1 LIMIT 1)),
+                        search_version = s.version
+                    FROM batch, s
+                    WHERE t.id = batch.id AND t.search_version <> s.version
+                )
+                UPDATE search_settings ss
+                SET reindex_cursor = CASE WHEN n.scanned < :batchSize THEN NULL ELSE n.last_id END,
+                    indexed_version = CASE WHEN n.scanned < :batchSize THEN s.version ELSE ss.indexed_version END
+                FROM s, (SELECT count(*)::int AS scanned,
+                                (SELECT id FROM batch ORDER BY id DESC LIMIT 1) AS last_id
+                         FROM batch) n
+                WHERE ss.id = 1
+                RETURNING n.scanned
+                """, new MapSqlParameterSource("batchSize", batchSize), Integer.class);
+        return scanned.isEmpty() ? 0 : scanned.get(0);
+    }
+
+    @Override
+    public int threadDocumentVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM search_settings WHERE id = 1",
+                new MapSqlParameterSource(), Integer.class);
+    }
+
+    @Override
+    public List<SearchDocument> findThreadDocuments(UUID afterId, int limit) {
+        return jdbcTemplate.query(THREAD_DOCUMENTS + """
+                  AND t.id > :afterId
+                ORDER BY t.id
+                LIMIT :limit
+                """, new MapSqlParameterSource()
+                .addValue("afterId", afterId != null ? afterId : FIRST_ID)
+                .addValue("limit", limit), DOCUMENT_MAPPER);
+    }
+
+    @Override
+    public Optional<SearchDocument> findThreadDocument(UUID threadId) {
+        return jdbcTemplate.query(THREAD_DOCUMENTS + "  AND t.id = :threadId\n",
+                new MapSqlParameterSource("threadId", threadId), DOCUMENT_MAPPER).stream().findFirst();
+    }
+
+    @Override
+    public List<SearchDocument> findPostDocuments(UUID afterId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT 'POST' AS kind, p.id, p.tenant_id, p.thread_id, t.category_id, p.created_at,
+                       NULL AS title, p.content AS text
+                FROM posts p JOIN threads t ON t.id = p.thread_id
+                WHERE p.id > :afterId AND p.deleted = FALSE
+                  AND t.deleted = FALSE AND t.status <> 'ARCHIVED'
+                ORDER BY p.id
+                LIMIT :limit
+                """, new MapSqlParameterSource()
+                .addValue("afterId", afterId != null ? afterId : FIRST_ID)
+                .addValue("limit", limit), DOCUMENT_MAPPER);
+    }
+
+    /**
+     * Builds the search statement for {@code query}, registering its parameters in
+     * {@code params}. Package-private so tests can EXPLAIN it.
+     */
+    String buildSql(SearchQuery query, MapSqlParameterSource params) {
+        params.addValue("text", query.text());
+        params.addValue("tenantId", query.tenantId());
+        params.addValue("limit", query.limit());
+        params.addValue("headlineOptions", HEADLINE_OPTIONS);
+        params.addValue("titleHeadlineOptions", TITLE_HEADLINE_OPTIONS);
+
+        StringBuilder filters = new StringBuilder();
+        if (query.categoryId() != null) {
+            filters.append(" AND t.category_id = :categoryId");
+            params.addValue("categoryId", query.categoryId());
+        }
+
+        StringBuilder sql = new StringBuilder("""
+                WITH q AS (SELECT websearch_to_tsquery('english', :text) AS query),
+                hits AS (
+                """);
+
+        boolean first = true;
+        if (query.scope().includesThreads()) {
+            sql.append("""
+                    SELECT 'THREAD' AS kind, t.id, t.id AS thread_id, t.created_at,
+                           ts_rank_cd(t.search_vector, q.query) AS rank
+                    FROM threads t, q
+                    WHERE t.tenant_id = :tenantId AND t.deleted = FALSE AND t.status <> 'ARCHIVED'
+                      AND t.search_vector @@ q.query
+                    """);
+            sql.append(filters).append(dateFilters("t", query.from(), query.to(), params)).append('\n');
+            first = false;
+        }
+        if (query.scope().includesPosts()) {
+            if (!first) {
+                sql.append("UNION ALL\n");
+            }
+            sql.append("""
+                    SELECT 'POST' AS kind, p.id, p.thread_id, p.created_at,
+                           ts_rank_cd(p.search_vector, q.query) AS rank
+                    FROM posts p JOIN threads t ON t.id = p.thread_id, q
+                    WHERE p.tenant_id = :tenantId AND p.deleted = FALSE
+                      AND t.deleted = FALSE AND t.status <> 'ARCHIVED'
+                      AND p.search_vector @@ q.query
+                    """);
+            sql.append(filters).append(dateFilters("p", query.from(), query.to(), params)).append('\n');
+        }
+
+        sql.append("""
+                ),
+                page AS (
+                    SELECT * FROM hits
+                """);
+        if (query.after() != null) {
+            sql.append("    WHERE rank < :afterRank OR (rank = :afterRank AND id > :afterId)\n");
+            params.addValue("afterRank", query.after().rank());
+            params.addValue("afterId", query.after().id());
+        }
+        sql.append("""
+                    ORDER BY rank DESC, id
+                    LIMIT :limit
+                )
+                SELECT page.kind, page.id, page.thread_id, t.title, page.created_at, page.rank,
+                       CASE WHEN page.kind = 'POST'
+                            THEN ts_headline('english', p.content, q.query, :headlineOptions)
+                            ELSE ts_headline('english', t.title, q.query, :titleHeadlineOptions) END AS snippet
+                FROM page
+                JOIN threads t ON t.id = page.thread_id
+                LEFT JOIN posts p ON page.kind = 'POST' AND p.id = page.id
+                CROSS JOIN q
+                ORDER BY page.rank DESC, page.id
+                """);
+        return sql.toString();
+    }
+
+    /**
+     * The snippet text HTML-escaped, with ts_headline's marks turned into
+     * {@code <b>} tags.
+     */
+    static String snippet(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return SearchHit.escapeHtml(headline).replace(START_SEL, "<b>").replace(STOP_SEL, "</b>");
+    }
+
+    private static String dateFilters(String alias, Instant from, Instant to, MapSqlParameterSource params) {
+        StringBuilder filters = new StringBuilder();
+        if (from != null) {
+            filters.append(" AND ").append(alias).append(".created_at >= :from");
+            params.addValue("from", Timestamp.from(from));
+        }
+        if (to != null) {
+            filters.append(" AND ").append(alias).append(".created_at < :to");
+            params.addValue("to", Timestamp.from(to));
+        }
+        return filters.toString();
+    }
+}
@@ -14,6 +14,8 @@ import java.util.UUID;
 public interface TagJpaRepository extends JpaRepository<TagEntity, UUID> {
     Optional<TagEntity> findByTenantIdAndName(String tenantId, String name);
 
+    List<TagEntity> findByTenantId(String tenantId);
+
     @Query("SELECT t FROM TagEntity t WHERE t.tenantId = :tenantId AND t.name LIKE :prefix%")
     List<TagEntity> findByNameStartingWith(@Param("tenantId") String tenantId, @Param("prefix") String prefix,
             Pageable pageable);
@@ -4,10 +4,14 @@ import com.openforum.domain.aggregate.Tag;
 import com.openforum.domain.repository.TagRepository;
 import com.openforum.infra.jpa.entity.TagEntity;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -15,9 +19,11 @@ import java.util.stream.Collectors;
 public class TagRepositoryImpl implements TagRepository {
 
     private final TagJpaRepository tagJpaRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
-    public TagRepositoryImpl(TagJpaRepository tagJpaRepository) {
+    public TagRepositoryImpl(TagJpaRepository tagJpaRepository, NamedParameterJdbcTemplate jdbcTemplate) {
         this.tagJpaRepository = tagJpaRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -47,6 +53,31 @@ public class TagRepositoryImpl implements TagRepository {
         tagJpaRepository.incrementUsageCount(tenantId, name);
     }
 
+    @Override
+    public List<Tag> findByTenantId(String tenantId) {
+        return tagJpaRepository.findByTenantId(tenantId).stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void incrementUsageCounts(String tenantId, Map<String, Long> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = increments.entrySet().stream()
+                .map(increment -> new MapSqlParameterSource()
+                        .addValue("tenantId", tenantId)
+                        .addValue("name", increment.getKey())
+                        .addValue("delta", increment.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("""
+                UPDATE tags SET usage_count = usage_count + :delta
+                WHERE tenant_id = :tenantId AND name = :name
+                """, batch);
+    }
+
     private TagEntity toEntity(Tag tag) {
         TagEntity entity = new TagEntity();
         entity.setId(tag.getId());
@@ -0,0 +1,224 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.ThreadFacetRepository;
+import com.openforum.domain.valueobject.Facet;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Facet counts backed by {@code thread_facet_counts}, which triggers on
+ * {@code threads} keep exact (V50), and by a GROUP BY over the filtered threads
+ * when a filter is set. Filters are the listing's
+ * ({@link ThreadMetadataQueryRepository#appendFilters}), so they use the same
+ * indexes.
+ * <p>
+ * A newly declared key is counted over existing threads in batches (V56); until
+ * that finishes, its unfiltered counts are taken with a GROUP BY as well. Each
+ * count is spread over shard rows (V58), which reads sum.
+ */
+@Component
+public class ThreadFacetRepositoryImpl implements ThreadFacetRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ThreadFacetRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * New keys start out backfilling; {@link #backfillKeys} counts them.
+     */
+    @Override
+    @Transactional
+    public void declareKeys(String tenantId, List<String> keys) {
+        Set<String> declared = new LinkedHashSet<>(keys);
+        Set<String> existing = new LinkedHashSet<>(jdbcTemplate.queryForList(
+                "SELECT facet_key FROM thread_facet_keys WHERE tenant_id = :tenantId",
+                new MapSqlParameterSource("tenantId", tenantId), String.class));
+
+        List<String> removed = existing.stream().filter(key -> !declared.contains(key)).toList();
+        if (!removed.isEmpty()) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("tenantId", tenantId)
+                    .addValue("keys", removed);
+            jdbcTemplate.update("DELETE FROM thread_facet_keys WHERE tenant_id = :tenantId AND facet_key IN (:keys)",
+                    params);
+            jdbcTemplate.update("DELETE FROM thread_facet_counts WHERE tenant_id = :tenantId AND facet_key IN (:keys)",
+                    params);
+        }
+
+        List<String> added = declared.stream().filter(key -> !existing.contains(key)).toList();
+        if (added.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] rows = added.stream()
+                .map(key -> new MapSqlParameterSource().addValue("tenantId", tenantId).addValue("key", key))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO thread_facet_keys (tenant_id, facet_key, backfilling) VALUES (:tenantId, :key, TRUE)
+                """, rows);
+    }
+
+    /**
+     * A key's first call only records which transactions to wait for; its
+     * batches start once they have all ended. Batches wait for the key row
+     * rather than skip it, so writers holding it in share mode can't starve
+     * them. The first batch drops counts left
+     * behind by writers that raced an earlier removal of the same key. A batch
+     * adds its threads' counts (to shard 0, as reads only use the sum over
+     * shards) and moves the key's position past them in one
+     * transaction, so a failed batch is simply counted again.
+     */
+    @Override
+    @Transactional
+    public boolean backfillKeys(int batchSize) {
+        jdbcTemplate.update("""
+                UPDATE thread_facet_keys SET backfill_wait_xid = pg_snapshot_xmax(pg_current_snapshot())
+                WHERE backfilling AND backfill_wait_xid IS NULL
+                """, new MapSqlParameterSource());
+
+        List<Map<String, Object>> ready = jdbcTemplate.queryForList("""
+                SELECT tenant_id, facet_key, backfill_after FROM thread_facet_keys
+                WHERE backfilling AND backfill_wait_xid <= pg_snapshot_xmin(pg_current_snapshot())
+                ORDER BY tenant_id, facet_key
+                LIMIT 1
+                FOR UPDATE
+                """, new MapSqlParameterSource());
+        if (ready.isEmpty()) {
+            return false;
+        }
+        Map<String, Object> key = ready.get(0);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", key.get("tenant_id"))
+                .addValue("key", key.get("facet_key"))
+                .addValue("after", key.get("backfill_after"))
+                .addValue("batchSize", batchSize);
+        if (key.get("backfill_after") == null) {
+            jdbcTemplate.update("DELETE FROM thread_facet_counts WHERE tenant_id = :tenantId AND facet_key = :key",
+                    params);
+        }
+        jdbcTemplate.update("""
+                WITH batch AS (
+                    SELECT id, status, deleted, metadata -> CAST(:key AS text) AS value FROM threads
+                    WHERE tenant_id = :tenantId
+                      AND id > COALESCE(CAST(:after AS uuid), '00000000-0000-0000-0000-000000000000')
+                    ORDER BY id
+                    LIMIT :batchSize
+                ),
+                counted AS (
+                    INSERT INTO thread_facet_counts (tenant_id, facet_key, facet_value, shard, thread_count)
+                    SELECT :tenantId, :key, value #>> '{}', 0, count(*)
+                    FROM batch
+                    WHERE status != 'ARCHIVED' AND deleted = FALSE
+                      AND jsonb_typeof(value) IN ('string', 'number', 'boolean')
+                    GROUP BY value #>> '{}'
+                    ON CONFLICT (tenant_id, facet_key, facet_value, shard)
+                    DO UPDATE SET thread_count = thread_facet_counts.thread_count + EXCLUDED.thread_count
+                )
+                UPDATE thread_facet_keys
+                SET backfill_after = COALESCE((SELECT id FROM batch ORDER BY id DESC LIMIT 1), backfill_after),
+                    backfilling = (SELECT count(*) FROM batch) >= :batchSize
+                WHERE tenant_id = :tenantId AND facet_key = :key
+                """, params);
+        return true;
+    }
+
+    @Override
+    public List<Facet> findCounts(String tenantId, int maxValues) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("maxValues", maxValues);
+        return facets(tenantId, """
+                SELECT facet_key, facet_value, thread_count FROM (
+                    SELECT facet_key, facet_value, thread_count,
+                           row_number() OVER (PARTITION BY facet_key ORDER BY thread_count DESC, facet_value) AS rank
+                    FROM (
+                        SELECT c.facet_key, c.facet_value, sum(c.thread_count)
+                        FROM thread_facet_counts c
+                        JOIN thread_facet_keys k ON k.tenant_id = c.tenant_id AND k.facet_key = c.facet_key
+                        WHERE c.tenant_id = :tenantId AND NOT k.backfilling
+                        GROUP BY c.facet_key, c.facet_value
+                        HAVING sum(c.thread_count) > 0
+                        UNION ALL
+                        SELECT k.facet_key, t.metadata ->> k.facet_key, count(*)
+                        FROM thread_facet_keys k
+                        JOIN threads t ON t.tenant_id = k.tenant_id
+                        WHERE k.tenant_id = :tenantId AND k.backfilling
+                          AND t.status != 'ARCHIVED' AND t.deleted = FALSE
+                          AND jsonb_typeof(t.metadata -> k.facet_key) IN ('string', 'number', 'boolean')
+                        GROUP BY k.facet_key, t.metadata ->> k.facet_key
+                    ) counts
+                ) ranked
+                WHERE rank <= :maxValues
+                ORDER BY facet_key, rank
+                """, params);
+    }
+
+    @Override
+    public List<Facet> countMatching(String tenantId, List<MetadataFilter> filters, MetadataSchema schema,
+            int maxValues) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("maxValues", maxValues);
+        return facets(tenantId, buildMatchingSql(filters, schema, params), params);
+    }
+
+    String buildMatchingSql(List<MetadataFilter> filters, MetadataSchema schema, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT facet_key, facet_value, thread_count FROM (
+                    SELECT facet_key, facet_value, thread_count,
+                           row_number() OVER (PARTITION BY facet_key ORDER BY thread_count DESC, facet_value) AS rank
+                    FROM (
+                        SELECT k.facet_key, t.metadata ->> k.facet_key AS facet_value, count(*) AS thread_count
+                        FROM threads t
+                        JOIN thread_facet_keys k ON k.tenant_id = t.tenant_id
+                        WHERE t.tenant_id = :tenantId AND t.status != 'ARCHIVED' AND t.deleted = FALSE
+                """);
+        ThreadMetadataQueryRepository.appendFilters(sql, filters, schema, params);
+        sql.append("""
+                          AND jsonb_typeof(t.metadata -> k.facet_key) IN ('string', 'number', 'boolean')
+                        GROUP BY k.facet_key, t.metadata ->> k.facet_key
+                    ) counts
+                ) ranked
+                WHERE rank <= :maxValues
+                ORDER BY facet_key, rank
+                """);
+        return sql.toString();
+    }
+
+    /**
+     * Runs a counts query and groups its rows under every declared key, so keys
+     * without values are listed too.
+     */
+    private List<Facet> facets(String tenantId, String sql, MapSqlParameterSource params) {
+        Map<String, List<Facet.Value>> byKey = new LinkedHashMap<>();
+        jdbcTemplate.queryForList(
+                "SELECT facet_key FROM thread_facet_keys WHERE tenant_id = :tenantId ORDER BY facet_key",
+                new MapSqlParameterSource("tenantId", tenantId), String.class)
+                .forEach(key -> byKey.put(key, new ArrayList<>()));
+        if (byKey.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.query(sql, params, rs -> {
+            List<Facet.Value> values = byKey.get(rs.getString("facet_key"));
+            if (values != null) {
+                values.add(new Facet.Value(rs.getString("facet_value"), rs.getLong("thread_count")));
+            }
+        });
+        return byKey.entrySet().stream()
+                .map(entry -> new Facet(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -1,18 +1,26 @@
 package com.openforum.infra.jpa.repository;
 
 import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.projection.IdTitleProjection;
+import com.openforum.infra.jpa.projection.ThreadExportProjection;
+import com.openforum.infra.jpa.projection.ThreadStampProjection;
 import com.openforum.infra.jpa.projection.ThreadWithOPProjection;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ThreadJpaRepository extends JpaRepository<ThreadEntity, UUID> {
@@ -21,6 +29,9 @@ public interface ThreadJpaRepository extends JpaRepository<ThreadEntity, UUID> {
 
        Optional<ThreadEntity> findByIdAndTenantId(UUID id, String tenantId);
 
+       @Query("SELECT t.id AS id, t.title AS title FROM ThreadEntity t WHERE t.id IN :ids")
+       List<IdTitleProjection> findTitlesByIdIn(@Param("ids") Collection<UUID> ids);
+
        Page<ThreadEntity> findByTenantId(String tenantId, Pageable pageable);
 
        @Override
@@ -42,21 +53,25 @@ public interface ThreadJpaRepository extends JpaRepository<ThreadEntity, UUID> {
                      SELECT t.id AS id,
                             t.title AS title,
                             t.status AS status,
-                            p.content AS content,
+                            CASE WHEN :contentLength < 0 THEN p.content
+                                 WHEN :contentLength > 0 THEN left(p.content, :contentLength) END AS content,
                             t.created_at AS createdAt,
                             t.author_id AS authorId,
                             t.post_count AS postCount
                      FROM threads t
-                     LEFT JOIN posts p ON t.id = p.thread_id AND p.post_number = 1
+                     LEFT JOIN posts p ON t.id = p.thread_id AND p.post_number = 1 AND :contentLength <> 0
                      WHERE t.tenant_id = :tenantId AND t.status != 'ARCHIVED'
                      ORDER BY t.created_at DESC
                      """, countQuery = "SELECT count(*) FROM threads WHERE tenant_id = :tenantId AND status != 'ARCHIVED'", nativeQuery = true)
-       Page<ThreadWithOPProjection> findRichThreads(@Param("tenantId") String tenantId, Pageable pageable);
+       Page<ThreadWithOPProjection> findRichThreads(@Param("tenantId") String tenantId,
+                     @Param("contentLength") int contentLength, Pageable pageable);
 
        /**
-        * Fetch threads with their OP content, filtered by metadata key-value pair.
-        * Uses the GIN index on the metadata JSONB column for efficient queries.
+        * Streams all non-archived threads of a tenant with OP content and author
+        * name over a server-side cursor. Must be consumed (and closed) inside a
+        * read-only transaction.
         */
+       @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
        @Query(value = """
                      SELECT t.id AS id,
                             t.title AS title,
@@ -64,24 +79,15 @@ public interface ThreadJpaRepository extends JpaRepository<ThreadEntity, UUID> {
                             p.content AS content,
                             t.created_at AS createdAt,
                             t.author_id AS authorId,
+                            m.name AS authorName,
                             t.post_count AS postCount
                      FROM threads t
                      LEFT JOIN posts p ON t.id = p.thread_id AND p.post_number = 1
-                     WHERE t.tenant_id = :tenantId
-                       AND t.status != 'ARCHIVED'
-                       AND t.metadata ->> :metadataKey = :metadataValue
+                     LEFT JOIN members m ON m.id = t.author_id
+                     WHERE t.tenant_id = :tenantId AND t.status != 'ARCHIVED'
                      ORDER BY t.created_at DESC
-                     """, countQuery = """
-                     SELECT count(*) FROM threads
-                     WHERE tenant_id = :tenantId
-                       AND status != 'ARCHIVED'
-                       AND metadata ->> :metadataKey = :metadataValue
                      """, nativeQuery = true)
-       Page<ThreadWithOPProjection> findRichThreadsByMetadata(
-                     @Param("tenantId") String tenantId,
-                     @Param("metadataKey") String metadataKey,
-                     @Param("metadataValue") String metadataValue,
-                     Pageable pageable);
+       Stream<ThreadExportProjection> streamRichThreads(@Param("tenantId") String tenantId);
 
        /**
         * Fetch a single thread with its OP content.
@@ -100,6 +106,61 @@ public interface ThreadJpaRepository extends JpaRepository<ThreadEntity, UUID> {
                      """, nativeQuery = true)
        Optional<ThreadWithOPProjection> findRichThreadById(@Param("id") UUID id);
 
+       /**
+        * Fetch a set of a tenant's threads with OP content and author name in one
+        * query. Rows come back in no particular order; ids not in the tenant are
+        * simply absent.
+        */
+       @Query(value = """
+                     SELECT t.id AS id,
+                            t.title AS title,
+                            t.status AS status,
+                            p.content AS content,
+                            t.created_at AS createdAt,
+                            t.author_id AS authorId,
+                            m.name AS authorName,
+                            t.post_count AS postCount
+                     FROM threads t
+                     LEFT JOIN posts p ON t.id = p.thread_id AND p.post_number = 1
+                     LEFT JOIN members m ON m.id = t.author_id
+                     WHERE t.id IN (:ids) AND t.tenant_id = :tenantId
+                     """, nativeQuery = true)
+       List<ThreadExportProjection> findRichThreadsByIds(@Param("ids") Collection<UUID> ids,
+                     @Param("tenantId") String tenantId);
+
+       /**
+        * Fetch the validator columns for a thread (version, activity, post count and
+        * latest post modification and vote) without touching the thread body or OP
+        * content.
+        */
+       @Query(value = """
+                     SELECT t.version AS version,
+                            t.post_count AS postCount,
+                            t.last_activity_at AS lastActivityAt,
+                            t.last_modified_at AS lastModifiedAt,
+                            (SELECT max(p.last_modified_at) FROM posts p WHERE p.thread_id = t.id) AS postsLastModifiedAt,
+                            (SELECT max(p.last_voted_at) FROM posts p WHERE p.thread_id = t.id) AS postsLastVotedAt
+                     FROM threads t
+                     WHERE t.id = :id
+                     """, nativeQuery = true)
+       Optional<ThreadStampProjection> findStampById(@Param("id") UUID id);
+
+       /**
+        * Tenant-scoped variant of {@link #findStampById(UUID)}.
+        */
+       @Query(value = """
+                     SELECT t.version AS version,
+                            t.post_count AS postCount,
+                            t.last_activity_at AS lastActivityAt,
+                            t.last_modified_at AS lastModifiedAt,
+                            (SELECT max(p.last_modified_at) FROM posts p WHERE p.thread_id = t.id) AS postsLastModifiedAt,
+                            (SELECT max(p.last_voted_at) FROM posts p WHERE p.thread_id = t.id) AS postsLastVotedAt
+                     FROM threads t
+                     WHERE t.id = :id AND t.tenant_id = :tenantId
+                     """, nativeQuery = true)
+       Optional<ThreadStampProjection> findStampByIdAndTenantId(@Param("id") UUID id,
+                     @Param("tenantId") String tenantId);
+
        /**
         * Delete batch of soft-deleted threads older than cutoff.
         */
@@ -108,6 +169,6 @@ public interface ThreadJpaRepository extends JpaRepository<ThreadEntity, UUID> {
        int deleteBatch(@Param("cutoff") java.time.Instant cutoff, @Param("limit") int limit);
 
        @org.springframework.data.jpa.repository.Modifying
-       @Query(value = "UPDATE threads SET status = 'ARCHIVED' WHERE status = 'OPEN' AND last_activity_at < :cutoff", nativeQuery = true)
+       @Query(value = "UPDATE threads SET status = 'ARCHIVED', last_modified_at = now() WHERE status = 'OPEN' AND last_activity_at < :cutoff", nativeQuery = true)
        int archiveStaleThreads(@Param("cutoff") java.time.Instant cutoff);
 }
@@ -0,0 +1,79 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.ThreadMetadataIndexRepository;
+import com.openforum.domain.valueobject.MetadataFilter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hot-key indexes on {@code threads}, one per key and value type, named
+ * {@code idx_threads_meta_num_<key>} or {@code idx_threads_meta_date_<key>}.
+ * Each leads with {@code tenant_id}, so one index serves every tenant filtering
+ * on the key, and is partial on values of its type, matching the range
+ * conditions of {@link ThreadMetadataQueryRepository}: numbers by JSON type,
+ * dates where {@code thread_metadata_date} (V60) reads one.
+ * <p>
+ * Built with {@code CREATE INDEX CONCURRENTLY}; a failed build leaves an
+ * invalid index behind, which is dropped so a later attempt can start over.
+ */
+@Component
+public class ThreadMetadataIndexRepositoryImpl implements ThreadMetadataIndexRepository {
+
+    private static final String NUMBER_PREFIX = "idx_threads_meta_num_";
+    private static final String DATE_PREFIX = "idx_threads_meta_date_";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ThreadMetadataIndexRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<String> findIndexedKeys(MetadataFilter.ValueType type) {
+        String prefix = prefix(type);
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                WHERE i.indrelid = 'threads'::regclass AND i.indisvalid AND starts_with(c.relname, ?)
+                """, String.class, prefix)
+                .forEach(name -> keys.add(name.substring(prefix.length())));
+        return keys;
+    }
+
+    @Override
+    public void createIndex(String key, MetadataFilter.ValueType type) {
+        String name = '"' + prefix(type) + key + '"';
+        try {
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexDefinition(key, type));
+        } catch (DataAccessException e) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            throw e;
+        }
+    }
+
+    /**
+     * Name, table and expression of the index for {@code key}, as it follows
+     * {@code CREATE INDEX}.
+     */
+    static String indexDefinition(String key, MetadataFilter.ValueType type) {
+        // Validated again here because the key is spliced into DDL
+        new MetadataFilter(key, MetadataFilter.Operator.GT, "0");
+        String name = '"' + prefix(type) + key + '"';
+        String literal = "'" + key + "'";
+        if (type == MetadataFilter.ValueType.NUMBER) {
+            return name + " ON threads (tenant_id, (metadata -> " + literal + "))"
+                    + " WHERE jsonb_typeof(metadata -> " + literal + ") = 'number'";
+        }
+        return name + " ON threads (tenant_id, thread_metadata_date(metadata -> " + literal + "))"
+                + " WHERE thread_metadata_date(metadata -> " + literal + ") IS NOT NULL";
+    }
+
+    private static String prefix(MetadataFilter.ValueType type) {
+        return type == MetadataFilter.ValueType.NUMBER ? NUMBER_PREFIX : DATE_PREFIX;
+    }
+}
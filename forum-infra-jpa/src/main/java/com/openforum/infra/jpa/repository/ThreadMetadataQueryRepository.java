@@ -0,0 +1,241 @@
+package com.openforum.infra.jpa.repository;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import com.openforum.domain.valueobject.MetadataSort;
+import com.openforum.infra.jpa.projection.ThreadWithOPProjection;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Thread listings filtered by metadata, with OP content.
+ * <p>
+ * Equality filters become JSONB containment ({@code metadata @> ...}), which
+ * the GIN index on {@code metadata} (V40) serves; {@code ->>} equality can't
+ * use it. Equalities with a single possible JSON value are merged into one
+ * containment document. A value that could also be a number or boolean is
+ * matched in either form, as {@code ->>} equality did.
+ * <p>
+ * Range filters compare {@code metadata -> key} as jsonb (numbers), guarded
+ * by a {@code jsonb_typeof} check so values of another type never match, or
+ * as the instant {@code thread_metadata_date} (V60) reads the value as (dates),
+ * which is null for anything else. The
+ * expressions are written exactly as the hot-key indexes of
+ * {@link ThreadMetadataIndexRepositoryImpl} define them, so the planner can
+ * match the two; keys are inlined as literals for the same reason, which is
+ * safe because {@link MetadataFilter} restricts range keys to letters,
+ * digits, {@code _} and {@code -}.
+ * <p>
+ * Filters on keys declared in the tenant's {@link MetadataSchema}, comparing
+ * values of the declared type, read the typed b-tree indexed
+ * {@code thread_metadata_values} (V51) instead, as do sorts.
+ */
+@Component
+public class ThreadMetadataQueryRepository {
+
+    private static final RowMapper<ThreadWithOPProjection> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            rs.getString("status"),
+            rs.getString("content"),
+            rs.getTimestamp("created_at") != null ? rs.getTimestamp("created_at").toInstant() : null,
+            rs.getObject("author_id", UUID.class),
+            (Integer) rs.getObject("post_count"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ThreadMetadataQueryRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * One page of a tenant's non-archived threads matching every filter, newest
+     * first, or ordered by {@code sort} (newest first among equal values) if
+     * set. {@code contentLength} is as for
+     * {@link ThreadJpaRepository#findRichThreads}.
+     *
+     * @throws IllegalArgumentException if {@code sort} is on a key
+     *                                  {@code schema} doesn't declare
+     */
+    public List<ThreadWithOPProjection> findRichThreads(String tenantId, List<MetadataFilter> filters,
+            MetadataSchema schema, MetadataSort sort, int contentLength, int page, int size) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("contentLength", contentLength)
+                .addValue("limit", size)
+                .addValue("offset", (long) page * size);
+        return jdbcTemplate.query(buildSql(filters, schema, sort, params), params, ROW_MAPPER);
+    }
+
+    String buildSql(List<MetadataFilter> filters, MetadataSchema schema, MetadataSort sort,
+            MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT t.id, t.title, t.status,
+                       CASE WHEN :contentLength < 0 THEN p.content
+                            WHEN :contentLength > 0 THEN left(p.content, :contentLength) END AS content,
+                       t.created_at, t.author_id, t.post_count
+                FROM threads t
+                LEFT JOIN posts p ON t.id = p.thread_id AND p.post_number = 1 AND :contentLength <> 0
+                """);
+        String sortColumn = null;
+        if (sort != null) {
+            MetadataSchema.FieldType type = schema.type(sort.key());
+            if (type == null) {
+                throw new IllegalArgumentException("Metadata key is not declared for sorting: " + sort.key());
+            }
+            sortColumn = "s." + column(type);
+            params.addValue("sortKey", sort.key());
+            sql.append("LEFT JOIN thread_metadata_values s ON s.thread_id = t.id AND s.meta_key = :sortKey\n");
+        }
+        sql.append("WHERE t.tenant_id = :tenantId AND t.status != 'ARCHIVED'\n");
+
+        appendFilters(sql, filters, schema, params);
+
+        sql.append("ORDER BY ");
+        if (sortColumn != null) {
+            sql.append(sortColumn).append(sort.descending() ? " DESC" : " ASC").append(" NULLS LAST, ");
+        }
+        sql.append("""
+                t.created_at DESC, t.id
+                LIMIT :limit OFFSET :offset
+                """);
+        return sql.toString();
+    }
+
+    /**
+     * Appends one {@code AND} condition line per filter on thread {@code t},
+     * binding values as {@code m<n>}, {@code m<n>k} and {@code contains}.
+     * Filters {@code schema} covers read {@code thread_metadata_values} of
+     * tenant {@code :tenantId}, which the caller binds; the rest read
+     * {@code t.metadata}.
+     */
+    static void appendFilters(StringBuilder sql, List<MetadataFilter> filters, MetadataSchema schema,
+            MapSqlParameterSource params) {
+        ObjectNode merged = JsonNodeFactory.instance.objectNode();
+        for (int f = 0; f < filters.size(); f++) {
+            MetadataFilter filter = filters.get(f);
+            String param = "m" + f;
+            if (schema.covers(filter)) {
+                MetadataSchema.FieldType type = schema.type(filter.key());
+                String operator = filter.operator() == MetadataFilter.Operator.EQ ? "=" : filter.operator().symbol();
+                sql.append("  AND t.id IN (SELECT v.thread_id FROM thread_metadata_values v")
+                        .append(" WHERE v.tenant_id = :tenantId AND v.meta_key = :").append(param).append('k')
+                        .append(" AND v.").append(column(type)).append(' ').append(operator)
+                        .append(" :").append(param).append(")\n");
+                params.addValue(param + "k", filter.key());
+                params.addValue(param, typedValue(type, filter.value()));
+            } else if (filter.operator() == MetadataFilter.Operator.EQ) {
+                List<ObjectNode> candidates = candidates(filter);
+                if (candidates.size() == 1 && !merged.has(filter.key())) {
+                    merged.setAll(candidates.get(0));
+                    continue;
+                }
+                List<String> alternatives = new ArrayList<>(candidates.size());
+                for (int i = 0; i < candidates.size(); i++) {
+                    params.addValue(param + "_" + i, candidates.get(i).toString());
+                    alternatives.add("t.metadata @> CAST(:" + param + "_" + i + " AS jsonb)");
+                }
+                sql.append("  AND (").append(String.join(" OR ", alternatives)).append(")\n");
+            } else {
+                String key = "'" + filter.key() + "'";
+                String operator = filter.operator().symbol();
+                if (filter.valueType() == MetadataFilter.ValueType.NUMBER) {
+                    sql.append("  AND jsonb_typeof(t.metadata -> ").append(key).append(") = 'number'")
+                            .append(" AND t.metadata -> ").append(key).append(' ').append(operator)
+                            .append(" CAST(:").append(param).append(" AS jsonb)\n");
+                    params.addValue(param, filter.value());
+                } else {
+                    sql.append("  AND thread_metadata_date(t.metadata -> ").append(key).append(") ")
+                            .append(operator).append(" :").append(param).append('\n');
+                    params.addValue(param, typedValue(MetadataSchema.FieldType.DATE, filter.value()));
+                }
+            }
+        }
+        if (!merged.isEmpty()) {
+            params.addValue("contains", merged.toString());
+            sql.append("  AND t.metadata @> CAST(:contains AS jsonb)\n");
+        }
+    }
+
+    private static String column(MetadataSchema.FieldType type) {
+        return switch (type) {
+            case NUMBER -> "num_value";
+            case DATE -> "date_value";
+            case STRING -> "text_value";
+        };
+    }
+
+    private static Object typedValue(MetadataSchema.FieldType type, String value) {
+        return switch (type) {
+            case NUMBER -> new BigDecimal(value);
+            case DATE -> OffsetDateTime.ofInstant(MetadataFilter.parseDate(value), ZoneOffset.UTC);
+            case STRING -> value;
+        };
+    }
+
+    /**
+     * The JSON values an equality filter matches, each as a one-key document.
+     */
+    private static List<ObjectNode> candidates(MetadataFilter filter) {
+        JsonNodeFactory json = JsonNodeFactory.instance;
+        List<ObjectNode> candidates = new ArrayList<>(2);
+        candidates.add(json.objectNode().put(filter.key(), filter.value()));
+        if (MetadataFilter.isNumber(filter.value())) {
+            candidates.add(json.objectNode().put(filter.key(), new BigDecimal(filter.value())));
+        } else if (filter.value().equals("true") || filter.value().equals("false")) {
+            candidates.add(json.objectNode().put(filter.key(), Boolean.parseBoolean(filter.value())));
+        }
+        return candidates;
+    }
+
+    private record Row(UUID id, String title, String status, String content, Instant createdAt, UUID authorId,
+            Integer postCount) implements ThreadWithOPProjection {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+
+        @Override
+        public String getContent() {
+            return content;
+        }
+
+        @Override
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public UUID getAuthorId() {
+            return authorId;
+        }
+
+        @Override
+        public Integer getPostCount() {
+            return postCount;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.repository.ThreadMetadataSchemaRepository;
+import com.openforum.domain.valueobject.MetadataSchema;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps {@code thread_metadata_fields} in line with a tenant's schema; triggers
+ * on {@code threads} keep {@code thread_metadata_values} current from it
+ * (V51). Newly declared keys are copied out of existing threads in batches
+ * (V57).
+ */
+@Component
+public class ThreadMetadataSchemaRepositoryImpl implements ThreadMetadataSchemaRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ThreadMetadataSchemaRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * New and retyped keys start out backfilling; {@link #backfillKeys} copies
+     * them.
+     */
+    @Override
+    @Transactional
+    public void declare(String tenantId, MetadataSchema schema) {
+        Map<String, String> existing = new HashMap<>();
+        jdbcTemplate.query("SELECT meta_key, value_type FROM thread_metadata_fields WHERE tenant_id = :tenantId",
+                new MapSqlParameterSource("tenantId", tenantId),
+                rs -> {
+                    existing.put(rs.getString("meta_key"), rs.getString("value_type"));
+                });
+
+        List<String> stale = existing.entrySet().stream()
+                .filter(field -> schema.type(field.getKey()) == null
+                        || !schema.type(field.getKey()).name().equals(field.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!stale.isEmpty()) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("tenantId", tenantId)
+                    .addValue("keys", stale);
+            jdbcTemplate.update(
+                    "DELETE FROM thread_metadata_fields WHERE tenant_id = :tenantId AND meta_key IN (:keys)",
+                    params);
+            jdbcTemplate.update(
+                    "DELETE FROM thread_metadata_values WHERE tenant_id = :tenantId AND meta_key IN (:keys)",
+                    params);
+        }
+
+        List<String> added = schema.fields().keySet().stream()
+                .filter(key -> !schema.type(key).name().equals(existing.get(key)))
+                .toList();
+        if (added.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] rows = added.stream()
+                .map(key -> new MapSqlParameterSource()
+                        .addValue("tenantId", tenantId)
+                        .addValue("key", key)
+                        .addValue("type", schema.type(key).name()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO thread_metadata_fields (tenant_id, meta_key, value_type, backfilling)
+                VALUES (:tenantId, :key, :type, TRUE)
+                """, rows);
+    }
+
+    @Override
+    public Set<String> findBackfillingKeys(String tenantId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT meta_key FROM thread_metadata_fields WHERE tenant_id = :tenantId AND backfilling",
+                new MapSqlParameterSource("tenantId", tenantId), String.class));
+    }
+
+    /**
+     * Works like {@link ThreadFacetRepositoryImpl#backfillKeys}: a key's first
+     * call records which transactions to wait for, its first batch drops values
+     * left behind by writers that raced an earlier removal of the key, and each
+     * batch upserts its threads' values and moves the key's position past them
+     * in one transaction.
+     */
+    @Override
+    @Transactional
+    public boolean backfillKeys(int batchSize) {
+        jdbcTemplate.update("""
+                UPDATE thread_metadata_fields SET backfill_wait_xid = pg_snapshot_xmax(pg_current_snapshot())
+                WHERE backfilling AND backfill_wait_xid IS NULL
+                """, new MapSqlParameterSource());
+
+        List<Map<String, Object>> ready = jdbcTemplate.queryForList("""
+                SELECT tenant_id, meta_key, value_type, backfill_after FROM thread_metadata_fields
+                WHERE backfilling AND backfill_wait_xid <= pg_snapshot_xmin(pg_current_snapshot())
+                ORDER BY tenant_id, meta_key
+                LIMIT 1
+                FOR UPDATE
+                """, new MapSqlParameterSource());
+        if (ready.isEmpty()) {
+            return false;
+        }
+        Map<String, Object> key = ready.get(0);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", key.get("tenant_id"))
+                .addValue("key", key.get("meta_key"))
+                .addValue("type", key.get("value_type"))
+                .addValue("after", key.get("backfill_after"))
+                .addValue("batchSize", batchSize);
+        if (key.get("backfill_after") == null) {
+            jdbcTemplate.update("DELETE FROM thread_metadata_values WHERE tenant_id = :tenantId AND meta_key = :key",
+                    params);
+        }
+        jdbcTemplate.update("""
+                WITH batch AS (
+                    SELECT id, metadata FROM threads
+                    WHERE tenant_id = :tenantId
+                      AND id > COALESCE(CAST(:after AS uuid), '00000000-0000-0000-0000-000000000000')
+                    ORDER BY id
+                    LIMIT :batchSize
+                ),
+                copied AS (
+                    INSERT INTO thread_metadata_values (thread_id, tenant_id, meta_key, num_value, date_value,
+                                                        text_value)
+                    SELECT b.id, :tenantId, :key, v.num_value, v.date_value, v.text_value
+                    FROM batch b
+                    CROSS JOIN LATERAL thread_metadata_typed(b.metadata -> CAST(:key AS text), :type) v
+                    ON CONFLICT (thread_id, meta_key) DO UPDATE
+                    SET num_value = EXCLUDED.num_value, date_value = EXCLUDED.date_value,
+                        text_value = EXCLUDED.text_value
+                )
+                UPDATE thread_metadata_fields
+                SET backfill_after = COALESCE((SELECT id FROM batch ORDER BY id DESC LIMIT 1), backfill_after),
+                    backfilling = (SELECT count(*) FROM batch) >= :batchSize
+                WHERE tenant_id = :tenantId AND meta_key = :key
+                """, params);
+        return true;
+    }
+}
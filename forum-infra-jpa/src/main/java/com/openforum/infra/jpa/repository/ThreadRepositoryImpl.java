@@ -9,6 +9,7 @@ import com.openforum.domain.events.ThreadImportedEvent;
 import com.openforum.infra.jpa.entity.OutboxEventEntity;
 import com.openforum.infra.jpa.entity.ThreadEntity;
 import com.openforum.infra.jpa.mapper.ThreadMapper;
+import com.openforum.infra.jpa.projection.IdTitleProjection;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
@@ -18,9 +19,12 @@ import java.sql.Timestamp;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 public class ThreadRepositoryImpl implements ThreadRepository {
@@ -223,6 +227,7 @@ public class ThreadRepositoryImpl implements ThreadRepository {
                 PostImportedEvent postEvent = new PostImportedEvent(
                         post.getId(),
                         post.getThreadId(),
+                        thread.getTenantId(),
                         post.getAuthorId(),
                         post.getContent(),
                         false, // isBot is not persisted in Post aggregate, defaulting to false
@@ -255,6 +260,15 @@ public class ThreadRepositoryImpl implements ThreadRepository {
                 .getContent();
     }
 
+    @Override
+    public Map<UUID, String> findTitlesByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return threadJpaRepository.findTitlesByIdIn(ids).stream()
+                .collect(Collectors.toMap(IdTitleProjection::getId, IdTitleProjection::getTitle));
+    }
+
     @Override
     public Optional<Thread> findByIdAndTenantId(UUID id, String tenantId) {
         return threadJpaRepository.findByIdAndTenantId(id, tenantId)
@@ -275,6 +289,7 @@ public class ThreadRepositoryImpl implements ThreadRepository {
                 .getContent();
     }
 
+
     @Override
     public int deleteBatch(java.time.Instant cutoff, int limit) {
         return threadJpaRepository.deleteBatch(cutoff, limit);
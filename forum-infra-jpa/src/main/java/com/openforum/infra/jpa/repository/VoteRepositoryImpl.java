@@ -2,6 +2,7 @@ package com.openforum.infra.jpa.repository;
 
 import com.openforum.domain.repository.VoteRepository;
 import com.openforum.infra.jpa.entity.PostVoteEntity;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,11 +14,11 @@ import java.util.UUID;
 public class VoteRepositoryImpl implements VoteRepository {
 
     private final PostVoteJpaRepository postVoteJpaRepository;
-    private final PostJpaRepository postJpaRepository;
+    private final EntityManager entityManager;
 
-    public VoteRepositoryImpl(PostVoteJpaRepository postVoteJpaRepository, PostJpaRepository postJpaRepository) {
+    public VoteRepositoryImpl(PostVoteJpaRepository postVoteJpaRepository, EntityManager entityManager) {
         this.postVoteJpaRepository = postVoteJpaRepository;
-        this.postJpaRepository = postJpaRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -57,12 +58,26 @@ public class VoteRepositoryImpl implements VoteRepository {
                 .ifPresent(postVoteJpaRepository::delete);
     }
 
+    /**
+     * Applies the delta in place and stamps {@code last_voted_at}, so thread
+     * validators change on votes. Leaves the entity version alone, so a vote
+     * never fails a concurrent edit's optimistic lock. The persistence context
+     * is flushed and cleared around it, as for a modifying query, so no stale
+     * post entity outlives the update.
+     */
     @Override
     @Transactional
-    public void updatePostScore(UUID postId, int delta) {
-        postJpaRepository.findById(postId).ifPresent(post -> {
-            post.setScore(post.getScore() + delta);
-            postJpaRepository.save(post);
-        });
+    public Optional<UUID> updatePostScore(UUID postId, int delta) {
+        entityManager.flush();
+        List<?> threadIds = entityManager.createNativeQuery("""
+                UPDATE posts SET score = score + :delta, last_voted_at = clock_timestamp()
+                WHERE id = :postId
+                RETURNING thread_id
+                """)
+                .setParameter("delta", delta)
+                .setParameter("postId", postId)
+                .getResultList();
+        entityManager.clear();
+        return threadIds.stream().findFirst().map(UUID.class::cast);
     }
 }
@@ -0,0 +1,39 @@
+package com.openforum.infra.jpa.routing;
+
+/**
+ * Per-request read-your-writes state for {@link ReplicaRoutingDataSource}.
+ * Uses ThreadLocal like the tenant context; the web layer sets and clears it.
+ * <ul>
+ * <li>{@code requirePrimary}: the caller wrote recently, so even read-only
+ * transactions go to the primary until replicas have caught up.</li>
+ * <li>{@code wrote}: this request used the primary for a read-write transaction,
+ * so its later reads and the caller's next requests stick to the primary for a
+ * while.</li>
+ * </ul>
+ */
+public class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> REQUIRE_PRIMARY = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WROTE = new ThreadLocal<>();
+
+    public static void requirePrimary() {
+        REQUIRE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(REQUIRE_PRIMARY.get());
+    }
+
+    public static void markWrite() {
+        WROTE.set(Boolean.TRUE);
+    }
+
+    public static boolean hasWritten() {
+        return Boolean.TRUE.equals(WROTE.get());
+    }
+
+    public static void clear() {
+        REQUIRE_PRIMARY.remove();
+        WROTE.remove();
+    }
+}
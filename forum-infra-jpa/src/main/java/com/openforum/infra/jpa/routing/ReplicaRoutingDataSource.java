@@ -0,0 +1,124 @@
+package com.openforum.infra.jpa.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the
+ * primary.
+ * <p>
+ * A replica is only used while its measured replication lag is within
+ * {@code maxLag} (see {@link #checkReplicaLag()}); when none qualifies, or the
+ * request must read its own writes ({@link ReadYourWritesContext}) because the
+ * caller or the request itself wrote, reads go to the primary too. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager opens its connection before the transaction's read-only
+ * flag is published, so the target can only be chosen at the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    // Seconds behind the primary; 0 when caught up or not a standby at all
+    private static final String LAG_QUERY = """
+            SELECT COALESCE(CASE
+                WHEN pg_is_in_recovery() AND pg_last_wal_receive_lsn() IS DISTINCT FROM pg_last_wal_replay_lsn()
+                THEN EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                ELSE 0 END, 0)
+            """;
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesContext.markWrite();
+            }
+            return PRIMARY;
+        }
+        // A write earlier in this request may not have reached the replicas yet
+        if (ReadYourWritesContext.isPrimaryRequired() || ReadYourWritesContext.hasWritten()) {
+            return PRIMARY;
+        }
+        // Round-robin over replicas that are within the lag budget
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measures each replica's lag and takes replicas that are too far behind (or
+     * unreachable) out of rotation until they recover.
+     */
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                replica.usable = replica.lagSeconds <= maxLagSeconds;
+            } catch (Exception e) {
+                replica.lagSeconds = Double.NaN;
+                replica.usable = false;
+                log.warn("Replica {} lag check failed, routing its reads to the primary", replica.name, e);
+            }
+        }
+    }
+
+    /**
+     * Last measured lag in seconds per replica (NaN if the check failed).
+     */
+    public Map<String, Double> replicaLagSeconds() {
+        Map<String, Double> lag = new HashMap<>();
+        replicas.forEach(replica -> lag.put(replica.name, replica.lagSeconds));
+        return lag;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable = true;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
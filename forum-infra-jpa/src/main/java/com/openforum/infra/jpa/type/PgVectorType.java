@@ -0,0 +1,129 @@
+package com.openforum.infra.jpa.type;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * Maps a pgvector column to a {@code float[]}, without boxing each component.
+ * <p>
+ * The driver exchanges {@code vector} values in pgvector's text format
+ * ({@code [0.1,0.2,0.3]}); {@link #format} and {@link #parse} convert
+ * directly between that and the array, and are shared with the JDBC
+ * repositories that bind vectors as query parameters.
+ */
+public class PgVectorType implements UserType<float[]> {
+
+    @Override
+    public int getSqlType() {
+        return Types.OTHER;
+    }
+
+    @Override
+    public Class<float[]> returnedClass() {
+        return float[].class;
+    }
+
+    @Override
+    public boolean equals(float[] x, float[] y) {
+        return Arrays.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(float[] x) {
+        return Arrays.hashCode(x);
+    }
+
+    @Override
+    public float[] nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        String value = rs.getString(position);
+        return value != null ? parse(value) : null;
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, float[] value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.OTHER);
+        } else {
+            st.setObject(index, format(value), Types.OTHER);
+        }
+    }
+
+    @Override
+    public float[] deepCopy(float[] value) {
+        return value != null ? value.clone() : null;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(float[] value) {
+        return deepCopy(value);
+    }
+
+    @Override
+    public float[] assemble(Serializable cached, Object owner) {
+        return deepCopy((float[]) cached);
+    }
+
+    @Override
+    public float[] replace(float[] detached, float[] managed, Object owner) {
+        return deepCopy(detached);
+    }
+
+    /**
+     * pgvector's text input format, e.g. {@code [0.1,0.2,0.3]}.
+     */
+    public static String format(float[] vector) {
+        StringBuilder literal = new StringBuilder(vector.length * 12).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            literal.append(vector[i]);
+        }
+        return literal.append(']').toString();
+    }
+
+    /**
+     * Reads pgvector's text output format back into an array.
+     *
+     * @throws IllegalArgumentException if {@code literal} is not a bracketed,
+     *                                  comma-separated list of numbers
+     */
+    public static float[] parse(String literal) {
+        int end = literal.length() - 1;
+        if (end < 1 || literal.charAt(0) != '[' || literal.charAt(end) != ']') {
+            throw new IllegalArgumentException("Not a pgvector literal: " + literal);
+        }
+        if (end == 1) {
+            return new float[0];
+        }
+        int dimensions = 1;
+        for (int i = 1; i < end; i++) {
+            if (literal.charAt(i) == ',') {
+                dimensions++;
+            }
+        }
+        float[] vector = new float[dimensions];
+        int start = 1;
+        for (int i = 0; i < dimensions; i++) {
+            int comma = literal.indexOf(',', start);
+            int stop = comma < 0 ? end : comma;
+            vector[i] = Float.parseFloat(literal.substring(start, stop));
+            start = stop + 1;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,3 @@
+-- Serves max(last_modified_at) per thread with a single index probe.
+-- Used to compute ETag / Last-Modified validators for thread and post-page reads.
+CREATE INDEX idx_posts_thread_last_modified ON posts (thread_id, last_modified_at);
@@ -0,0 +1,5 @@
+-- Thread-scoped ranking index for sort=top: score DESC, created_at ASC, id ASC.
+-- The global idx_posts_score_created has no thread_id prefix, so every page of
+-- a thread sorted all of its posts. With this index both offset pages and keyset
+-- pages read the thread's posts in rank order and stop at the page limit.
+CREATE INDEX idx_posts_thread_top ON posts (thread_id, score DESC, created_at, id);
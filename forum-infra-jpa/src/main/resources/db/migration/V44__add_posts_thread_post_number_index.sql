@@ -0,0 +1,5 @@
+-- Direct lookup of a post by its number within a thread, for deep links that
+-- open a thread around a given post. Windows before and after the post are
+-- index ranges on this key, so their cost doesn't depend on how deep in the
+-- thread the post is.
+CREATE INDEX idx_posts_thread_post_number ON posts (thread_id, post_number);
@@ -0,0 +1,109 @@
+-- Materialized reply paths so a post's reply subtree is one index range scan.
+--
+-- reply_path is the chain of post numbers from the top-level post down to the
+-- post itself, each as 8 hex digits, separated by '.': a reply (post 12) to a
+-- reply (post 5) to the OP is '00000001.00000005.0000000c'. Ordering by path
+-- gives the tree in depth-first order with siblings in posting order, and the
+-- descendants of a post are exactly the paths in (path || '.', path || '/').
+-- The "C" collation makes those comparisons byte-wise so the btree range holds.
+--
+-- reply_depth is the number of ancestors; descendant_count counts every post
+-- below a node. All three are maintained by triggers on insert and delete.
+ALTER TABLE posts ADD COLUMN reply_path TEXT COLLATE "C";
+ALTER TABLE posts ADD COLUMN reply_depth INT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN descendant_count INT NOT NULL DEFAULT 0;
+
+-- The full-text trigger fired on every UPDATE, so each counter bump below (and
+-- every vote) re-parsed the post's content. Only content changes need it.
+DROP TRIGGER posts_tsvectorupdate ON posts;
+CREATE TRIGGER posts_tsvectorupdate BEFORE INSERT OR UPDATE OF content
+ON posts FOR EACH ROW EXECUTE FUNCTION
+tsvector_update_trigger(search_vector, 'pg_catalog.english', content);
+
+-- Paths of every ancestor-or-self of the node at path, shortest first.
+CREATE FUNCTION reply_path_prefixes(path TEXT) RETURNS TEXT[] AS $$
+    SELECT array_agg(substr(path, 1, 9 * n - 1) COLLATE "C" ORDER BY n)
+    FROM generate_series(1, (length(path) + 1) / 9) AS n
+$$ LANGUAGE SQL IMMUTABLE;
+
+CREATE FUNCTION posts_reply_path_insert() RETURNS TRIGGER AS $$
+DECLARE
+    segment TEXT := lpad(to_hex(COALESCE(NEW.post_number, 0)), 8, '0');
+    parent_path TEXT;
+    parent_depth INT;
+BEGIN
+    IF NEW.reply_to_post_id IS NOT NULL THEN
+        SELECT reply_path, reply_depth INTO parent_path, parent_depth
+        FROM posts
+        WHERE id = NEW.reply_to_post_id AND thread_id = NEW.thread_id;
+    END IF;
+
+    IF parent_path IS NULL THEN
+        NEW.reply_path := segment;
+        NEW.reply_depth := 0;
+    ELSE
+        NEW.reply_path := parent_path || '.' || segment;
+        NEW.reply_depth := parent_depth + 1;
+        UPDATE posts SET descendant_count = descendant_count + 1
+        WHERE thread_id = NEW.thread_id AND reply_path = ANY (reply_path_prefixes(parent_path));
+    END IF;
+    NEW.descendant_count := 0;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Purged posts leave their ancestors' counts. fk_posts_reply_to keeps a post
+-- with replies from being deleted, so only leaves are ever removed.
+CREATE FUNCTION posts_reply_path_delete() RETURNS TRIGGER AS $$
+BEGIN
+    IF OLD.reply_depth > 0 THEN
+        UPDATE posts SET descendant_count = descendant_count - 1
+        WHERE thread_id = OLD.thread_id
+          AND reply_path = ANY (reply_path_prefixes(OLD.reply_path))
+          AND reply_path <> OLD.reply_path;
+    END IF;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER posts_reply_path_insert BEFORE INSERT
+ON posts FOR EACH ROW EXECUTE FUNCTION posts_reply_path_insert();
+
+CREATE TRIGGER posts_reply_path_delete AFTER DELETE
+ON posts FOR EACH ROW EXECUTE FUNCTION posts_reply_path_delete();
+
+-- Backfill existing posts top-down, then count descendants per node
+WITH RECURSIVE tree AS (
+    SELECT p.id, p.thread_id,
+           lpad(to_hex(COALESCE(p.post_number, 0)), 8, '0') COLLATE "C" AS reply_path,
+           0 AS reply_depth
+    FROM posts p
+    LEFT JOIN posts parent ON parent.id = p.reply_to_post_id AND parent.thread_id = p.thread_id
+    WHERE parent.id IS NULL
+    UNION ALL
+    SELECT p.id, p.thread_id,
+           (tree.reply_path || '.' || lpad(to_hex(COALESCE(p.post_number, 0)), 8, '0')) COLLATE "C",
+           tree.reply_depth + 1
+    FROM posts p
+    JOIN tree ON p.reply_to_post_id = tree.id AND p.thread_id = tree.thread_id
+)
+UPDATE posts
+SET reply_path = tree.reply_path, reply_depth = tree.reply_depth
+FROM tree
+WHERE posts.id = tree.id;
+
+-- reply_depth is a key column so depth-limited subtree reads filter inside the
+-- index instead of visiting the heap for every deeper descendant.
+CREATE INDEX idx_posts_thread_reply_path ON posts (thread_id, reply_path, reply_depth);
+
+UPDATE posts
+SET descendant_count = counts.cnt
+FROM (
+    SELECT ancestor.id, count(*) AS cnt
+    FROM posts ancestor
+    JOIN posts descendant ON descendant.thread_id = ancestor.thread_id
+        AND descendant.reply_path > ancestor.reply_path || '.'
+        AND descendant.reply_path < ancestor.reply_path || '/'
+    GROUP BY ancestor.id
+) counts
+WHERE posts.id = counts.id;
@@ -0,0 +1,70 @@
+-- Thread search documents cover more than the title: title (weight A), the
+-- opening post (B) and the values of selected metadata keys (C).
+--
+-- search_settings holds the document definition and a version. Triggers keep
+-- rows current as they are written and stamp them with the version they were
+-- built under; when the definition changes (new metadata keys, or a later
+-- migration that edits thread_search_document) the version is bumped and the
+-- background reindexer rebuilds stale rows in small id-ordered batches,
+-- recording its position in reindex_cursor so it resumes after a restart.
+CREATE TABLE search_settings (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    thread_metadata_keys TEXT[] NOT NULL DEFAULT '{}',
+    version INT NOT NULL DEFAULT 1,
+    indexed_version INT NOT NULL DEFAULT 0,
+    reindex_cursor UUID
+);
+INSERT INTO search_settings (id) VALUES (1);
+
+-- No default rewrite on PG 11+; existing rows are 0, so all are reindexed
+ALTER TABLE threads ADD COLUMN search_version INT NOT NULL DEFAULT 0;
+
+CREATE FUNCTION thread_search_document(title TEXT, metadata JSONB, op_content TEXT) RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('english', COALESCE(title, '')), 'A')
+        || setweight(to_tsvector('english', COALESCE(op_content, '')), 'B')
+        || setweight(to_tsvector('english', COALESCE(
+               (SELECT string_agg(metadata ->> key, ' ')
+                FROM search_settings s, unnest(s.thread_metadata_keys) AS key
+                WHERE s.id = 1), '')), 'C')
+$$ LANGUAGE SQL STABLE;
+
+CREATE OR REPLACE FUNCTION threads_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := thread_search_document(NEW.title, NEW.metadata,
+        (SELECT content FROM posts WHERE thread_id = NEW.id AND post_number = 1 LIMIT 1));
+    NEW.search_version := (SELECT version FROM search_settings WHERE id = 1);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+-- The old trigger fired on every UPDATE, so each post_count or activity bump
+-- rebuilt the vector. Only title and metadata changes affect it now.
+DROP TRIGGER threads_search_vector_update ON threads;
+CREATE TRIGGER threads_search_vector_insert
+BEFORE INSERT ON threads
+FOR EACH ROW EXECUTE FUNCTION threads_search_vector_update();
+CREATE TRIGGER threads_search_vector_update
+BEFORE UPDATE OF title, metadata ON threads
+FOR EACH ROW
+WHEN (OLD.title IS DISTINCT FROM NEW.title OR OLD.metadata IS DISTINCT FROM NEW.metadata)
+EXECUTE FUNCTION threads_search_vector_update();
+
+-- The opening post is usually written after its thread, so it refreshes the
+-- thread's document itself.
+CREATE FUNCTION posts_thread_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    UPDATE threads
+    SET search_vector = thread_search_document(title, metadata, NEW.content)
+    WHERE id = NEW.thread_id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER posts_thread_search_vector_insert
+AFTER INSERT ON posts
+FOR EACH ROW WHEN (NEW.post_number = 1)
+EXECUTE FUNCTION posts_thread_search_vector_update();
+CREATE TRIGGER posts_thread_search_vector_update
+AFTER UPDATE OF content ON posts
+FOR EACH ROW WHEN (NEW.post_number = 1 AND OLD.content IS DISTINCT FROM NEW.content)
+EXECUTE FUNCTION posts_thread_search_vector_update();
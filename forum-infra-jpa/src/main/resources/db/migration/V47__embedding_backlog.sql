@@ -0,0 +1,26 @@
+-- Embedding pipeline bookkeeping.
+--
+-- A post needs an embedding while posts.embedding is NULL. The partial index
+-- holds exactly those posts, so the backlog scan walks it in id order and costs
+-- nothing once the backlog is empty.
+CREATE INDEX idx_posts_embedding_pending ON posts (id) WHERE embedding IS NULL AND deleted = FALSE;
+
+-- Position the backlog scan has reached; NULL starts from the beginning.
+CREATE TABLE embedding_backlog (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    after_id UUID
+);
+INSERT INTO embedding_backlog (id) VALUES (1);
+
+-- An edit makes the stored vector stale. Clearing it puts the post back in the
+-- backlog, so an edit whose event is lost is still re-embedded eventually.
+CREATE FUNCTION posts_embedding_invalidate() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.embedding := NULL;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER posts_embedding_invalidate BEFORE UPDATE OF content ON posts
+FOR EACH ROW WHEN (OLD.content IS DISTINCT FROM NEW.content)
+EXECUTE FUNCTION posts_embedding_invalidate();
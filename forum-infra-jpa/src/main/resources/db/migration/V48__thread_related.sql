@@ -0,0 +1,14 @@
+-- Precomputed "related discussions": each thread's nearest threads in its
+-- tenant by cosine distance between opening-post embeddings, best first.
+-- Rows are refreshed as opening posts are embedded, so a thread view reads one
+-- row instead of running a nearest-neighbour query.
+CREATE TABLE thread_related (
+    thread_id UUID PRIMARY KEY REFERENCES threads (id) ON DELETE CASCADE,
+    tenant_id VARCHAR(255) NOT NULL,
+    related_ids UUID[] NOT NULL,
+    scores REAL[] NOT NULL,
+    computed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Finds the lists a thread appears in, to refresh them when its opening post changes.
+CREATE INDEX idx_thread_related_related_ids ON thread_related USING GIN (related_ids);
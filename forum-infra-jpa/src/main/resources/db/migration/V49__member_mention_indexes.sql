@@ -0,0 +1,6 @@
+-- @mention autocomplete matches the start of a member's name or email,
+-- case-insensitively, within a tenant. These make both a range scan in
+-- lower() order; text_pattern_ops lets LIKE 'prefix%' use them under any
+-- collation.
+CREATE INDEX idx_members_tenant_name_prefix ON members (tenant_id, lower(name) text_pattern_ops);
+CREATE INDEX idx_members_tenant_email_prefix ON members (tenant_id, lower(email) text_pattern_ops);
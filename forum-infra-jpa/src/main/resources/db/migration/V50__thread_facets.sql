@@ -0,0 +1,58 @@
+-- Facet counts for thread metadata: for each metadata key a tenant declares
+-- as a facet (tenant config "facets.keys"), the number of visible threads
+-- (not archived, not deleted) per value.
+--
+-- thread_facet_keys mirrors the declared keys so triggers can see them.
+-- Triggers keep thread_facet_counts exact as threads are written; a newly
+-- declared key is counted once by the application, under a SHARE lock on
+-- threads, in the transaction that declares it. Only scalar values
+-- (string, number, boolean) are counted.
+CREATE TABLE thread_facet_keys (
+    tenant_id VARCHAR(255) NOT NULL,
+    facet_key TEXT NOT NULL,
+    PRIMARY KEY (tenant_id, facet_key)
+);
+
+CREATE TABLE thread_facet_counts (
+    tenant_id VARCHAR(255) NOT NULL,
+    facet_key TEXT NOT NULL,
+    facet_value TEXT NOT NULL,
+    thread_count BIGINT NOT NULL,
+    PRIMARY KEY (tenant_id, facet_key, facet_value)
+);
+
+CREATE FUNCTION thread_facet_apply(p_tenant_id VARCHAR, p_metadata JSONB, p_delta INT) RETURNS void AS $$
+    INSERT INTO thread_facet_counts (tenant_id, facet_key, facet_value, thread_count)
+    SELECT p_tenant_id, k.facet_key, p_metadata ->> k.facet_key, p_delta
+    FROM thread_facet_keys k
+    WHERE k.tenant_id = p_tenant_id
+      AND jsonb_typeof(p_metadata -> k.facet_key) IN ('string', 'number', 'boolean')
+    ORDER BY k.facet_key
+    ON CONFLICT (tenant_id, facet_key, facet_value)
+    DO UPDATE SET thread_count = thread_facet_counts.thread_count + EXCLUDED.thread_count
+$$ LANGUAGE SQL;
+
+CREATE FUNCTION threads_facet_counts_update() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.status <> 'ARCHIVED' AND NOT OLD.deleted AND OLD.metadata IS NOT NULL THEN
+        PERFORM thread_facet_apply(OLD.tenant_id, OLD.metadata, -1);
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.status <> 'ARCHIVED' AND NOT NEW.deleted AND NEW.metadata IS NOT NULL THEN
+        PERFORM thread_facet_apply(NEW.tenant_id, NEW.metadata, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER threads_facet_counts_insert
+AFTER INSERT ON threads
+FOR EACH ROW EXECUTE FUNCTION threads_facet_counts_update();
+CREATE TRIGGER threads_facet_counts_update
+AFTER UPDATE OF metadata, status, deleted, tenant_id ON threads
+FOR EACH ROW
+WHEN (OLD.metadata IS DISTINCT FROM NEW.metadata OR OLD.status IS DISTINCT FROM NEW.status
+      OR OLD.deleted IS DISTINCT FROM NEW.deleted OR OLD.tenant_id IS DISTINCT FROM NEW.tenant_id)
+EXECUTE FUNCTION threads_facet_counts_update();
+CREATE TRIGGER threads_facet_counts_delete
+AFTER DELETE ON threads
+FOR EACH ROW EXECUTE FUNCTION threads_facet_counts_update();
@@ -0,0 +1,85 @@
+-- Typed storage for the thread metadata keys a tenant declares in its
+-- metadata schema (tenant config "metadata.schema"). One row per thread and
+-- declared key, holding the value in the column of its type, so filters and
+-- sorts on those keys use b-tree indexes instead of extracting JSON.
+--
+-- A side table rather than generated columns: the keys differ per tenant and
+-- change at runtime, and threads is shared by all tenants.
+--
+-- thread_metadata_fields mirrors the declared keys so triggers can see them.
+-- Triggers rebuild a thread's rows whenever its metadata is written; a newly
+-- declared key is copied out of existing threads once by the application,
+-- under a SHARE lock on threads, in the transaction that declares it. Values
+-- of the wrong type (written before the key was declared) are left out.
+CREATE TABLE thread_metadata_fields (
+    tenant_id VARCHAR(255) NOT NULL,
+    meta_key TEXT NOT NULL,
+    value_type VARCHAR(10) NOT NULL CHECK (value_type IN ('STRING', 'NUMBER', 'DATE')),
+    PRIMARY KEY (tenant_id, meta_key)
+);
+
+CREATE TABLE thread_metadata_values (
+    thread_id UUID NOT NULL REFERENCES threads (id) ON DELETE CASCADE,
+    tenant_id VARCHAR(255) NOT NULL,
+    meta_key TEXT NOT NULL,
+    num_value NUMERIC,
+    date_value TIMESTAMPTZ,
+    text_value TEXT,
+    PRIMARY KEY (thread_id, meta_key)
+);
+
+CREATE INDEX idx_thread_metadata_values_num ON thread_metadata_values (tenant_id, meta_key, num_value, thread_id)
+    WHERE num_value IS NOT NULL;
+CREATE INDEX idx_thread_metadata_values_date ON thread_metadata_values (tenant_id, meta_key, date_value, thread_id)
+    WHERE date_value IS NOT NULL;
+CREATE INDEX idx_thread_metadata_values_text ON thread_metadata_values (tenant_id, meta_key, text_value, thread_id)
+    WHERE text_value IS NOT NULL;
+
+-- One row with the value in the column for p_type, or none if p_value isn't
+-- of that type. Dates are ISO-8601 dates (midnight UTC) or instants; strings
+-- longer than 500 characters are left out to stay within b-tree row limits.
+CREATE FUNCTION thread_metadata_typed(p_value JSONB, p_type VARCHAR,
+        OUT num_value NUMERIC, OUT date_value TIMESTAMPTZ, OUT text_value TEXT) RETURNS SETOF record AS $$
+BEGIN
+    IF p_type = 'NUMBER' AND jsonb_typeof(p_value) = 'number' THEN
+        num_value := (p_value #>> '{}')::numeric;
+        RETURN NEXT;
+    ELSIF p_type = 'STRING' AND jsonb_typeof(p_value) = 'string' AND length(p_value #>> '{}') <= 500 THEN
+        text_value := p_value #>> '{}';
+        RETURN NEXT;
+    ELSIF p_type = 'DATE' AND jsonb_typeof(p_value) = 'string'
+            AND (p_value #>> '{}') ~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}($|T)' THEN
+        BEGIN
+            date_value := CASE WHEN length(p_value #>> '{}') = 10
+                               THEN (p_value #>> '{}')::date::timestamp AT TIME ZONE 'UTC'
+                               ELSE (p_value #>> '{}')::timestamptz END;
+            RETURN NEXT;
+        EXCEPTION WHEN invalid_datetime_format OR datetime_field_overflow THEN
+            NULL;
+        END;
+    END IF;
+END
+$$ LANGUAGE plpgsql STABLE;
+
+CREATE FUNCTION threads_metadata_values_update() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        DELETE FROM thread_metadata_values WHERE thread_id = NEW.id;
+    END IF;
+    INSERT INTO thread_metadata_values (thread_id, tenant_id, meta_key, num_value, date_value, text_value)
+    SELECT NEW.id, NEW.tenant_id, f.meta_key, v.num_value, v.date_value, v.text_value
+    FROM thread_metadata_fields f
+    CROSS JOIN LATERAL thread_metadata_typed(NEW.metadata -> f.meta_key, f.value_type) v
+    WHERE f.tenant_id = NEW.tenant_id;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER threads_metadata_values_insert
+AFTER INSERT ON threads
+FOR EACH ROW EXECUTE FUNCTION threads_metadata_values_update();
+CREATE TRIGGER threads_metadata_values_update
+AFTER UPDATE OF metadata, tenant_id ON threads
+FOR EACH ROW
+WHEN (OLD.metadata IS DISTINCT FROM NEW.metadata OR OLD.tenant_id IS DISTINCT FROM NEW.tenant_id)
+EXECUTE FUNCTION threads_metadata_values_update();
@@ -0,0 +1,7 @@
+-- Votes change a post's score but not its content, so they don't touch
+-- last_modified_at (shown to readers as the edit time). They stamp
+-- last_voted_at instead, which the thread validators (ETag / Last-Modified)
+-- take the max of alongside last_modified_at, with a single index probe.
+ALTER TABLE posts ADD COLUMN last_voted_at TIMESTAMPTZ;
+
+CREATE INDEX idx_posts_thread_last_voted ON posts (thread_id, last_voted_at);
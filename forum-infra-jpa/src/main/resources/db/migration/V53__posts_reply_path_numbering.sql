@@ -0,0 +1,73 @@
+-- Reply paths are built from post numbers, so a post without one collided with
+-- every other unnumbered post in its thread at '00000000'. Bulk imports were
+-- the source; number what they left after each thread's highest post, rebuild
+-- those threads' paths, and require a number from now on.
+CREATE TEMPORARY TABLE renumbered_threads ON COMMIT DROP AS
+SELECT DISTINCT thread_id FROM posts WHERE post_number IS NULL;
+
+UPDATE posts
+SET post_number = numbered.post_number
+FROM (
+    SELECT p.id,
+           COALESCE(max(p.post_number) OVER (PARTITION BY p.thread_id), 0)
+               + row_number() OVER (PARTITION BY p.thread_id, p.post_number IS NULL
+                                    ORDER BY p.created_at, p.id) AS post_number,
+           p.post_number IS NULL AS unnumbered
+    FROM posts p
+    WHERE p.thread_id IN (SELECT thread_id FROM renumbered_threads)
+) numbered
+WHERE posts.id = numbered.id AND numbered.unnumbered;
+
+WITH RECURSIVE tree AS (
+    SELECT p.id, p.thread_id,
+           lpad(to_hex(p.post_number), 8, '0') COLLATE "C" AS reply_path,
+           0 AS reply_depth
+    FROM posts p
+    LEFT JOIN posts parent ON parent.id = p.reply_to_post_id AND parent.thread_id = p.thread_id
+    WHERE parent.id IS NULL AND p.thread_id IN (SELECT thread_id FROM renumbered_threads)
+    UNION ALL
+    SELECT p.id, p.thread_id,
+           (tree.reply_path || '.' || lpad(to_hex(p.post_number), 8, '0')) COLLATE "C",
+           tree.reply_depth + 1
+    FROM posts p
+    JOIN tree ON p.reply_to_post_id = tree.id AND p.thread_id = tree.thread_id
+)
+UPDATE posts
+SET reply_path = tree.reply_path, reply_depth = tree.reply_depth
+FROM tree
+WHERE posts.id = tree.id;
+
+ALTER TABLE posts ALTER COLUMN post_number SET NOT NULL;
+
+-- Every reply used to bump descendant_count on all of its ancestors in the
+-- inserting transaction, so replies anywhere in a busy thread queued on the
+-- OP's row lock. Counts are now taken on read as a range count over
+-- idx_posts_thread_reply_path, which only the subtree query needs.
+DROP TRIGGER posts_reply_path_delete ON posts;
+DROP FUNCTION posts_reply_path_delete();
+DROP FUNCTION reply_path_prefixes(TEXT);
+
+CREATE OR REPLACE FUNCTION posts_reply_path_insert() RETURNS TRIGGER AS $$
+DECLARE
+    segment TEXT := lpad(to_hex(NEW.post_number), 8, '0');
+    parent_path TEXT;
+    parent_depth INT;
+BEGIN
+    IF NEW.reply_to_post_id IS NOT NULL THEN
+        SELECT reply_path, reply_depth INTO parent_path, parent_depth
+        FROM posts
+        WHERE id = NEW.reply_to_post_id AND thread_id = NEW.thread_id;
+    END IF;
+
+    IF parent_path IS NULL THEN
+        NEW.reply_path := segment;
+        NEW.reply_depth := 0;
+    ELSE
+        NEW.reply_path := parent_path || '.' || segment;
+        NEW.reply_depth := parent_depth + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE posts DROP COLUMN descendant_count;
@@ -0,0 +1,17 @@
+-- Vectors from different models live in different spaces, so comparing them
+-- ranks nonsense. Each embedding now records the model that computed it; the
+-- backfill clears embeddings from any other model, which puts those posts back
+-- in the backlog. Every existing vector came from the hashing stub.
+ALTER TABLE posts ADD COLUMN embedding_model TEXT;
+
+UPDATE posts SET embedding_model = 'hashing-' || vector_dims(embedding) WHERE embedding IS NOT NULL;
+
+CREATE INDEX idx_posts_embedding_model ON posts (embedding_model) WHERE embedding IS NOT NULL;
+
+CREATE OR REPLACE FUNCTION posts_embedding_invalidate() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.embedding := NULL;
+    NEW.embedding_model := NULL;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,7 @@
+-- Related-thread lists compare opening posts only. Walking the HNSW index over
+-- every post and filtering to opening posts of one tenant afterwards left most
+-- of the ef_search candidates behind, so lists came back short. This index
+-- holds opening posts only; the tenant filter is still applied after the walk,
+-- which RelatedThreadRepositoryImpl covers with hnsw.iterative_scan.
+CREATE INDEX idx_posts_opening_embedding ON posts USING hnsw (embedding vector_cosine_ops)
+WHERE post_number = 1 AND deleted = FALSE;
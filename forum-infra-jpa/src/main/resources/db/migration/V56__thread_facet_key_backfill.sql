@@ -0,0 +1,56 @@
+-- Newly declared facet keys were counted under a SHARE lock on threads, which
+-- stopped thread writes for every tenant until the count committed. Keys are
+-- now counted in the background, in batches of threads in id order:
+--
+--   backfilling       the key's counts are incomplete
+--   backfill_after    threads up to this id are counted (NULL: none yet)
+--   backfill_wait_xid the first batch waits until every transaction older than
+--                     this has ended, so no writer that could not yet see the
+--                     key is still running
+--
+-- While a key backfills, triggers maintain its counts only for threads the
+-- backfill has passed; the rest are counted by a later batch. Triggers hold a
+-- share lock on backfilling key rows and a batch holds its key row for update,
+-- so a batch never runs alongside a write its triggers have already decided on.
+ALTER TABLE thread_facet_keys
+    ADD COLUMN backfilling BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN backfill_after UUID,
+    ADD COLUMN backfill_wait_xid xid8;
+
+-- Batches walk one tenant's threads in id order
+CREATE INDEX idx_threads_tenant_id_id ON threads (tenant_id, id);
+DROP INDEX idx_threads_tenant_id;
+
+DROP FUNCTION thread_facet_apply(VARCHAR, JSONB, INT);
+
+CREATE FUNCTION thread_facet_apply(p_tenant_id VARCHAR, p_thread_id UUID, p_metadata JSONB, p_delta INT)
+RETURNS void AS $$
+BEGIN
+    PERFORM 1 FROM thread_facet_keys
+    WHERE tenant_id = p_tenant_id AND backfilling
+    ORDER BY facet_key
+    FOR SHARE;
+
+    INSERT INTO thread_facet_counts (tenant_id, facet_key, facet_value, thread_count)
+    SELECT p_tenant_id, k.facet_key, p_metadata ->> k.facet_key, p_delta
+    FROM thread_facet_keys k
+    WHERE k.tenant_id = p_tenant_id
+      AND (NOT k.backfilling OR p_thread_id <= k.backfill_after)
+      AND jsonb_typeof(p_metadata -> k.facet_key) IN ('string', 'number', 'boolean')
+    ORDER BY k.facet_key
+    ON CONFLICT (tenant_id, facet_key, facet_value)
+    DO UPDATE SET thread_count = thread_facet_counts.thread_count + EXCLUDED.thread_count;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION threads_facet_counts_update() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' AND OLD.status <> 'ARCHIVED' AND NOT OLD.deleted AND OLD.metadata IS NOT NULL THEN
+        PERFORM thread_facet_apply(OLD.tenant_id, OLD.id, OLD.metadata, -1);
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.status <> 'ARCHIVED' AND NOT NEW.deleted AND NEW.metadata IS NOT NULL THEN
+        PERFORM thread_facet_apply(NEW.tenant_id, NEW.id, NEW.metadata, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
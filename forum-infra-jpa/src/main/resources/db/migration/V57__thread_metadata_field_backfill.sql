@@ -0,0 +1,38 @@
+-- Newly declared metadata keys were copied into thread_metadata_values under a
+-- SHARE lock on threads, which stopped thread writes for every tenant until
+-- the copy committed. Keys are now copied in the background, in batches of
+-- threads in id order, the same way facet keys are counted (V56):
+--
+--   backfilling       the key's values are incomplete; reads treat the key as
+--                     undeclared until it is done
+--   backfill_after    threads up to this id are copied (NULL: none yet)
+--   backfill_wait_xid the first batch waits until every transaction older than
+--                     this has ended
+--
+-- While a key backfills, triggers write its values only for threads the
+-- backfill has passed, holding a share lock on backfilling key rows that a
+-- batch holds for update.
+ALTER TABLE thread_metadata_fields
+    ADD COLUMN backfilling BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN backfill_after UUID,
+    ADD COLUMN backfill_wait_xid xid8;
+
+CREATE OR REPLACE FUNCTION threads_metadata_values_update() RETURNS trigger AS $$
+BEGIN
+    PERFORM 1 FROM thread_metadata_fields
+    WHERE tenant_id = NEW.tenant_id AND backfilling
+    ORDER BY meta_key
+    FOR SHARE;
+
+    IF TG_OP = 'UPDATE' THEN
+        DELETE FROM thread_metadata_values WHERE thread_id = NEW.id;
+    END IF;
+    INSERT INTO thread_metadata_values (thread_id, tenant_id, meta_key, num_value, date_value, text_value)
+    SELECT NEW.id, NEW.tenant_id, f.meta_key, v.num_value, v.date_value, v.text_value
+    FROM thread_metadata_fields f
+    CROSS JOIN LATERAL thread_metadata_typed(NEW.metadata -> f.meta_key, f.value_type) v
+    WHERE f.tenant_id = NEW.tenant_id
+      AND (NOT f.backfilling OR NEW.id <= f.backfill_after);
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
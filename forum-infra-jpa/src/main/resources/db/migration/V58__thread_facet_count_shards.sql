@@ -0,0 +1,30 @@
+-- Every thread write with a popular facet value updated the same
+-- thread_facet_counts row, so concurrent writers queued on its row lock until
+-- each other committed. Each (tenant, key, value) count is now spread over 16
+-- rows; a thread always lands in the shard its id hashes to, and reads sum the
+-- shards. A shard may go negative (a thread counted by the backfill in shard
+-- 0 and later removed from its own shard); only the sum is meaningful.
+ALTER TABLE thread_facet_counts ADD COLUMN shard SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE thread_facet_counts ALTER COLUMN shard DROP DEFAULT;
+ALTER TABLE thread_facet_counts DROP CONSTRAINT thread_facet_counts_pkey;
+ALTER TABLE thread_facet_counts ADD PRIMARY KEY (tenant_id, facet_key, facet_value, shard);
+
+CREATE OR REPLACE FUNCTION thread_facet_apply(p_tenant_id VARCHAR, p_thread_id UUID, p_metadata JSONB, p_delta INT)
+RETURNS void AS $$
+BEGIN
+    PERFORM 1 FROM thread_facet_keys
+    WHERE tenant_id = p_tenant_id AND backfilling
+    ORDER BY facet_key
+    FOR SHARE;
+
+    INSERT INTO thread_facet_counts (tenant_id, facet_key, facet_value, shard, thread_count)
+    SELECT p_tenant_id, k.facet_key, p_metadata ->> k.facet_key, hashtext(p_thread_id::text) & 15, p_delta
+    FROM thread_facet_keys k
+    WHERE k.tenant_id = p_tenant_id
+      AND (NOT k.backfilling OR p_thread_id <= k.backfill_after)
+      AND jsonb_typeof(p_metadata -> k.facet_key) IN ('string', 'number', 'boolean')
+    ORDER BY k.facet_key
+    ON CONFLICT (tenant_id, facet_key, facet_value, shard)
+    DO UPDATE SET thread_count = thread_facet_counts.thread_count + EXCLUDED.thread_count;
+END
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,8 @@
+-- text_pattern_ops (V49) serves LIKE 'prefix%' but does not sort in lower()
+-- order under the database collation, so each suggestion branch still read
+-- every match and sorted it. Under the "C" collation one plain btree serves
+-- both the prefix range and the ORDER BY, and the scan stops at LIMIT.
+DROP INDEX IF EXISTS idx_members_tenant_name_prefix;
+DROP INDEX IF EXISTS idx_members_tenant_email_prefix;
+CREATE INDEX idx_members_tenant_name_prefix ON members (tenant_id, (lower(name) COLLATE "C"));
+CREATE INDEX idx_members_tenant_email_prefix ON members (tenant_id, (lower(email) COLLATE "C"));
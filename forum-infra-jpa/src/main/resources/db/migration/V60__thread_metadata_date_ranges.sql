@@ -0,0 +1,39 @@
+-- Free-form date range filters compared metadata ->> key as text in the "C"
+-- collation, which only orders values written in one ISO-8601 form:
+-- '2024-06-15T23:30:00-02:00' sorted before '2024-06-16'. They now compare
+-- the value read as a DATE field of a metadata schema reads it (V51), a date
+-- at midnight UTC or an instant.
+--
+-- Immutable, so the hot-key indexes can be built on it: instants must carry an
+-- offset, the one input whose meaning depends on the session time zone. Any
+-- other value, like a string that is no date, reads as NULL.
+CREATE FUNCTION thread_metadata_date(p_value JSONB) RETURNS TIMESTAMPTZ AS $$
+BEGIN
+    IF jsonb_typeof(p_value) <> 'string' THEN
+        RETURN NULL;
+    ELSIF (p_value #>> '{}') ~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}$' THEN
+        RETURN (p_value #>> '{}')::date::timestamp AT TIME ZONE 'UTC';
+    ELSIF (p_value #>> '{}') ~ '^[0-9]{4}-[0-9]{2}-[0-9]{2}T.*(Z|[+-][0-9]{2}(:?[0-9]{2})?)$' THEN
+        RETURN (p_value #>> '{}')::timestamptz;
+    END IF;
+    RETURN NULL;
+EXCEPTION WHEN invalid_datetime_format OR datetime_field_overflow THEN
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+-- Date hot-key indexes built on the text expression no longer match the
+-- filters; ThreadMetadataIndexService builds them again once they are hot.
+DO $$
+DECLARE
+    index_name TEXT;
+BEGIN
+    FOR index_name IN
+        SELECT c.relname
+        FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE i.indrelid = 'threads'::regclass AND starts_with(c.relname, 'idx_threads_meta_date_')
+    LOOP
+        EXECUTE format('DROP INDEX %I', index_name);
+    END LOOP;
+END
+$$;
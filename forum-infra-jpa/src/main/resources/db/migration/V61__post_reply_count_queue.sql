@@ -0,0 +1,47 @@
+-- V53 dropped descendant_count to stop every reply from locking all of its
+-- ancestors, the OP included, and counted descendants on read instead: a
+-- range count for each of up to limit rows, the whole thread for the OP.
+--
+-- Counts are kept again, in post_reply_counts, but applied in the
+-- background: triggers only append the change to post_reply_count_changes,
+-- and ReplyCountService folds queued changes into every ancestor's count a
+-- batch at a time. Counts lag recent replies by up to one run.
+CREATE TABLE post_reply_counts (
+    post_id UUID PRIMARY KEY REFERENCES posts (id) ON DELETE CASCADE,
+    descendant_count INT NOT NULL
+);
+
+-- One row per reply added (+1) or purged (-1), keyed by its parent's path;
+-- the parent and all of the parent's ancestors are the prefixes of that path.
+CREATE TABLE post_reply_count_changes (
+    id BIGSERIAL PRIMARY KEY,
+    thread_id UUID NOT NULL,
+    parent_path TEXT COLLATE "C" NOT NULL,
+    delta INT NOT NULL
+);
+
+CREATE FUNCTION posts_reply_count_queue() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO post_reply_count_changes (thread_id, parent_path, delta)
+        VALUES (NEW.thread_id, left(NEW.reply_path, length(NEW.reply_path) - 9), 1);
+    ELSE
+        INSERT INTO post_reply_count_changes (thread_id, parent_path, delta)
+        VALUES (OLD.thread_id, left(OLD.reply_path, length(OLD.reply_path) - 9), -1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER posts_reply_count_insert AFTER INSERT
+ON posts FOR EACH ROW WHEN (NEW.reply_depth > 0) EXECUTE FUNCTION posts_reply_count_queue();
+
+CREATE TRIGGER posts_reply_count_delete AFTER DELETE
+ON posts FOR EACH ROW WHEN (OLD.reply_depth > 0) EXECUTE FUNCTION posts_reply_count_queue();
+
+-- Existing replies are counted by the same background batches
+INSERT INTO post_reply_count_changes (thread_id, parent_path, delta)
+SELECT thread_id, left(reply_path, length(reply_path) - 9), 1
+FROM posts
+WHERE reply_depth > 0
+ORDER BY thread_id, reply_path;
@@ -0,0 +1,202 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.valueobject.PostEmbedding;
+import com.openforum.domain.valueobject.PostText;
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEmbeddingEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class EmbeddingRepositoryImplTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+    private static final String MODEL = "hashing-1536";
+
+    @Autowired
+    private EmbeddingRepositoryImpl embeddingRepository;
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private PostEmbeddingJpaRepository postEmbeddingJpaRepository;
+
+    @Autowired
+    private jakarta.persistence.EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<UUID> postIds;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.save(member);
+
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(TENANT);
+        thread.setTitle("Embeddings");
+        thread.setStatus(com.openforum.domain.aggregate.ThreadStatus.OPEN);
+        thread.setAuthorId(member.getId());
+        thread.setPostCount(3);
+        thread.setCreatedAt(Instant.now());
+        thread.setLastActivityAt(Instant.now());
+        threadJpaRepository.save(thread);
+
+        postIds = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            PostEntity post = new PostEntity();
+            post.setId(UUID.randomUUID());
+            post.setTenantId(TENANT);
+            post.setThreadId(thread.getId());
+            post.setAuthorId(member.getId());
+            post.setContent("Post number " + i);
+            post.setPostNumber(i);
+            postJpaRepository.saveAndFlush(post);
+            postIds.add(post.getId());
+        }
+        // Postgres orders uuids byte-wise, like their text form (not like UUID.compareTo)
+        postIds.sort(Comparator.comparing(UUID::toString));
+    }
+
+    @Test
+    @DisplayName("the backlog is claimed in id order, batch by batch, and starts over after the end")
+    void claimBacklog_walksBacklogInBatches() {
+        assertThat(embeddingRepository.claimBacklog(2)).extracting(PostText::postId)
+                .containsExactly(postIds.get(0), postIds.get(1));
+        assertThat(embeddingRepository.claimBacklog(2)).extracting(PostText::postId)
+                .containsExactly(postIds.get(2));
+        assertThat(embeddingRepository.claimBacklog(2)).extracting(PostText::postId)
+                .containsExactly(postIds.get(0), postIds.get(1));
+    }
+
+    @Test
+    @DisplayName("vectors are stored only for posts unchanged since their text was read")
+    void saveAll_dropsEmbeddingsOfChangedPosts() {
+        List<PostText> pending = embeddingRepository.findPending(postIds);
+        PostText first = pending.get(0);
+        PostText second = pending.get(1);
+
+        int saved = embeddingRepository.saveAll(List.of(
+                new PostEmbedding(first.postId(), first.version(), MODEL, vector(1)),
+                new PostEmbedding(second.postId(), second.version() + 1, MODEL, vector(2))));
+
+        assertThat(saved).isEqualTo(1);
+        assertThat(embeddingRepository.findPending(postIds)).extracting(PostText::postId)
+                .containsExactly(postIds.get(1), postIds.get(2));
+        assertThat(embeddingRepository.claimBacklog(10)).extracting(PostText::postId)
+                .containsExactly(postIds.get(1), postIds.get(2));
+    }
+
+    @Test
+    @DisplayName("editing a post's content clears its embedding; other updates keep it")
+    void contentEdit_returnsPostToBacklog() {
+        PostText post = embeddingRepository.findPending(List.of(postIds.get(0))).get(0);
+        embeddingRepository.saveAll(List.of(new PostEmbedding(post.postId(), post.version(), MODEL, vector(1))));
+
+        jdbcTemplate.update("UPDATE posts SET score = score + 1 WHERE id = ?", post.postId());
+        assertThat(embeddingRepository.findPending(List.of(post.postId()))).isEmpty();
+
+        jdbcTemplate.update("UPDATE posts SET content = 'Edited' WHERE id = ?", post.postId());
+        assertThat(embeddingRepository.findPending(List.of(post.postId()))).extracting(PostText::content)
+                .containsExactly("Edited");
+    }
+
+    @Test
+    @DisplayName("stored vectors load as float[] and survive post updates that do not touch them")
+    void embedding_roundTripsThroughPgVectorType() {
+        PostText post = embeddingRepository.findPending(List.of(postIds.get(0))).get(0);
+        embeddingRepository.saveAll(List.of(new PostEmbedding(post.postId(), post.version(), MODEL, vector(7))));
+
+        PostEntity entity = postJpaRepository.findById(post.postId()).orElseThrow();
+        entity.setScore(5);
+        postJpaRepository.saveAndFlush(entity);
+        entityManager.clear();
+
+        float[] stored = postEmbeddingJpaRepository.findById(post.postId()).orElseThrow().getEmbedding();
+        assertThat(stored).hasSize(1536).isEqualTo(vector(7));
+
+        postEmbeddingJpaRepository.updateEmbedding(post.postId(), vector(8), MODEL);
+        entityManager.clear();
+        PostEmbeddingEntity updated = postEmbeddingJpaRepository.findById(post.postId()).orElseThrow();
+        assertThat(updated.getEmbedding()).isEqualTo(vector(8));
+        assertThat(updated.getEmbeddingModel()).isEqualTo(MODEL);
+        assertThat(embeddingRepository.invalidateOtherModels(MODEL, 10)).isZero();
+    }
+
+    @Test
+    @DisplayName("embeddings from another or an unknown model return to the backlog")
+    void invalidateOtherModels_returnsOtherModelsToBacklog() {
+        List<PostText> pending = embeddingRepository.findPending(postIds);
+        embeddingRepository.saveAll(List.of(
+                new PostEmbedding(pending.get(0).postId(), pending.get(0).version(), MODEL, vector(1)),
+                new PostEmbedding(pending.get(1).postId(), pending.get(1).version(), "other-768", vector(2)),
+                new PostEmbedding(pending.get(2).postId(), pending.get(2).version(), null, vector(3))));
+
+        assertThat(embeddingRepository.invalidateOtherModels(MODEL, 10)).isEqualTo(2);
+
+        assertThat(embeddingRepository.findPending(postIds)).extracting(PostText::postId)
+                .containsExactly(postIds.get(1), postIds.get(2));
+        assertThat(embeddingRepository.invalidateOtherModels(MODEL, 10)).isZero();
+    }
+
+    private static float[] vector(int hot) {
+        float[] vector = new float[1536];
+        vector[hot] = 1f;
+        return vector;
+    }
+}
@@ -0,0 +1,201 @@
+package com.openforum.infra.jpa.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openforum.domain.aggregate.ThreadStatus;
+import com.openforum.domain.valueobject.MemberSuggestion;
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class MemberSuggestionRepositoryImplTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private MemberSuggestionRepositoryImpl memberSuggestionRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private int nextPostNumber = 1;
+
+    @Test
+    @DisplayName("prefix matches name or email case-insensitively, by name, within the tenant")
+    void findByPrefix_matchesNameOrEmail() {
+        member("Bob", "alpha@example.com", TENANT);
+        member("Alice", "alice@example.com", TENANT);
+        member("alan", "x@example.com", TENANT);
+        member("Carol", "carol@example.com", TENANT);
+        member("Albert", "albert@example.com", "other-tenant");
+
+        assertThat(memberSuggestionRepository.findByPrefix(TENANT, "AL", 10))
+                .extracting(MemberSuggestion::name).containsExactly("alan", "Alice", "Bob");
+        assertThat(memberSuggestionRepository.findByPrefix(TENANT, "al", 2))
+                .extracting(MemberSuggestion::name).containsExactly("alan", "Alice");
+    }
+
+    @Test
+    @DisplayName("LIKE wildcards in the prefix match literally")
+    void findByPrefix_escapesWildcards() {
+        member("a_b", "one@example.com", TENANT);
+        member("axb", "two@example.com", TENANT);
+
+        assertThat(memberSuggestionRepository.findByPrefix(TENANT, "a_", 10))
+                .extracting(MemberSuggestion::name).containsExactly("a_b");
+        assertThat(memberSuggestionRepository.findByPrefix(TENANT, "%", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("each prefix branch reads its index in order and stops at the limit, without a sort")
+    void findByPrefix_readsIndexesInOrder() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO members (id, tenant_id, external_id, email, name, role, created_at)
+                SELECT gen_random_uuid(), ?, 'ext-' || g, 'member' || g || '@example.com', 'Member ' || g, 'USER', now()
+                FROM generate_series(1, 5000) AS g
+                """, TENANT);
+        jdbcTemplate.execute("ANALYZE members");
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", TENANT)
+                .addValue("pattern", MemberSuggestionRepositoryImpl.likePrefix("mem"))
+                .addValue("limit", 10);
+        String plan = String.join("\n", namedParameterJdbcTemplate.queryForList(
+                "EXPLAIN (FORMAT JSON) " + MemberSuggestionRepositoryImpl.PREFIX_SQL, params, String.class));
+
+        // Only the final merge of the two short branch results may sort
+        JsonNode root = new ObjectMapper().readTree(plan).get(0).get("Plan");
+        List<String> branches = new ArrayList<>();
+        collectBranches(root.get("Plans"), branches);
+        assertThat(branches).containsExactlyInAnyOrder(
+                "Index Scan idx_members_tenant_name_prefix",
+                "Index Scan idx_members_tenant_email_prefix");
+    }
+
+    @Test
+    @DisplayName("participants are listed once, most recent poster first, skipping deleted posts")
+    void findThreadParticipants_ordersByLastPost() {
+        MemberEntity alice = member("Alice", "alice@example.com", TENANT);
+        MemberEntity bob = member("Bob", "bob@example.com", TENANT);
+        MemberEntity carol = member("Carol", "carol@example.com", TENANT);
+        UUID threadId = thread(alice);
+        Instant now = Instant.now();
+        post(threadId, alice, now.minusSeconds(300), false);
+        post(threadId, bob, now.minusSeconds(200), false);
+        post(threadId, alice, now.minusSeconds(100), false);
+        post(threadId, carol, now, true);
+
+        assertThat(memberSuggestionRepository.findThreadParticipants(TENANT, threadId, 10))
+                .extracting(MemberSuggestion::id).containsExactly(alice.getId(), bob.getId());
+        assertThat(memberSuggestionRepository.findThreadParticipants(TENANT, threadId, 1))
+                .extracting(MemberSuggestion::id).containsExactly(alice.getId());
+    }
+
+    /**
+     * The node read by each inner {@code LIMIT}, i.e. by each UNION branch.
+     */
+    private static void collectBranches(JsonNode plans, List<String> branches) {
+        if (plans == null) {
+            return;
+        }
+        for (JsonNode node : plans) {
+            if ("Limit".equals(node.get("Node Type").asText())) {
+                JsonNode input = node.get("Plans").get(0);
+                branches.add(input.get("Node Type").asText() + " " + input.path("Index Name").asText());
+            } else {
+                collectBranches(node.get("Plans"), branches);
+            }
+        }
+    }
+
+    private MemberEntity member(String name, String email, String tenantId) {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(tenantId);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail(email);
+        member.setName(name);
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        return memberJpaRepository.saveAndFlush(member);
+    }
+
+    private UUID thread(MemberEntity author) {
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(TENANT);
+        thread.setTitle("Mentions");
+        thread.setStatus(ThreadStatus.OPEN);
+        thread.setAuthorId(author.getId());
+        thread.setPostCount(0);
+        thread.setCreatedAt(Instant.now());
+        thread.setLastActivityAt(Instant.now());
+        threadJpaRepository.saveAndFlush(thread);
+        return thread.getId();
+    }
+
+    private void post(UUID threadId, MemberEntity author, Instant createdAt, boolean deleted) {
+        PostEntity post = new PostEntity();
+        post.setId(UUID.randomUUID());
+        post.setTenantId(TENANT);
+        post.setThreadId(threadId);
+        post.setAuthorId(author.getId());
+        post.setContent("Hello");
+        post.setPostNumber(nextPostNumber++);
+        postJpaRepository.saveAndFlush(post);
+        jdbcTemplate.update("UPDATE posts SET created_at = ?, deleted = ? WHERE id = ?",
+                Timestamp.from(createdAt), deleted, post.getId());
+    }
+}
@@ -0,0 +1,124 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.projection.PostRowProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class PostNumberWindowIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    private UUID threadId;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.save(member);
+        UUID authorId = member.getId();
+
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(TENANT);
+        thread.setTitle("Long Thread");
+        thread.setStatus(com.openforum.domain.aggregate.ThreadStatus.OPEN);
+        thread.setAuthorId(authorId);
+        thread.setPostCount(30);
+        thread.setCreatedAt(Instant.now());
+        thread.setLastActivityAt(Instant.now());
+        threadJpaRepository.save(thread);
+        threadId = thread.getId();
+
+        // Post 15 was purged, leaving a gap in the numbering
+        for (int number = 1; number <= 30; number++) {
+            if (number == 15) {
+                continue;
+            }
+            PostEntity post = new PostEntity();
+            post.setId(UUID.randomUUID());
+            post.setTenantId(TENANT);
+            post.setThreadId(threadId);
+            post.setAuthorId(authorId);
+            post.setContent("Post " + number);
+            post.setPostNumber(number);
+            post.setCreatedAt(Instant.now());
+            postJpaRepository.save(post);
+        }
+        postJpaRepository.flush();
+    }
+
+    @Test
+    @DisplayName("from a post number reads forward in order, skipping gaps")
+    void findFromPostNumber_readsForward() {
+        List<PostRowProjection> rows = postJpaRepository.findFromPostNumber(threadId, TENANT, 14, 3);
+
+        assertThat(rows).extracting(PostRowProjection::getPostNumber).containsExactly(14, 16, 17);
+    }
+
+    @Test
+    @DisplayName("before a post number reads backward, nearest first")
+    void findBeforePostNumber_readsBackward() {
+        List<PostRowProjection> rows = postJpaRepository.findBeforePostNumber(threadId, TENANT, 17, 3);
+
+        assertThat(rows).extracting(PostRowProjection::getPostNumber).containsExactly(16, 14, 13);
+        assertThat(postJpaRepository.findBeforePostNumber(threadId, TENANT, 1, 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("windows are scoped to the tenant")
+    void windows_scopedToTenant() {
+        assertThat(postJpaRepository.findFromPostNumber(threadId, "other-tenant", 1, 10)).isEmpty();
+    }
+}
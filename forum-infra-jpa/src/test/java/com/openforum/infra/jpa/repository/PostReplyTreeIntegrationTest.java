@@ -0,0 +1,204 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.projection.ReplyRowProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reply paths and depths are maintained by a database trigger and descendant
+ * counts by applying the changes triggers queue; these tests insert through JPA,
+ * apply the queue and read them back through the subtree query.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class PostReplyTreeIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private ReplyCountRepositoryImpl replyCountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID threadId;
+    private UUID authorId;
+    private int nextPostNumber;
+
+    //   1
+    //   ├── 2
+    //   │   ├── 4
+    //   │   │   └── 6
+    //   │   └── 5
+    //   └── 3
+    private UUID op;
+    private UUID post2;
+    private UUID post6;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.save(member);
+        authorId = member.getId();
+        nextPostNumber = 1;
+
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(TENANT);
+        thread.setTitle("Nested Thread");
+        thread.setStatus(com.openforum.domain.aggregate.ThreadStatus.OPEN);
+        thread.setAuthorId(authorId);
+        thread.setPostCount(6);
+        thread.setCreatedAt(Instant.now());
+        thread.setLastActivityAt(Instant.now());
+        threadJpaRepository.save(thread);
+        threadId = thread.getId();
+
+        op = post(null);
+        post2 = post(op);
+        post(op);
+        UUID post4 = post(post2);
+        post(post2);
+        post6 = post(post4);
+    }
+
+    @Test
+    @DisplayName("subtree is returned depth-first with relative depths and descendant counts")
+    void findReplyTree_returnsSubtreeDepthFirst() {
+        applyReplyCounts();
+        List<ReplyRowProjection> rows = postJpaRepository.findReplyTree(post2, TENANT, 10, 100);
+
+        assertThat(rows).extracting(ReplyRowProjection::getPostNumber).containsExactly(2, 4, 6, 5);
+        assertThat(rows).extracting(ReplyRowProjection::getReplyDepth).containsExactly(0, 1, 2, 1);
+        assertThat(rows).extracting(ReplyRowProjection::getDescendantCount).containsExactly(3, 1, 0, 0);
+    }
+
+    @Test
+    @DisplayName("depth limits the levels returned but not the descendant counts")
+    void findReplyTree_respectsDepth() {
+        applyReplyCounts();
+        List<ReplyRowProjection> rows = postJpaRepository.findReplyTree(op, TENANT, 1, 100);
+
+        assertThat(rows).extracting(ReplyRowProjection::getPostNumber).containsExactly(1, 2, 3);
+        assertThat(rows.get(0).getDescendantCount()).isEqualTo(5);
+        assertThat(rows.get(1).getDescendantCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("purging a reply removes it from every ancestor's count")
+    void delete_decrementsAncestors() {
+        applyReplyCounts();
+        jdbcTemplate.update("DELETE FROM posts WHERE id = ?", post6);
+        applyReplyCounts();
+
+        List<ReplyRowProjection> rows = postJpaRepository.findReplyTree(op, TENANT, 10, 100);
+
+        assertThat(rows).extracting(ReplyRowProjection::getPostNumber).containsExactly(1, 2, 4, 5, 3);
+        assertThat(rows).extracting(ReplyRowProjection::getDescendantCount).containsExactly(4, 2, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("replies are counted once their queued changes are applied, in batches")
+    void replyCounts_applyQueuedChangesInBatches() {
+        assertThat(postJpaRepository.findReplyTree(op, TENANT, 0, 100))
+                .extracting(ReplyRowProjection::getDescendantCount).containsExactly(0);
+
+        assertThat(replyCountRepository.applyQueuedChanges(2)).isTrue();
+        assertThat(replyCountRepository.applyQueuedChanges(2)).isTrue();
+        assertThat(replyCountRepository.applyQueuedChanges(2)).isFalse();
+
+        assertThat(postJpaRepository.findReplyTree(op, TENANT, 10, 100))
+                .extracting(ReplyRowProjection::getDescendantCount).containsExactly(5, 3, 1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("a post without a number is rejected instead of colliding with other paths")
+    void insert_withoutPostNumber_isRejected() {
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+                INSERT INTO posts (id, tenant_id, thread_id, author_id, content, version, created_at)
+                VALUES (?, ?, ?, ?, 'Unnumbered', 0, now())
+                """, UUID.randomUUID(), TENANT, threadId, authorId))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("subtree is scoped to the tenant")
+    void findReplyTree_scopedToTenant() {
+        assertThat(postJpaRepository.findReplyTree(op, "other-tenant", 10, 100)).isEmpty();
+    }
+
+    private void applyReplyCounts() {
+        while (replyCountRepository.applyQueuedChanges(1000)) {
+            // next batch
+        }
+    }
+
+    private UUID post(UUID replyTo) {
+        PostEntity post = new PostEntity();
+        post.setId(UUID.randomUUID());
+        post.setTenantId(TENANT);
+        post.setThreadId(threadId);
+        post.setAuthorId(authorId);
+        post.setContent("Post " + nextPostNumber);
+        post.setReplyToPostId(replyTo);
+        post.setPostNumber(nextPostNumber++);
+        post.setCreatedAt(Instant.now());
+        // Flush each insert so the trigger sees the parent's path
+        postJpaRepository.saveAndFlush(post);
+        return post.getId();
+    }
+}
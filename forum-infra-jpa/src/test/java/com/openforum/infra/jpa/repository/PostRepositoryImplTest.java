@@ -16,9 +16,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class PostRepositoryImplTest {
@@ -26,6 +28,8 @@ class PostRepositoryImplTest {
         @Mock
         private PostJpaRepository postJpaRepository;
         @Mock
+        private PostEmbeddingJpaRepository postEmbeddingJpaRepository;
+        @Mock
         private OutboxEventJpaRepository outboxEventJpaRepository;
 
         // Using real mapper for strict validation
@@ -38,8 +42,8 @@ class PostRepositoryImplTest {
         @BeforeEach
         void setUp() {
                 MockitoAnnotations.openMocks(this);
-                postRepository = new PostRepositoryImpl(postJpaRepository, outboxEventJpaRepository, postMapper,
-                                objectMapper);
+                postRepository = new PostRepositoryImpl(postJpaRepository, postEmbeddingJpaRepository,
+                                outboxEventJpaRepository, postMapper, objectMapper);
         }
 
         @Test
@@ -83,7 +87,6 @@ class PostRepositoryImplTest {
                 existingEntity.setAuthorId(UUID.randomUUID());
                 existingEntity.setContent("Old Content");
                 existingEntity.setScore(100);
-                existingEntity.setEmbedding(List.of(0.1, 0.2, 0.3)); // Existing embedding
                 existingEntity.setDeletedAt(Instant.parse("2023-01-01T00:00:00Z")); // Existing deletedAt
 
                 when(postJpaRepository.findById(postId)).thenReturn(Optional.of(existingEntity));
@@ -98,8 +101,7 @@ class PostRepositoryImplTest {
                                 .content("Updated Content")
                                 .version(2L)
                                 .score(100)
-                                // Embedding NOT set in domain (null) -> Should be preserved by Mapper
-                                // conditional
+                                // Embedding NOT set in domain (null) -> column must be left alone
                                 // DeletedAt IS set in domain (must be carried over)
                                 .deletedAt(existingEntity.getDeletedAt())
                                 .build();
@@ -119,9 +121,8 @@ class PostRepositoryImplTest {
                 // 2. CRITICAL: Verify score matches domain score
                 assertEquals(100, savedEntity.getScore());
 
-                // 3. Verify Embedding preserved (via conditional update in Mapper)
-                assertEquals(3, savedEntity.getEmbedding().size());
-                assertEquals(0.1, savedEntity.getEmbedding().get(0));
+                // 3. Verify Embedding preserved (not written at all)
+                verifyNoInteractions(postEmbeddingJpaRepository);
 
                 // 4. Verify DeletedAt preserved (via explicit domain carry-over)
                 assertEquals(existingEntity.getDeletedAt(), savedEntity.getDeletedAt());
@@ -130,4 +131,31 @@ class PostRepositoryImplTest {
                 assertEquals(existingEntity.getThreadId(), savedEntity.getThreadId());
                 assertEquals(existingEntity.getAuthorId(), savedEntity.getAuthorId());
         }
+
+        @Test
+        void save_PostWithEmbedding_ShouldWriteEmbeddingSeparately() {
+                // Arrange
+                float[] embedding = { 0.1f, 0.2f, 0.3f };
+                Post post = Post.builder()
+                                .id(UUID.randomUUID())
+                                .threadId(UUID.randomUUID())
+                                .tenantId("tenant-1")
+                                .authorId(UUID.randomUUID())
+                                .content("Content")
+                                .version(1L)
+                                .embedding(embedding)
+                                .embeddingModel("hashing-3")
+                                .build();
+
+                when(postJpaRepository.findById(post.getId())).thenReturn(Optional.empty());
+
+                // Act
+                postRepository.save(post);
+
+                // Assert
+                ArgumentCaptor<float[]> embeddingCaptor = ArgumentCaptor.forClass(float[].class);
+                verify(postEmbeddingJpaRepository).updateEmbedding(eq(post.getId()), embeddingCaptor.capture(),
+                                eq("hashing-3"));
+                assertArrayEquals(embedding, embeddingCaptor.getValue());
+        }
 }
@@ -0,0 +1,139 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.projection.PostRowProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class PostTopKeysetIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    private UUID threadId;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.save(member);
+
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(TENANT);
+        thread.setTitle("Ranked Thread");
+        thread.setStatus(com.openforum.domain.aggregate.ThreadStatus.OPEN);
+        thread.setAuthorId(member.getId());
+        thread.setPostCount(40);
+        thread.setCreatedAt(Instant.now());
+        thread.setLastActivityAt(Instant.now());
+        threadJpaRepository.save(thread);
+        threadId = thread.getId();
+
+        // Few distinct scores so most page boundaries fall inside a score tier;
+        // every fourth post shares its created_at with the previous one to exercise the id tie-breaker.
+        Instant base = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 40; i++) {
+            PostEntity post = new PostEntity();
+            post.setId(UUID.randomUUID());
+            post.setTenantId(TENANT);
+            post.setThreadId(threadId);
+            post.setAuthorId(member.getId());
+            post.setContent("Post " + i);
+            post.setPostNumber(i + 1);
+            post.setScore(i % 4 - 1);
+            post.setCreatedAt(base.plusSeconds(i - (i % 4 == 3 ? 1 : 0)));
+            postJpaRepository.save(post);
+        }
+        postJpaRepository.flush();
+    }
+
+    @Test
+    @DisplayName("keyset pages visit every post once, in the same order as offset paging")
+    void keysetPages_matchOffsetOrder() {
+        List<UUID> expected = postJpaRepository.findByThreadIdAndTenantId(threadId, TENANT,
+                PageRequest.of(0, 100, Sort.by(Sort.Order.desc("score"), Sort.Order.asc("createdAt"),
+                        Sort.Order.asc("id"))))
+                .map(PostEntity::getId)
+                .getContent();
+
+        List<UUID> actual = new ArrayList<>();
+        List<PostRowProjection> page = postJpaRepository.findTopByThreadId(threadId, TENANT, 7);
+        while (!page.isEmpty()) {
+            page.forEach(row -> actual.add(row.getId()));
+            PostRowProjection last = page.get(page.size() - 1);
+            page = postJpaRepository.findTopByThreadIdAfter(threadId, TENANT,
+                    last.getScore(), last.getCreatedAt(), last.getId(), 7);
+        }
+
+        assertThat(expected).hasSize(40);
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("keyset page resolves author names and scopes to the tenant")
+    void keysetPage_resolvesAuthorAndTenant() {
+        List<PostRowProjection> first = postJpaRepository.findTopByThreadId(threadId, TENANT, 5);
+
+        assertThat(first).hasSize(5);
+        assertThat(first).allSatisfy(row -> {
+            assertThat(row.getScore()).isEqualTo(2);
+            assertThat(row.getAuthorName()).isEqualTo("Test Author");
+        });
+        assertThat(postJpaRepository.findTopByThreadId(threadId, "other-tenant", 5)).isEmpty();
+    }
+}
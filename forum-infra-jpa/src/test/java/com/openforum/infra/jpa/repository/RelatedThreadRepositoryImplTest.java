@@ -0,0 +1,198 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.valueobject.RelatedThread;
+import com.openforum.domain.valueobject.RelatedThreads;
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.type.PgVectorType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class RelatedThreadRepositoryImplTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private RelatedThreadRepositoryImpl relatedThreadRepository;
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MemberEntity member;
+
+    @BeforeEach
+    void setUp() {
+        member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.save(member);
+    }
+
+    @Test
+    @DisplayName("lists hold the nearest other threads of the tenant, best first")
+    void refreshForThreads_storesNearestThreads() {
+        UUID jvm = thread("JVM tuning", TENANT, vector(1f, 0f));
+        UUID gc = thread("GC pauses", TENANT, vector(0.9f, 0.1f));
+        UUID cooking = thread("Cooking", TENANT, vector(0f, 1f));
+        thread("Other tenant", "other-tenant", vector(1f, 0f));
+
+        relatedThreadRepository.refreshForThreads(List.of(jvm), 5, 100);
+
+        RelatedThreads related = relatedThreadRepository.findByThreadId(jvm).orElseThrow();
+        assertThat(related.threads()).extracting(RelatedThread::threadId).containsExactly(gc, cooking);
+        assertThat(related.threads().get(0).title()).isEqualTo("GC pauses");
+        assertThat(related.threads().get(0).score()).isGreaterThan(related.threads().get(1).score());
+    }
+
+    @Test
+    @DisplayName("lists are full even when other tenants' threads are nearer than ef_search candidates")
+    void refreshForThreads_fillsListsPastOtherTenants() {
+        UUID source = thread("Source", TENANT, vector(1f, 0f));
+        for (int i = 1; i <= 30; i++) {
+            thread("Other tenant " + i, "other-tenant", vector(1f, 0.01f * i));
+        }
+        List<UUID> expected = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            expected.add(thread("Same tenant " + i, TENANT, vector(1f, 0.5f * i)));
+        }
+        // Small tables are otherwise scanned sequentially, which is exact
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        relatedThreadRepository.refreshForThreads(List.of(source), 5, 10);
+
+        assertThat(relatedThreadRepository.findByThreadId(source).orElseThrow().threads())
+                .extracting(RelatedThread::threadId).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("a newly embedded thread enters the lists of the neighbours it beats")
+    void refreshForPosts_updatesNeighbourLists() {
+        UUID jvm = thread("JVM tuning", TENANT, vector(1f, 0f));
+        UUID cooking = thread("Cooking", TENANT, vector(0f, 1f));
+        relatedThreadRepository.refreshForThreads(List.of(jvm, cooking), 1, 100);
+        assertThat(relatedThreadRepository.findByThreadId(jvm).orElseThrow().threads())
+                .extracting(RelatedThread::threadId).containsExactly(cooking);
+
+        UUID gc = thread("GC pauses", TENANT, vector(0.9f, 0.1f));
+        UUID gcOpeningPost = jdbcTemplate.queryForObject(
+                "SELECT id FROM posts WHERE thread_id = ? AND post_number = 1", UUID.class, gc);
+        int written = relatedThreadRepository.refreshForPosts(List.of(gcOpeningPost), 1, 100);
+
+        assertThat(written).isEqualTo(3);
+        assertThat(relatedThreadRepository.findByThreadId(gc).orElseThrow().threads())
+                .extracting(RelatedThread::threadId).containsExactly(jvm);
+        assertThat(relatedThreadRepository.findByThreadId(jvm).orElseThrow().threads())
+                .extracting(RelatedThread::threadId).containsExactly(gc);
+        assertThat(relatedThreadRepository.findByThreadId(cooking).orElseThrow().threads())
+                .extracting(RelatedThread::threadId).containsExactly(gc);
+    }
+
+    @Test
+    @DisplayName("deleted threads drop out of lists; threads without an embedding get none")
+    void findByThreadId_skipsDeletedThreads() {
+        UUID jvm = thread("JVM tuning", TENANT, vector(1f, 0f));
+        UUID gc = thread("GC pauses", TENANT, vector(0.9f, 0.1f));
+        UUID pending = thread("Not embedded yet", TENANT, null);
+        relatedThreadRepository.refreshForThreads(List.of(jvm, pending), 5, 100);
+
+        jdbcTemplate.update("UPDATE threads SET deleted = TRUE WHERE id = ?", gc);
+
+        assertThat(relatedThreadRepository.findByThreadId(jvm).orElseThrow().threads()).isEmpty();
+        assertThat(relatedThreadRepository.findByThreadId(pending)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("only threads with an embedded opening post can have a list")
+    void hasOpeningEmbedding_checksOpeningPost() {
+        UUID embedded = thread("JVM tuning", TENANT, vector(1f, 0f));
+        UUID pending = thread("Not embedded yet", TENANT, null);
+
+        assertThat(relatedThreadRepository.hasOpeningEmbedding(embedded)).isTrue();
+        assertThat(relatedThreadRepository.hasOpeningEmbedding(pending)).isFalse();
+    }
+
+    private UUID thread(String title, String tenantId, float[] embedding) {
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(tenantId);
+        thread.setTitle(title);
+        thread.setStatus(com.openforum.domain.aggregate.ThreadStatus.OPEN);
+        thread.setAuthorId(member.getId());
+        thread.setPostCount(1);
+        thread.setCreatedAt(Instant.now());
+        thread.setLastActivityAt(Instant.now());
+        threadJpaRepository.save(thread);
+
+        PostEntity post = new PostEntity();
+        post.setId(UUID.randomUUID());
+        post.setTenantId(tenantId);
+        post.setThreadId(thread.getId());
+        post.setAuthorId(member.getId());
+        post.setContent(title);
+        post.setPostNumber(1);
+        postJpaRepository.saveAndFlush(post);
+        if (embedding != null) {
+            jdbcTemplate.update("UPDATE posts SET embedding = CAST(? AS vector) WHERE id = ?",
+                    PgVectorType.format(embedding), post.getId());
+        }
+        return thread.getId();
+    }
+
+    private static float[] vector(float x, float y) {
+        float[] vector = new float[1536];
+        vector[0] = x;
+        vector[1] = y;
+        return vector;
+    }
+}
@@ -0,0 +1,296 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.valueobject.SearchCursor;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SearchScope;
+import com.openforum.domain.valueobject.SimilarityQuery;
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.type.PgVectorType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs search against a table large enough (20k posts, 2k threads) that the
+ * planner's choice of index is meaningful, and checks that choice with EXPLAIN.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class SearchRepositoryImplTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private SearchRepositoryImpl searchRepository;
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private UUID authorId;
+    private UUID categoryId;
+    private UUID threadId;
+    private UUID strongPostId;
+    private UUID weakPostId;
+    private UUID otherCategoryPostId;
+    private Instant base;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.save(member);
+        authorId = member.getId();
+        categoryId = UUID.randomUUID();
+        base = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        threadId = thread(TENANT, categoryId, "Tuning pgvector recall");
+        UUID otherCategoryThread = thread(TENANT, UUID.randomUUID(), "Unrelated question");
+        UUID otherTenantThread = thread("other-tenant", categoryId, "Another forum");
+
+        strongPostId = post(threadId, TENANT, 2, "pgvector needs a pgvector index before pgvector recall matters",
+                base.minus(1, ChronoUnit.DAYS));
+        weakPostId = post(threadId, TENANT, 3, "We tried pgvector last year and moved on to other things",
+                base.minus(10, ChronoUnit.DAYS));
+        otherCategoryPostId = post(otherCategoryThread, TENANT, 2, "Does pgvector support cosine distance the way the pgvector docs say",
+                base.minus(2, ChronoUnit.DAYS));
+        post(otherTenantThread, "other-tenant", 2, "pgvector pgvector pgvector", base);
+
+        // Filler the rare term never appears in
+        jdbcTemplate.update("""
+                INSERT INTO threads (id, tenant_id, author_id, title, status, version, post_count, created_at, last_activity_at)
+                SELECT gen_random_uuid(), ?, ?, 'General discussion ' || g, 'OPEN', 0, 10, now(), now()
+                FROM generate_series(1, 2000) AS g
+                """, TENANT, authorId);
+        jdbcTemplate.update("""
+                INSERT INTO posts (id, tenant_id, thread_id, author_id, content, version, post_number, created_at)
+                SELECT gen_random_uuid(), t.tenant_id, t.id, t.author_id,
+                       'Routine chatter about weather, sports and weekend plans ' || g, 0, g, now()
+                FROM threads t, generate_series(1, 10) AS g
+                WHERE t.title LIKE 'General discussion %'
+                """);
+        jdbcTemplate.execute("ANALYZE threads");
+        jdbcTemplate.execute("ANALYZE posts");
+    }
+
+    @Test
+    @DisplayName("hits are ranked across threads and posts, tenant-scoped, with highlighted snippets")
+    void search_ranksHitsAndHighlights() {
+        List<SearchHit> hits = searchRepository.search(query(SearchScope.ALL, null, null, null, 10));
+
+        assertThat(hits).extracting(SearchHit::id)
+                .containsExactly(threadId, strongPostId, otherCategoryPostId, weakPostId);
+        assertThat(hits.get(0).kind()).isEqualTo(SearchHit.Kind.THREAD);
+        assertThat(hits.get(1).kind()).isEqualTo(SearchHit.Kind.POST);
+        assertThat(hits.get(1).threadId()).isEqualTo(threadId);
+        assertThat(hits.get(1).title()).isEqualTo("Tuning pgvector recall");
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.snippet()).contains("<b>pgvector</b>"));
+        assertThat(hits).extracting(SearchHit::rank).isSortedAccordingTo(java.util.Comparator.reverseOrder());
+    }
+
+    @Test
+    @DisplayName("post markup in snippets is escaped; only the highlights are tags")
+    void search_escapesSnippetMarkup() {
+        UUID postId = post(threadId, TENANT, 4,
+                "<script>alert('x')</script> the quokka photo <img src=x onerror=alert(1)> & more",
+                base.minus(3, ChronoUnit.DAYS));
+
+        List<SearchHit> hits = searchRepository.search(new SearchQuery(TENANT, "quokka", SearchScope.POSTS,
+                null, null, null, null, 10));
+
+        assertThat(hits).extracting(SearchHit::id).containsExactly(postId);
+        assertThat(hits.get(0).snippet())
+                .contains("<b>quokka</b>")
+                .contains("&lt;script&gt;")
+                .doesNotContain("<script", "<img", "\uE000");
+    }
+
+    @Test
+    @DisplayName("category, date and scope filters narrow the hits")
+    void search_appliesFilters() {
+        assertThat(searchRepository.search(query(SearchScope.POSTS, categoryId, null, null, 10)))
+                .extracting(SearchHit::id)
+                .containsExactly(strongPostId, weakPostId);
+
+        assertThat(searchRepository.search(query(SearchScope.POSTS, null, base.minus(5, ChronoUnit.DAYS), null, 10)))
+                .extracting(SearchHit::id)
+                .containsExactly(strongPostId, otherCategoryPostId);
+
+        assertThat(searchRepository.search(query(SearchScope.THREADS, null, null, null, 10)))
+                .extracting(SearchHit::id)
+                .containsExactly(threadId);
+    }
+
+    @Test
+    @DisplayName("keyset pages concatenate to the unpaged order")
+    void search_keysetPagesMatchFullOrder() {
+        List<SearchHit> all = searchRepository.search(query(SearchScope.ALL, null, null, null, 10));
+
+        List<UUID> paged = new ArrayList<>();
+        SearchCursor after = null;
+        for (int i = 0; i < all.size() + 1; i++) {
+            List<SearchHit> page = searchRepository.search(new SearchQuery(TENANT, "pgvector", SearchScope.ALL,
+                    null, null, null, after, 1));
+            if (page.isEmpty()) {
+                break;
+            }
+            paged.add(page.get(0).id());
+            after = SearchCursor.of(page.get(0));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(all.stream().map(SearchHit::id).toList());
+    }
+
+    @Test
+    @DisplayName("matching is served by the GIN indexes on both tables")
+    void search_usesSearchVectorIndexes() {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = searchRepository.buildSql(query(SearchScope.ALL, null, null, null, 20), params);
+
+        String plan = String.join("\n", namedParameterJdbcTemplate.queryForList(
+                "EXPLAIN (FORMAT JSON) " + sql, params, String.class));
+
+        assertThat(plan).contains("idx_posts_search_vector");
+        assertThat(plan).contains("idx_threads_search_vector");
+    }
+
+    @Test
+    @DisplayName("similarity search ranks embedded posts by cosine similarity within the tenant")
+    void searchSimilar_ranksByCosineSimilarity() {
+        embed(strongPostId, vector(1, 0));
+        embed(otherCategoryPostId, vector(0.8f, 0.6f));
+        embed(weakPostId, vector(0, 1));
+        jdbcTemplate.update("UPDATE posts SET embedding = CAST(? AS vector) WHERE tenant_id = 'other-tenant'",
+                PgVectorType.format(vector(1, 0)));
+
+        List<SearchHit> all = searchRepository.searchSimilar(
+                new SimilarityQuery(TENANT, vector(1, 0), null, null, null, 10, 40));
+        List<SearchHit> inCategory = searchRepository.searchSimilar(
+                new SimilarityQuery(TENANT, vector(1, 0), categoryId, null, null, 10, 40));
+
+        assertThat(all).extracting(SearchHit::id).containsExactly(strongPostId, otherCategoryPostId, weakPostId);
+        assertThat(all.get(0).rank()).isCloseTo(1f, org.assertj.core.data.Offset.offset(0.001f));
+        assertThat(all.get(0).title()).isEqualTo("Tuning pgvector recall");
+        assertThat(inCategory).extracting(SearchHit::id).containsExactly(strongPostId, weakPostId);
+    }
+
+    @Test
+    @DisplayName("similarity search fills the limit even when other tenants' posts are nearer than ef_search candidates")
+    void searchSimilar_fillsLimitPastOtherTenants() {
+        UUID otherThread = thread("other-tenant", null, "Nearer elsewhere");
+        for (int i = 1; i <= 30; i++) {
+            embed(post(otherThread, "other-tenant", i + 1, "Other tenant " + i, base), vector(1f, 0.01f * i));
+        }
+        embed(strongPostId, vector(1f, 0.5f));
+        embed(weakPostId, vector(1f, 1f));
+        // Small tables are otherwise scanned sequentially, which is exact
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        List<SearchHit> hits = searchRepository.searchSimilar(
+                new SimilarityQuery(TENANT, vector(1, 0), null, null, null, 2, 10));
+
+        assertThat(hits).extracting(SearchHit::id).containsExactly(strongPostId, weakPostId);
+    }
+
+    private SearchQuery query(SearchScope scope, UUID category, Instant from, Instant to, int limit) {
+        return new SearchQuery(TENANT, "pgvector", scope, category, from, to, null, limit);
+    }
+
+    private UUID thread(String tenantId, UUID category, String title) {
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(tenantId);
+        thread.setCategoryId(category);
+        thread.setTitle(title);
+        thread.setStatus(com.openforum.domain.aggregate.ThreadStatus.OPEN);
+        thread.setAuthorId(authorId);
+        thread.setPostCount(1);
+        thread.setCreatedAt(base.minus(30, ChronoUnit.DAYS));
+        thread.setLastActivityAt(base);
+        threadJpaRepository.save(thread);
+        return thread.getId();
+    }
+
+    private UUID post(UUID thread, String tenantId, int postNumber, String content, Instant createdAt) {
+        PostEntity post = new PostEntity();
+        post.setId(UUID.randomUUID());
+        post.setTenantId(tenantId);
+        post.setThreadId(thread);
+        post.setAuthorId(authorId);
+        post.setContent(content);
+        post.setPostNumber(postNumber);
+        postJpaRepository.saveAndFlush(post);
+        // Auditing stamps created_at on insert; back-date it underneath
+        jdbcTemplate.update("UPDATE posts SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), post.getId());
+        return post.getId();
+    }
+
+    private void embed(UUID postId, float[] embedding) {
+        jdbcTemplate.update("UPDATE posts SET embedding = CAST(? AS vector) WHERE id = ?",
+                PgVectorType.format(embedding), postId);
+    }
+
+    private static float[] vector(float x, float y) {
+        float[] vector = new float[1536];
+        vector[0] = x;
+        vector[1] = y;
+        return vector;
+    }
+}
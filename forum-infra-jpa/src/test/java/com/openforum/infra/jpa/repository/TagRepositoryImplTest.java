@@ -39,6 +39,9 @@ class TagRepositoryImplTest {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager entityManager;
+
     @Test
     void should_save_and_retrieve_tag() {
         // Given
@@ -86,4 +89,27 @@ class TagRepositoryImplTest {
         assertThat(tenant2Tag).isPresent();
         assertThat(tenant1Tag.get().getId()).isNotEqualTo(tenant2Tag.get().getId());
     }
+
+    @Test
+    void should_apply_batched_usage_increments() {
+        // Given
+        String tenantId = "tenant-1";
+        tagRepository.save(TagFactory.create(tenantId, "java", java.util.UUID.randomUUID()));
+        tagRepository.save(TagFactory.create(tenantId, "python", java.util.UUID.randomUUID()));
+        tagRepository.save(TagFactory.create("tenant-2", "java", java.util.UUID.randomUUID()));
+
+        entityManager.flush();
+
+        // When
+        tagRepository.incrementUsageCounts(tenantId, java.util.Map.of("java", 3L, "python", 1L));
+        entityManager.clear();
+        List<Tag> tags = tagRepository.findByTenantId(tenantId);
+
+        // Then
+        assertThat(tags).extracting("name", "usageCount")
+                .containsExactlyInAnyOrder(
+                        org.assertj.core.groups.Tuple.tuple("java", 3L),
+                        org.assertj.core.groups.Tuple.tuple("python", 1L));
+        assertThat(tagRepository.findByName("tenant-2", "java").get().getUsageCount()).isZero();
+    }
 }
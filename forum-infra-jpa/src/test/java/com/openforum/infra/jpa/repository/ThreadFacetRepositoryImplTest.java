@@ -0,0 +1,243 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.valueobject.Facet;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class ThreadFacetRepositoryImplTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private ThreadFacetRepositoryImpl threadFacetRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private UUID authorId;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.saveAndFlush(member);
+        authorId = member.getId();
+    }
+
+    @Test
+    @DisplayName("declaring a key counts existing visible threads by value")
+    void declareKeys_countsExistingThreads() {
+        thread(TENANT, "{\"make\": \"volvo\", \"year\": 2019}");
+        thread(TENANT, "{\"make\": \"volvo\", \"year\": 2021}");
+        thread(TENANT, "{\"make\": \"saab\", \"year\": 2019}");
+        thread(TENANT, "{\"make\": {\"nested\": true}}");
+        thread("other-tenant", "{\"make\": \"volvo\"}");
+        UUID archived = thread(TENANT, "{\"make\": \"volvo\"}");
+        jdbcTemplate.update("UPDATE threads SET status = 'ARCHIVED' WHERE id = ?", archived);
+
+        threadFacetRepository.declareKeys(TENANT, List.of("make", "year", "color"));
+
+        assertThat(threadFacetRepository.findCounts(TENANT, 20)).containsExactly(
+                new Facet("color", List.of()),
+                new Facet("make", List.of(new Facet.Value("volvo", 2), new Facet.Value("saab", 1))),
+                new Facet("year", List.of(new Facet.Value("2019", 2), new Facet.Value("2021", 1))));
+    }
+
+    @Test
+    @DisplayName("a declared key is counted in batches while threads keep changing")
+    void backfillKeys_countsExistingThreadsInBatches() {
+        List<UUID> threads = List.of(
+                thread(TENANT, "{\"make\": \"volvo\"}"),
+                thread(TENANT, "{\"make\": \"volvo\"}"),
+                thread(TENANT, "{\"make\": \"saab\"}"),
+                thread(TENANT, "{\"make\": \"fiat\"}"));
+        thread("other-tenant", "{\"make\": \"volvo\"}");
+        threadFacetRepository.declareKeys(TENANT, List.of("make"));
+        waitedForOlderWriters();
+
+        assertThat(threadFacetRepository.backfillKeys(1)).isTrue();
+        // Threads the batch passed are maintained by the trigger, the others by later batches
+        threads.forEach(id -> jdbcTemplate.update("UPDATE threads SET metadata = CAST(? AS jsonb) WHERE id = ?",
+                "{\"make\": \"saab\"}", id));
+        thread(TENANT, "{\"make\": \"volvo\"}");
+        while (threadFacetRepository.backfillKeys(2)) {
+            // next batch
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT backfilling FROM thread_facet_keys WHERE tenant_id = ? AND facet_key = 'make'",
+                Boolean.class, TENANT)).isFalse();
+        assertThat(values()).containsExactly(new Facet.Value("saab", 4), new Facet.Value("volvo", 1));
+    }
+
+    @Test
+    @DisplayName("counts follow thread inserts, metadata edits, archiving and deletes")
+    void counts_followThreadWrites() {
+        threadFacetRepository.declareKeys(TENANT, List.of("make"));
+
+        UUID first = thread(TENANT, "{\"make\": \"volvo\"}");
+        UUID second = thread(TENANT, "{\"make\": \"volvo\"}");
+        UUID third = thread(TENANT, "{\"make\": \"saab\"}");
+        assertThat(values()).containsExactly(new Facet.Value("volvo", 2), new Facet.Value("saab", 1));
+
+        jdbcTemplate.update("UPDATE threads SET metadata = CAST(? AS jsonb) WHERE id = ?",
+                "{\"make\": \"saab\"}", first);
+        assertThat(values()).containsExactly(new Facet.Value("saab", 2), new Facet.Value("volvo", 1));
+
+        jdbcTemplate.update("UPDATE threads SET status = 'ARCHIVED' WHERE id = ?", second);
+        jdbcTemplate.update("UPDATE threads SET deleted = TRUE WHERE id = ?", third);
+        assertThat(values()).containsExactly(new Facet.Value("saab", 1));
+
+        jdbcTemplate.update("DELETE FROM threads WHERE id = ?", first);
+        assertThat(values()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("writers of a popular value update different shard rows, which reads sum")
+    void counts_spreadOverShards() {
+        threadFacetRepository.declareKeys(TENANT, List.of("make"));
+        waitedForOlderWriters();
+        while (threadFacetRepository.backfillKeys(100)) {
+            // next batch
+        }
+
+        for (int i = 0; i < 40; i++) {
+            thread(TENANT, "{\"make\": \"volvo\"}");
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM thread_facet_counts WHERE tenant_id = ? AND facet_value = 'volvo'",
+                Long.class, TENANT)).isGreaterThan(1);
+        assertThat(values()).containsExactly(new Facet.Value("volvo", 40));
+    }
+
+    @Test
+    @DisplayName("removing a key drops its counts")
+    void declareKeys_dropsRemovedKeys() {
+        thread(TENANT, "{\"make\": \"volvo\", \"year\": 2019}");
+        threadFacetRepository.declareKeys(TENANT, List.of("make", "year"));
+
+        threadFacetRepository.declareKeys(TENANT, List.of("year"));
+
+        assertThat(threadFacetRepository.findCounts(TENANT, 20)).extracting(Facet::key).containsExactly("year");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM thread_facet_counts WHERE tenant_id = ? AND facet_key = 'make'",
+                Long.class, TENANT)).isZero();
+    }
+
+    @Test
+    @DisplayName("filtered facets count only the matching threads, top values first")
+    void countMatching_countsFilteredThreads() {
+        thread(TENANT, "{\"make\": \"volvo\", \"year\": 2019}");
+        thread(TENANT, "{\"make\": \"volvo\", \"year\": 2021}");
+        thread(TENANT, "{\"make\": \"saab\", \"year\": 2021}");
+        thread(TENANT, "{\"make\": \"fiat\", \"year\": 2022}");
+        threadFacetRepository.declareKeys(TENANT, List.of("make"));
+
+        List<Facet> facets = threadFacetRepository.countMatching(TENANT,
+                List.of(MetadataFilter.parse("year>=2021")), MetadataSchema.EMPTY, 1);
+
+        assertThat(facets).containsExactly(new Facet("make", List.of(new Facet.Value("fiat", 1))));
+        assertThat(threadFacetRepository.countMatching(TENANT, List.of(MetadataFilter.parse("year:2021")),
+                MetadataSchema.EMPTY, 20))
+                .containsExactly(new Facet("make", List.of(new Facet.Value("saab", 1), new Facet.Value("volvo", 1))));
+    }
+
+    @Test
+    @DisplayName("filtered facets find their threads through the metadata GIN index")
+    void countMatching_usesGinIndex() {
+        jdbcTemplate.update("""
+                INSERT INTO threads (id, tenant_id, author_id, title, status, version, post_count, created_at,
+                                     last_activity_at, metadata)
+                SELECT gen_random_uuid(), ?, ?, 'Filler ' || g, 'OPEN', 0, 0, now(), now(),
+                       jsonb_build_object('listing', 'l' || g, 'make', 'make' || (g % 10))
+                FROM generate_series(1, 3000) AS g
+                """, TENANT, authorId);
+        threadFacetRepository.declareKeys(TENANT, List.of("make"));
+        jdbcTemplate.execute("ANALYZE threads");
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", TENANT)
+                .addValue("maxValues", 20);
+        String sql = threadFacetRepository.buildMatchingSql(List.of(MetadataFilter.parse("listing:l1500")),
+                MetadataSchema.EMPTY, params);
+        String plan = String.join("\n", namedParameterJdbcTemplate.queryForList(
+                "EXPLAIN (FORMAT JSON) " + sql, params, String.class));
+
+        assertThat(plan).contains("idx_threads_metadata");
+    }
+
+    /**
+     * A key's batches wait for every transaction older than the key; inside this
+     * test's own transaction that would never happen, so the wait is marked done.
+     */
+    private void waitedForOlderWriters() {
+        jdbcTemplate.update("UPDATE thread_facet_keys SET backfill_wait_xid = pg_snapshot_xmin(pg_current_snapshot())");
+    }
+
+    private List<Facet.Value> values() {
+        return threadFacetRepository.findCounts(TENANT, 20).get(0).values();
+    }
+
+    private UUID thread(String tenantId, String metadata) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO threads (id, tenant_id, author_id, title, status, version, post_count, created_at,
+                                     last_activity_at, metadata)
+                VALUES (?, ?, ?, 'Listing', 'OPEN', 0, 0, now(), now(), CAST(? AS jsonb))
+                """, id, tenantId, authorId, metadata);
+        return id;
+    }
+}
@@ -0,0 +1,313 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import com.openforum.domain.valueobject.MetadataSort;
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.projection.ThreadWithOPProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs metadata filters against 3k filler threads, so the planner's choice of
+ * index is meaningful, and checks that choice with EXPLAIN.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class ThreadMetadataQueryRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+    private static final MetadataSchema SCHEMA = new MetadataSchema(Map.of(
+            "difficulty", MetadataSchema.FieldType.NUMBER,
+            "publishedAt", MetadataSchema.FieldType.DATE,
+            "subject", MetadataSchema.FieldType.STRING));
+
+    @Autowired
+    private ThreadMetadataQueryRepository threadMetadataQueryRepository;
+
+    @Autowired
+    private ThreadMetadataSchemaRepositoryImpl threadMetadataSchemaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private UUID authorId;
+    private UUID stringQuestion;
+    private UUID numberQuestion;
+    private UUID physicsQuestion;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.saveAndFlush(member);
+        authorId = member.getId();
+
+        Instant base = Instant.now();
+        stringQuestion = thread(TENANT, base,
+                "{\"questionId\": \"102\", \"subject\": \"math\", \"difficulty\": 5, \"publishedAt\": \"2024-06-15\"}");
+        numberQuestion = thread(TENANT, base.minus(1, ChronoUnit.HOURS),
+                "{\"questionId\": 102, \"subject\": \"math\", \"difficulty\": 2}");
+        physicsQuestion = thread(TENANT, base.minus(2, ChronoUnit.HOURS),
+                "{\"questionId\": \"103\", \"subject\": \"physics\", \"difficulty\": \"hard\"}");
+        thread("other-tenant", base, "{\"questionId\": \"102\", \"subject\": \"math\"}");
+
+        jdbcTemplate.update("""
+                INSERT INTO threads (id, tenant_id, author_id, title, status, version, post_count, created_at,
+                                     last_activity_at, metadata)
+                SELECT gen_random_uuid(), ?, ?, 'Filler ' || g, 'OPEN', 0, 0, now() - interval '1 day', now(),
+                       jsonb_build_object('questionId', 'q' || g, 'rank', g)
+                FROM generate_series(1, 3000) AS g
+                """, TENANT, authorId);
+        jdbcTemplate.execute("ANALYZE threads");
+    }
+
+    @Test
+    @DisplayName("equality matches the value as a string or as the number it spells, within the tenant")
+    void equality_matchesStringOrNumber() {
+        assertThat(find("questionId:102")).containsExactly(stringQuestion, numberQuestion);
+    }
+
+    @Test
+    @DisplayName("all filters must match")
+    void multipleFilters_areAnded() {
+        assertThat(find("subject:math", "questionId:102")).containsExactly(stringQuestion, numberQuestion);
+        assertThat(find("subject:physics", "questionId:102")).isEmpty();
+        assertThat(find("difficulty>=1", "difficulty<=3")).containsExactly(numberQuestion);
+    }
+
+    @Test
+    @DisplayName("numeric ranges skip values of other JSON types instead of failing")
+    void numericRange_skipsNonNumbers() {
+        assertThat(find("difficulty>=3")).containsExactly(stringQuestion);
+        assertThat(find("difficulty<100")).containsExactly(stringQuestion, numberQuestion);
+    }
+
+    @Test
+    @DisplayName("date ranges compare ISO-8601 dates and instants as instants")
+    void dateRange_comparesIsoDates() {
+        assertThat(find("publishedAt<2024-07-01")).containsExactly(stringQuestion);
+        assertThat(find("publishedAt>2024-06-15T00:00:00Z")).isEmpty();
+        assertThat(find("publishedAt>=2024-06-15")).containsExactly(stringQuestion);
+
+        // 2024-06-16T01:30:00Z, which sorts before "2024-06-16" as text
+        UUID offsetQuestion = thread(TENANT, Instant.now().minus(3, ChronoUnit.HOURS),
+                "{\"publishedAt\": \"2024-06-15T23:30:00-02:00\"}");
+        assertThat(find("publishedAt>2024-06-16")).containsExactly(offsetQuestion);
+    }
+
+    @Test
+    @DisplayName("date range filters are planned on the key's hot-key index")
+    void dateRange_usesHotKeyIndex() {
+        jdbcTemplate.execute("UPDATE threads SET metadata = metadata || jsonb_build_object('listedOn',"
+                + " to_char(DATE '2020-01-01' + (metadata ->> 'rank')::int, 'YYYY-MM-DD'))"
+                + " WHERE metadata -> 'rank' IS NOT NULL");
+        jdbcTemplate.execute("CREATE INDEX "
+                + ThreadMetadataIndexRepositoryImpl.indexDefinition("listedOn", MetadataFilter.ValueType.DATE));
+        jdbcTemplate.execute("ANALYZE threads");
+
+        assertThat(plan("listedOn>=2028-03-01")).contains("idx_threads_meta_date_listedOn");
+    }
+
+    @Test
+    @DisplayName("equality filters are planned on the GIN index")
+    void equality_usesGinIndex() {
+        assertThat(plan("questionId:q1500")).contains("idx_threads_metadata");
+        assertThat(plan("questionId:1500")).contains("idx_threads_metadata");
+    }
+
+    @Test
+    @DisplayName("range filters are planned on the key's hot-key index")
+    void range_usesHotKeyIndex() {
+        jdbcTemplate.execute("CREATE INDEX "
+                + ThreadMetadataIndexRepositoryImpl.indexDefinition("rank", MetadataFilter.ValueType.NUMBER));
+        jdbcTemplate.execute("ANALYZE threads");
+
+        assertThat(plan("rank>=2990")).contains("idx_threads_meta_num_rank");
+    }
+
+    @Test
+    @DisplayName("filters on declared keys read typed values, ignoring values of other types")
+    void declaredKeys_filterTypedValues() {
+        declare(SCHEMA);
+
+        assertThat(find(SCHEMA, "difficulty>=3")).containsExactly(stringQuestion);
+        assertThat(find(SCHEMA, "difficulty:2")).containsExactly(numberQuestion);
+        assertThat(find(SCHEMA, "publishedAt>=2024-06-15T00:00:00Z")).containsExactly(stringQuestion);
+        assertThat(find(SCHEMA, "subject:math", "difficulty<100")).containsExactly(stringQuestion, numberQuestion);
+    }
+
+    @Test
+    @DisplayName("typed values follow metadata edits")
+    void declaredKeys_followMetadataEdits() {
+        declare(SCHEMA);
+
+        jdbcTemplate.update("UPDATE threads SET metadata = CAST(? AS jsonb) WHERE id = ?",
+                "{\"difficulty\": 9}", physicsQuestion);
+
+        assertThat(find(SCHEMA, "difficulty>=3")).containsExactly(stringQuestion, physicsQuestion);
+    }
+
+    @Test
+    @DisplayName("declared keys are copied in batches while threads keep changing")
+    void declaredKeys_backfillInBatches() {
+        threadMetadataSchemaRepository.declare(TENANT, SCHEMA);
+        assertThat(threadMetadataSchemaRepository.findBackfillingKeys(TENANT))
+                .containsExactlyInAnyOrder("difficulty", "publishedAt", "subject");
+        waitedForOlderWriters();
+
+        assertThat(threadMetadataSchemaRepository.backfillKeys(1)).isTrue();
+        // Threads a batch passed are maintained by the trigger, the others by later batches
+        jdbcTemplate.update("UPDATE threads SET metadata = CAST(? AS jsonb) WHERE id = ?",
+                "{\"difficulty\": 9}", physicsQuestion);
+        UUID added = thread(TENANT, Instant.now().minus(3, ChronoUnit.HOURS), "{\"difficulty\": 4}");
+        while (threadMetadataSchemaRepository.backfillKeys(1000)) {
+            // next batch
+        }
+
+        assertThat(threadMetadataSchemaRepository.findBackfillingKeys(TENANT)).isEmpty();
+        assertThat(find(SCHEMA, "difficulty>=3")).containsExactly(stringQuestion, physicsQuestion, added);
+    }
+
+    @Test
+    @DisplayName("sorting on a declared key orders by typed value, threads without one last")
+    void declaredKeys_sortByTypedValue() {
+        declare(SCHEMA);
+
+        assertThat(find(SCHEMA, new MetadataSort("difficulty", false), "subject:math", "questionId:102"))
+                .containsExactly(numberQuestion, stringQuestion);
+        assertThat(find(SCHEMA, new MetadataSort("difficulty", true), "questionId:102"))
+                .containsExactly(stringQuestion, numberQuestion);
+        assertThat(find(SCHEMA, new MetadataSort("difficulty", true), "subject:physics"))
+                .containsExactly(physicsQuestion);
+    }
+
+    @Test
+    @DisplayName("sorting on an undeclared key is rejected")
+    void undeclaredKey_cannotSort() {
+        assertThatThrownBy(() -> find(MetadataSchema.EMPTY, new MetadataSort("difficulty", false)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("range filters on declared keys are planned on the typed b-tree index")
+    void declaredKeys_useTypedIndex() {
+        MetadataSchema schema = new MetadataSchema(Map.of("rank", MetadataSchema.FieldType.NUMBER));
+        declare(schema);
+        jdbcTemplate.execute("ANALYZE thread_metadata_values");
+
+        assertThat(plan(schema, "rank>=2990")).contains("idx_thread_metadata_values_num");
+    }
+
+    private void declare(MetadataSchema schema) {
+        threadMetadataSchemaRepository.declare(TENANT, schema);
+        waitedForOlderWriters();
+        while (threadMetadataSchemaRepository.backfillKeys(1000)) {
+            // next batch
+        }
+    }
+
+    /**
+     * A key's batches wait for every transaction older than the key; inside this
+     * test's own transaction that would never happen, so the wait is marked done.
+     */
+    private void waitedForOlderWriters() {
+        jdbcTemplate.update(
+                "UPDATE thread_metadata_fields SET backfill_wait_xid = pg_snapshot_xmin(pg_current_snapshot())");
+    }
+
+    private List<UUID> find(String... filters) {
+        return find(MetadataSchema.EMPTY, null, filters);
+    }
+
+    private List<UUID> find(MetadataSchema schema, String... filters) {
+        return find(schema, null, filters);
+    }
+
+    private List<UUID> find(MetadataSchema schema, MetadataSort sort, String... filters) {
+        return threadMetadataQueryRepository.findRichThreads(TENANT, parse(filters), schema, sort, 0, 0, 20).stream()
+                .map(ThreadWithOPProjection::getId)
+                .toList();
+    }
+
+    private String plan(String... filters) {
+        return plan(MetadataSchema.EMPTY, filters);
+    }
+
+    private String plan(MetadataSchema schema, String... filters) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", TENANT)
+                .addValue("contentLength", 0)
+                .addValue("limit", 20)
+                .addValue("offset", 0L);
+        String sql = threadMetadataQueryRepository.buildSql(parse(filters), schema, null, params);
+        return String.join("\n", namedParameterJdbcTemplate.queryForList(
+                "EXPLAIN (FORMAT JSON) " + sql, params, String.class));
+    }
+
+    private static List<MetadataFilter> parse(String... filters) {
+        return Arrays.stream(filters).map(MetadataFilter::parse).toList();
+    }
+
+    private UUID thread(String tenantId, Instant createdAt, String metadata) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO threads (id, tenant_id, author_id, title, status, version, post_count, created_at,
+                                     last_activity_at, metadata)
+                VALUES (?, ?, ?, 'Question', 'OPEN', 0, 0, ?, now(), CAST(? AS jsonb))
+                """, id, tenantId, authorId, Timestamp.from(createdAt), metadata);
+        return id;
+    }
+}
@@ -4,6 +4,7 @@ import com.openforum.infra.jpa.TestApplication;
 import com.openforum.infra.jpa.entity.PostEntity;
 import com.openforum.infra.jpa.entity.MemberEntity;
 import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.projection.ThreadExportProjection;
 import com.openforum.infra.jpa.projection.ThreadWithOPProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +19,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -156,4 +158,19 @@ class ThreadRichQueryIntegrationTest {
         // Then
         assertThat(result).isEmpty();
     }
+
+    @Test
+    @DisplayName("findRichThreadsByIds returns OP content and author names for the tenant's threads only")
+    void findRichThreadsByIds_returnsTenantThreads() {
+        // When
+        List<ThreadExportProjection> result = threadJpaRepository.findRichThreadsByIds(
+                List.of(threadId, UUID.randomUUID()), "test-tenant");
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(threadId);
+        assertThat(result.get(0).getContent()).isEqualTo("This is the original post content for the thread.");
+        assertThat(result.get(0).getAuthorName()).isEqualTo("Test Author");
+        assertThat(threadJpaRepository.findRichThreadsByIds(List.of(threadId), "other-tenant")).isEmpty();
+    }
 }
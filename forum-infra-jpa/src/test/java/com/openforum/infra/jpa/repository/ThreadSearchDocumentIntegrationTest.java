@@ -0,0 +1,163 @@
+package com.openforum.infra.jpa.repository;
+
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SearchScope;
+import com.openforum.infra.jpa.TestApplication;
+import com.openforum.infra.jpa.entity.MemberEntity;
+import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.entity.ThreadEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Thread search documents are maintained by triggers and rebuilt by the batched
+ * reindex; these tests write through JPA and observe both through search.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+@Transactional
+class ThreadSearchDocumentIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    private static final String TENANT = "test-tenant";
+
+    @Autowired
+    private SearchRepositoryImpl searchRepository;
+
+    @Autowired
+    private ThreadJpaRepository threadJpaRepository;
+
+    @Autowired
+    private PostJpaRepository postJpaRepository;
+
+    @Autowired
+    private MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID authorId;
+    private UUID cardThreadId;
+
+    @BeforeEach
+    void setUp() {
+        MemberEntity member = new MemberEntity();
+        member.setId(UUID.randomUUID());
+        member.setTenantId(TENANT);
+        member.setExternalId("ext-" + UUID.randomUUID());
+        member.setEmail("test@example.com");
+        member.setName("Test Author");
+        member.setRole("USER");
+        member.setCreatedAt(Instant.now());
+        memberJpaRepository.save(member);
+        authorId = member.getId();
+
+        cardThreadId = thread("Selling my collection", Map.of("card_rarity", "mythic", "color", "azure"),
+                "Binder of beginner-friendly trades");
+        thread("Deal review", Map.of("deal_irr", "fourteen"), "Looking at a warehouse");
+        thread("Hello", null, "First time here");
+    }
+
+    @Test
+    @DisplayName("opening post content is searchable as soon as it is written")
+    void openingPost_isIndexedOnInsert() {
+        assertThat(threadHits("binder")).containsExactly(cardThreadId);
+        assertThat(threadHits("collection")).containsExactly(cardThreadId);
+        assertThat(threadHits("mythic")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("configured metadata keys are indexed after the batched reindex completes")
+    void reindex_indexesConfiguredMetadataInBatches() {
+        searchRepository.configureThreadDocument(List.of("card_rarity"));
+
+        assertThat(searchRepository.reindexThreads(2)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT reindex_cursor IS NOT NULL FROM search_settings",
+                Boolean.class)).isTrue();
+        assertThat(searchRepository.reindexThreads(2)).isEqualTo(1);
+        assertThat(searchRepository.reindexThreads(2)).isZero();
+
+        assertThat(threadHits("mythic")).containsExactly(cardThreadId);
+        assertThat(threadHits("azure")).isEmpty();
+        assertThat(threadHits("binder")).containsExactly(cardThreadId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT indexed_version = version AND reindex_cursor IS NULL FROM search_settings", Boolean.class))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("unchanged metadata keys do not trigger a reindex")
+    void configure_isNoOpWhenKeysUnchanged() {
+        searchRepository.configureThreadDocument(List.of("card_rarity"));
+        while (searchRepository.reindexThreads(100) == 100) {
+            // drain
+        }
+
+        searchRepository.configureThreadDocument(List.of("card_rarity"));
+
+        assertThat(searchRepository.reindexThreads(100)).isZero();
+    }
+
+    private List<UUID> threadHits(String text) {
+        return searchRepository.search(new SearchQuery(TENANT, text, SearchScope.THREADS, null, null, null, null, 10))
+                .stream()
+                .map(SearchHit::id)
+                .toList();
+    }
+
+    private UUID thread(String title, Map<String, Object> metadata, String opContent) {
+        ThreadEntity thread = new ThreadEntity();
+        thread.setId(UUID.randomUUID());
+        thread.setTenantId(TENANT);
+        thread.setTitle(title);
+        thread.setMetadata(metadata);
+        thread.setStatus(com.openforum.domain.aggregate.ThreadStatus.OPEN);
+        thread.setAuthorId(authorId);
+        thread.setPostCount(1);
+        thread.setCreatedAt(Instant.now());
+        thread.setLastActivityAt(Instant.now());
+        threadJpaRepository.saveAndFlush(thread);
+
+        PostEntity post = new PostEntity();
+        post.setId(UUID.randomUUID());
+        post.setTenantId(TENANT);
+        post.setThreadId(thread.getId());
+        post.setAuthorId(authorId);
+        post.setContent(opContent);
+        post.setPostNumber(1);
+        postJpaRepository.saveAndFlush(post);
+        return thread.getId();
+    }
+}
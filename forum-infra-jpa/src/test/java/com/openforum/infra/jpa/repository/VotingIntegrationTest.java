@@ -6,6 +6,7 @@ import com.openforum.infra.jpa.entity.PostEntity;
 import com.openforum.infra.jpa.entity.PostVoteEntity;
 import com.openforum.infra.jpa.entity.MemberEntity;
 import com.openforum.infra.jpa.entity.ThreadEntity;
+import com.openforum.infra.jpa.projection.ThreadStampProjection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -95,6 +97,7 @@ class VotingIntegrationTest {
         post.setAuthorId(memberId);
         post.setTenantId(tenantId);
         post.setContent("Test post content");
+        post.setPostNumber(1);
         post.setScore(0);
         post = postJpaRepository.save(post);
         postId = post.getId();
@@ -105,9 +108,10 @@ class VotingIntegrationTest {
     void newUpvote_increasesScoreByOne() {
         // When
         voteRepository.save(postId, memberId, tenantId, 1);
-        voteRepository.updatePostScore(postId, 1);
+        Optional<UUID> votedThreadId = voteRepository.updatePostScore(postId, 1);
 
         // Then
+        assertThat(votedThreadId).contains(threadId);
         PostEntity post = postJpaRepository.findById(postId).orElseThrow();
         assertThat(post.getScore()).isEqualTo(1);
 
@@ -116,6 +120,26 @@ class VotingIntegrationTest {
         assertThat(vote.get().getValue()).isEqualTo((short) 1);
     }
 
+    @Test
+    @DisplayName("Each vote advances the thread's validator stamp without touching the edit time")
+    void vote_advancesThreadStamp() {
+        // Given
+        ThreadStampProjection before = threadJpaRepository.findStampById(threadId).orElseThrow();
+
+        // When
+        voteRepository.updatePostScore(postId, 1);
+        ThreadStampProjection afterFirst = threadJpaRepository.findStampById(threadId).orElseThrow();
+        voteRepository.updatePostScore(postId, -1);
+        ThreadStampProjection afterSecond = threadJpaRepository.findStampById(threadId).orElseThrow();
+
+        // Then
+        assertThat(before.getPostsLastVotedAt()).isNull();
+        assertThat(afterFirst.getPostsLastVotedAt()).isNotNull();
+        assertThat(afterSecond.getPostsLastVotedAt()).isAfter(afterFirst.getPostsLastVotedAt());
+        assertThat(afterSecond.getPostsLastModifiedAt()).isEqualTo(before.getPostsLastModifiedAt());
+        assertThat(afterSecond.getVersion()).isEqualTo(before.getVersion());
+    }
+
     @Test
     @DisplayName("New downvote decreases post score by 1")
     void newDownvote_decreasesScoreByOne() {
@@ -181,6 +205,7 @@ class VotingIntegrationTest {
         post2.setAuthorId(memberId);
         post2.setTenantId(tenantId);
         post2.setContent("Second post");
+        post2.setPostNumber(2);
         post2.setScore(0);
         post2 = postJpaRepository.save(post2);
 
@@ -0,0 +1,114 @@
+package com.openforum.infra.jpa.routing;
+
+import com.openforum.infra.jpa.TestApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two independent databases stand in for a primary and its replica; the
+ * database name tells which one served a statement.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@Testcontainers
+class ReadReplicaRoutingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("primarydb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("pgvector/pgvector:pg16")
+            .withDatabaseName("replicadb")
+            .withUsername("replica")
+            .withPassword("replica");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("app.datasource.replicas.urls", replica::getJdbcUrl);
+        registry.add("app.datasource.replicas.username", replica::getUsername);
+        registry.add("app.datasource.replicas.password", replica::getPassword);
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+    }
+
+    @Test
+    @DisplayName("read-only transactions are served by the replica")
+    void readOnlyTransaction_usesReplica() {
+        assertThat(currentDatabase(true)).isEqualTo("replicadb");
+        assertThat(ReadYourWritesContext.hasWritten()).isFalse();
+    }
+
+    @Test
+    @DisplayName("read-write transactions use the primary and record a write")
+    void readWriteTransaction_usesPrimary() {
+        assertThat(currentDatabase(false)).isEqualTo("primarydb");
+        assertThat(ReadYourWritesContext.hasWritten()).isTrue();
+    }
+
+    @Test
+    @DisplayName("read-your-writes forces read-only transactions to the primary")
+    void readYourWrites_forcesPrimary() {
+        ReadYourWritesContext.requirePrimary();
+
+        assertThat(currentDatabase(true)).isEqualTo("primarydb");
+    }
+
+    @Test
+    @DisplayName("read-only transactions after a write in the same request use the primary")
+    void readOnlyAfterWrite_usesPrimary() {
+        currentDatabase(false);
+
+        assertThat(currentDatabase(true)).isEqualTo("primarydb");
+    }
+
+    @Test
+    @DisplayName("each pool exposes Hikari metrics under its own name")
+    void pools_exposeMetrics() {
+        currentDatabase(true);
+        currentDatabase(false);
+
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica-0").gauge()).isNotNull();
+        assertThat(meterRegistry.find("openforum.datasource.replica.lag").tag("pool", "replica-0").gauge())
+                .isNotNull();
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
@@ -0,0 +1,49 @@
+package com.openforum.infra.jpa.type;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PgVectorTypeTest {
+
+    @Test
+    void should_round_trip_through_text_format() {
+        // Given
+        float[] vector = { 0.1f, -2.5f, 3.0E-5f, 0f };
+
+        // When
+        String literal = PgVectorType.format(vector);
+
+        // Then
+        assertThat(literal).isEqualTo("[0.1,-2.5,3.0E-5,0.0]");
+        assertThat(PgVectorType.parse(literal)).containsExactly(vector);
+    }
+
+    @Test
+    void should_parse_pgvector_output() {
+        assertThat(PgVectorType.parse("[1,0.25,-3e-05]")).containsExactly(1f, 0.25f, -3e-05f);
+        assertThat(PgVectorType.parse("[]")).isEmpty();
+    }
+
+    @Test
+    void should_reject_malformed_literal() {
+        assertThatThrownBy(() -> PgVectorType.parse("1,2,3"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_copy_arrays_so_dirty_checking_sees_changes() {
+        // Given
+        PgVectorType type = new PgVectorType();
+        float[] vector = { 1f, 2f };
+
+        // When
+        float[] copy = type.deepCopy(vector);
+        vector[0] = 9f;
+
+        // Then
+        assertThat(copy).containsExactly(1f, 2f);
+        assertThat(type.equals(copy, vector)).isFalse();
+    }
+}
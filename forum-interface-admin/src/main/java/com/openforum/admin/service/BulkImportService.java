@@ -4,15 +4,19 @@ import com.openforum.admin.dto.BulkImportRequest;
 import com.openforum.admin.dto.BulkImportResponse;
 import com.openforum.admin.dto.ImportPostDto;
 import com.openforum.admin.dto.ImportThreadDto;
+import com.openforum.application.service.ThreadMetadataSchemaService;
 import com.openforum.domain.aggregate.Thread;
 import com.openforum.domain.factory.ThreadFactory;
 import com.openforum.domain.factory.ThreadFactory.ImportedPostData;
 import com.openforum.domain.aggregate.ThreadStatus;
 import com.openforum.domain.repository.ThreadRepository;
+import com.openforum.domain.valueobject.MetadataSchema;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Application service for bulk import operations.
@@ -23,11 +27,14 @@ public class BulkImportService {
 
     private final ThreadRepository threadRepository;
     private final com.openforum.domain.repository.MemberRepository memberRepository;
+    private final ThreadMetadataSchemaService threadMetadataSchemaService;
 
     public BulkImportService(ThreadRepository threadRepository,
-            com.openforum.domain.repository.MemberRepository memberRepository) {
+            com.openforum.domain.repository.MemberRepository memberRepository,
+            ThreadMetadataSchemaService threadMetadataSchemaService) {
         this.threadRepository = threadRepository;
         this.memberRepository = memberRepository;
+        this.threadMetadataSchemaService = threadMetadataSchemaService;
     }
 
     /**
@@ -51,9 +58,12 @@ public class BulkImportService {
                     "One or more authors do not exist in the system. Please ensure all users are migrated before importing threads.");
         }
 
-        // Convert DTOs to domain aggregates using the event-less factory
+        // Convert DTOs to domain aggregates using the event-less factory, checking
+        // metadata against each tenant's schema
+        Map<String, MetadataSchema> schemas = new HashMap<>();
         List<Thread> threads = request.threads().stream()
-                .map(this::toDomainThread)
+                .map(dto -> toDomainThread(dto,
+                        schemas.computeIfAbsent(dto.tenantId(), threadMetadataSchemaService::schema)))
                 .toList();
 
         // Batch save all threads (events will be empty, so outbox stays clean)
@@ -67,23 +77,30 @@ public class BulkImportService {
         return BulkImportResponse.success(threads.size(), totalPosts);
     }
 
-    private Thread toDomainThread(ImportThreadDto dto) {
+    private Thread toDomainThread(ImportThreadDto dto, MetadataSchema schema) {
         // Convert post DTOs to domain value objects
         List<ImportedPostData> posts = dto.posts().stream()
                 .map(this::toImportedPostData)
                 .toList();
 
         // Use ThreadFactory.createImported to bypass event generation
-        return ThreadFactory.createImported(
-                dto.id(),
-                dto.tenantId(),
-                dto.authorId(),
-                dto.categoryId(), // Nullable - categories are optional
-                dto.title(),
-                dto.status() != null ? dto.status() : ThreadStatus.OPEN,
-                dto.createdAt(),
-                dto.metadata() != null ? dto.metadata() : java.util.Map.of(),
-                posts);
+        try {
+            return ThreadFactory.createImported(
+                    dto.id(),
+                    dto.tenantId(),
+                    dto.authorId(),
+                    dto.categoryId(), // Nullable - categories are optional
+                    dto.title(),
+                    dto.status() != null ? dto.status() : ThreadStatus.OPEN,
+                    dto.createdAt(),
+                    dto.metadata() != null ? dto.metadata() : java.util.Map.of(),
+                    posts,
+                    schema);
+        } catch (IllegalArgumentException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST,
+                    "Thread " + dto.id() + ": " + e.getMessage());
+        }
     }
 
     private ImportedPostData toImportedPostData(ImportPostDto dto) {
@@ -4,9 +4,11 @@ import com.openforum.admin.dto.BulkImportRequest;
 import com.openforum.admin.dto.BulkImportResponse;
 import com.openforum.admin.dto.ImportPostDto;
 import com.openforum.admin.dto.ImportThreadDto;
+import com.openforum.application.service.ThreadMetadataSchemaService;
 import com.openforum.domain.aggregate.Thread;
 import com.openforum.domain.aggregate.ThreadStatus;
 import com.openforum.domain.repository.ThreadRepository;
+import com.openforum.domain.valueobject.MetadataSchema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,11 +33,15 @@ class BulkImportServiceTest {
         @Mock
         private com.openforum.domain.repository.MemberRepository memberRepository;
 
+        @Mock
+        private ThreadMetadataSchemaService threadMetadataSchemaService;
+
         private BulkImportService bulkImportService;
 
         @BeforeEach
         void setUp() {
-                bulkImportService = new BulkImportService(threadRepository, memberRepository);
+                bulkImportService = new BulkImportService(threadRepository, memberRepository,
+                                threadMetadataSchemaService);
         }
 
         @Test
@@ -70,6 +76,8 @@ class BulkImportServiceTest {
 
                 org.mockito.Mockito.when(memberRepository.existsAllById(org.mockito.ArgumentMatchers.anyList()))
                                 .thenReturn(true);
+                org.mockito.Mockito.when(threadMetadataSchemaService.schema("tenant-1"))
+                                .thenReturn(MetadataSchema.EMPTY);
 
                 // When
                 BulkImportResponse response = bulkImportService.importThreads(request);
@@ -125,4 +133,32 @@ class BulkImportServiceTest {
                                         bulkImportService.importThreads(request);
                                 });
         }
+
+        @Test
+        void shouldThrowBadRequestWhenMetadataDoesNotMatchTenantSchema() {
+                // Given
+                ImportThreadDto threadDto = new ImportThreadDto(
+                                UUID.randomUUID(),
+                                "tenant-1",
+                                UUID.randomUUID(),
+                                null,
+                                "Test Thread",
+                                ThreadStatus.OPEN,
+                                Instant.now(),
+                                Map.of("deal_irr", "high"),
+                                List.of());
+
+                BulkImportRequest request = new BulkImportRequest(List.of(threadDto));
+
+                org.mockito.Mockito.when(memberRepository.existsAllById(org.mockito.ArgumentMatchers.anyList()))
+                                .thenReturn(true);
+                org.mockito.Mockito.when(threadMetadataSchemaService.schema("tenant-1"))
+                                .thenReturn(new MetadataSchema(Map.of("deal_irr", MetadataSchema.FieldType.NUMBER)));
+
+                // When & Then
+                org.junit.jupiter.api.Assertions.assertThrows(
+                                org.springframework.web.server.ResponseStatusException.class,
+                                () -> bulkImportService.importThreads(request));
+                org.mockito.Mockito.verifyNoInteractions(threadRepository);
+        }
 }
@@ -1,8 +1,7 @@
 package com.openforum.ai.service;
 
 import com.openforum.ai.config.TenantAiConfig;
-import com.openforum.domain.aggregate.Tenant;
-import com.openforum.domain.repository.TenantRepository;
+import com.openforum.application.cache.TenantCache;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -10,15 +9,13 @@ import java.util.Optional;
 @Service
 public class TenantAiConfigService {
 
-    private final TenantRepository tenantRepository;
+    private final TenantCache tenantCache;
 
-    public TenantAiConfigService(TenantRepository tenantRepository) {
-        this.tenantRepository = tenantRepository;
+    public TenantAiConfigService(TenantCache tenantCache) {
+        this.tenantCache = tenantCache;
     }
 
     public Optional<TenantAiConfig> getConfig(String tenantId) {
-        return tenantRepository.findById(tenantId)
-                .map(Tenant::getConfig)
-                .map(TenantAiConfig::from);
+        return tenantCache.view(tenantId, TenantAiConfig.class, TenantAiConfig::from);
     }
 }
@@ -77,6 +77,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 UUID.randomUUID(),
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "Bot content",
                                 Instant.now(),
@@ -98,6 +99,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User content",
                                 Instant.now(),
@@ -133,6 +135,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User content",
                                 Instant.now(),
@@ -169,6 +172,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 postId,
                                 threadId,
+                                "tenant123",
                                 authorId,
                                 "User question",
                                 Instant.now(),
@@ -244,6 +248,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User question",
                                 Instant.now(),
@@ -279,6 +284,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User question",
                                 Instant.now(),
@@ -317,6 +323,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User question",
                                 Instant.now(),
@@ -358,6 +365,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User question",
                                 Instant.now(),
@@ -381,6 +389,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User question",
                                 Instant.now(),
@@ -430,6 +439,7 @@ class PostCreatedEventListenerTest {
                 PostCreatedEvent event = new PostCreatedEvent(
                                 UUID.randomUUID(),
                                 threadId,
+                                "tenant123",
                                 UUID.randomUUID(),
                                 "User question",
                                 Instant.now(),
@@ -1,6 +1,7 @@
 package com.openforum.ai.service;
 
 import com.openforum.ai.config.TenantAiConfig;
+import com.openforum.application.cache.TenantCache;
 import com.openforum.domain.aggregate.Tenant;
 import com.openforum.domain.factory.TenantFactory;
 import com.openforum.domain.repository.TenantRepository;
@@ -10,11 +11,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,7 +31,7 @@ class TenantAiConfigServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new TenantAiConfigService(tenantRepository);
+        service = new TenantAiConfigService(new TenantCache(tenantRepository, Duration.ofMinutes(5)));
     }
 
     @Test
@@ -64,4 +68,20 @@ class TenantAiConfigServiceTest {
         // Then
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        Tenant tenant = TenantFactory.create("tenant123", "slug-123", "Tenant 123", Map.of("ai.enabled", true),
+                java.time.Instant.now(), null, java.time.Instant.now(), null);
+        when(tenantRepository.findById("tenant123")).thenReturn(Optional.of(tenant));
+
+        // When
+        TenantAiConfig first = service.getConfig("tenant123").orElseThrow();
+        TenantAiConfig second = service.getConfig("tenant123").orElseThrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(tenantRepository, times(1)).findById("tenant123");
+    }
 }
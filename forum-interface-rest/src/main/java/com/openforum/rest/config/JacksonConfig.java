@@ -0,0 +1,20 @@
+package com.openforum.rest.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Lets DTOs carrying a {@code @JsonFilter} id be written by the shared
+     * mapper outside a filtered response (e.g. streamed exports): unknown
+     * filter ids serialize every property.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer unfilteredByDefault() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -2,10 +2,12 @@ package com.openforum.rest.controller;
 
 import com.openforum.rest.service.BookmarkService;
 import com.openforum.domain.aggregate.Member;
-import com.openforum.domain.aggregate.Post;
 import com.openforum.domain.context.TenantContext;
 import com.openforum.rest.controller.dto.PageResponse;
 import com.openforum.rest.controller.dto.PostResponse;
+import com.openforum.rest.streaming.JsonStreamWriter;
+import com.openforum.rest.streaming.StreamFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
@@ -13,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,9 +26,11 @@ import java.util.UUID;
 public class BookmarkController {
 
     private final BookmarkService bookmarkService;
+    private final ObjectMapper objectMapper;
 
-    public BookmarkController(BookmarkService bookmarkService) {
+    public BookmarkController(BookmarkService bookmarkService, ObjectMapper objectMapper) {
         this.bookmarkService = bookmarkService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Bookmark Post", description = "Saves a post to user's private collection")
@@ -62,11 +67,10 @@ public class BookmarkController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        Page<Post> bookmarks = bookmarkService.getMemberBookmarks(memberId, page, size);
+        Page<BookmarkService.BookmarkedPost> bookmarks = bookmarkService.getMemberBookmarks(memberId, page, size);
 
         List<PostResponse> content = bookmarks.getContent().stream()
-                .filter(post -> post != null)
-                .map(post -> PostResponse.from(post, null)) // Author name not needed for bookmark list
+                .map(PostResponse::from)
                 .toList();
 
         return ResponseEntity.ok(new PageResponse<>(
@@ -79,6 +83,31 @@ public class BookmarkController {
                 bookmarks.isLast()));
     }
 
+    @Operation(summary = "Stream Member Bookmarks", description = "Streams all of the user's bookmarked posts as NDJSON (default) or a JSON array (format=json), without paging")
+    @GetMapping("/members/{memberId}/bookmarks/stream")
+    public ResponseEntity<StreamingResponseBody> streamMemberBookmarks(
+            @PathVariable UUID memberId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal Member member) {
+
+        // Security: Only allow exporting own bookmarks
+        if (!member.getId().equals(memberId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        StreamFormat streamFormat = StreamFormat.from(format);
+
+        StreamingResponseBody body = out -> {
+            try (JsonStreamWriter writer = new JsonStreamWriter(out, objectMapper, streamFormat)) {
+                bookmarkService.streamMemberBookmarks(memberId, result -> writer.write(PostResponse.from(result)));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(streamFormat.mediaType())
+                .body(body);
+    }
+
     @Operation(summary = "Check Bookmark Status", description = "Checks if user has bookmarked a specific post")
     @GetMapping("/posts/{postId}/bookmark")
     public ResponseEntity<BookmarkStatusResponse> getBookmarkStatus(
@@ -1,5 +1,6 @@
 package com.openforum.rest.controller;
 
+import com.openforum.application.service.MemberMentionService;
 import com.openforum.domain.aggregate.Member;
 import com.openforum.domain.repository.MemberRepository;
 import com.openforum.domain.context.TenantContext;
@@ -21,9 +22,11 @@ import java.util.UUID;
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final MemberMentionService memberMentionService;
 
-    public MemberController(MemberRepository memberRepository) {
+    public MemberController(MemberRepository memberRepository, MemberMentionService memberMentionService) {
         this.memberRepository = memberRepository;
+        this.memberMentionService = memberMentionService;
     }
 
     @Operation(summary = "Get Member by External ID", description = "Retrieves member details by external ID (e.g. Clerk ID)")
@@ -59,14 +62,13 @@ public class MemberController {
                 member.getReputation());
     }
 
-    @Operation(summary = "Search Members", description = "Searches for members by handle or name within the tenant")
+    @Operation(summary = "Search Members", description = "Suggests members for @mentions whose name or email starts with the query; participants of the given thread come first")
     @GetMapping("/search")
-    public ResponseEntity<List<MemberSummaryDto>> searchMembers(@RequestParam String q) {
+    public ResponseEntity<List<MemberSummaryDto>> searchMembers(@RequestParam String q,
+            @RequestParam(required = false) UUID threadId) {
         String tenantId = TenantContext.getTenantId();
-        List<Member> members = memberRepository.searchByHandleOrName(tenantId, q, 10);
-        List<MemberSummaryDto> response = members.stream()
-                .map(member -> new MemberSummaryDto(member.getId(), member.getName(), member.getEmail(),
-                        member.getAvatarUrl()))
+        List<MemberSummaryDto> response = memberMentionService.suggest(tenantId, q, threadId, 10).stream()
+                .map(member -> new MemberSummaryDto(member.id(), member.name(), member.email(), member.avatarUrl()))
                 .toList();
         return ResponseEntity.ok(response);
     }
@@ -1,22 +1,34 @@
 package com.openforum.rest.controller;
 
 import com.openforum.rest.service.PostQueryService;
+import com.openforum.rest.service.TopPostsCursor;
 import com.openforum.application.service.PostService;
 import com.openforum.domain.aggregate.Member;
 import com.openforum.domain.aggregate.Post;
 import com.openforum.domain.context.TenantContext;
 import com.openforum.rest.controller.dto.CreatePostRequest;
+import com.openforum.rest.controller.dto.CursorPageResponse;
 import com.openforum.rest.controller.dto.PageResponse;
 import com.openforum.rest.controller.dto.PostResponse;
+import com.openforum.rest.controller.dto.PostWindowResponse;
+import com.openforum.rest.controller.dto.ReplyTreeResponse;
+import com.openforum.rest.fields.FieldSelection;
+import com.openforum.rest.service.ContentMode;
+import com.openforum.rest.streaming.JsonStreamWriter;
+import com.openforum.rest.streaming.StreamFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -25,10 +37,13 @@ public class PostController {
 
         private final PostService postService;
         private final PostQueryService postQueryService;
+        private final ObjectMapper objectMapper;
 
-        public PostController(PostService postService, PostQueryService postQueryService) {
+        public PostController(PostService postService, PostQueryService postQueryService,
+                        ObjectMapper objectMapper) {
                 this.postService = postService;
                 this.postQueryService = postQueryService;
+                this.objectMapper = objectMapper;
         }
 
         @Operation(summary = "Create Post", description = "Creates a new post (reply) in a thread")
@@ -52,41 +67,40 @@ public class PostController {
                                 .body(PostResponse.from(post, member.getName()));
         }
 
-        @Operation(summary = "Get Posts by Thread", description = "Retrieves paginated posts for a thread. Sort by 'oldest' (chronological) or 'top' (score desc)")
+        @Operation(summary = "Get Posts by Thread", description = "Retrieves paginated posts for a thread. Sort by 'oldest' (chronological) or 'top' (score desc). Supports a sparse fieldset (fields=id,authorName,score), content=full|excerpt|none and If-None-Match / If-Modified-Since.")
         @GetMapping("/threads/{threadId}/posts")
         public ResponseEntity<PageResponse<PostResponse>> getPostsByThread(
                         @PathVariable UUID threadId,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "20") int size,
-                        @RequestParam(defaultValue = "oldest") String sort) {
+                        @RequestParam(defaultValue = "oldest") String sort,
+                        @RequestParam(required = false) String fields,
+                        @RequestParam(defaultValue = "full") String content,
+                        WebRequest webRequest) {
+                // The cursor handlers each take exactly one cursor; more than one ends up here
+                if (Stream.of("around", "after", "before").anyMatch(cursor -> webRequest.getParameter(cursor) != null)) {
+                        return ResponseEntity.badRequest().build();
+                }
 
                 String tenantId = TenantContext.getTenantId();
 
-                PostQueryService.PostQueryPage queryPage = postQueryService.getPostsByThread(
-                                threadId, tenantId, page, size, sort);
+                // Every page of the thread shares the thread's validators (the URL varies per page)
+                java.util.Optional<com.openforum.rest.service.ThreadQueryService.ThreadStamp> stamp = postQueryService
+                                .getThreadStamp(threadId, tenantId);
+                if (stamp.isPresent() && webRequest.checkNotModified(stamp.get().etag(),
+                                stamp.get().lastModified().toEpochMilli())) {
+                        return null;
+                }
 
-                List<PostResponse> content = queryPage.content().stream()
-                                .map(result -> new PostResponse(
-                                                result.id(),
-                                                result.threadId(),
-                                                result.authorId(),
-                                                result.authorName(),
-                                                result.content(),
-                                                null, // version not needed for list view
-                                                result.replyToPostId(),
-                                                null, // metadata not needed for list view
-                                                result.createdAt(),
-                                                result.postNumber(),
-                                                result.score(),
-                                                null, // userVote not available in this query
-                                                0, // bookmarkCount - not available in this query
-                                                false, // isBookmarked - not available in this query
-                                                null, // deletedAt
-                                                null)) // lastModifiedAt
+                PostQueryService.PostQueryPage queryPage = postQueryService.getPostsByThread(threadId, tenantId, page,
+                                size, sort, FieldSelection.parse(fields).contentMode(ContentMode.from(content)));
+
+                List<PostResponse> posts = queryPage.content().stream()
+                                .map(PostResponse::from)
                                 .toList();
 
                 return ResponseEntity.ok(new PageResponse<>(
-                                content,
+                                posts,
                                 queryPage.page(),
                                 queryPage.size(),
                                 queryPage.totalElements(),
@@ -95,6 +109,144 @@ public class PostController {
                                 queryPage.last()));
         }
 
+        @Operation(summary = "Get Posts Around a Post Number", description = "Retrieves the window of posts around a post number, e.g. for deep links. Use the before/after cursors in the response to page further. Supports If-None-Match / If-Modified-Since.")
+        @GetMapping(value = "/threads/{threadId}/posts", params = { "around", "!after", "!before" })
+        public ResponseEntity<PostWindowResponse> getPostsAround(
+                        @PathVariable UUID threadId,
+                        @RequestParam int around,
+                        @RequestParam(defaultValue = "20") int size,
+                        WebRequest webRequest) {
+                return postWindow(threadId, around, webRequest,
+                                tenantId -> postQueryService.getPostsAround(threadId, tenantId, around, size));
+        }
+
+        @Operation(summary = "Get Posts After a Post Number", description = "Retrieves the posts following a post number in order; pass a window's after cursor.")
+        @GetMapping(value = "/threads/{threadId}/posts", params = { "after", "!around", "!before" })
+        public ResponseEntity<PostWindowResponse> getPostsAfter(
+                        @PathVariable UUID threadId,
+                        @RequestParam int after,
+                        @RequestParam(defaultValue = "20") int size,
+                        WebRequest webRequest) {
+                return postWindow(threadId, after, webRequest,
+                                tenantId -> postQueryService.getPostsAfter(threadId, tenantId, after, size));
+        }
+
+        @Operation(summary = "Get Posts Before a Post Number", description = "Retrieves the posts preceding a post number in order; pass a window's before cursor.")
+        @GetMapping(value = "/threads/{threadId}/posts", params = { "before", "!around", "!after" })
+        public ResponseEntity<PostWindowResponse> getPostsBefore(
+                        @PathVariable UUID threadId,
+                        @RequestParam int before,
+                        @RequestParam(defaultValue = "20") int size,
+                        WebRequest webRequest) {
+                return postWindow(threadId, before, webRequest,
+                                tenantId -> postQueryService.getPostsBefore(threadId, tenantId, before, size));
+        }
+
+        private ResponseEntity<PostWindowResponse> postWindow(UUID threadId, int postNumber, WebRequest webRequest,
+                        java.util.function.Function<String, PostQueryService.PostWindow> query) {
+                if (postNumber < 1) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                String tenantId = TenantContext.getTenantId();
+
+                java.util.Optional<com.openforum.rest.service.ThreadQueryService.ThreadStamp> stamp = postQueryService
+                                .getThreadStamp(threadId, tenantId);
+                if (stamp.isPresent() && webRequest.checkNotModified(stamp.get().etag(),
+                                stamp.get().lastModified().toEpochMilli())) {
+                        return null;
+                }
+
+                PostQueryService.PostWindow window = query.apply(tenantId);
+
+                List<PostResponse> content = window.content().stream()
+                                .map(PostResponse::from)
+                                .toList();
+
+                return ResponseEntity.ok(new PostWindowResponse(content, window.size(), window.before(),
+                                window.after()));
+        }
+
+        @Operation(summary = "Get Top Posts by Thread", description = "Retrieves posts for a thread ranked by score (desc, then oldest first) with cursor paging: pass nextCursor back as cursor for the next page. Supports If-None-Match / If-Modified-Since.")
+        @GetMapping("/threads/{threadId}/posts/top")
+        public ResponseEntity<CursorPageResponse<PostResponse>> getTopPostsByThread(
+                        @PathVariable UUID threadId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") int size,
+                        WebRequest webRequest) {
+
+                String tenantId = TenantContext.getTenantId();
+
+                TopPostsCursor position;
+                try {
+                        position = cursor != null ? TopPostsCursor.decode(cursor) : null;
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                java.util.Optional<com.openforum.rest.service.ThreadQueryService.ThreadStamp> stamp = postQueryService
+                                .getThreadStamp(threadId, tenantId);
+                if (stamp.isPresent() && webRequest.checkNotModified(stamp.get().etag(),
+                                stamp.get().lastModified().toEpochMilli())) {
+                        return null;
+                }
+
+                PostQueryService.PostCursorPage queryPage = postQueryService.getTopPostsByThread(
+                                threadId, tenantId, position, size);
+
+                List<PostResponse> content = queryPage.content().stream()
+                                .map(PostResponse::from)
+                                .toList();
+
+                return ResponseEntity.ok(CursorPageResponse.of(content, queryPage.size(), queryPage.nextCursor()));
+        }
+
+        @Operation(summary = "Stream Posts by Thread", description = "Streams every post of a thread in order as NDJSON (default) or a JSON array (format=json), without paging")
+        @GetMapping("/threads/{threadId}/posts/stream")
+        public ResponseEntity<StreamingResponseBody> streamPostsByThread(
+                        @PathVariable UUID threadId,
+                        @RequestParam(defaultValue = "ndjson") String format) {
+
+                // Resolve on the request thread; the body is written from an async thread
+                String tenantId = TenantContext.getTenantId();
+                StreamFormat streamFormat = StreamFormat.from(format);
+
+                StreamingResponseBody body = out -> {
+                        try (JsonStreamWriter writer = new JsonStreamWriter(out, objectMapper, streamFormat)) {
+                                postQueryService.streamPostsByThread(threadId, tenantId,
+                                                result -> writer.write(PostResponse.from(result)));
+                        }
+                };
+
+                return ResponseEntity.ok()
+                                .contentType(streamFormat.mediaType())
+                                .body(body);
+        }
+
+        @Operation(summary = "Get Replies", description = "Retrieves the replies beneath a post down to the given depth, in depth-first order, with per-reply descendant counts")
+        @GetMapping("/posts/{postId}/replies")
+        public ResponseEntity<ReplyTreeResponse> getReplies(
+                        @PathVariable UUID postId,
+                        @RequestParam(defaultValue = "1") int depth,
+                        @RequestParam(defaultValue = "100") int limit) {
+
+                String tenantId = TenantContext.getTenantId();
+
+                return postQueryService.getReplies(postId, tenantId, depth, limit)
+                                .map(tree -> new ReplyTreeResponse(
+                                                tree.postId(),
+                                                tree.descendantCount(),
+                                                tree.replies().stream()
+                                                                .map(node -> new ReplyTreeResponse.Reply(
+                                                                                PostResponse.from(node.post()),
+                                                                                node.depth(),
+                                                                                node.descendantCount()))
+                                                                .toList(),
+                                                tree.truncated()))
+                                .map(ResponseEntity::ok)
+                                .orElse(ResponseEntity.notFound().build());
+        }
+
         @Operation(summary = "Update Post", description = "Updates post content. Only the author can edit their own posts.")
         @PutMapping("/posts/{postId}")
         public ResponseEntity<PostResponse> updatePost(
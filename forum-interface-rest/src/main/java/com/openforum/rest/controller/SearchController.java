@@ -0,0 +1,103 @@
+package com.openforum.rest.controller;
+
+import com.openforum.application.service.HybridSearchService;
+import com.openforum.application.service.SearchService;
+import com.openforum.domain.context.TenantContext;
+import com.openforum.domain.valueobject.SearchCursor;
+import com.openforum.domain.valueobject.SearchScope;
+import com.openforum.rest.controller.dto.CursorPageResponse;
+import com.openforum.rest.controller.dto.HybridSearchResponse;
+import com.openforum.rest.controller.dto.SearchHitResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@Tag(name = "Search", description = "Full-text search APIs")
+public class SearchController {
+
+    private final SearchService searchService;
+    private final HybridSearchService hybridSearchService;
+
+    public SearchController(SearchService searchService, HybridSearchService hybridSearchService) {
+        this.searchService = searchService;
+        this.hybridSearchService = hybridSearchService;
+    }
+
+    @Operation(summary = "Search", description = "Ranked full-text search over thread titles and post content with highlighted snippets. q uses web-search syntax (\"phrase\", -word, OR). Filter by scope (all|threads|posts), categoryId and from/to (ISO-8601 instants); pass nextCursor back as cursor for the next page.")
+    @GetMapping
+    public ResponseEntity<CursorPageResponse<SearchHitResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "all") String scope,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        SearchScope searchScope;
+        Instant fromInstant;
+        Instant toInstant;
+        SearchCursor after;
+        try {
+            searchScope = SearchScope.valueOf(scope.toUpperCase(Locale.ROOT));
+            fromInstant = from != null ? Instant.parse(from) : null;
+            toInstant = to != null ? Instant.parse(to) : null;
+            after = cursor != null ? SearchCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SearchService.SearchResults results = searchService.search(TenantContext.getTenantId(), q, searchScope,
+                categoryId, fromInstant, toInstant, after, size);
+
+        List<SearchHitResponse> content = results.hits().stream()
+                .map(SearchHitResponse::from)
+                .toList();
+
+        return ResponseEntity.ok(CursorPageResponse.of(content, results.size(),
+                results.next() != null ? results.next().encode() : null));
+    }
+
+    @Operation(summary = "Hybrid search", description = "Keyword and semantic (embedding similarity) search run in parallel and merged with reciprocal rank fusion. Takes the same q, scope, categoryId and from/to as search; efSearch tunes the HNSW candidate list (higher is slower with better recall). Returns a single page with the latency of each leg.")
+    @GetMapping("/hybrid")
+    public ResponseEntity<HybridSearchResponse> hybridSearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "all") String scope,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Integer efSearch) {
+
+        SearchScope searchScope;
+        Instant fromInstant;
+        Instant toInstant;
+        try {
+            searchScope = SearchScope.valueOf(scope.toUpperCase(Locale.ROOT));
+            fromInstant = from != null ? Instant.parse(from) : null;
+            toInstant = to != null ? Instant.parse(to) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (efSearch != null && efSearch < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        HybridSearchService.HybridSearchResults results = hybridSearchService.search(TenantContext.getTenantId(),
+                q, searchScope, categoryId, fromInstant, toInstant, size, efSearch);
+
+        return ResponseEntity.ok(HybridSearchResponse.from(results));
+    }
+}
@@ -1,11 +1,15 @@
 package com.openforum.rest.controller;
 
-import com.openforum.domain.aggregate.Tag;
-import com.openforum.domain.repository.TagRepository;
+import com.openforum.application.cache.TagAutocompleteCache;
+import com.openforum.application.service.TagService;
+import com.openforum.domain.aggregate.Member;
 import com.openforum.domain.context.TenantContext;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,23 +22,37 @@ import java.util.UUID;
 @io.swagger.v3.oas.annotations.tags.Tag(name = "Tags", description = "Tag management APIs")
 public class TagController {
 
-    private final TagRepository tagRepository;
+    private final TagService tagService;
 
-    public TagController(TagRepository tagRepository) {
-        this.tagRepository = tagRepository;
+    public TagController(TagService tagService) {
+        this.tagService = tagService;
     }
 
-    @Operation(summary = "Search Tags", description = "Searches for tags by name prefix")
+    @Operation(summary = "Search Tags", description = "Searches for tags by name prefix, most used first")
     @GetMapping("/search")
     public ResponseEntity<List<TagDto>> searchTags(@RequestParam String q) {
         String tenantId = TenantContext.getTenantId();
-        List<Tag> tags = tagRepository.findByNameStartingWith(tenantId, q.toLowerCase(), 10);
+        List<TagAutocompleteCache.Suggestion> tags = tagService.autocomplete(tenantId, q, 10);
         List<TagDto> response = tags.stream()
-                .map(tag -> new TagDto(tag.getId(), tag.getName(), tag.getUsageCount()))
+                .map(tag -> new TagDto(tag.id(), tag.name(), tag.usageCount()))
                 .toList();
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Use Tag", description = "Counts one use of a tag, creating the tag on its first use")
+    @PostMapping("/uses")
+    public ResponseEntity<Void> useTag(@RequestBody TagUseRequest request,
+            @AuthenticationPrincipal Member member) {
+        if (request.name() == null || request.name().isBlank() || request.name().trim().length() > 255) {
+            return ResponseEntity.badRequest().build();
+        }
+        tagService.recordUsage(TenantContext.getTenantId(), request.name(), member.getId());
+        return ResponseEntity.noContent().build();
+    }
+
     public record TagDto(UUID id, String name, long usageCount) {
     }
+
+    public record TagUseRequest(String name) {
+    }
 }
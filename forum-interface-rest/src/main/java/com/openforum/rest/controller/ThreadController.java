@@ -1,19 +1,34 @@
 package com.openforum.rest.controller;
 
 import com.openforum.rest.service.ThreadQueryService;
+import com.openforum.application.service.RelatedThreadService;
+import com.openforum.application.service.ThreadFacetService;
 import com.openforum.application.service.ThreadService;
 import com.openforum.domain.aggregate.Member;
 import com.openforum.domain.aggregate.Thread;
 import com.openforum.domain.repository.MemberRepository;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSort;
 import com.openforum.rest.controller.dto.CreateThreadRequest;
+import com.openforum.rest.controller.dto.FacetResponse;
+import com.openforum.rest.controller.dto.RelatedThreadResponse;
+import com.openforum.rest.controller.dto.ThreadBatchResponse;
 import com.openforum.rest.controller.dto.ThreadResponse;
+import com.openforum.rest.fields.FieldSelection;
+import com.openforum.rest.service.ContentMode;
+import com.openforum.rest.streaming.JsonStreamWriter;
+import com.openforum.rest.streaming.StreamFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,16 +39,27 @@ import com.openforum.shared.api.TenantId;
 @Tag(name = "Threads", description = "Thread management APIs")
 public class ThreadController {
 
+        private static final int MAX_BATCH_IDS = 100;
+
         private final ThreadService threadService;
         private final ThreadQueryService threadQueryService;
+        private final RelatedThreadService relatedThreadService;
+        private final ThreadFacetService threadFacetService;
         private final MemberRepository memberRepository;
+        private final ObjectMapper objectMapper;
 
         public ThreadController(ThreadService threadService,
                         ThreadQueryService threadQueryService,
-                        MemberRepository memberRepository) {
+                        RelatedThreadService relatedThreadService,
+                        ThreadFacetService threadFacetService,
+                        MemberRepository memberRepository,
+                        ObjectMapper objectMapper) {
                 this.threadService = threadService;
                 this.threadQueryService = threadQueryService;
+                this.relatedThreadService = relatedThreadService;
+                this.threadFacetService = threadFacetService;
                 this.memberRepository = memberRepository;
+                this.objectMapper = objectMapper;
         }
 
         @Operation(summary = "Create Thread", description = "Creates a new thread")
@@ -61,48 +87,166 @@ public class ThreadController {
                                                 thread.getPostCount()));
         }
 
-        @Operation(summary = "Get Thread", description = "Retrieves thread details by ID with OP content")
+        @Operation(summary = "Get Thread", description = "Retrieves thread details by ID with OP content. Supports If-None-Match / If-Modified-Since.")
         @GetMapping("/{id}")
-        public ResponseEntity<ThreadResponse> getThread(@PathVariable UUID id) {
+        public ResponseEntity<ThreadResponse> getThread(@PathVariable UUID id, WebRequest webRequest) {
+                // Answer revalidation from the stamp alone; the body is only built on a miss
+                java.util.Optional<ThreadQueryService.ThreadStamp> stamp = threadQueryService.getThreadStamp(id);
+                if (stamp.isPresent() && webRequest.checkNotModified(stamp.get().etag(),
+                                stamp.get().lastModified().toEpochMilli())) {
+                        return null;
+                }
+
                 return threadQueryService.getRichThread(id)
-                                .map(result -> new ThreadResponse(
-                                                result.id(),
-                                                result.title(),
-                                                result.status(),
-                                                result.content(),
-                                                result.createdAt(),
-                                                result.authorId(),
-                                                result.authorName(),
-                                                result.postCount()))
+                                .map(ThreadController::toResponse)
                                 .map(ResponseEntity::ok)
                                 .orElse(ResponseEntity.notFound().build());
         }
 
-        @Operation(summary = "List Threads", description = "Retrieves a list of threads with OP content for a tenant. Supports optional metadata filtering.")
+        @Operation(summary = "Get Related Threads", description = "Retrieves the threads whose opening posts are most similar to this one's, best first. Lists are precomputed; empty until the opening post has been embedded.")
+        @GetMapping("/{id}/related")
+        public ResponseEntity<List<RelatedThreadResponse>> getRelatedThreads(@PathVariable UUID id) {
+                if (threadQueryService.getThreadStamp(id).isEmpty()) {
+                        return ResponseEntity.notFound().build();
+                }
+                return ResponseEntity.ok(relatedThreadService.getRelated(id).threads().stream()
+                                .map(RelatedThreadResponse::from)
+                                .toList());
+        }
+
+        @Operation(summary = "List Threads", description = "Retrieves a list of threads with OP content for a tenant. Supports metadata filtering, a sparse fieldset (fields=id,title,postCount) and content=full|excerpt|none. Repeatable filter=key:value matches a value; filter=key>n, >=, <, <= compare numbers or ISO-8601 dates. All filters must match; metadataKey/metadataValue is the same as filter=key:value. sort=key or sort=-key (descending) orders by a key declared in the tenant's metadata schema (tenant config metadata.schema).")
         @GetMapping
         public ResponseEntity<List<ThreadResponse>> getThreads(
                         @TenantId String tenantId,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(required = false) String metadataKey,
-                        @RequestParam(required = false) String metadataValue) {
-
-                List<ThreadResponse> response = threadQueryService.getRichThreads(
-                                tenantId, page, size, metadataKey, metadataValue).stream()
-                                .map(result -> new ThreadResponse(
-                                                result.id(),
-                                                result.title(),
-                                                result.status(),
-                                                result.content(),
-                                                result.createdAt(),
-                                                result.authorId(),
-                                                result.authorName(),
-                                                result.postCount()))
+                        @RequestParam(required = false) String metadataValue,
+                        @RequestParam(name = "filter", required = false) List<String> filter,
+                        @RequestParam(required = false) String sort,
+                        @RequestParam(required = false) String fields,
+                        @RequestParam(defaultValue = "full") String content) {
+
+                ContentMode contentMode = FieldSelection.parse(fields).contentMode(ContentMode.from(content));
+
+                List<ThreadQueryService.ThreadQueryResult> threads;
+                try {
+                        List<MetadataFilter> filters = metadataFilters(metadataKey, metadataValue, filter);
+                        MetadataSort metadataSort = sort != null ? MetadataSort.parse(sort) : null;
+                        threads = threadQueryService.getRichThreads(
+                                        tenantId, page, size, filters, metadataSort, contentMode);
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                List<ThreadResponse> response = threads.stream()
+                                .map(ThreadController::toResponse)
                                 .toList();
 
                 return ResponseEntity.ok(response);
         }
 
+        @Operation(summary = "Get Thread Facets", description = "Thread counts per value of each metadata key the tenant declares as a facet (tenant config facets.keys), for the threads matching the same filters as List Threads. Unfiltered counts are maintained as threads are written; filtered counts are computed per request.")
+        @GetMapping("/facets")
+        public ResponseEntity<List<FacetResponse>> getFacets(
+                        @TenantId String tenantId,
+                        @RequestParam(required = false) String metadataKey,
+                        @RequestParam(required = false) String metadataValue,
+                        @RequestParam(name = "filter", required = false) List<String> filter) {
+
+                List<MetadataFilter> filters;
+                try {
+                        filters = metadataFilters(metadataKey, metadataValue, filter);
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                return ResponseEntity.ok(threadFacetService.getFacets(tenantId, filters).stream()
+                                .map(FacetResponse::from)
+                                .toList());
+        }
+
+        /**
+         * The legacy metadataKey/metadataValue pair and any filter=... params as
+         * one list of filters.
+         *
+         * @throws IllegalArgumentException if a filter is malformed
+         */
+        private static List<MetadataFilter> metadataFilters(String metadataKey, String metadataValue,
+                        List<String> filter) {
+                List<MetadataFilter> filters = new ArrayList<>();
+                if (metadataKey != null && metadataValue != null) {
+                        filters.add(new MetadataFilter(metadataKey, MetadataFilter.Operator.EQ, metadataValue));
+                }
+                if (filter != null) {
+                        filter.stream().map(MetadataFilter::parse).forEach(filters::add);
+                }
+                return filters;
+        }
+
+        @Operation(summary = "Get Threads by IDs", description = "Retrieves up to 100 threads by comma-separated ids with OP content, in request order, and lists the ids that were not found")
+        @GetMapping(params = "ids")
+        public ResponseEntity<ThreadBatchResponse> getThreadsByIds(
+                        @TenantId String tenantId,
+                        @RequestParam String ids) {
+
+                List<UUID> threadIds;
+                try {
+                        threadIds = java.util.Arrays.stream(ids.split(","))
+                                        .map(String::trim)
+                                        .filter(id -> !id.isEmpty())
+                                        .map(UUID::fromString)
+                                        .toList();
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                return threadBatch(tenantId, threadIds);
+        }
+
+        @Operation(summary = "Get Threads by IDs (POST)", description = "Same as GET /threads?ids=... with the ids in the request body, for lists too long for a URL")
+        @PostMapping("/batch")
+        public ResponseEntity<ThreadBatchResponse> postThreadsByIds(
+                        @TenantId String tenantId,
+                        @RequestBody ThreadBatchRequest request) {
+
+                return threadBatch(tenantId, request.ids() != null ? request.ids() : List.of());
+        }
+
+        private ResponseEntity<ThreadBatchResponse> threadBatch(String tenantId, List<UUID> ids) {
+                if (ids.size() > MAX_BATCH_IDS) {
+                        return ResponseEntity.badRequest().build();
+                }
+
+                ThreadQueryService.ThreadBatch batch = threadQueryService.getRichThreadsByIds(ids, tenantId);
+
+                return ResponseEntity.ok(new ThreadBatchResponse(
+                                batch.threads().stream()
+                                                .map(ThreadController::toResponse)
+                                                .toList(),
+                                batch.missing()));
+        }
+
+        @Operation(summary = "Stream Threads", description = "Streams all threads of a tenant with OP content as NDJSON (default) or a JSON array (format=json), without paging")
+        @GetMapping("/stream")
+        public ResponseEntity<StreamingResponseBody> streamThreads(
+                        @TenantId String tenantId,
+                        @RequestParam(defaultValue = "ndjson") String format) {
+
+                StreamFormat streamFormat = StreamFormat.from(format);
+
+                StreamingResponseBody body = out -> {
+                        try (JsonStreamWriter writer = new JsonStreamWriter(out, objectMapper, streamFormat)) {
+                                threadQueryService.streamRichThreads(tenantId,
+                                                result -> writer.write(toResponse(result)));
+                        }
+                };
+
+                return ResponseEntity.ok()
+                                .contentType(streamFormat.mediaType())
+                                .body(body);
+        }
+
         @Operation(summary = "Update Thread Status", description = "Changes thread status (OPEN/CLOSED). Moderators and Admins only.")
         @PutMapping("/{id}/status")
         public ResponseEntity<ThreadResponse> updateStatus(
@@ -135,6 +279,24 @@ public class ThreadController {
                                 thread.getPostCount()));
         }
 
+        private static ThreadResponse toResponse(ThreadQueryService.ThreadQueryResult result) {
+                return new ThreadResponse(
+                                result.id(),
+                                result.title(),
+                                result.status(),
+                                result.content(),
+                                result.createdAt(),
+                                result.authorId(),
+                                result.authorName(),
+                                result.postCount());
+        }
+
+        /**
+         * Request DTO for fetching threads by id.
+         */
+        public record ThreadBatchRequest(List<UUID> ids) {
+        }
+
         /**
          * Request DTO for updating thread status.
          */
@@ -0,0 +1,43 @@
+package com.openforum.rest.controller;
+
+import com.openforum.domain.aggregate.Member;
+import com.openforum.rest.service.ViewerStateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/posts")
+@Tag(name = "Viewer State", description = "Per-viewer state for a page of posts")
+public class ViewerStateController {
+
+    private static final int MAX_POST_IDS = 100;
+
+    private final ViewerStateService viewerStateService;
+
+    public ViewerStateController(ViewerStateService viewerStateService) {
+        this.viewerStateService = viewerStateService;
+    }
+
+    @Operation(summary = "Get Viewer State", description = "Returns the current user's vote and bookmark state for up to 100 posts, and their subscription to threadId if given, in one call")
+    @PostMapping("/viewer-state")
+    public ResponseEntity<ViewerStateService.ViewerState> getViewerState(
+            @RequestBody ViewerStateRequest request,
+            @AuthenticationPrincipal Member member) {
+
+        List<UUID> postIds = request.postIds() != null ? request.postIds() : List.of();
+        if (postIds.size() > MAX_POST_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(viewerStateService.getViewerState(member.getId(), postIds, request.threadId()));
+    }
+
+    public record ViewerStateRequest(List<UUID> postIds, UUID threadId) {
+    }
+}
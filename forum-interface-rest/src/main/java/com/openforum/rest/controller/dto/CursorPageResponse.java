@@ -0,0 +1,18 @@
+package com.openforum.rest.controller.dto;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated response wrapper. Pass {@code nextCursor} back as the
+ * {@code cursor} parameter to fetch the following page; it is null on the last
+ * page.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean last) {
+    public static <T> CursorPageResponse<T> of(List<T> content, int size, String nextCursor) {
+        return new CursorPageResponse<>(content, size, nextCursor, nextCursor == null);
+    }
+}
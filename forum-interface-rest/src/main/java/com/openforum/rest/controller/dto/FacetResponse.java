@@ -0,0 +1,22 @@
+package com.openforum.rest.controller.dto;
+
+import com.openforum.domain.valueobject.Facet;
+
+import java.util.List;
+
+/**
+ * Thread counts per value of one metadata key, most frequent value first.
+ */
+public record FacetResponse(
+        String key,
+        List<ValueCount> values) {
+
+    public record ValueCount(String value, long count) {
+    }
+
+    public static FacetResponse from(Facet facet) {
+        return new FacetResponse(facet.key(), facet.values().stream()
+                .map(value -> new ValueCount(value.value(), value.count()))
+                .toList());
+    }
+}
@@ -0,0 +1,25 @@
+package com.openforum.rest.controller.dto;
+
+import com.openforum.application.service.HybridSearchService;
+
+import java.util.List;
+
+/**
+ * Fused hybrid search hits, best first, with how long each leg took.
+ */
+public record HybridSearchResponse(
+        List<SearchHitResponse> content,
+        long keywordMillis,
+        long embeddingMillis,
+        long semanticMillis,
+        long totalMillis) {
+
+    public static HybridSearchResponse from(HybridSearchService.HybridSearchResults results) {
+        return new HybridSearchResponse(
+                results.hits().stream().map(SearchHitResponse::from).toList(),
+                results.timings().keywordMillis(),
+                results.timings().embeddingMillis(),
+                results.timings().semanticMillis(),
+                results.timings().totalMillis());
+    }
+}
@@ -1,11 +1,14 @@
 package com.openforum.rest.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.openforum.domain.aggregate.Post;
+import com.openforum.rest.fields.FieldSelection;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
+@JsonFilter(FieldSelection.FILTER)
 public record PostResponse(
         UUID id,
         UUID threadId,
@@ -57,6 +60,55 @@ public record PostResponse(
                 post.getLastModifiedAt());
     }
 
+    /**
+     * Factory method for list views built from query-side results. Fields the
+     * list queries don't load (version, metadata, viewer state) are left empty.
+     */
+    public static PostResponse from(com.openforum.rest.service.PostQueryService.PostQueryResult result) {
+        return new PostResponse(
+                result.id(),
+                result.threadId(),
+                result.authorId(),
+                result.authorName(),
+                result.content(),
+                null, // version not needed for list view
+                result.replyToPostId(),
+                null, // metadata not needed for list view
+                result.createdAt(),
+                result.postNumber(),
+                result.score(),
+                null, // userVote not available in this query
+                0, // bookmarkCount - not available in this query
+                false, // isBookmarked - not available in this query
+                null, // deletedAt
+                null); // lastModifiedAt
+    }
+
+    /**
+     * Factory method for a member's bookmark list; every post in it is bookmarked
+     * by the viewer.
+     */
+    public static PostResponse from(com.openforum.rest.service.BookmarkService.BookmarkedPost bookmark) {
+        com.openforum.rest.service.PostQueryService.PostQueryResult result = bookmark.post();
+        return new PostResponse(
+                result.id(),
+                result.threadId(),
+                result.authorId(),
+                result.authorName(),
+                result.content(),
+                bookmark.version(),
+                result.replyToPostId(),
+                bookmark.metadata(),
+                result.createdAt(),
+                result.postNumber(),
+                result.score(),
+                null, // userVote not available in this query
+                bookmark.bookmarkCount(),
+                true,
+                bookmark.deletedAt(),
+                bookmark.lastModifiedAt());
+    }
+
     /**
      * Factory method for creating PostResponse directly from PostEntity.
      * This preserves the score field which lives on the entity.
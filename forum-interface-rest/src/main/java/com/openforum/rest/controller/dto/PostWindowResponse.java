@@ -0,0 +1,15 @@
+package com.openforum.rest.controller.dto;
+
+import java.util.List;
+
+/**
+ * Window of consecutive posts in a thread. Pass {@code before} or {@code after}
+ * back as the parameter of the same name to fetch the neighbouring window; each
+ * is null when there are no more posts in that direction.
+ */
+public record PostWindowResponse(
+        List<PostResponse> content,
+        int size,
+        Integer before,
+        Integer after) {
+}
@@ -0,0 +1,20 @@
+package com.openforum.rest.controller.dto;
+
+import com.openforum.domain.valueobject.RelatedThread;
+
+import java.util.UUID;
+
+/**
+ * A related discussion; {@code score} is the cosine similarity of the two
+ * threads' opening posts (1 is identical).
+ */
+public record RelatedThreadResponse(
+        UUID id,
+        String title,
+        int postCount,
+        float score) {
+
+    public static RelatedThreadResponse from(RelatedThread thread) {
+        return new RelatedThreadResponse(thread.threadId(), thread.title(), thread.postCount(), thread.score());
+    }
+}
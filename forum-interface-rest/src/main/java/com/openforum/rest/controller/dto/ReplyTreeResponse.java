@@ -0,0 +1,23 @@
+package com.openforum.rest.controller.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Replies beneath a post in depth-first order. Each reply's {@code depth} is
+ * relative to the requested post and its {@code descendantCount} covers its
+ * whole subtree, including replies below the requested depth. {@code truncated}
+ * is set when the reply limit cut the subtree short.
+ */
+public record ReplyTreeResponse(
+        UUID postId,
+        int descendantCount,
+        List<Reply> replies,
+        boolean truncated) {
+
+    public record Reply(
+            PostResponse post,
+            int depth,
+            int descendantCount) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.openforum.rest.controller.dto;
+
+import com.openforum.domain.valueobject.SearchHit;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One search result. {@code type} is THREAD or POST; {@code snippet} is
+ * escaped HTML that wraps matched terms in {@code <b>...</b>}.
+ */
+public record SearchHitResponse(
+        String type,
+        UUID id,
+        UUID threadId,
+        String title,
+        String snippet,
+        float rank,
+        Instant createdAt) {
+
+    public static SearchHitResponse from(SearchHit hit) {
+        return new SearchHitResponse(
+                hit.kind().name(),
+                hit.id(),
+                hit.threadId(),
+                hit.title(),
+                hit.snippet(),
+                hit.rank(),
+                hit.createdAt());
+    }
+}
@@ -0,0 +1,13 @@
+package com.openforum.rest.controller.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Threads fetched by id, in the order requested, plus the requested ids that
+ * don't exist (or aren't visible in the tenant).
+ */
+public record ThreadBatchResponse(
+        List<ThreadResponse> threads,
+        List<UUID> missing) {
+}
@@ -1,8 +1,12 @@
 package com.openforum.rest.controller.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.openforum.rest.fields.FieldSelection;
+
 import java.time.Instant;
 import java.util.UUID;
 
+@JsonFilter(FieldSelection.FILTER)
 public record ThreadResponse(
         UUID id,
         String title,
@@ -0,0 +1,66 @@
+package com.openforum.rest.fields;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.openforum.rest.service.ContentMode;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset from a {@code ?fields=id,title,postCount} parameter. Without
+ * the parameter every field is returned and responses are serialized as
+ * before. Unknown field names are ignored.
+ * <p>
+ * Response DTOs opt in with {@code @JsonFilter(FieldSelection.FILTER)};
+ * {@link FieldSelectionAdvice} applies the request's selection while they are
+ * serialized, so controllers keep returning their typed DTOs.
+ */
+public final class FieldSelection {
+
+    /** Jackson filter id of the DTOs a fieldset applies to. */
+    public static final String FILTER = "fieldSelection";
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        return new FieldSelection(Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Content mode for the query layer: the requested mode, or {@link ContentMode#NONE}
+     * when content isn't among the selected fields.
+     */
+    public ContentMode contentMode(ContentMode requested) {
+        return includes("content") ? requested : ContentMode.NONE;
+    }
+
+    /**
+     * Jackson filters that serialize only the selected fields of DTOs carrying
+     * the {@link #FILTER} id, or all of them when no fieldset was given.
+     */
+    public FilterProvider filters() {
+        return new SimpleFilterProvider().addFilter(FILTER, fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+}
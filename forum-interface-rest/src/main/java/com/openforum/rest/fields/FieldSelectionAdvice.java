@@ -0,0 +1,27 @@
+package com.openforum.rest.fields;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the request's {@code fields} parameter to JSON responses, so only
+ * the selected properties of {@link FieldSelection#FILTER} DTOs are written.
+ */
+@RestControllerAdvice
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+            MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        String fields = request instanceof ServletServerHttpRequest servletRequest
+                ? servletRequest.getServletRequest().getParameter("fields")
+                : null;
+        bodyContainer.setFilters(FieldSelection.parse(fields).filters());
+    }
+}
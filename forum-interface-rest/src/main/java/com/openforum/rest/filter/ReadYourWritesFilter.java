@@ -0,0 +1,99 @@
+package com.openforum.rest.filter;
+
+import com.openforum.infra.jpa.routing.ReadYourWritesContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries the read-your-writes token between requests when read replicas are
+ * in use.
+ * <p>
+ * A request that commits a write gets an {@code X-Read-Your-Writes} response
+ * header holding the epoch millis until which its reads should stay on the
+ * primary. Clients echo it back; while it is in the future, read-only
+ * transactions skip the replicas. Deadlines further out than one window (plus
+ * clock skew between nodes) were never issued and are ignored, so a client
+ * can't pin its reads to the primary. Without replica routing no writes are
+ * recorded and the header is never sent.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Read-Your-Writes";
+    static final long MAX_CLOCK_SKEW_MILLIS = 1_000;
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(@Value("${app.datasource.replicas.read-your-writes-window:PT5S}") Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try {
+            if (primaryRequired(request.getHeader(HEADER))) {
+                ReadYourWritesContext.requirePrimary();
+            }
+
+            TokenWritingResponse wrapped = new TokenWritingResponse(response);
+            filterChain.doFilter(request, wrapped);
+            if (!response.isCommitted()) {
+                wrapped.writeToken();
+            }
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    private boolean primaryRequired(String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+        try {
+            long deadline = Long.parseLong(token.trim());
+            long now = System.currentTimeMillis();
+            return deadline > now && deadline <= now + windowMillis + MAX_CLOCK_SKEW_MILLIS;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Adds the token header just before the response commits, or after the chain
+     * if it never did; headers set after commit are dropped.
+     */
+    private final class TokenWritingResponse extends OnCommittedResponseWrapper {
+
+        private boolean tokenWritten;
+
+        private TokenWritingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeToken();
+        }
+
+        private void writeToken() {
+            if (!tokenWritten && ReadYourWritesContext.hasWritten()) {
+                tokenWritten = true;
+                setHeader(HEADER, Long.toString(System.currentTimeMillis() + windowMillis));
+            }
+        }
+    }
+}
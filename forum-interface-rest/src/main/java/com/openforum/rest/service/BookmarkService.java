@@ -1,19 +1,25 @@
 package com.openforum.rest.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openforum.domain.aggregate.Bookmark;
-import com.openforum.domain.aggregate.Post;
 import com.openforum.infra.jpa.entity.BookmarkEntity;
-import com.openforum.infra.jpa.mapper.PostMapper;
+import com.openforum.infra.jpa.projection.BookmarkedPostProjection;
 import com.openforum.infra.jpa.repository.BookmarkJpaRepository;
 import com.openforum.infra.jpa.repository.PostJpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service for managing post bookmarks.
@@ -25,15 +31,15 @@ public class BookmarkService {
 
     private final BookmarkJpaRepository bookmarkRepository;
     private final PostJpaRepository postRepository;
-    private final PostMapper postMapper;
+    private final ObjectMapper objectMapper;
 
     public BookmarkService(
             BookmarkJpaRepository bookmarkRepository,
             PostJpaRepository postRepository,
-            PostMapper postMapper) {
+            ObjectMapper objectMapper) {
         this.bookmarkRepository = bookmarkRepository;
         this.postRepository = postRepository;
-        this.postMapper = postMapper;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -89,17 +95,36 @@ public class BookmarkService {
     }
 
     /**
-     * Gets paginated bookmarks for a member.
+     * Gets which of the given posts a member has bookmarked, e.g. for one page of
+     * a thread.
      */
     @Transactional(readOnly = true)
-    public Page<Post> getMemberBookmarks(UUID memberId, int page, int size) {
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-
-        return bookmarkRepository.findByMemberId(memberId, pageRequest)
-                .map(bookmark -> postRepository.findById(bookmark.getPostId())
-                        .map(postMapper::toDomain)
-                        .orElse(null))
-                .map(post -> post); // Filter nulls handled by caller
+    public Set<UUID> getBookmarkedPostIds(UUID memberId, Collection<UUID> postIds) {
+        if (postIds.isEmpty()) {
+            return Set.of();
+        }
+        return bookmarkRepository.findPostIdsByMemberIdAndPostIdIn(memberId, postIds);
+    }
+
+    /**
+     * Gets paginated bookmarks for a member, newest first. Posts and author names
+     * are joined in one query (plus the count), whatever the page size.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookmarkedPost> getMemberBookmarks(UUID memberId, int page, int size) {
+        return bookmarkRepository.findBookmarkedPosts(memberId, PageRequest.of(page, size))
+                .map(this::toBookmarkedPost);
+    }
+
+    /**
+     * Streams all of a member's bookmarked posts, newest bookmark first, over a
+     * JDBC cursor. Memory use is independent of the number of bookmarks.
+     */
+    @Transactional(readOnly = true)
+    public void streamMemberBookmarks(UUID memberId, Consumer<BookmarkedPost> sink) {
+        try (Stream<BookmarkedPostProjection> rows = bookmarkRepository.streamBookmarkedPosts(memberId)) {
+            rows.map(this::toBookmarkedPost).forEach(sink);
+        }
     }
 
     /**
@@ -110,6 +135,25 @@ public class BookmarkService {
         return bookmarkRepository.existsByMemberIdAndPostId(memberId, postId);
     }
 
+    private BookmarkedPost toBookmarkedPost(BookmarkedPostProjection row) {
+        Map<String, Object> metadata = null;
+        if (row.getMetadata() != null) {
+            try {
+                metadata = objectMapper.readValue(row.getMetadata(), new TypeReference<Map<String, Object>>() {
+                });
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Failed to deserialize post metadata", e);
+            }
+        }
+        return new BookmarkedPost(
+                PostQueryService.PostQueryResult.fromRow(row),
+                row.getVersion(),
+                metadata,
+                row.getBookmarkCount() != null ? row.getBookmarkCount() : 0,
+                row.getDeletedAt(),
+                row.getLastModifiedAt());
+    }
+
     private BookmarkEntity toEntity(Bookmark bookmark) {
         BookmarkEntity entity = new BookmarkEntity();
         entity.setId(bookmark.getId());
@@ -119,4 +163,17 @@ public class BookmarkService {
         entity.setCreatedAt(bookmark.getCreatedAt());
         return entity;
     }
+
+    /**
+     * A bookmarked post with the columns the post view shows besides the list
+     * fields.
+     */
+    public record BookmarkedPost(
+            PostQueryService.PostQueryResult post,
+            Long version,
+            Map<String, Object> metadata,
+            int bookmarkCount,
+            Instant deletedAt,
+            Instant lastModifiedAt) {
+    }
 }
@@ -0,0 +1,38 @@
+package com.openforum.rest.service;
+
+/**
+ * How much post content a list query fetches. Truncation happens in SQL, so
+ * excerpt and none modes never transfer the full text from the database.
+ */
+public enum ContentMode {
+    /** Full content. */
+    FULL(-1),
+    /** First 200 characters. */
+    EXCERPT(200),
+    /** No content; the column is not read. */
+    NONE(0);
+
+    private final int sqlLength;
+
+    ContentMode(int sqlLength) {
+        this.sqlLength = sqlLength;
+    }
+
+    /**
+     * Value for the queries' {@code :contentLength} parameter: negative for the
+     * full text, zero for none, otherwise the number of characters to keep.
+     */
+    public int sqlLength() {
+        return sqlLength;
+    }
+
+    public static ContentMode from(String value) {
+        if ("excerpt".equalsIgnoreCase(value)) {
+            return EXCERPT;
+        }
+        if ("none".equalsIgnoreCase(value)) {
+            return NONE;
+        }
+        return FULL;
+    }
+}
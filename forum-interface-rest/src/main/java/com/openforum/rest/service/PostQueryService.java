@@ -1,20 +1,23 @@
 package com.openforum.rest.service;
 
-import com.openforum.domain.aggregate.Member;
-import com.openforum.domain.repository.MemberRepository;
 import com.openforum.infra.jpa.entity.PostEntity;
+import com.openforum.infra.jpa.projection.PostRowProjection;
+import com.openforum.infra.jpa.projection.ReplyRowProjection;
 import com.openforum.infra.jpa.repository.PostJpaRepository;
+import com.openforum.infra.jpa.repository.ThreadJpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Query service for post read operations that require rich data (projections,
@@ -25,13 +28,31 @@ import java.util.stream.Collectors;
 public class PostQueryService {
 
         private static final int MAX_PAGE_SIZE = 50;
+        private static final int MAX_REPLY_DEPTH = 10;
+        private static final int MAX_REPLY_ROWS = 200;
 
         private final PostJpaRepository postJpaRepository;
-        private final MemberRepository memberRepository;
+        private final ThreadJpaRepository threadJpaRepository;
+        private final TopPostsCache topPostsCache;
 
-        public PostQueryService(PostJpaRepository postJpaRepository, MemberRepository memberRepository) {
+        public PostQueryService(PostJpaRepository postJpaRepository, ThreadJpaRepository threadJpaRepository,
+                        TopPostsCache topPostsCache) {
                 this.postJpaRepository = postJpaRepository;
-                this.memberRepository = memberRepository;
+                this.threadJpaRepository = threadJpaRepository;
+                this.topPostsCache = topPostsCache;
+        }
+
+        /**
+         * Retrieves the cache validators for a thread's post pages.
+         *
+         * @param threadId Thread UUID
+         * @param tenantId Tenant identifier
+         * @return Optional containing ThreadStamp or empty if the thread is not in the tenant
+         */
+        @Transactional(readOnly = true)
+        public Optional<ThreadQueryService.ThreadStamp> getThreadStamp(UUID threadId, String tenantId) {
+                return threadJpaRepository.findStampByIdAndTenantId(threadId, tenantId)
+                                .map(ThreadQueryService.ThreadStamp::from);
         }
 
         /**
@@ -46,36 +67,38 @@ public class PostQueryService {
          */
         @Transactional(readOnly = true)
         public PostQueryPage getPostsByThread(UUID threadId, String tenantId, int page, int size, String sort) {
+                return getPostsByThread(threadId, tenantId, page, size, sort, ContentMode.FULL);
+        }
+
+        /**
+         * Retrieves paginated posts for a thread, trimming content in the database
+         * according to {@code contentMode} so unused text is never read or sent.
+         *
+         * @param threadId    Thread UUID
+         * @param tenantId    Tenant identifier
+         * @param page        Page number (0-indexed)
+         * @param size        Page size (will be capped at MAX_PAGE_SIZE)
+         * @param sort        Sort option: "oldest" (chronological) or "top" (by score)
+         * @param contentMode How much of each post's content to load
+         * @return PostQueryPage containing posts with resolved author names
+         */
+        @Transactional(readOnly = true)
+        public PostQueryPage getPostsByThread(UUID threadId, String tenantId, int page, int size, String sort,
+                        ContentMode contentMode) {
                 int effectiveSize = Math.min(size, MAX_PAGE_SIZE);
+                PageRequest pageRequest = PageRequest.of(page, effectiveSize);
 
-                Sort sortOrder;
+                Page<PostRowProjection> postPage;
                 if ("top".equalsIgnoreCase(sort)) {
-                        sortOrder = Sort.by(
-                                        Sort.Order.desc("score"),
-                                        Sort.Order.asc("createdAt"));
+                        postPage = postJpaRepository.findTopRowsByThreadId(
+                                        threadId, tenantId, contentMode.sqlLength(), pageRequest);
                 } else {
-                        sortOrder = Sort.by(Sort.Direction.ASC, "postNumber");
+                        postPage = postJpaRepository.findRowsByThreadId(
+                                        threadId, tenantId, contentMode.sqlLength(), pageRequest);
                 }
 
-                Page<PostEntity> postPage = postJpaRepository.findByThreadIdAndTenantId(
-                                threadId, tenantId, PageRequest.of(page, effectiveSize, sortOrder));
-
-                // Batch fetch author names to avoid N+1
-                List<UUID> authorIds = postPage.getContent().stream()
-                                .map(PostEntity::getAuthorId)
-                                .distinct()
-                                .toList();
-
-                Map<UUID, String> authorNames = memberRepository.findByIds(authorIds).stream()
-                                .collect(Collectors.toMap(Member::getId, Member::getName));
-
-                List<PostQueryResult> content = postPage.getContent().stream()
-                                .map(entity -> PostQueryResult.fromEntity(entity,
-                                                authorNames.get(entity.getAuthorId())))
-                                .toList();
-
                 return new PostQueryPage(
-                                content,
+                                toResults(postPage.getContent()),
                                 postPage.getNumber(),
                                 postPage.getSize(),
                                 postPage.getTotalElements(),
@@ -84,6 +107,191 @@ public class PostQueryService {
                                 postPage.isLast());
         }
 
+        /**
+         * Retrieves a page of a thread's posts ranked by score (oldest first within a
+         * score), continuing after {@code cursor}. Unlike offset paging, the cost of a
+         * page does not grow with its depth, and rows don't shift between pages when
+         * votes land mid-scroll. First pages of up to {@link TopPostsCache#pageSize()}
+         * rows are served from {@link TopPostsCache}.
+         *
+         * @param threadId Thread UUID
+         * @param tenantId Tenant identifier
+         * @param cursor   Position after which to continue, or null for the first page
+         * @param size     Page size (will be capped at MAX_PAGE_SIZE)
+         * @return PostCursorPage, empty if the thread is not in the tenant
+         */
+        @Transactional(readOnly = true)
+        public PostCursorPage getTopPostsByThread(UUID threadId, String tenantId, TopPostsCursor cursor, int size) {
+                int effectiveSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+                // One extra row tells us whether another page exists
+                int limit = effectiveSize + 1;
+
+                List<PostQueryResult> rows;
+                if (cursor != null) {
+                        rows = toResults(postJpaRepository.findTopByThreadIdAfter(threadId, tenantId,
+                                        cursor.score(), cursor.createdAt(), cursor.id(), limit));
+                } else if (limit <= topPostsCache.pageSize() + 1) {
+                        Optional<ThreadQueryService.ThreadStamp> stamp = getThreadStamp(threadId, tenantId);
+                        if (stamp.isEmpty()) {
+                                return new PostCursorPage(List.of(), effectiveSize, null);
+                        }
+                        List<PostQueryResult> top = topPostsCache.get(threadId, stamp.get().etag(),
+                                        () -> toResults(postJpaRepository.findTopByThreadId(threadId, tenantId,
+                                                        topPostsCache.pageSize() + 1)));
+                        rows = top.subList(0, Math.min(limit, top.size()));
+                } else {
+                        rows = toResults(postJpaRepository.findTopByThreadId(threadId, tenantId, limit));
+                }
+
+                if (rows.size() <= effectiveSize) {
+                        return new PostCursorPage(rows, effectiveSize, null);
+                }
+                List<PostQueryResult> content = rows.subList(0, effectiveSize);
+                return new PostCursorPage(content, effectiveSize,
+                                TopPostsCursor.of(content.get(effectiveSize - 1)).encode());
+        }
+
+        /**
+         * Retrieves a window of posts centred on {@code postNumber}: up to half the
+         * page before it and the post itself with the rest after it. Both halves are
+         * index ranges on (thread_id, post_number), so the cost does not depend on
+         * where the post sits in the thread.
+         *
+         * @param threadId   Thread UUID
+         * @param tenantId   Tenant identifier
+         * @param postNumber Post number to centre on
+         * @param size       Window size (will be capped at MAX_PAGE_SIZE)
+         * @return PostWindow with post-number cursors for the neighbouring windows
+         */
+        @Transactional(readOnly = true)
+        public PostWindow getPostsAround(UUID threadId, String tenantId, int postNumber, int size) {
+                int effectiveSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+                int beforeCount = (effectiveSize - 1) / 2;
+                int fromCount = effectiveSize - beforeCount;
+
+                // One extra row on each side tells us whether more posts exist there
+                List<PostQueryResult> before = new ArrayList<>(toResults(
+                                postJpaRepository.findBeforePostNumber(threadId, tenantId, postNumber, beforeCount + 1)));
+                List<PostQueryResult> from = toResults(
+                                postJpaRepository.findFromPostNumber(threadId, tenantId, postNumber, fromCount + 1));
+
+                boolean moreBefore = before.size() > beforeCount;
+                boolean moreAfter = from.size() > fromCount;
+                if (moreBefore) {
+                        before = before.subList(0, beforeCount);
+                }
+                if (moreAfter) {
+                        from = from.subList(0, fromCount);
+                }
+                Collections.reverse(before);
+
+                List<PostQueryResult> content = new ArrayList<>(before);
+                content.addAll(from);
+                return PostWindow.of(content, effectiveSize, moreBefore, moreAfter);
+        }
+
+        /**
+         * Retrieves the posts numbered after {@code postNumber}, in order.
+         *
+         * @param threadId   Thread UUID
+         * @param tenantId   Tenant identifier
+         * @param postNumber Exclusive lower bound
+         * @param size       Window size (will be capped at MAX_PAGE_SIZE)
+         * @return PostWindow with post-number cursors for the neighbouring windows
+         */
+        @Transactional(readOnly = true)
+        public PostWindow getPostsAfter(UUID threadId, String tenantId, int postNumber, int size) {
+                int effectiveSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+                List<PostQueryResult> rows = toResults(
+                                postJpaRepository.findFromPostNumber(threadId, tenantId, postNumber + 1, effectiveSize + 1));
+
+                boolean moreAfter = rows.size() > effectiveSize;
+                List<PostQueryResult> content = moreAfter ? rows.subList(0, effectiveSize) : rows;
+                return PostWindow.of(content, effectiveSize, postNumber >= 1, moreAfter);
+        }
+
+        /**
+         * Retrieves the posts numbered before {@code postNumber}, in order.
+         *
+         * @param threadId   Thread UUID
+         * @param tenantId   Tenant identifier
+         * @param postNumber Exclusive upper bound
+         * @param size       Window size (will be capped at MAX_PAGE_SIZE)
+         * @return PostWindow with post-number cursors for the neighbouring windows
+         */
+        @Transactional(readOnly = true)
+        public PostWindow getPostsBefore(UUID threadId, String tenantId, int postNumber, int size) {
+                int effectiveSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+                List<PostQueryResult> rows = new ArrayList<>(toResults(
+                                postJpaRepository.findBeforePostNumber(threadId, tenantId, postNumber, effectiveSize + 1)));
+
+                boolean moreBefore = rows.size() > effectiveSize;
+                List<PostQueryResult> content = moreBefore ? rows.subList(0, effectiveSize) : rows;
+                Collections.reverse(content);
+                // The cursor itself came from an earlier window, so something follows
+                return PostWindow.of(content, effectiveSize, moreBefore, true);
+        }
+
+        /**
+         * Retrieves the replies beneath a post down to {@code depth} levels, in
+         * depth-first order, from the post's materialized reply path. Each node
+         * carries its depth below the post and its total descendant count, so
+         * clients can show "N more replies" for branches cut off by the depth.
+         * Counts are updated in the background and can trail the newest replies
+         * by a few seconds.
+         *
+         * @param postId   Post UUID
+         * @param tenantId Tenant identifier
+         * @param depth    Levels of replies to include (clamped to 1..MAX_REPLY_DEPTH)
+         * @param limit    Maximum replies to return (clamped to 1..MAX_REPLY_ROWS)
+         * @return Optional containing ReplyTree or empty if the post is not in the tenant
+         */
+        @Transactional(readOnly = true)
+        public Optional<ReplyTree> getReplies(UUID postId, String tenantId, int depth, int limit) {
+                int effectiveDepth = Math.max(1, Math.min(depth, MAX_REPLY_DEPTH));
+                int effectiveLimit = Math.max(1, Math.min(limit, MAX_REPLY_ROWS));
+
+                // The root row comes first; one extra reply tells us the subtree was cut short
+                List<ReplyRowProjection> rows = postJpaRepository.findReplyTree(
+                                postId, tenantId, effectiveDepth, effectiveLimit + 2);
+                if (rows.isEmpty()) {
+                        return Optional.empty();
+                }
+
+                ReplyRowProjection root = rows.get(0);
+                List<ReplyRowProjection> replies = rows.subList(1, rows.size());
+                boolean truncated = replies.size() > effectiveLimit;
+                if (truncated) {
+                        replies = replies.subList(0, effectiveLimit);
+                }
+
+                return Optional.of(new ReplyTree(
+                                postId,
+                                root.getDescendantCount(),
+                                replies.stream().map(ReplyNode::fromRow).toList(),
+                                truncated));
+        }
+
+        private static List<PostQueryResult> toResults(List<PostRowProjection> rows) {
+                return rows.stream().map(PostQueryResult::fromRow).toList();
+        }
+
+        /**
+         * Streams every post of a thread to {@code sink} in post-number order. Rows are
+         * read over a JDBC cursor and never collected, so memory use is independent of
+         * thread size. The transaction stays open until the last row is consumed.
+         *
+         * @param threadId Thread UUID
+         * @param tenantId Tenant identifier
+         * @param sink     Receives each post in order
+         */
+        @Transactional(readOnly = true)
+        public void streamPostsByThread(UUID threadId, String tenantId, Consumer<PostQueryResult> sink) {
+                try (Stream<PostRowProjection> rows = postJpaRepository.streamByThreadId(threadId, tenantId)) {
+                        rows.map(PostQueryResult::fromRow).forEach(sink);
+                }
+        }
+
         /**
          * Result record for a single post with resolved author name.
          */
@@ -113,6 +321,78 @@ public class PostQueryService {
                                         entity.getCreatedAt(),
                                         isDeleted);
                 }
+
+                public static PostQueryResult fromRow(PostRowProjection row) {
+                        boolean isDeleted = Boolean.TRUE.equals(row.getDeleted());
+                        return new PostQueryResult(
+                                        row.getId(),
+                                        row.getThreadId(),
+                                        row.getAuthorId(),
+                                        row.getAuthorName(),
+                                        isDeleted ? "[deleted]" : row.getContent(),
+                                        row.getReplyToPostId(),
+                                        row.getPostNumber(),
+                                        row.getScore() != null ? row.getScore() : 0,
+                                        row.getCreatedAt(),
+                                        isDeleted);
+                }
+        }
+
+        /**
+         * Keyset page result for post queries. {@code nextCursor} is null on the last
+         * page.
+         */
+        public record PostCursorPage(
+                        List<PostQueryResult> content,
+                        int size,
+                        String nextCursor) {
+        }
+
+        /**
+         * Window of consecutive posts. {@code before} and {@code after} are the post
+         * numbers to pass back as the {@code before} / {@code after} parameter for the
+         * neighbouring windows; each is null when there is nothing further that way.
+         */
+        public record PostWindow(
+                        List<PostQueryResult> content,
+                        int size,
+                        Integer before,
+                        Integer after) {
+
+                static PostWindow of(List<PostQueryResult> content, int size, boolean moreBefore,
+                                boolean moreAfter) {
+                        if (content.isEmpty()) {
+                                return new PostWindow(content, size, null, null);
+                        }
+                        return new PostWindow(content, size,
+                                        moreBefore ? content.get(0).postNumber() : null,
+                                        moreAfter ? content.get(content.size() - 1).postNumber() : null);
+                }
+        }
+
+        /**
+         * Replies beneath a post in depth-first order. {@code descendantCount} is the
+         * size of the whole subtree, which may exceed the replies returned.
+         */
+        public record ReplyTree(
+                        UUID postId,
+                        int descendantCount,
+                        List<ReplyNode> replies,
+                        boolean truncated) {
+        }
+
+        /**
+         * A reply with its depth below the requested post (1 for direct replies).
+         */
+        public record ReplyNode(
+                        PostQueryResult post,
+                        int depth,
+                        int descendantCount) {
+
+                static ReplyNode fromRow(ReplyRowProjection row) {
+                        return new ReplyNode(PostQueryResult.fromRow(row), row.getReplyDepth(),
+                                        row.getDescendantCount());
+                }
         }
 
         /**
@@ -1,19 +1,32 @@
 package com.openforum.rest.service;
 
+import com.openforum.application.service.ThreadMetadataSchemaService;
+import com.openforum.application.service.scheduler.ThreadMetadataIndexService;
 import com.openforum.domain.aggregate.Member;
 import com.openforum.domain.repository.MemberRepository;
+import com.openforum.domain.valueobject.MetadataFilter;
+import com.openforum.domain.valueobject.MetadataSchema;
+import com.openforum.domain.valueobject.MetadataSort;
+import com.openforum.infra.jpa.projection.ThreadExportProjection;
+import com.openforum.infra.jpa.projection.ThreadStampProjection;
 import com.openforum.infra.jpa.projection.ThreadWithOPProjection;
 import com.openforum.infra.jpa.repository.ThreadJpaRepository;
-import org.springframework.data.domain.Page;
+import com.openforum.infra.jpa.repository.ThreadMetadataQueryRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Query service for thread read operations that require rich data (projections,
@@ -24,11 +37,21 @@ import java.util.stream.Collectors;
 public class ThreadQueryService {
 
         private final ThreadJpaRepository threadJpaRepository;
+        private final ThreadMetadataQueryRepository threadMetadataQueryRepository;
         private final MemberRepository memberRepository;
+        private final ThreadMetadataIndexService threadMetadataIndexService;
+        private final ThreadMetadataSchemaService threadMetadataSchemaService;
 
-        public ThreadQueryService(ThreadJpaRepository threadJpaRepository, MemberRepository memberRepository) {
+        public ThreadQueryService(ThreadJpaRepository threadJpaRepository,
+                        ThreadMetadataQueryRepository threadMetadataQueryRepository,
+                        MemberRepository memberRepository,
+                        ThreadMetadataIndexService threadMetadataIndexService,
+                        ThreadMetadataSchemaService threadMetadataSchemaService) {
                 this.threadJpaRepository = threadJpaRepository;
+                this.threadMetadataQueryRepository = threadMetadataQueryRepository;
                 this.memberRepository = memberRepository;
+                this.threadMetadataIndexService = threadMetadataIndexService;
+                this.threadMetadataSchemaService = threadMetadataSchemaService;
         }
 
         /**
@@ -48,6 +71,18 @@ public class ThreadQueryService {
                                 });
         }
 
+        /**
+         * Retrieves the cache validators for a thread with a single indexed lookup,
+         * without loading its content.
+         *
+         * @param id Thread UUID
+         * @return Optional containing ThreadStamp or empty if not found
+         */
+        @Transactional(readOnly = true)
+        public Optional<ThreadStamp> getThreadStamp(UUID id) {
+                return threadJpaRepository.findStampById(id).map(ThreadStamp::from);
+        }
+
         /**
          * Retrieves paginated threads with OP content for a tenant.
          *
@@ -58,35 +93,83 @@ public class ThreadQueryService {
          */
         @Transactional(readOnly = true)
         public List<ThreadQueryResult> getRichThreads(String tenantId, int page, int size) {
-                return getRichThreads(tenantId, page, size, null, null);
+                return getRichThreads(tenantId, page, size, List.of());
+        }
+
+        /**
+         * Retrieves paginated threads with OP content for a tenant, filtered by
+         * metadata.
+         *
+         * @param tenantId Tenant identifier
+         * @param page     Page number (0-indexed)
+         * @param size     Page size
+         * @param filters  Metadata conditions a thread must all meet; empty for none
+         * @return List of ThreadQueryResult with author names resolved
+         */
+        @Transactional(readOnly = true)
+        public List<ThreadQueryResult> getRichThreads(String tenantId, int page, int size,
+                        List<MetadataFilter> filters) {
+                return getRichThreads(tenantId, page, size, filters, ContentMode.FULL);
         }
 
         /**
-         * Retrieves paginated threads with OP content for a tenant, optionally filtered
-         * by metadata.
+         * Retrieves paginated threads for a tenant, filtered by metadata, loading as
+         * much OP content as {@code contentMode} asks for.
          *
-         * @param tenantId      Tenant identifier
-         * @param page          Page number (0-indexed)
-         * @param size          Page size
-         * @param metadataKey   Optional metadata key to filter by
-         * @param metadataValue Optional metadata value to match
+         * @param tenantId    Tenant identifier
+         * @param page        Page number (0-indexed)
+         * @param size        Page size
+         * @param filters     Metadata conditions a thread must all meet; empty for none
+         * @param contentMode How much of the OP content to load
          * @return List of ThreadQueryResult with author names resolved
          */
         @Transactional(readOnly = true)
         public List<ThreadQueryResult> getRichThreads(String tenantId, int page, int size,
-                        String metadataKey, String metadataValue) {
-                Page<ThreadWithOPProjection> richThreads;
+                        List<MetadataFilter> filters, ContentMode contentMode) {
+                return getRichThreads(tenantId, page, size, filters, null, contentMode);
+        }
 
-                if (metadataKey != null && metadataValue != null) {
-                        richThreads = threadJpaRepository.findRichThreadsByMetadata(
-                                        tenantId, metadataKey, metadataValue, PageRequest.of(page, size));
+        /**
+         * Retrieves paginated threads for a tenant, filtered by metadata and
+         * optionally sorted by a metadata key, loading as much OP content as
+         * {@code contentMode} asks for. With {@link ContentMode#NONE} the OP post
+         * isn't joined at all. Filters and sorts on keys the tenant's metadata schema
+         * declares read typed storage; other range filters are reported to
+         * {@link ThreadMetadataIndexService} so that declared keys filtered on often
+         * before their typed storage is filled get an index.
+         *
+         * @param tenantId    Tenant identifier
+         * @param page        Page number (0-indexed)
+         * @param size        Page size
+         * @param filters     Metadata conditions a thread must all meet; empty for none
+         * @param sort        Metadata key to order by, or null for newest first
+         * @param contentMode How much of the OP content to load
+         * @return List of ThreadQueryResult with author names resolved
+         * @throws IllegalArgumentException if {@code sort} is on a key the schema
+         *                                  doesn't declare, or whose typed storage
+         *                                  is still being filled
+         */
+        @Transactional(readOnly = true)
+        public List<ThreadQueryResult> getRichThreads(String tenantId, int page, int size,
+                        List<MetadataFilter> filters, MetadataSort sort, ContentMode contentMode) {
+                List<ThreadWithOPProjection> richThreads;
+
+                if (!filters.isEmpty() || sort != null) {
+                        MetadataSchema schema = threadMetadataSchemaService.readableSchema(tenantId);
+                        threadMetadataIndexService.recordFilters(tenantId,
+                                        threadMetadataSchemaService.schema(tenantId),
+                                        filters.stream()
+                                                        .filter(filter -> !schema.covers(filter))
+                                                        .toList());
+                        richThreads = threadMetadataQueryRepository.findRichThreads(
+                                        tenantId, filters, schema, sort, contentMode.sqlLength(), page, size);
                 } else {
                         richThreads = threadJpaRepository.findRichThreads(
-                                        tenantId, PageRequest.of(page, size));
+                                        tenantId, contentMode.sqlLength(), PageRequest.of(page, size)).getContent();
                 }
 
                 // Batch fetch author names to avoid N+1
-                List<UUID> authorIds = richThreads.getContent().stream()
+                List<UUID> authorIds = richThreads.stream()
                                 .map(ThreadWithOPProjection::getAuthorId)
                                 .distinct()
                                 .toList();
@@ -94,11 +177,60 @@ public class ThreadQueryService {
                 Map<UUID, String> authorNames = memberRepository.findByIds(authorIds).stream()
                                 .collect(Collectors.toMap(Member::getId, Member::getName));
 
-                return richThreads.getContent().stream()
+                return richThreads.stream()
                                 .map(thread -> new ThreadQueryResult(thread, authorNames.get(thread.getAuthorId())))
                                 .toList();
         }
 
+        /**
+         * Retrieves a set of threads with OP content and author names in one query.
+         * Threads come back in the order of {@code ids} (duplicates collapsed); ids
+         * that don't exist in the tenant are listed as missing.
+         *
+         * @param ids      Thread UUIDs in the order the caller wants them
+         * @param tenantId Tenant identifier
+         * @return ThreadBatch with the found threads and the missing ids
+         */
+        @Transactional(readOnly = true)
+        public ThreadBatch getRichThreadsByIds(List<UUID> ids, String tenantId) {
+                Set<UUID> requested = new LinkedHashSet<>(ids);
+                if (requested.isEmpty()) {
+                        return new ThreadBatch(List.of(), List.of());
+                }
+
+                Map<UUID, ThreadQueryResult> byId = threadJpaRepository.findRichThreadsByIds(requested, tenantId)
+                                .stream()
+                                .collect(Collectors.toMap(ThreadExportProjection::getId,
+                                                row -> new ThreadQueryResult(row, row.getAuthorName())));
+
+                List<ThreadQueryResult> threads = new ArrayList<>(byId.size());
+                List<UUID> missing = new ArrayList<>();
+                for (UUID id : requested) {
+                        ThreadQueryResult thread = byId.get(id);
+                        if (thread != null) {
+                                threads.add(thread);
+                        } else {
+                                missing.add(id);
+                        }
+                }
+                return new ThreadBatch(threads, missing);
+        }
+
+        /**
+         * Streams all non-archived threads of a tenant, newest first, to {@code sink}.
+         * Rows are read over a JDBC cursor with author names joined in, so memory use
+         * is independent of the number of threads.
+         *
+         * @param tenantId Tenant identifier
+         * @param sink     Receives each thread in order
+         */
+        @Transactional(readOnly = true)
+        public void streamRichThreads(String tenantId, Consumer<ThreadQueryResult> sink) {
+                try (Stream<ThreadExportProjection> rows = threadJpaRepository.streamRichThreads(tenantId)) {
+                        rows.map(row -> new ThreadQueryResult(row, row.getAuthorName())).forEach(sink);
+                }
+        }
+
         /**
          * Result record containing thread projection with resolved author name.
          */
@@ -124,4 +256,50 @@ public class ThreadQueryService {
                                         thread.getPostCount() != null ? thread.getPostCount() : 0);
                 }
         }
+
+        /**
+         * Batch lookup result: threads in request order and the ids that weren't found.
+         */
+        public record ThreadBatch(
+                        List<ThreadQueryResult> threads,
+                        List<UUID> missing) {
+        }
+
+        /**
+         * Validators for a thread and everything rendered from it. The version covers
+         * title/status changes, post count and last activity cover new replies, the
+         * newest post modification covers edits and deletes, and the newest vote
+         * covers score changes.
+         */
+        public record ThreadStamp(
+                        long version,
+                        int postCount,
+                        Instant lastModified) {
+
+                public static ThreadStamp from(ThreadStampProjection stamp) {
+                        Instant lastModified = latest(latest(stamp.getLastModifiedAt(), stamp.getLastActivityAt()),
+                                        latest(stamp.getPostsLastModifiedAt(), stamp.getPostsLastVotedAt()));
+                        return new ThreadStamp(
+                                        stamp.getVersion() != null ? stamp.getVersion() : 0L,
+                                        stamp.getPostCount() != null ? stamp.getPostCount() : 0,
+                                        lastModified != null ? lastModified : Instant.EPOCH);
+                }
+
+                /**
+                 * Strong entity tag; any change to the underlying state changes at least
+                 * one component. The timestamp keeps the database's microseconds, so
+                 * back-to-back votes still differ.
+                 */
+                public String etag() {
+                        long micros = lastModified.getEpochSecond() * 1_000_000L + lastModified.getNano() / 1_000;
+                        return "\"" + version + "-" + postCount + "-" + micros + "\"";
+                }
+
+                private static Instant latest(Instant a, Instant b) {
+                        if (a == null) {
+                                return b;
+                        }
+                        return b == null || a.isAfter(b) ? a : b;
+                }
+        }
 }
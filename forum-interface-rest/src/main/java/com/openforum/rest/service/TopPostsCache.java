@@ -0,0 +1,99 @@
+package com.openforum.rest.service;
+
+import com.openforum.application.event.PostVotedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of the first page of each hot thread's posts ranked by score.
+ * <p>
+ * Each entry remembers the thread's validator (see
+ * {@link ThreadQueryService.ThreadStamp#etag()}) at load time and is only served
+ * while it still matches. The validator changes on new, edited and deleted posts
+ * and on votes, so it alone keeps every node correct. Votes also evict the
+ * thread's entry after commit, here and (through the boot relay) on other nodes,
+ * so superseded pages don't sit in the LRU. A load that overlaps an eviction is
+ * not stored. A TTL of zero disables the cache.
+ */
+@Component
+public class TopPostsCache {
+
+    private final int pageSize;
+    private final long ttlNanos;
+    private final Map<UUID, Entry> entries;
+
+    // Bumped on every eviction, guarded by entries; a load that raced one is not stored.
+    private long evictions;
+
+    public TopPostsCache(@Value("${app.posts.top-cache.size:50}") int pageSize,
+            @Value("${app.posts.top-cache.max-threads:1000}") int maxThreads,
+            @Value("${app.posts.top-cache.ttl:PT1M}") Duration ttl) {
+        this.pageSize = pageSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxThreads;
+            }
+        };
+    }
+
+    /**
+     * Number of ranked rows kept per thread. Requests for up to this many rows
+     * can be served from the cache.
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns the cached top rows for {@code threadId} if they were loaded at
+     * {@code version}, otherwise loads, caches and returns them.
+     */
+    public List<PostQueryService.PostQueryResult> get(UUID threadId, String version,
+            Supplier<List<PostQueryService.PostQueryResult>> loader) {
+        if (ttlNanos <= 0) {
+            return loader.get();
+        }
+        long generation;
+        synchronized (entries) {
+            Entry cached = entries.get(threadId);
+            if (cached != null && cached.version().equals(version)
+                    && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+                return cached.rows();
+            }
+            generation = evictions;
+        }
+        List<PostQueryService.PostQueryResult> rows = List.copyOf(loader.get());
+        synchronized (entries) {
+            if (evictions == generation) {
+                entries.put(threadId, new Entry(version, rows, System.nanoTime()));
+            }
+        }
+        return rows;
+    }
+
+    public void evict(UUID threadId) {
+        synchronized (entries) {
+            evictions++;
+            entries.remove(threadId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostVoted(PostVotedEvent event) {
+        evict(event.getThreadId());
+    }
+
+    private record Entry(String version, List<PostQueryService.PostQueryResult> rows, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.openforum.rest.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a thread's posts ranked by (score desc, createdAt asc, id asc):
+ * the sort key of the last row on the previous page. Encoded as an opaque
+ * base64url token so clients don't depend on its shape.
+ */
+public record TopPostsCursor(int score, Instant createdAt, UUID id) {
+
+    public static TopPostsCursor of(PostQueryService.PostQueryResult post) {
+        return new TopPostsCursor(post.score(), post.createdAt(), post.id());
+    }
+
+    public String encode() {
+        String raw = score + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by
+     *                                  {@link #encode()}
+     */
+    public static TopPostsCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TopPostsCursor(Integer.parseInt(parts[0]), Instant.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.openforum.rest.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes rows to a response stream one at a time, as NDJSON or as a JSON array,
+ * so memory use does not depend on the number of rows.
+ * <p>
+ * The first row is flushed immediately to keep time-to-first-byte low; after
+ * that the stream is flushed every {@value #FLUSH_INTERVAL} rows.
+ */
+public final class JsonStreamWriter implements Closeable {
+
+    private static final int FLUSH_INTERVAL = 200;
+
+    private final OutputStream out;
+    private final StreamFormat format;
+    private final SequenceWriter sequence;
+    private long rows;
+
+    public JsonStreamWriter(OutputStream out, ObjectMapper objectMapper, StreamFormat format) throws IOException {
+        this.out = out;
+        this.format = format;
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.sequence = format == StreamFormat.JSON
+                ? writer.writeValuesAsArray(out)
+                : writer.withRootValueSeparator("\n").writeValues(out);
+    }
+
+    /**
+     * Writes a single row. Throws {@link UncheckedIOException} so it can be used
+     * directly as a row callback; the client disconnecting surfaces here.
+     */
+    public void write(Object row) {
+        try {
+            sequence.write(row);
+            rows++;
+            if (rows == 1 || rows % FLUSH_INTERVAL == 0) {
+                sequence.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long rowCount() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sequence.close();
+        if (format == StreamFormat.NDJSON && rows > 0) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,27 @@
+package com.openforum.rest.streaming;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Wire format for streamed listings.
+ */
+public enum StreamFormat {
+    /** One JSON object per line; clients can process rows as they arrive. */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    /** A single JSON array, written element by element. */
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    StreamFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static StreamFormat from(String value) {
+        return "json".equalsIgnoreCase(value) ? JSON : NDJSON;
+    }
+}
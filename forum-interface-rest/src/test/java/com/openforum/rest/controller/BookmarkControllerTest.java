@@ -0,0 +1,115 @@
+package com.openforum.rest.controller;
+
+import com.openforum.domain.aggregate.Member;
+import com.openforum.domain.repository.MemberRepository;
+import com.openforum.rest.auth.HybridJwtAuthenticationConverter;
+import com.openforum.rest.auth.MemberJwtAuthenticationConverter;
+import com.openforum.rest.config.JwtConfig;
+import com.openforum.rest.config.SecurityConfig;
+import com.openforum.rest.service.BookmarkService;
+import com.openforum.rest.service.PostQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookmarkController.class)
+@Import({ SecurityConfig.class, HybridJwtAuthenticationConverter.class, MemberJwtAuthenticationConverter.class,
+                JwtConfig.class })
+class BookmarkControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockitoBean
+        private BookmarkService bookmarkService;
+
+        @MockitoBean
+        private MemberRepository memberRepository;
+
+        @MockitoBean
+        private java.security.interfaces.RSAPublicKey publicKey;
+
+        private Member testMember;
+        private UUID memberId;
+
+        @org.junit.jupiter.api.BeforeEach
+        void setUp() {
+                memberId = UUID.randomUUID();
+                testMember = Member.reconstitute(memberId, "ext-123", "test@example.com", "Test User", false,
+                                Instant.now(), Instant.now(),
+                                com.openforum.domain.valueobject.MemberRole.MEMBER,
+                                "default-tenant", null, 0, null, null, null);
+        }
+
+        @org.junit.jupiter.api.AfterEach
+        void tearDown() {
+                com.openforum.domain.context.TenantContext.clear();
+                org.springframework.security.core.context.SecurityContextHolder.clearContext();
+        }
+
+        @Test
+        void getMemberBookmarks_shouldReturnPostViewFields() throws Exception {
+                // Given
+                UUID postId = UUID.randomUUID();
+                Instant lastModifiedAt = Instant.parse("2024-06-02T10:15:30Z");
+                PostQueryService.PostQueryResult post = new PostQueryService.PostQueryResult(postId,
+                                UUID.randomUUID(), UUID.randomUUID(), "Author", "Bookmarked content", null, 3, 7,
+                                Instant.parse("2024-06-01T10:15:30Z"), false);
+                BookmarkService.BookmarkedPost bookmarked = new BookmarkService.BookmarkedPost(post, 4L,
+                                Map.of("source", "import"), 12, null, lastModifiedAt);
+                when(bookmarkService.getMemberBookmarks(memberId, 0, 20))
+                                .thenReturn(new PageImpl<>(List.of(bookmarked), PageRequest.of(0, 20), 1));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/members/" + memberId + "/bookmarks")
+                                .with(authWithTenant(testMember, "default-tenant")))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].id").value(postId.toString()))
+                                .andExpect(jsonPath("$.content[0].bookmarkCount").value(12))
+                                .andExpect(jsonPath("$.content[0].isBookmarked").value(true))
+                                .andExpect(jsonPath("$.content[0].version").value(4))
+                                .andExpect(jsonPath("$.content[0].metadata.source").value("import"))
+                                .andExpect(jsonPath("$.content[0].score").value(7))
+                                .andExpect(jsonPath("$.content[0].lastModifiedAt").exists())
+                                .andExpect(jsonPath("$.totalElements").value(1));
+        }
+
+        @Test
+        void getMemberBookmarks_shouldForbidOtherMembers() throws Exception {
+                // When & Then
+                mockMvc.perform(get("/api/v1/members/" + UUID.randomUUID() + "/bookmarks")
+                                .with(authWithTenant(testMember, "default-tenant")))
+                                .andExpect(status().isForbidden());
+        }
+
+        private RequestPostProcessor authWithTenant(Member member, String tenantId) {
+                return request -> {
+                        Authentication auth = new UsernamePasswordAuthenticationToken(member, null,
+                                        Collections.emptyList());
+                        request = org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors
+                                        .authentication(auth)
+                                        .postProcessRequest(request);
+                        com.openforum.domain.context.TenantContext.setTenantId(tenantId);
+                        return request;
+                };
+        }
+}
@@ -1,9 +1,11 @@
 package com.openforum.rest.controller;
 
+import com.openforum.application.service.MemberMentionService;
 import com.openforum.domain.aggregate.Member;
 import com.openforum.domain.context.TenantContext;
 import com.openforum.domain.repository.MemberRepository;
 import com.openforum.domain.valueobject.MemberRole;
+import com.openforum.domain.valueobject.MemberSuggestion;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +16,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,13 +32,16 @@ class MemberControllerTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private MemberMentionService memberMentionService;
+
     private MemberController memberController;
     private MockedStatic<TenantContext> tenantContextMock;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        memberController = new MemberController(memberRepository);
+        memberController = new MemberController(memberRepository, memberMentionService);
         tenantContextMock = Mockito.mockStatic(TenantContext.class);
     }
 
@@ -128,4 +134,23 @@ class MemberControllerTest {
 
         assertEquals(404, response.getStatusCode().value());
     }
+
+    @Test
+    void searchMembers_ReturnsMentionSuggestions() {
+        String tenantId = "tenant-1";
+        UUID threadId = UUID.randomUUID();
+        UUID memberId = UUID.randomUUID();
+        tenantContextMock.when(TenantContext::getTenantId).thenReturn(tenantId);
+
+        when(memberMentionService.suggest(tenantId, "al", threadId, 10))
+                .thenReturn(List.of(new MemberSuggestion(memberId, "Alice", "alice@example.com", null)));
+
+        ResponseEntity<List<MemberController.MemberSummaryDto>> response =
+                memberController.searchMembers("al", threadId);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, response.getBody().size());
+        assertEquals(memberId, response.getBody().get(0).id());
+        assertEquals("Alice", response.getBody().get(0).name());
+    }
 }
@@ -138,7 +138,7 @@ class PostControllerTest {
                                 java.util.List.of(result), 0, 20, 1, 1, true, true);
 
                 when(postQueryService.getPostsByThread(eq(threadId), eq("test-tenant"), anyInt(), anyInt(),
-                                anyString()))
+                                anyString(), eq(com.openforum.rest.service.ContentMode.FULL)))
                                 .thenReturn(page);
 
                 // When & Then
@@ -156,7 +156,8 @@ class PostControllerTest {
                 com.openforum.rest.service.PostQueryService.PostQueryPage page = new com.openforum.rest.service.PostQueryService.PostQueryPage(
                                 java.util.List.of(), 0, 20, 0, 0, true, true);
 
-                when(postQueryService.getPostsByThread(eq(threadId), eq("test-tenant"), anyInt(), anyInt(), eq("top")))
+                when(postQueryService.getPostsByThread(eq(threadId), eq("test-tenant"), anyInt(), anyInt(), eq("top"),
+                                eq(com.openforum.rest.service.ContentMode.FULL)))
                                 .thenReturn(page);
 
                 // When & Then
@@ -175,7 +176,7 @@ class PostControllerTest {
                                 java.util.List.of(), 0, 20, 0, 0, true, true);
 
                 when(postQueryService.getPostsByThread(eq(threadId), eq("test-tenant"), anyInt(), anyInt(),
-                                eq("oldest")))
+                                eq("oldest"), eq(com.openforum.rest.service.ContentMode.FULL)))
                                 .thenReturn(page);
 
                 // When & Then - no sort param defaults to oldest
@@ -183,6 +184,60 @@ class PostControllerTest {
                                 .andExpect(status().isOk());
         }
 
+        @Test
+        void getPostsByThread_shouldReturnNotModified_whenETagMatches() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+                com.openforum.rest.service.ThreadQueryService.ThreadStamp stamp = new com.openforum.rest.service.ThreadQueryService.ThreadStamp(
+                                1L, 12, java.time.Instant.parse("2024-06-15T10:30:00Z"));
+
+                when(postQueryService.getThreadStamp(threadId, "test-tenant"))
+                                .thenReturn(java.util.Optional.of(stamp));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts")
+                                .header("If-None-Match", stamp.etag()))
+                                .andExpect(status().isNotModified());
+                org.mockito.Mockito.verify(postQueryService, org.mockito.Mockito.never())
+                                .getPostsByThread(any(), any(), anyInt(), anyInt(), any(), any());
+        }
+
+        @Test
+        void getTopPostsByThread_shouldReturnNextCursor() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+                com.openforum.rest.service.TopPostsCursor after = new com.openforum.rest.service.TopPostsCursor(
+                                3, java.time.Instant.parse("2024-06-15T10:30:00Z"), UUID.randomUUID());
+
+                com.openforum.rest.service.PostQueryService.PostCursorPage page = new com.openforum.rest.service.PostQueryService.PostCursorPage(
+                                java.util.List.of(), 20, "next-token");
+
+                when(postQueryService.getTopPostsByThread(threadId, "test-tenant", after, 20))
+                                .thenReturn(page);
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts/top?cursor=" + after.encode()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content").isArray())
+                                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                                .andExpect(jsonPath("$.last").value(false));
+        }
+
+        @Test
+        void getTopPostsByThread_shouldReturnBadRequest_whenCursorIsInvalid() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts/top?cursor=not-a-cursor"))
+                                .andExpect(status().isBadRequest());
+                org.mockito.Mockito.verify(postQueryService, org.mockito.Mockito.never())
+                                .getTopPostsByThread(any(), any(), any(), anyInt());
+        }
+
         @Test
         void getPostsByThread_shouldReturnScoreAndCreatedAt() throws Exception {
                 // Given
@@ -201,7 +256,7 @@ class PostControllerTest {
                                 java.util.List.of(result), 0, 20, 1, 1, true, true);
 
                 when(postQueryService.getPostsByThread(eq(threadId), eq("test-tenant"), anyInt(), anyInt(),
-                                anyString()))
+                                anyString(), eq(com.openforum.rest.service.ContentMode.FULL)))
                                 .thenReturn(page);
 
                 // When & Then - verify score and createdAt are correctly mapped
@@ -212,4 +267,169 @@ class PostControllerTest {
                                 .andExpect(jsonPath("$.content[0].createdAt").value("2024-06-15T10:30:00Z"))
                                 .andExpect(jsonPath("$.content[0].postNumber").value(1));
         }
+
+        @Test
+        void getPostsByThread_withFields_shouldReturnOnlySelectedFieldsAndSkipContent() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                UUID postId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                com.openforum.rest.service.PostQueryService.PostQueryResult result = new com.openforum.rest.service.PostQueryService.PostQueryResult(
+                                postId, threadId, UUID.randomUUID(), "Test Author",
+                                null, null, 1, 7, java.time.Instant.now(), false);
+
+                com.openforum.rest.service.PostQueryService.PostQueryPage page = new com.openforum.rest.service.PostQueryService.PostQueryPage(
+                                java.util.List.of(result), 0, 20, 1, 1, true, true);
+
+                when(postQueryService.getPostsByThread(eq(threadId), eq("test-tenant"), anyInt(), anyInt(),
+                                anyString(), eq(com.openforum.rest.service.ContentMode.NONE)))
+                                .thenReturn(page);
+
+                // When & Then - content is not selected, so it is not even loaded
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts?fields=id,score&content=excerpt"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].id").value(postId.toString()))
+                                .andExpect(jsonPath("$.content[0].score").value(7))
+                                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                                .andExpect(jsonPath("$.content[0].authorName").doesNotExist())
+                                .andExpect(jsonPath("$.totalElements").value(1));
+        }
+
+        @Test
+        void getPostsByThread_withExcerpt_shouldRequestExcerptContent() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                com.openforum.rest.service.PostQueryService.PostQueryPage page = new com.openforum.rest.service.PostQueryService.PostQueryPage(
+                                java.util.List.of(), 0, 20, 0, 0, true, true);
+
+                when(postQueryService.getPostsByThread(eq(threadId), eq("test-tenant"), anyInt(), anyInt(),
+                                anyString(), eq(com.openforum.rest.service.ContentMode.EXCERPT)))
+                                .thenReturn(page);
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts?content=excerpt"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content").isArray());
+        }
+
+        @Test
+        void getPostsAround_shouldReturnWindowWithCursors() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                com.openforum.rest.service.PostQueryService.PostQueryResult result = new com.openforum.rest.service.PostQueryService.PostQueryResult(
+                                UUID.randomUUID(), threadId, UUID.randomUUID(), "Test Author",
+                                "Deep-linked post", null, 120, 0, java.time.Instant.now(), false);
+
+                com.openforum.rest.service.PostQueryService.PostWindow window = new com.openforum.rest.service.PostQueryService.PostWindow(
+                                java.util.List.of(result), 20, 120, 120);
+
+                when(postQueryService.getPostsAround(threadId, "test-tenant", 120, 20))
+                                .thenReturn(window);
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts?around=120"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].postNumber").value(120))
+                                .andExpect(jsonPath("$.before").value(120))
+                                .andExpect(jsonPath("$.after").value(120));
+                org.mockito.Mockito.verify(postQueryService, org.mockito.Mockito.never())
+                                .getPostsByThread(any(), any(), anyInt(), anyInt(), any(), any());
+        }
+
+        @Test
+        void getPostsAfter_shouldDelegateToService() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                com.openforum.rest.service.PostQueryService.PostWindow window = new com.openforum.rest.service.PostQueryService.PostWindow(
+                                java.util.List.of(), 10, null, null);
+
+                when(postQueryService.getPostsAfter(threadId, "test-tenant", 40, 10))
+                                .thenReturn(window);
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts?after=40&size=10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content").isEmpty())
+                                .andExpect(jsonPath("$.after").doesNotExist());
+        }
+
+        @Test
+        void getPostsAround_shouldReturnBadRequest_whenPostNumberIsNotPositive() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts?around=0"))
+                                .andExpect(status().isBadRequest());
+                org.mockito.Mockito.verify(postQueryService, org.mockito.Mockito.never())
+                                .getPostsAround(any(), any(), anyInt(), anyInt());
+        }
+
+        @Test
+        void getPostsAround_shouldReturnBadRequest_whenAnotherCursorIsGiven() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/posts?around=120&after=40"))
+                                .andExpect(status().isBadRequest());
+                org.mockito.Mockito.verify(postQueryService, org.mockito.Mockito.never())
+                                .getPostsAround(any(), any(), anyInt(), anyInt());
+                org.mockito.Mockito.verify(postQueryService, org.mockito.Mockito.never())
+                                .getPostsAfter(any(), any(), anyInt(), anyInt());
+                org.mockito.Mockito.verify(postQueryService, org.mockito.Mockito.never())
+                                .getPostsByThread(any(), any(), anyInt(), anyInt(), any(), any());
+        }
+
+        @Test
+        void getReplies_shouldReturnSubtreeWithDescendantCounts() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                UUID postId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                com.openforum.rest.service.PostQueryService.PostQueryResult reply = new com.openforum.rest.service.PostQueryService.PostQueryResult(
+                                UUID.randomUUID(), threadId, UUID.randomUUID(), "Test Author",
+                                "A reply", postId, 7, 0, java.time.Instant.now(), false);
+
+                com.openforum.rest.service.PostQueryService.ReplyTree tree = new com.openforum.rest.service.PostQueryService.ReplyTree(
+                                postId, 4,
+                                java.util.List.of(new com.openforum.rest.service.PostQueryService.ReplyNode(reply, 1, 3)),
+                                false);
+
+                when(postQueryService.getReplies(postId, "test-tenant", 1, 100))
+                                .thenReturn(java.util.Optional.of(tree));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/posts/" + postId + "/replies"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.descendantCount").value(4))
+                                .andExpect(jsonPath("$.replies[0].post.postNumber").value(7))
+                                .andExpect(jsonPath("$.replies[0].depth").value(1))
+                                .andExpect(jsonPath("$.replies[0].descendantCount").value(3))
+                                .andExpect(jsonPath("$.truncated").value(false));
+        }
+
+        @Test
+        void getReplies_shouldReturnNotFound_whenPostIsMissing() throws Exception {
+                // Given
+                UUID postId = UUID.randomUUID();
+                com.openforum.domain.context.TenantContext.setTenantId("test-tenant");
+
+                when(postQueryService.getReplies(postId, "test-tenant", 3, 100))
+                                .thenReturn(java.util.Optional.empty());
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/posts/" + postId + "/replies?depth=3"))
+                                .andExpect(status().isNotFound());
+        }
 }
@@ -0,0 +1,157 @@
+package com.openforum.rest.controller;
+
+import com.openforum.application.service.HybridSearchService;
+import com.openforum.application.service.SearchService;
+import com.openforum.domain.aggregate.Member;
+import com.openforum.domain.repository.MemberRepository;
+import com.openforum.domain.valueobject.MemberRole;
+import com.openforum.domain.valueobject.SearchCursor;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchScope;
+import com.openforum.rest.auth.HybridJwtAuthenticationConverter;
+import com.openforum.rest.auth.MemberJwtAuthenticationConverter;
+import com.openforum.rest.config.JwtConfig;
+import com.openforum.rest.config.SecurityConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SearchController.class)
+@Import({ SecurityConfig.class, HybridJwtAuthenticationConverter.class, MemberJwtAuthenticationConverter.class,
+        JwtConfig.class })
+class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SearchService searchService;
+
+    @MockitoBean
+    private HybridSearchService hybridSearchService;
+
+    @MockitoBean
+    private MemberRepository memberRepository;
+
+    @MockitoBean
+    private java.security.interfaces.RSAPublicKey publicKey;
+
+    private Member testMember;
+
+    @BeforeEach
+    void setUp() {
+        testMember = Member.reconstitute(
+                UUID.randomUUID(), "ext-123", "test@example.com", "Test User", false, Instant.now(), Instant.now(),
+                MemberRole.MEMBER,
+                "test-tenant", null, 0, null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        com.openforum.domain.context.TenantContext.clear();
+        org.springframework.security.core.context.SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void search_shouldReturnRankedHitsWithNextCursor() throws Exception {
+        // Given
+        SearchHit hit = new SearchHit(SearchHit.Kind.POST, UUID.randomUUID(), UUID.randomUUID(), "Indexing",
+                "about <b>postgres</b> indexes", 0.5f, Instant.parse("2024-06-15T10:30:00Z"));
+        SearchCursor next = SearchCursor.of(hit);
+        when(searchService.search(eq("tenant-1"), eq("postgres"), eq(SearchScope.POSTS), isNull(),
+                eq(Instant.parse("2024-01-01T00:00:00Z")), isNull(), isNull(), eq(1)))
+                .thenReturn(new SearchService.SearchResults(List.of(hit), 1, next));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search")
+                .param("q", "postgres")
+                .param("scope", "posts")
+                .param("from", "2024-01-01T00:00:00Z")
+                .param("size", "1")
+                .with(authWithTenant(testMember, "tenant-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].type").value("POST"))
+                .andExpect(jsonPath("$.content[0].title").value("Indexing"))
+                .andExpect(jsonPath("$.content[0].snippet").value("about <b>postgres</b> indexes"))
+                .andExpect(jsonPath("$.nextCursor").value(next.encode()))
+                .andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    void search_shouldReturnBadRequest_whenScopeIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/v1/search")
+                .param("q", "postgres")
+                .param("scope", "members")
+                .with(authWithTenant(testMember, "tenant-1")))
+                .andExpect(status().isBadRequest());
+        verify(searchService, never()).search(anyString(), anyString(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void search_shouldReturnBadRequest_whenCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/api/v1/search")
+                .param("q", "postgres")
+                .param("cursor", "not-a-cursor")
+                .with(authWithTenant(testMember, "tenant-1")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void hybridSearch_shouldReturnFusedHitsWithLatencies() throws Exception {
+        // Given
+        SearchHit hit = new SearchHit(SearchHit.Kind.POST, UUID.randomUUID(), UUID.randomUUID(), "Indexing",
+                "about <b>postgres</b> indexes", 0.03f, Instant.parse("2024-06-15T10:30:00Z"));
+        when(hybridSearchService.search(eq("tenant-1"), eq("postgres"), eq(SearchScope.ALL), isNull(), isNull(),
+                isNull(), eq(10), eq(200)))
+                .thenReturn(new HybridSearchService.HybridSearchResults(List.of(hit),
+                        new HybridSearchService.Timings(4, 2, 6, 9)));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/search/hybrid")
+                .param("q", "postgres")
+                .param("size", "10")
+                .param("efSearch", "200")
+                .with(authWithTenant(testMember, "tenant-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(hit.id().toString()))
+                .andExpect(jsonPath("$.keywordMillis").value(4))
+                .andExpect(jsonPath("$.semanticMillis").value(6))
+                .andExpect(jsonPath("$.totalMillis").value(9));
+    }
+
+    private RequestPostProcessor authWithTenant(Member member, String tenantId) {
+        return request -> {
+            Authentication auth = new UsernamePasswordAuthenticationToken(member, null, Collections.emptyList());
+            request = org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors
+                    .authentication(auth)
+                    .postProcessRequest(request);
+            com.openforum.domain.context.TenantContext.setTenantId(tenantId);
+            return request;
+        };
+    }
+}
@@ -1,9 +1,9 @@
 package com.openforum.rest.controller;
 
+import com.openforum.application.cache.TagAutocompleteCache;
+import com.openforum.application.service.TagService;
 import com.openforum.domain.aggregate.Member;
-import com.openforum.domain.aggregate.Tag;
 import com.openforum.domain.repository.MemberRepository;
-import com.openforum.domain.repository.TagRepository;
 import com.openforum.rest.auth.HybridJwtAuthenticationConverter;
 import com.openforum.rest.auth.MemberJwtAuthenticationConverter;
 import com.openforum.rest.config.JwtConfig;
@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,10 +27,15 @@ import java.util.UUID;
 import java.time.Instant;
 import com.openforum.domain.valueobject.MemberRole;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,7 +48,7 @@ class TagControllerTest {
     private MockMvc mockMvc;
 
     @MockitoBean
-    private TagRepository tagRepository;
+    private TagService tagService;
 
     @MockitoBean
     private MemberRepository memberRepository;
@@ -72,9 +78,8 @@ class TagControllerTest {
     void searchTags_shouldReturnMatchingTags_whenAuthenticated() throws Exception {
         // Given
         UUID tagId = UUID.randomUUID();
-        Tag tag = Tag.reconstitute(tagId, "default-tenant", "java", 42L, Instant.now(), UUID.randomUUID(),
-                Instant.now(), UUID.randomUUID());
-        when(tagRepository.findByNameStartingWith(anyString(), anyString(), anyInt())).thenReturn(List.of(tag));
+        TagAutocompleteCache.Suggestion tag = new TagAutocompleteCache.Suggestion(tagId, "java", 42L);
+        when(tagService.autocomplete(anyString(), anyString(), anyInt())).thenReturn(List.of(tag));
 
         // When & Then
         mockMvc.perform(get("/api/v1/tags/search")
@@ -86,6 +91,32 @@ class TagControllerTest {
                 .andExpect(jsonPath("$[0].usageCount").value(42));
     }
 
+    @Test
+    void useTag_shouldRecordUsageForMember() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/tags/uses")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Java\"}")
+                .with(authWithTenant(testMember, "default-tenant")))
+                .andExpect(status().isNoContent());
+
+        verify(tagService).recordUsage("default-tenant", "Java", memberId);
+    }
+
+    @Test
+    void useTag_shouldRejectBlankName() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/tags/uses")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \" \"}")
+                .with(authWithTenant(testMember, "default-tenant")))
+                .andExpect(status().isBadRequest());
+
+        verify(tagService, never()).recordUsage(anyString(), anyString(), any());
+    }
+
     private RequestPostProcessor authWithTenant(Member member, String tenantId) {
         return request -> {
             Authentication auth = new UsernamePasswordAuthenticationToken(member, null, Collections.emptyList());
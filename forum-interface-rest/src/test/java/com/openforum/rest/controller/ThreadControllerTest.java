@@ -1,11 +1,15 @@
 package com.openforum.rest.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openforum.application.service.RelatedThreadService;
+import com.openforum.application.service.ThreadFacetService;
 import com.openforum.application.service.ThreadService;
 import com.openforum.domain.aggregate.Member;
 import com.openforum.domain.aggregate.Thread;
 import com.openforum.domain.factory.ThreadFactory;
 import com.openforum.domain.repository.MemberRepository;
+import com.openforum.domain.valueobject.Facet;
+import com.openforum.domain.valueobject.MetadataFilter;
 import com.openforum.rest.auth.HybridJwtAuthenticationConverter;
 import com.openforum.rest.auth.MemberJwtAuthenticationConverter;
 import com.openforum.rest.config.JwtConfig;
@@ -31,6 +35,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,6 +60,12 @@ class ThreadControllerTest {
         @MockitoBean
         private com.openforum.rest.service.ThreadQueryService threadQueryService;
 
+        @MockitoBean
+        private RelatedThreadService relatedThreadService;
+
+        @MockitoBean
+        private ThreadFacetService threadFacetService;
+
         @MockitoBean
         private java.security.interfaces.RSAPublicKey publicKey; // Required by HybridJwtAuthenticationConverter
 
@@ -118,6 +130,90 @@ class ThreadControllerTest {
                                 .andExpect(jsonPath("$.content").value("OP Content"));
         }
 
+        @Test
+        void getRelatedThreads_shouldReturnPrecomputedList() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                UUID relatedId = UUID.randomUUID();
+                when(threadQueryService.getThreadStamp(threadId)).thenReturn(Optional.of(
+                                new com.openforum.rest.service.ThreadQueryService.ThreadStamp(1L, 2,
+                                                java.time.Instant.now())));
+                when(relatedThreadService.getRelated(threadId)).thenReturn(
+                                new com.openforum.domain.valueobject.RelatedThreads(threadId,
+                                                java.util.List.of(new com.openforum.domain.valueobject.RelatedThread(
+                                                                relatedId, "Similar Thread", 4, 0.87f)),
+                                                java.time.Instant.now()));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/related")
+                                .with(authWithTenant(testMember, "tenant-1")))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(relatedId.toString()))
+                                .andExpect(jsonPath("$[0].title").value("Similar Thread"))
+                                .andExpect(jsonPath("$[0].postCount").value(4));
+        }
+
+        @Test
+        void getRelatedThreads_shouldReturnNotFound_whenThreadMissing() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                when(threadQueryService.getThreadStamp(threadId)).thenReturn(Optional.empty());
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId + "/related")
+                                .with(authWithTenant(testMember, "tenant-1")))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void getThread_shouldReturnETag_andNotModifiedOnRevalidation() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.rest.service.ThreadQueryService.ThreadStamp stamp = new com.openforum.rest.service.ThreadQueryService.ThreadStamp(
+                                3L, 5, java.time.Instant.parse("2024-06-15T10:30:00Z"));
+                com.openforum.rest.service.ThreadQueryService.ThreadQueryResult queryResult = new com.openforum.rest.service.ThreadQueryService.ThreadQueryResult(
+                                threadId, "Existing Thread", "OPEN", "OP Content", java.time.Instant.now(),
+                                testMember.getId(), "Test User", 5);
+
+                when(threadQueryService.getThreadStamp(threadId)).thenReturn(Optional.of(stamp));
+                when(threadQueryService.getRichThread(threadId)).thenReturn(Optional.of(queryResult));
+
+                // When & Then - first fetch carries validators
+                mockMvc.perform(get("/api/v1/threads/" + threadId))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", stamp.etag()))
+                                .andExpect(header().exists("Last-Modified"));
+
+                // When & Then - revalidation skips building the body
+                org.mockito.Mockito.clearInvocations(threadQueryService);
+                mockMvc.perform(get("/api/v1/threads/" + threadId)
+                                .header("If-None-Match", stamp.etag()))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+                org.mockito.Mockito.verify(threadQueryService, org.mockito.Mockito.never())
+                                .getRichThread(any(UUID.class));
+        }
+
+        @Test
+        void getThread_shouldReturnBody_whenETagIsStale() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.rest.service.ThreadQueryService.ThreadStamp stamp = new com.openforum.rest.service.ThreadQueryService.ThreadStamp(
+                                4L, 6, java.time.Instant.parse("2024-06-15T10:31:00Z"));
+                com.openforum.rest.service.ThreadQueryService.ThreadQueryResult queryResult = new com.openforum.rest.service.ThreadQueryService.ThreadQueryResult(
+                                threadId, "Existing Thread", "OPEN", "OP Content", java.time.Instant.now(),
+                                testMember.getId(), "Test User", 6);
+
+                when(threadQueryService.getThreadStamp(threadId)).thenReturn(Optional.of(stamp));
+                when(threadQueryService.getRichThread(threadId)).thenReturn(Optional.of(queryResult));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads/" + threadId)
+                                .header("If-None-Match", "\"3-5-1718447400000\""))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.postCount").value(6));
+        }
+
         @Test
         void getThreads_shouldFilterByMetadata_whenParamsProvided() throws Exception {
                 // Given
@@ -136,8 +232,10 @@ class ThreadControllerTest {
                                 anyString(),
                                 org.mockito.ArgumentMatchers.eq(0),
                                 org.mockito.ArgumentMatchers.eq(10),
-                                org.mockito.ArgumentMatchers.eq("questionId"),
-                                org.mockito.ArgumentMatchers.eq("102")))
+                                org.mockito.ArgumentMatchers.eq(java.util.List.of(new com.openforum.domain.valueobject.MetadataFilter(
+                                                "questionId", com.openforum.domain.valueobject.MetadataFilter.Operator.EQ, "102"))),
+                                org.mockito.ArgumentMatchers.isNull(),
+                                org.mockito.ArgumentMatchers.eq(com.openforum.rest.service.ContentMode.FULL)))
                                 .thenReturn(java.util.List.of(queryResult));
 
                 // When & Then
@@ -150,6 +248,205 @@ class ThreadControllerTest {
                                 .andExpect(jsonPath("$[0].title").value("SAT Question Discussion"));
         }
 
+        @Test
+        void getThreads_shouldCombineRepeatedFilters() throws Exception {
+                // Given
+                com.openforum.domain.valueobject.MetadataFilter subjectFilter = new com.openforum.domain.valueobject.MetadataFilter(
+                                "subject", com.openforum.domain.valueobject.MetadataFilter.Operator.EQ, "math");
+                com.openforum.domain.valueobject.MetadataFilter difficultyFilter = new com.openforum.domain.valueobject.MetadataFilter(
+                                "difficulty", com.openforum.domain.valueobject.MetadataFilter.Operator.GTE, "3");
+                when(threadQueryService.getRichThreads(
+                                anyString(),
+                                org.mockito.ArgumentMatchers.eq(0),
+                                org.mockito.ArgumentMatchers.eq(10),
+                                org.mockito.ArgumentMatchers.eq(java.util.List.of(subjectFilter, difficultyFilter)),
+                                org.mockito.ArgumentMatchers.isNull(),
+                                org.mockito.ArgumentMatchers.eq(com.openforum.rest.service.ContentMode.FULL)))
+                                .thenReturn(java.util.List.of(threadResult(UUID.randomUUID(), "Hard math")));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("filter", "subject:math")
+                                .param("filter", "difficulty>=3"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].title").value("Hard math"));
+        }
+
+        @Test
+        void getThreads_shouldReturnBadRequest_whenFilterIsInvalid() throws Exception {
+                mockMvc.perform(get("/api/v1/threads")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("filter", "difficulty>hard"))
+                                .andExpect(status().isBadRequest());
+                org.mockito.Mockito.verifyNoInteractions(threadQueryService);
+        }
+
+        @Test
+        void getThreads_shouldSortByDeclaredMetadataKey() throws Exception {
+                // Given
+                when(threadQueryService.getRichThreads(
+                                anyString(),
+                                org.mockito.ArgumentMatchers.eq(0),
+                                org.mockito.ArgumentMatchers.eq(10),
+                                org.mockito.ArgumentMatchers.eq(java.util.List.of()),
+                                org.mockito.ArgumentMatchers.eq(new com.openforum.domain.valueobject.MetadataSort(
+                                                "deal_irr", true)),
+                                org.mockito.ArgumentMatchers.eq(com.openforum.rest.service.ContentMode.FULL)))
+                                .thenReturn(java.util.List.of(threadResult(UUID.randomUUID(), "Best deal")));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("sort", "-deal_irr"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].title").value("Best deal"));
+        }
+
+        @Test
+        void getThreads_shouldReturnBadRequest_whenSortKeyIsNotDeclared() throws Exception {
+                when(threadQueryService.getRichThreads(anyString(), org.mockito.ArgumentMatchers.anyInt(),
+                                org.mockito.ArgumentMatchers.anyInt(), any(), any(), any()))
+                                .thenThrow(new IllegalArgumentException("Metadata key is not declared for sorting"));
+
+                mockMvc.perform(get("/api/v1/threads")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("sort", "color"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void getThreads_withFields_shouldReturnSparseThreadsWithoutContent() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.rest.service.ThreadQueryService.ThreadQueryResult queryResult = new com.openforum.rest.service.ThreadQueryService.ThreadQueryResult(
+                                threadId,
+                                "Sparse Thread",
+                                "OPEN",
+                                null,
+                                java.time.Instant.now(),
+                                testMember.getId(),
+                                "Test User",
+                                5);
+
+                when(threadQueryService.getRichThreads(
+                                anyString(),
+                                org.mockito.ArgumentMatchers.eq(0),
+                                org.mockito.ArgumentMatchers.eq(10),
+                                org.mockito.ArgumentMatchers.eq(java.util.List.of()),
+                                org.mockito.ArgumentMatchers.isNull(),
+                                org.mockito.ArgumentMatchers.eq(com.openforum.rest.service.ContentMode.NONE)))
+                                .thenReturn(java.util.List.of(queryResult));
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("fields", "id,title,postCount"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(threadId.toString()))
+                                .andExpect(jsonPath("$[0].title").value("Sparse Thread"))
+                                .andExpect(jsonPath("$[0].postCount").value(5))
+                                .andExpect(jsonPath("$[0].content").doesNotExist())
+                                .andExpect(jsonPath("$[0].authorName").doesNotExist());
+        }
+
+        @Test
+        void getThreadsByIds_shouldReturnThreadsInOrderAndMissingIds() throws Exception {
+                // Given
+                UUID first = UUID.randomUUID();
+                UUID missing = UUID.randomUUID();
+                UUID second = UUID.randomUUID();
+                java.util.List<UUID> ids = java.util.List.of(first, missing, second);
+
+                com.openforum.rest.service.ThreadQueryService.ThreadBatch batch = new com.openforum.rest.service.ThreadQueryService.ThreadBatch(
+                                java.util.List.of(threadResult(first, "First"), threadResult(second, "Second")),
+                                java.util.List.of(missing));
+
+                when(threadQueryService.getRichThreadsByIds(ids, "tenant-1")).thenReturn(batch);
+
+                // When & Then
+                mockMvc.perform(get("/api/v1/threads")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("ids", first + "," + missing + "," + second))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.threads[0].title").value("First"))
+                                .andExpect(jsonPath("$.threads[1].title").value("Second"))
+                                .andExpect(jsonPath("$.missing[0]").value(missing.toString()));
+        }
+
+        @Test
+        void postThreadsByIds_shouldReturnThreads() throws Exception {
+                // Given
+                UUID threadId = UUID.randomUUID();
+                com.openforum.rest.service.ThreadQueryService.ThreadBatch batch = new com.openforum.rest.service.ThreadQueryService.ThreadBatch(
+                                java.util.List.of(threadResult(threadId, "Batched")), java.util.List.of());
+
+                when(threadQueryService.getRichThreadsByIds(java.util.List.of(threadId), "tenant-1")).thenReturn(batch);
+
+                // When & Then
+                mockMvc.perform(post("/api/v1/threads/batch")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                new ThreadController.ThreadBatchRequest(java.util.List.of(threadId)))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.threads[0].id").value(threadId.toString()))
+                                .andExpect(jsonPath("$.missing").isEmpty());
+        }
+
+        @Test
+        void getThreadsByIds_shouldReturnBadRequest_whenIdIsInvalid() throws Exception {
+                mockMvc.perform(get("/api/v1/threads")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("ids", "not-a-uuid"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void postThreadsByIds_shouldReturnBadRequest_whenTooManyIds() throws Exception {
+                java.util.List<UUID> ids = java.util.stream.Stream.generate(UUID::randomUUID).limit(101).toList();
+
+                mockMvc.perform(post("/api/v1/threads/batch")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new ThreadController.ThreadBatchRequest(ids))))
+                                .andExpect(status().isBadRequest());
+                org.mockito.Mockito.verify(threadQueryService, org.mockito.Mockito.never())
+                                .getRichThreadsByIds(any(), any());
+        }
+
+        @Test
+        void getFacets_shouldReturnCountsForFilteredThreads() throws Exception {
+                when(threadFacetService.getFacets("tenant-1",
+                                java.util.List.of(new MetadataFilter("region", MetadataFilter.Operator.EQ, "eu"))))
+                                .thenReturn(java.util.List.of(new Facet("make", java.util.List.of(
+                                                new Facet.Value("volvo", 12), new Facet.Value("saab", 3)))));
+
+                mockMvc.perform(get("/api/v1/threads/facets")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("filter", "region:eu"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].key").value("make"))
+                                .andExpect(jsonPath("$[0].values[0].value").value("volvo"))
+                                .andExpect(jsonPath("$[0].values[0].count").value(12))
+                                .andExpect(jsonPath("$[0].values[1].value").value("saab"));
+        }
+
+        @Test
+        void getFacets_shouldReturnBadRequest_whenFilterIsMalformed() throws Exception {
+                mockMvc.perform(get("/api/v1/threads/facets")
+                                .with(authWithTenant(testMember, "tenant-1"))
+                                .param("filter", "price>cheap"))
+                                .andExpect(status().isBadRequest());
+                org.mockito.Mockito.verifyNoInteractions(threadFacetService);
+        }
+
+        private com.openforum.rest.service.ThreadQueryService.ThreadQueryResult threadResult(UUID id, String title) {
+                return new com.openforum.rest.service.ThreadQueryService.ThreadQueryResult(
+                                id, title, "OPEN", "OP Content", java.time.Instant.now(), testMember.getId(),
+                                "Test User", 1);
+        }
+
         private RequestPostProcessor authWithTenant(Member member, String tenantId) {
                 return request -> {
                         // First set authentication using Spring Security Test utilities
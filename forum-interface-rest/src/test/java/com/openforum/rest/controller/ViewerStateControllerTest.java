@@ -0,0 +1,140 @@
+package com.openforum.rest.controller;
+
+import com.openforum.domain.aggregate.Member;
+import com.openforum.domain.repository.MemberRepository;
+import com.openforum.domain.valueobject.MemberRole;
+import com.openforum.rest.auth.HybridJwtAuthenticationConverter;
+import com.openforum.rest.auth.MemberJwtAuthenticationConverter;
+import com.openforum.rest.config.JwtConfig;
+import com.openforum.rest.config.SecurityConfig;
+import com.openforum.rest.service.ViewerStateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ViewerStateController.class)
+@Import({ SecurityConfig.class, HybridJwtAuthenticationConverter.class, MemberJwtAuthenticationConverter.class,
+                JwtConfig.class })
+class ViewerStateControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockitoBean
+        private ViewerStateService viewerStateService;
+
+        @MockitoBean
+        private MemberRepository memberRepository;
+
+        @MockitoBean
+        private java.security.interfaces.RSAPublicKey publicKey;
+
+        private Member testMember;
+
+        @BeforeEach
+        void setUp() {
+                testMember = Member.reconstitute(
+                                UUID.randomUUID(), "ext-1", "a@a.com", "Viewer", false, Instant.now(), Instant.now(),
+                                MemberRole.MEMBER,
+                                "tenant-1",
+                                null, 0, null, null, null);
+        }
+
+        @AfterEach
+        void tearDown() {
+                com.openforum.domain.context.TenantContext.clear();
+                org.springframework.security.core.context.SecurityContextHolder.clearContext();
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/posts/viewer-state - returns vote, bookmark and subscription state")
+        void getViewerState_returnsStatePerPost() throws Exception {
+                // Given
+                UUID votedPost = UUID.randomUUID();
+                UUID bookmarkedPost = UUID.randomUUID();
+                UUID threadId = UUID.randomUUID();
+                Map<UUID, ViewerStateService.PostViewerState> posts = new LinkedHashMap<>();
+                posts.put(votedPost, new ViewerStateService.PostViewerState(1, false));
+                posts.put(bookmarkedPost, new ViewerStateService.PostViewerState(0, true));
+
+                when(viewerStateService.getViewerState(testMember.getId(), List.of(votedPost, bookmarkedPost),
+                                threadId))
+                                .thenReturn(new ViewerStateService.ViewerState(posts, true));
+
+                // When & Then
+                mockMvc.perform(post("/api/v1/posts/viewer-state")
+                                .with(authWithTenant(testMember, "default-tenant"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"postIds\": [\"" + votedPost + "\", \"" + bookmarkedPost
+                                                + "\"], \"threadId\": \"" + threadId + "\"}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.posts['" + votedPost + "'].vote").value(1))
+                                .andExpect(jsonPath("$.posts['" + votedPost + "'].bookmarked").value(false))
+                                .andExpect(jsonPath("$.posts['" + bookmarkedPost + "'].vote").value(0))
+                                .andExpect(jsonPath("$.posts['" + bookmarkedPost + "'].bookmarked").value(true))
+                                .andExpect(jsonPath("$.subscribed").value(true));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/posts/viewer-state - rejects more than 100 post ids")
+        void getViewerState_tooManyPosts_returns400() throws Exception {
+                String ids = IntStream.range(0, 101)
+                                .mapToObj(i -> "\"" + UUID.randomUUID() + "\"")
+                                .collect(Collectors.joining(","));
+
+                mockMvc.perform(post("/api/v1/posts/viewer-state")
+                                .with(authWithTenant(testMember, "default-tenant"))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"postIds\": [" + ids + "]}"))
+                                .andExpect(status().isBadRequest());
+                verify(viewerStateService, never()).getViewerState(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/posts/viewer-state - requires authentication")
+        void getViewerState_withoutAuth_returns401() throws Exception {
+                mockMvc.perform(post("/api/v1/posts/viewer-state")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"postIds\": []}"))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        private RequestPostProcessor authWithTenant(Member member, String tenantId) {
+                return request -> {
+                        Authentication auth = new UsernamePasswordAuthenticationToken(member, null,
+                                        Collections.emptyList());
+                        request = org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors
+                                        .authentication(auth)
+                                        .postProcessRequest(request);
+                        com.openforum.domain.context.TenantContext.setTenantId(tenantId);
+                        return request;
+                };
+        }
+}
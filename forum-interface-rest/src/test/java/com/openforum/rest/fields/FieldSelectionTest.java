@@ -0,0 +1,50 @@
+package com.openforum.rest.fields;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.openforum.rest.controller.dto.ThreadResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FieldSelectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+    private final ThreadResponse thread = new ThreadResponse(UUID.randomUUID(), "Title", "OPEN");
+
+    @Test
+    void filters_shouldWriteOnlySelectedFields() throws Exception {
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writer(FieldSelection.parse("id, title").filters())
+                .writeValueAsString(thread));
+
+        // Then
+        assertThat(json.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "title");
+    }
+
+    @Test
+    void filters_shouldWriteAllFieldsWithoutSelection() throws Exception {
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writer(FieldSelection.parse(null).filters())
+                .writeValueAsString(thread));
+
+        // Then
+        assertThat(json.has("status")).isTrue();
+        assertThat(json.has("postCount")).isTrue();
+    }
+
+    @Test
+    void sharedMapper_shouldWriteAllFieldsOutsideFilteredResponses() throws Exception {
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(thread));
+
+        // Then
+        assertThat(json.has("title")).isTrue();
+        assertThat(json.has("authorName")).isTrue();
+    }
+}
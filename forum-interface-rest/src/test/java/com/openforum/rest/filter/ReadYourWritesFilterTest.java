@@ -0,0 +1,43 @@
+package com.openforum.rest.filter;
+
+import com.openforum.infra.jpa.routing.ReadYourWritesContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+    @Test
+    void shouldRequirePrimary_whileIssuedDeadlineIsAhead() throws Exception {
+        assertThat(primaryRequiredFor(System.currentTimeMillis() + 4_000)).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreExpiredDeadline() throws Exception {
+        assertThat(primaryRequiredFor(System.currentTimeMillis() - 1)).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreDeadlineBeyondOneWindow() throws Exception {
+        assertThat(primaryRequiredFor(9_999_999_999_999L)).isFalse();
+        assertThat(primaryRequiredFor(System.currentTimeMillis() + 60_000)).isFalse();
+    }
+
+    private boolean primaryRequiredFor(long deadline) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/threads");
+        request.addHeader(ReadYourWritesFilter.HEADER, Long.toString(deadline));
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> primaryRequired.set(ReadYourWritesContext.isPrimaryRequired()));
+
+        return primaryRequired.get();
+    }
+}
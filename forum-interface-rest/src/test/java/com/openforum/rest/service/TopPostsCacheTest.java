@@ -0,0 +1,66 @@
+package com.openforum.rest.service;
+
+import com.openforum.application.event.PostVotedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopPostsCacheTest {
+
+    private final TopPostsCache cache = new TopPostsCache(50, 10, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldServeEntryWhileStampMatches() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        cache.get(threadId, "\"1-2-3\"", this::load);
+
+        // When
+        cache.get(threadId, "\"1-2-3\"", this::load);
+        cache.get(threadId, "\"1-2-4\"", this::load);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void onPostVoted_shouldEvictTheVotedThread() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+        cache.get(threadId, "\"1-2-3\"", this::load);
+
+        // When
+        cache.onPostVoted(new PostVotedEvent(UUID.randomUUID(), threadId, "tenant-1", 1));
+        cache.get(threadId, "\"1-2-3\"", this::load);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldNotStoreLoadThatOverlappedAnEviction() {
+        // Given
+        UUID threadId = UUID.randomUUID();
+
+        // When: a vote is committed while the ranking is being read
+        cache.get(threadId, "\"1-2-3\"", () -> {
+            cache.evict(threadId);
+            return load();
+        });
+        cache.get(threadId, "\"1-2-3\"", this::load);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<PostQueryService.PostQueryResult> load() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+}
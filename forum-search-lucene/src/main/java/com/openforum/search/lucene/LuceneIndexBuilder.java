@@ -0,0 +1,79 @@
+package com.openforum.search.lucene;
+
+import com.openforum.application.service.scheduler.BatchPause;
+import com.openforum.domain.repository.SearchRepository;
+import com.openforum.domain.valueobject.SearchDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Builds the local index from the database: on a node whose index is empty,
+ * and whenever the index was built for another document version (a new
+ * {@link SearchDocuments#LAYOUT}, or a thread document definition changed
+ * through {@code app.search.thread-document.metadata-keys}). The event stream
+ * alone only covers the events Kafka still retains.
+ * <p>
+ * Threads and then posts are read in id order, a batch at a time, with a pause
+ * between batches; each run indexes at most {@code max-batches-per-run}
+ * batches. The position is committed with the index, so restarts resume it.
+ * The event feed keeps applying changes meanwhile; documents are upserted by
+ * id, so both converge on the stored state.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene")
+public class LuceneIndexBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneIndexBuilder.class);
+
+    private final TenantIndexes indexes;
+    private final LuceneIndexer indexer;
+    private final SearchRepository searchRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+
+    public LuceneIndexBuilder(TenantIndexes indexes, LuceneIndexer indexer, SearchRepository searchRepository,
+            @Value("${app.search.lucene.build.batch-size:500}") int batchSize,
+            @Value("${app.search.lucene.build.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${app.search.lucene.build.pause:PT0.1S}") Duration pause) {
+        this.indexes = indexes;
+        this.indexer = indexer;
+        this.searchRepository = searchRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.lucene.build.interval:PT10S}")
+    public void build() {
+        String version = SearchDocuments.LAYOUT + "." + searchRepository.threadDocumentVersion();
+        TenantIndexes.Build build = indexes.build();
+        if (build == null || !build.version().equals(version)) {
+            log.info("Building search index version {} from the database", version);
+            build = TenantIndexes.Build.start(version);
+            indexes.recordBuild(build);
+        }
+
+        for (int batch = 0; batch < maxBatchesPerRun && !build.isDone(); batch++) {
+            List<SearchDocument> documents = build.phase() == TenantIndexes.Build.Phase.THREADS
+                    ? indexer.indexThreads(build.after(), batchSize)
+                    : indexer.indexPosts(build.after(), batchSize);
+            build = documents.size() < batchSize
+                    ? build.nextPhase()
+                    : build.next(documents.get(documents.size() - 1).id());
+            indexes.recordBuild(build);
+            if (build.isDone()) {
+                log.info("Search index version {} built", version);
+            } else if (!BatchPause.sleep(pause)) {
+                return;
+            }
+        }
+    }
+}
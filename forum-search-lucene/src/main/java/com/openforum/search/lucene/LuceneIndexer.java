@@ -0,0 +1,109 @@
+package com.openforum.search.lucene;
+
+import com.openforum.domain.aggregate.Thread;
+import com.openforum.domain.aggregate.ThreadStatus;
+import com.openforum.domain.repository.PostRepository;
+import com.openforum.domain.repository.SearchRepository;
+import com.openforum.domain.repository.ThreadRepository;
+import com.openforum.domain.valueobject.SearchDocument;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Brings the index in line with the current state of one thread or post, or of
+ * a batch of them during a rebuild. Documents are always reloaded from the
+ * database rather than built from event payloads, so replays and out-of-order
+ * delivery converge on the stored state.
+ * <p>
+ * Every write reads and applies under one lock, so a rebuild batch that read a
+ * thread just before it was deleted cannot put it back after the event feed
+ * removed it: the feed's reload runs after the batch and sees the delete.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene")
+public class LuceneIndexer {
+
+    private final TenantIndexes indexes;
+    private final ThreadRepository threadRepository;
+    private final PostRepository postRepository;
+    private final SearchRepository searchRepository;
+
+    public LuceneIndexer(TenantIndexes indexes, ThreadRepository threadRepository, PostRepository postRepository,
+            SearchRepository searchRepository) {
+        this.indexes = indexes;
+        this.threadRepository = threadRepository;
+        this.postRepository = postRepository;
+        this.searchRepository = searchRepository;
+    }
+
+    /**
+     * Indexes the thread, or removes it and its posts once deleted or archived.
+     */
+    public synchronized void refreshThread(UUID threadId) {
+        threadRepository.findById(threadId).ifPresent(thread -> {
+            Optional<SearchDocument> document = isSearchable(thread)
+                    ? searchRepository.findThreadDocument(threadId)
+                    : Optional.empty();
+            if (document.isEmpty()) {
+                // A thread's own document carries its id as thread_id too
+                indexes.delete(thread.getTenantId(), SearchDocuments.threadTerm(threadId));
+            } else {
+                upsert(document.get());
+            }
+        });
+    }
+
+    /**
+     * Indexes the post, or removes it once it or its thread is deleted or the
+     * thread is archived, the same posts the Postgres backend leaves out. The
+     * opening post is part of its thread's document, so that is refreshed too.
+     */
+    public synchronized void refreshPost(UUID postId) {
+        postRepository.findById(postId).ifPresent(post -> {
+            Optional<Thread> thread = threadRepository.findById(post.getThreadId());
+            if (post.isDeleted() || thread.isEmpty() || !isSearchable(thread.get())) {
+                indexes.delete(post.getTenantId(), SearchDocuments.idTerm(postId));
+            } else {
+                upsert(SearchDocuments.post(post, thread.get().getCategoryId()));
+            }
+            if (Integer.valueOf(1).equals(post.getPostNumber())) {
+                refreshThread(post.getThreadId());
+            }
+        });
+    }
+
+    /**
+     * Indexes the next batch of searchable threads after {@code afterId}.
+     *
+     * @return the documents indexed, in id order
+     */
+    synchronized List<SearchDocument> indexThreads(UUID afterId, int limit) {
+        List<SearchDocument> documents = searchRepository.findThreadDocuments(afterId, limit);
+        documents.forEach(this::upsert);
+        return documents;
+    }
+
+    /**
+     * Indexes the next batch of live posts after {@code afterId}.
+     *
+     * @return the documents indexed, in id order
+     */
+    synchronized List<SearchDocument> indexPosts(UUID afterId, int limit) {
+        List<SearchDocument> documents = searchRepository.findPostDocuments(afterId, limit);
+        documents.forEach(this::upsert);
+        return documents;
+    }
+
+    private void upsert(SearchDocument document) {
+        indexes.upsert(document.tenantId(), SearchDocuments.idTerm(document.id()),
+                SearchDocuments.document(document));
+    }
+
+    private static boolean isSearchable(Thread thread) {
+        return !thread.isDeleted() && thread.getStatus() != ThreadStatus.ARCHIVED;
+    }
+}
@@ -0,0 +1,209 @@
+package com.openforum.search.lucene;
+
+import com.openforum.domain.search.SearchIndex;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link SearchIndex} backed by the embedded per-tenant Lucene indexes.
+ * Enabled with {@code app.search.backend=lucene}; Postgres full-text search
+ * stays the default.
+ * <p>
+ * Every query word must match, either by stem (boosted), within one or two
+ * edits (typo tolerance) or, for the last word, as a prefix (search as you
+ * type). A leading {@code -} excludes a word; quotes are ignored. Hits are
+ * ordered by score, then id, and paged with {@code searchAfter} on that key.
+ * Snippets are escaped HTML with matches wrapped in {@code <b>...</b>}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene")
+public class LuceneSearchIndex implements SearchIndex {
+
+    private static final Sort RANK_ORDER = new Sort(SortField.FIELD_SCORE,
+            new SortField(SearchDocuments.ID, SortField.Type.STRING));
+    private static final int SNIPPET_PASSAGES = 2;
+    private static final int SNIPPET_FALLBACK_LENGTH = 200;
+
+    private final TenantIndexes indexes;
+
+    public LuceneSearchIndex(TenantIndexes indexes) {
+        this.indexes = indexes;
+    }
+
+    @Override
+    public List<SearchHit> search(SearchQuery query) {
+        Query textQuery = textQuery(query.text());
+        if (textQuery == null) {
+            return List.of();
+        }
+        Query filtered = withFilters(textQuery, query);
+        return indexes.search(query.tenantId(), searcher -> hits(searcher, filtered, textQuery, query), List.of());
+    }
+
+    private List<SearchHit> hits(IndexSearcher searcher, Query filtered, Query textQuery, SearchQuery query)
+            throws IOException {
+        TopFieldDocs docs;
+        if (query.after() == null) {
+            docs = searcher.search(filtered, query.limit(), RANK_ORDER, true);
+        } else {
+            FieldDoc after = new FieldDoc(Integer.MAX_VALUE, query.after().rank(),
+                    new Object[] { query.after().rank(), new BytesRef(query.after().id().toString()) });
+            docs = searcher.searchAfter(after, filtered, query.limit(), RANK_ORDER, true);
+        }
+        if (docs.scoreDocs.length == 0) {
+            return List.of();
+        }
+
+        String[] snippets = UnifiedHighlighter.builder(searcher, indexes.analyzer())
+                .withHandleMultiTermQuery(true)
+                .withFormatter(new DefaultPassageFormatter("<b>", "</b>", "... ", true))
+                .build()
+                .highlight(SearchDocuments.PLAIN, textQuery, docs, SNIPPET_PASSAGES);
+
+        StoredFields stored = searcher.storedFields();
+        Map<UUID, String> titles = new HashMap<>();
+        List<SearchHit> hits = new ArrayList<>(docs.scoreDocs.length);
+        for (int i = 0; i < docs.scoreDocs.length; i++) {
+            ScoreDoc scoreDoc = docs.scoreDocs[i];
+            Document doc = stored.document(scoreDoc.doc);
+            SearchHit.Kind kind = SearchHit.Kind.valueOf(doc.get(SearchDocuments.KIND));
+            UUID threadId = UUID.fromString(doc.get(SearchDocuments.THREAD_ID));
+            String text = doc.get(SearchDocuments.PLAIN);
+            String title = kind == SearchHit.Kind.THREAD
+                    ? doc.get(SearchDocuments.TITLE)
+                    : titles.computeIfAbsent(threadId, id -> threadTitle(searcher, id));
+            String snippet = snippets[i] != null
+                    ? snippets[i]
+                    : SearchHit.escapeHtml(text.substring(0, Math.min(text.length(), SNIPPET_FALLBACK_LENGTH)));
+            hits.add(new SearchHit(kind, UUID.fromString(doc.get(SearchDocuments.ID)), threadId, title, snippet,
+                    scoreDoc.score,
+                    Instant.ofEpochMilli(doc.getField(SearchDocuments.CREATED_AT).numericValue().longValue())));
+        }
+        return hits;
+    }
+
+    private static String threadTitle(IndexSearcher searcher, UUID threadId) {
+        try {
+            TopDocs thread = searcher.search(new TermQuery(SearchDocuments.idTerm(threadId)), 1);
+            return thread.scoreDocs.length > 0
+                    ? searcher.storedFields().document(thread.scoreDocs[0].doc).get(SearchDocuments.TITLE)
+                    : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the scoring part of the query, or returns null if no searchable
+     * word remains after analysis (e.g. only stop words).
+     */
+    Query textQuery(String text) {
+        String[] words = text.replace("\"", " ").trim().split("\\s+");
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        boolean hasRequired = false;
+        for (int i = 0; i < words.length; i++) {
+            boolean excluded = words[i].startsWith("-") && words[i].length() > 1;
+            String word = excluded ? words[i].substring(1) : words[i];
+            List<String> stems = analyze(SearchDocuments.TEXT, word);
+            if (excluded) {
+                stems.forEach(stem -> builder.add(new TermQuery(new Term(SearchDocuments.TEXT, stem)),
+                        BooleanClause.Occur.MUST_NOT));
+                continue;
+            }
+            if (stems.isEmpty()) {
+                // Stop words are not indexed, so they cannot be required
+                continue;
+            }
+            BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+            stems.forEach(stem -> alternatives.add(new BoostQuery(
+                    new TermQuery(new Term(SearchDocuments.TEXT, stem)), 3f), BooleanClause.Occur.SHOULD));
+            for (String token : analyze(SearchDocuments.PLAIN, word)) {
+                Term term = new Term(SearchDocuments.PLAIN, token);
+                if (token.length() >= 4) {
+                    alternatives.add(new FuzzyQuery(term, token.length() >= 8 ? 2 : 1, 1),
+                            BooleanClause.Occur.SHOULD);
+                }
+                if (i == words.length - 1) {
+                    alternatives.add(new PrefixQuery(term), BooleanClause.Occur.SHOULD);
+                }
+            }
+            builder.add(alternatives.build(), BooleanClause.Occur.MUST);
+            hasRequired = true;
+        }
+        return hasRequired ? builder.build() : null;
+    }
+
+    private List<String> analyze(String field, String word) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = indexes.analyzer().tokenStream(field, word)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private static Query withFilters(Query textQuery, SearchQuery query) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (!query.scope().includesThreads()) {
+            builder.add(kind(SearchHit.Kind.POST), BooleanClause.Occur.FILTER);
+        } else if (!query.scope().includesPosts()) {
+            builder.add(kind(SearchHit.Kind.THREAD), BooleanClause.Occur.FILTER);
+        }
+        if (query.categoryId() != null) {
+            builder.add(new TermQuery(new Term(SearchDocuments.CATEGORY_ID, query.categoryId().toString())),
+                    BooleanClause.Occur.FILTER);
+        }
+        if (query.from() != null || query.to() != null) {
+            long from = query.from() != null ? query.from().toEpochMilli() : Long.MIN_VALUE;
+            long to = query.to() != null ? query.to().toEpochMilli() - 1 : Long.MAX_VALUE;
+            builder.add(LongPoint.newRangeQuery(SearchDocuments.CREATED_AT, from, to), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private static Query kind(SearchHit.Kind kind) {
+        return new TermQuery(new Term(SearchDocuments.KIND, kind.name()));
+    }
+}
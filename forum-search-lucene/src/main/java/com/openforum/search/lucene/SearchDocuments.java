@@ -0,0 +1,83 @@
+package com.openforum.search.lucene;
+
+import com.openforum.domain.aggregate.Post;
+import com.openforum.domain.valueobject.SearchDocument;
+import com.openforum.domain.valueobject.SearchHit;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.util.BytesRef;
+
+import java.util.UUID;
+
+/**
+ * Field layout of the Lucene index. Threads and posts share one index per
+ * tenant, told apart by {@link #KIND}. The document text (for a thread its
+ * title, opening post and configured metadata values, as in the Postgres
+ * documents; for a post its content) is indexed twice: stemmed in
+ * {@link #TEXT} for exact matches, and only lowercased in {@link #PLAIN} (which
+ * also stores it) for fuzzy and prefix matches, which don't work on stems. A
+ * thread's title is stored in {@link #TITLE}.
+ * <p>
+ * {@link #LAYOUT} is part of the version an index is built for; bump it when
+ * the layout changes so existing indexes are rebuilt.
+ */
+final class SearchDocuments {
+
+    static final String ID = "id";
+    static final String KIND = "kind";
+    static final String THREAD_ID = "thread_id";
+    static final String CATEGORY_ID = "category_id";
+    static final String CREATED_AT = "created_at";
+    static final String TEXT = "text";
+    static final String PLAIN = "plain";
+    static final String TITLE = "title";
+
+    static final int LAYOUT = 2;
+
+    private SearchDocuments() {
+    }
+
+    /**
+     * The thread's category is copied onto posts so category filters need no
+     * join; a post keeps the category it was indexed under until it is reindexed.
+     */
+    static SearchDocument post(Post post, UUID categoryId) {
+        return new SearchDocument(SearchHit.Kind.POST, post.getId(), post.getTenantId(), post.getThreadId(),
+                categoryId, post.getCreatedAt(), null, post.getContent());
+    }
+
+    static Term idTerm(UUID id) {
+        return new Term(ID, id.toString());
+    }
+
+    static Term threadTerm(UUID threadId) {
+        return new Term(THREAD_ID, threadId.toString());
+    }
+
+    static Document document(SearchDocument source) {
+        String text = source.text() != null ? source.text() : "";
+        long createdAt = source.createdAt().toEpochMilli();
+        Document doc = new Document();
+        doc.add(new StringField(ID, source.id().toString(), Field.Store.YES));
+        doc.add(new SortedDocValuesField(ID, new BytesRef(source.id().toString())));
+        doc.add(new StringField(KIND, source.kind().name(), Field.Store.YES));
+        doc.add(new StringField(THREAD_ID, source.threadId().toString(), Field.Store.YES));
+        if (source.categoryId() != null) {
+            doc.add(new StringField(CATEGORY_ID, source.categoryId().toString(), Field.Store.NO));
+        }
+        doc.add(new LongPoint(CREATED_AT, createdAt));
+        doc.add(new StoredField(CREATED_AT, createdAt));
+        if (source.title() != null) {
+            doc.add(new StoredField(TITLE, source.title()));
+        }
+        doc.add(new TextField(TEXT, text, Field.Store.NO));
+        doc.add(new TextField(PLAIN, text, Field.Store.YES));
+        return doc;
+    }
+}
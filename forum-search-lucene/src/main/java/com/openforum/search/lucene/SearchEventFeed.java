@@ -0,0 +1,86 @@
+package com.openforum.search.lucene;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Feeds the local index from the domain event stream the outbox publishes.
+ * <p>
+ * Each node is assigned every partition (see {@link SearchEventFeedConfig}), so
+ * every node sees every event. On assignment the consumer seeks to the offsets
+ * recorded in the index's last commit; partitions with no recorded offset start
+ * from the earliest retained event.
+ * <p>
+ * Events are not interpreted beyond the ids they name: a post id refreshes that
+ * post, otherwise a thread id refreshes that thread. Only unreadable events are
+ * skipped; a failure to apply one is thrown to the container, which retries it,
+ * and its offset is recorded only once it has been applied.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene")
+public class SearchEventFeed implements ConsumerSeekAware {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchEventFeed.class);
+    static final String TOPIC = "forum-events-v1";
+
+    private final LuceneIndexer indexer;
+    private final TenantIndexes indexes;
+    private final ObjectMapper objectMapper;
+
+    public SearchEventFeed(LuceneIndexer indexer, TenantIndexes indexes, ObjectMapper objectMapper) {
+        this.indexer = indexer;
+        this.indexes = indexes;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topicPartitions = @org.springframework.kafka.annotation.TopicPartition(
+                    topic = TOPIC, partitions = "#{@searchEventPartitions}"),
+            groupId = "openforum-search",
+            containerFactory = SearchEventFeedConfig.CONTAINER_FACTORY)
+    public void onEvent(ConsumerRecord<String, String> record) {
+        UUID postId;
+        UUID threadId;
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            postId = event.hasNonNull("postId") ? UUID.fromString(event.get("postId").asText()) : null;
+            threadId = event.hasNonNull("threadId") ? UUID.fromString(event.get("threadId").asText()) : null;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            // Retrying can't make a malformed event readable
+            log.warn("Skipping unreadable event at {}-{}@{}", record.topic(), record.partition(), record.offset(), e);
+            indexes.recordOffset(record.partition(), record.offset() + 1);
+            return;
+        }
+
+        if (postId != null) {
+            indexer.refreshPost(postId);
+        } else if (threadId != null) {
+            indexer.refreshThread(threadId);
+        }
+        indexes.recordOffset(record.partition(), record.offset() + 1);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Map<Integer, Long> resume = indexes.resumeOffsets();
+        assignments.keySet().forEach(partition -> {
+            Long offset = resume.get(partition.partition());
+            if (offset != null) {
+                callback.seek(partition.topic(), partition.partition(), offset);
+            } else {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            }
+        });
+    }
+}
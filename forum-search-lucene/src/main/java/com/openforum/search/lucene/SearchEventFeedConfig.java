@@ -0,0 +1,54 @@
+package com.openforum.search.lucene;
+
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+/**
+ * Consumer setup for {@link SearchEventFeed}. Every node reads every partition
+ * of the event topic by manual assignment rather than through a consumer
+ * group, and nothing is committed to Kafka: the offsets recorded in each
+ * index commit are the only resume point.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene")
+public class SearchEventFeedConfig {
+
+    static final String CONTAINER_FACTORY = "searchEventFeedContainerFactory";
+
+    /**
+     * Retries a failed apply with backoff until it succeeds, so an event is
+     * never passed over while the database or disk is unavailable.
+     */
+    @Bean(CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> searchEventFeedContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer, ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        ExponentialBackOff backOff = new ExponentialBackOff(1_000, 2);
+        backOff.setMaxInterval(60_000);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(backOff));
+        return factory;
+    }
+
+    /**
+     * Partitions of the event topic as they are at startup; partitions added
+     * later are picked up on restart.
+     */
+    @Bean
+    public String[] searchEventPartitions(KafkaAdmin kafkaAdmin) {
+        TopicDescription topic = kafkaAdmin.describeTopics(SearchEventFeed.TOPIC).get(SearchEventFeed.TOPIC);
+        return topic.partitions().stream()
+                .map(partition -> Integer.toString(partition.partition()))
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,492 @@
+package com.openforum.search.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.KeepOnlyLastCommitDeletionPolicy;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.SnapshotDeletionPolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * One Lucene index per tenant, each in its own memory-mapped directory under
+ * {@code app.search.lucene.path}.
+ * <p>
+ * Writes become searchable at the next refresh (near-real-time, every
+ * {@code refresh-interval}) and durable at the next commit. Every commit records
+ * the event-stream offsets applied so far, so after a restart the feed resumes
+ * from the oldest offset any tenant has committed. Re-applying an event is
+ * harmless: documents are reloaded and replaced by id.
+ * <p>
+ * Commits also record the progress of the rebuild from the database (see
+ * {@link LuceneIndexBuilder}), so an interrupted rebuild resumes from the
+ * earliest position any tenant committed.
+ * <p>
+ * With {@code snapshot-path} set, committed indexes are copied there
+ * periodically, one directory per tenant holding immutable copies and a
+ * {@code CURRENT} file naming the latest; a node that starts with an empty
+ * index restores the latest copy and replays only the events after it instead
+ * of rebuilding from the stream.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "lucene")
+public class TenantIndexes implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantIndexes.class);
+    private static final String OFFSET_PREFIX = "offset.";
+    private static final String BUILD_VERSION = "build.version";
+    private static final String BUILD_PHASE = "build.phase";
+    private static final String BUILD_AFTER = "build.after";
+    private static final String CURRENT = "CURRENT";
+    private static final String LOCK = "snapshot.lock";
+
+    private final Path root;
+    private final Path snapshotRoot;
+    private final Analyzer analyzer = new PerFieldAnalyzerWrapper(new EnglishAnalyzer(),
+            Map.of(SearchDocuments.PLAIN, new StandardAnalyzer()));
+    private final Map<String, TenantIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> offsets = new ConcurrentHashMap<>();
+    private volatile Build build;
+
+    public TenantIndexes(@Value("${app.search.lucene.path:data/search-index}") String path,
+            @Value("${app.search.lucene.snapshot-path:}") String snapshotPath) throws IOException {
+        this.root = Path.of(path);
+        this.snapshotRoot = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        Files.createDirectories(root);
+        openExisting();
+    }
+
+    Analyzer analyzer() {
+        return analyzer;
+    }
+
+    /**
+     * Offset to resume each partition from: progress so far in this process, or
+     * at startup the oldest offset every tenant committed. Partitions missing
+     * here must be replayed from the start.
+     */
+    Map<Integer, Long> resumeOffsets() {
+        return Map.copyOf(offsets);
+    }
+
+    /**
+     * Records that every event of {@code partition} before {@code nextOffset} has
+     * been applied.
+     */
+    void recordOffset(int partition, long nextOffset) {
+        offsets.merge(partition, nextOffset, Math::max);
+    }
+
+    /**
+     * Progress of the rebuild from the database, or null if none was ever
+     * recorded (a new node, or indexes from before rebuilds).
+     */
+    Build build() {
+        return build;
+    }
+
+    /**
+     * Records rebuild progress; it becomes durable with the next commit.
+     */
+    void recordBuild(Build build) {
+        this.build = build;
+    }
+
+    void upsert(String tenantId, Term id, Document document) {
+        try {
+            forTenant(tenantId).writer.updateDocument(id, document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void delete(String tenantId, Term... terms) {
+        try {
+            forTenant(tenantId).writer.deleteDocuments(terms);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs {@code callback} against the tenant's latest refreshed searcher, or
+     * returns {@code empty} if the tenant has nothing indexed.
+     */
+    <T> T search(String tenantId, SearcherCallback<T> callback, T empty) {
+        TenantIndex index = indexes.get(tenantId);
+        if (index == null) {
+            return empty;
+        }
+        try {
+            IndexSearcher searcher = index.searchers.acquire();
+            try {
+                return callback.apply(searcher);
+            } finally {
+                index.searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.lucene.refresh-interval:PT1S}")
+    public void refresh() {
+        indexes.forEach((tenantId, index) -> {
+            try {
+                index.searchers.maybeRefresh();
+            } catch (IOException e) {
+                log.warn("Failed to refresh search index for tenant {}", tenantId, e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.lucene.commit-interval:PT30S}")
+    public void commit() {
+        Map<String, String> data = commitData();
+        indexes.forEach((tenantId, index) -> {
+            try {
+                if (index.writer.hasUncommittedChanges() || !data.equals(index.committed)) {
+                    index.writer.setLiveCommitData(data.entrySet());
+                    index.writer.commit();
+                    index.committed = data;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to commit search index for tenant {}", tenantId, e);
+            }
+        });
+    }
+
+    /**
+     * Copies each tenant's last commit to the snapshot location. The commit is
+     * pinned while it is copied, so concurrent merges cannot delete its files.
+     * Each copy goes to a new directory and is published by atomically
+     * replacing the tenant's {@code CURRENT} pointer, so readers never see a
+     * partial copy or no snapshot at all. A per-tenant file lock lets one node
+     * at a time write; the others skip that tenant until the next round.
+     */
+    @Scheduled(fixedDelayString = "${app.search.lucene.snapshot-interval:PT15M}")
+    public void snapshot() {
+        if (snapshotRoot == null) {
+            return;
+        }
+        indexes.forEach((tenantId, index) -> {
+            Path snapshots = snapshotRoot.resolve(encode(tenantId));
+            try {
+                Files.createDirectories(snapshots);
+                try (FileChannel lockFile = FileChannel.open(snapshots.resolve(LOCK),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                        FileLock lock = lockFile.tryLock()) {
+                    if (lock == null) {
+                        return;
+                    }
+                    IndexCommit commit = index.snapshots.snapshot();
+                    try {
+                        publish(snapshots, index.path, commit);
+                    } finally {
+                        index.snapshots.release(commit);
+                        index.writer.deleteUnusedFiles();
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Failed to snapshot search index for tenant {}", tenantId, e);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        commit();
+        indexes.forEach((tenantId, index) -> {
+            try {
+                index.searchers.close();
+                index.writer.close();
+                index.directory.close();
+            } catch (IOException e) {
+                log.warn("Failed to close search index for tenant {}", tenantId, e);
+            }
+        });
+        indexes.clear();
+    }
+
+    private TenantIndex forTenant(String tenantId) {
+        return indexes.computeIfAbsent(tenantId, id -> {
+            try {
+                return open(encode(id));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void openExisting() throws IOException {
+        TreeSet<String> names = new TreeSet<>(directories(root));
+        if (snapshotRoot != null) {
+            names.addAll(directories(snapshotRoot));
+        }
+
+        Map<Integer, Long> resume = null;
+        Build resumeBuild = null;
+        for (String name : names) {
+            TenantIndex index = open(name);
+            indexes.put(decode(name), index);
+
+            Map<Integer, Long> committed = new HashMap<>();
+            index.committed.forEach((key, value) -> {
+                if (key.startsWith(OFFSET_PREFIX)) {
+                    committed.put(Integer.parseInt(key.substring(OFFSET_PREFIX.length())), Long.parseLong(value));
+                }
+            });
+            Build committedBuild = Build.from(index.committed);
+            if (resume == null) {
+                resume = committed;
+                resumeBuild = committedBuild;
+            } else {
+                resume.keySet().retainAll(committed.keySet());
+                resume.replaceAll((partition, offset) -> Math.min(offset, committed.get(partition)));
+                resumeBuild = Build.earlier(resumeBuild, committedBuild);
+            }
+        }
+        if (resume != null) {
+            offsets.putAll(resume);
+        }
+        build = resumeBuild;
+    }
+
+    private TenantIndex open(String name) throws IOException {
+        Path path = root.resolve(name);
+        Files.createDirectories(path);
+        Directory directory = new MMapDirectory(path);
+
+        Path snapshot = snapshotRoot != null ? currentSnapshot(snapshotRoot.resolve(name)) : null;
+        if (!DirectoryReader.indexExists(directory) && snapshot != null && Files.isDirectory(snapshot)) {
+            log.info("Restoring search index {} from snapshot", name);
+            try (Stream<Path> files = Files.list(snapshot)) {
+                for (Path file : files.toList()) {
+                    Files.copy(file, path.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+
+        boolean exists = DirectoryReader.indexExists(directory);
+        Map<String, String> committed = exists
+                ? Map.copyOf(SegmentInfos.readLatestCommit(directory).getUserData())
+                : Map.of();
+
+        SnapshotDeletionPolicy snapshots = new SnapshotDeletionPolicy(new KeepOnlyLastCommitDeletionPolicy());
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setIndexDeletionPolicy(snapshots);
+        IndexWriter writer = new IndexWriter(directory, config);
+        if (!exists) {
+            // An initial commit, so searchers and snapshots always have one to open
+            committed = commitData();
+            writer.setLiveCommitData(committed.entrySet());
+            writer.commit();
+        }
+        TenantIndex index = new TenantIndex(path, directory, writer, new SearcherManager(writer, null), snapshots);
+        index.committed = committed;
+        return index;
+    }
+
+    private Map<String, String> commitData() {
+        Map<String, String> data = new HashMap<>();
+        offsets.forEach((partition, offset) -> data.put(OFFSET_PREFIX + partition, Long.toString(offset)));
+        Build current = build;
+        if (current != null) {
+            data.put(BUILD_VERSION, current.version());
+            data.put(BUILD_PHASE, current.phase().name());
+            if (current.after() != null) {
+                data.put(BUILD_AFTER, current.after().toString());
+            }
+        }
+        return Map.copyOf(data);
+    }
+
+    /**
+     * Copies {@code commit} into a directory of its own, points {@code CURRENT}
+     * at it, then removes older copies except the one it replaced, which a
+     * restoring node may still be reading.
+     */
+    private static void publish(Path snapshots, Path source, IndexCommit commit) throws IOException {
+        String name = commit.getGeneration() + "-" + UUID.randomUUID();
+        Path copy = snapshots.resolve(name);
+        Files.createDirectories(copy);
+        for (String file : commit.getFileNames()) {
+            Files.copy(source.resolve(file), copy.resolve(file));
+        }
+
+        Path previous = currentSnapshot(snapshots);
+        Path pointer = snapshots.resolve(CURRENT + "." + name);
+        Files.writeString(pointer, name);
+        Files.move(pointer, snapshots.resolve(CURRENT), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        for (String old : directories(snapshots)) {
+            if (!old.equals(name) && (previous == null || !old.equals(previous.getFileName().toString()))) {
+                deleteRecursively(snapshots.resolve(old));
+            }
+        }
+    }
+
+    /**
+     * The tenant's published snapshot directory, or null if none was published.
+     */
+    private static Path currentSnapshot(Path snapshots) throws IOException {
+        Path pointer = snapshots.resolve(CURRENT);
+        if (!Files.isRegularFile(pointer)) {
+            return null;
+        }
+        return snapshots.resolve(Files.readString(pointer).trim());
+    }
+
+    private static List<String> directories(Path parent) throws IOException {
+        if (!Files.isDirectory(parent)) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        try (Stream<Path> children = Files.list(parent)) {
+            children.filter(Files::isDirectory)
+                    .map(child -> child.getFileName().toString())
+                    .forEach(names::add);
+        }
+        return names;
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    private static String encode(String tenantId) {
+        return URLEncoder.encode(tenantId, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String name) {
+        return URLDecoder.decode(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Position of a rebuild for the index {@code version}: documents of
+     * {@code phase} with an id above {@code after} (null for the first) are
+     * still to be indexed.
+     */
+    record Build(String version, Phase phase, UUID after) {
+
+        enum Phase {
+            THREADS,
+            POSTS,
+            DONE
+        }
+
+        static Build start(String version) {
+            return new Build(version, Phase.THREADS, null);
+        }
+
+        Build next(UUID lastId) {
+            return new Build(version, phase, lastId);
+        }
+
+        Build nextPhase() {
+            return new Build(version, phase == Phase.THREADS ? Phase.POSTS : Phase.DONE, null);
+        }
+
+        boolean isDone() {
+            return phase == Phase.DONE;
+        }
+
+        private static Build from(Map<String, String> committed) {
+            String version = committed.get(BUILD_VERSION);
+            if (version == null) {
+                return null;
+            }
+            String after = committed.get(BUILD_AFTER);
+            return new Build(version, Phase.valueOf(committed.get(BUILD_PHASE)),
+                    after != null ? UUID.fromString(after) : null);
+        }
+
+        /**
+         * The position that is not past the other. Ids compare as strings, the
+         * order Postgres sorts UUIDs in. Indexes for different versions, or one
+         * without a build, mean the whole rebuild starts again.
+         */
+        private static Build earlier(Build a, Build b) {
+            if (a == null || b == null || !a.version.equals(b.version)) {
+                return null;
+            }
+            if (a.phase != b.phase) {
+                return a.phase.compareTo(b.phase) < 0 ? a : b;
+            }
+            if (a.after == null || b.after == null) {
+                return a.after == null ? a : b;
+            }
+            return a.after.toString().compareTo(b.after.toString()) <= 0 ? a : b;
+        }
+    }
+
+    @FunctionalInterface
+    interface SearcherCallback<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+
+    private static final class TenantIndex {
+        private final Path path;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final SearcherManager searchers;
+        private final SnapshotDeletionPolicy snapshots;
+        private volatile Map<String, String> committed;
+
+        private TenantIndex(Path path, Directory directory, IndexWriter writer, SearcherManager searchers,
+                SnapshotDeletionPolicy snapshots) {
+            this.path = path;
+            this.directory = directory;
+            this.writer = writer;
+            this.searchers = searchers;
+            this.snapshots = snapshots;
+        }
+    }
+}
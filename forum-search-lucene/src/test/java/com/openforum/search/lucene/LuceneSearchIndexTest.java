@@ -0,0 +1,285 @@
+package com.openforum.search.lucene;
+
+import com.openforum.domain.aggregate.Post;
+import com.openforum.domain.aggregate.Thread;
+import com.openforum.domain.aggregate.ThreadStatus;
+import com.openforum.domain.repository.PostRepository;
+import com.openforum.domain.repository.SearchRepository;
+import com.openforum.domain.repository.ThreadRepository;
+import com.openforum.domain.valueobject.SearchCursor;
+import com.openforum.domain.valueobject.SearchDocument;
+import com.openforum.domain.valueobject.SearchHit;
+import com.openforum.domain.valueobject.SearchQuery;
+import com.openforum.domain.valueobject.SearchScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LuceneSearchIndexTest {
+
+    private static final String TENANT = "tenant-1";
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private ThreadRepository threadRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    private TenantIndexes indexes;
+    private LuceneIndexer indexer;
+    private LuceneSearchIndex searchIndex;
+
+    private final UUID categoryId = UUID.randomUUID();
+    private UUID threadId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        open();
+        threadId = thread(TENANT, "Postgres replication questions", ThreadStatus.OPEN);
+        post(TENANT, threadId, "Streaming replication lags behind during vacuum");
+        post(TENANT, threadId, "Logical replication needs a publication on the primary");
+        UUID other = thread("tenant-2", "Replication elsewhere", ThreadStatus.OPEN);
+        post("tenant-2", other, "Replication in another tenant");
+        indexes.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexes.destroy();
+    }
+
+    @Test
+    void search_shouldTolerateTyposAndMatchPrefixes() {
+        // Given a misspelling and a partially typed word
+        List<SearchHit> typo = searchIndex.search(query("replicaton", SearchScope.ALL, null));
+        List<SearchHit> prefix = searchIndex.search(query("stream", SearchScope.POSTS, null));
+
+        // Then
+        assertThat(typo).hasSize(3);
+        assertThat(prefix).extracting(SearchHit::snippet)
+                .singleElement().asString().contains("<b>Streaming</b>");
+        assertThat(prefix.get(0).title()).isEqualTo("Postgres replication questions");
+    }
+
+    @Test
+    void search_shouldEscapePostMarkupInSnippets() {
+        // Given
+        post(TENANT, threadId, "<script>alert('x')</script> quokka <img src=x onerror=alert(1)>");
+        indexes.refresh();
+
+        // When
+        List<SearchHit> hits = searchIndex.search(query("quokka", SearchScope.POSTS, null));
+
+        // Then
+        assertThat(hits).extracting(SearchHit::snippet).singleElement().asString()
+                .contains("<b>quokka</b>", "&lt;script&gt;")
+                .doesNotContain("<script", "<img");
+    }
+
+    @Test
+    void search_shouldIsolateTenantsAndApplyFilters() {
+        assertThat(searchIndex.search(query("replication", SearchScope.THREADS, null)))
+                .extracting(SearchHit::id).containsExactly(threadId);
+        assertThat(searchIndex.search(query("replication", SearchScope.ALL, UUID.randomUUID()))).isEmpty();
+        assertThat(searchIndex.search(query("replication -vacuum", SearchScope.POSTS, categoryId)))
+                .extracting(SearchHit::snippet).singleElement().asString().contains("Logical");
+        assertThat(searchIndex.search(new SearchQuery("unknown-tenant", "replication", SearchScope.ALL, null, null,
+                null, null, 10))).isEmpty();
+    }
+
+    @Test
+    void search_shouldPageByScoreThenId() {
+        List<SearchHit> all = searchIndex.search(query("replication", SearchScope.ALL, null));
+
+        List<UUID> paged = new ArrayList<>();
+        SearchCursor after = null;
+        for (int i = 0; i < all.size(); i++) {
+            List<SearchHit> page = searchIndex.search(new SearchQuery(TENANT, "replication", SearchScope.ALL, null,
+                    null, null, after, 1));
+            paged.add(page.get(0).id());
+            after = SearchCursor.of(page.get(0));
+        }
+
+        assertThat(paged).containsExactlyElementsOf(all.stream().map(SearchHit::id).toList());
+    }
+
+    @Test
+    void refreshThread_shouldDropArchivedThreadAndItsPosts() {
+        // Given
+        when(threadRepository.findById(threadId)).thenReturn(Optional.of(threadOf(threadId, TENANT,
+                "Postgres replication questions", ThreadStatus.ARCHIVED)));
+
+        // When
+        indexer.refreshThread(threadId);
+        indexes.refresh();
+
+        // Then
+        assertThat(searchIndex.search(query("replication", SearchScope.ALL, null))).isEmpty();
+    }
+
+    @Test
+    void refreshPost_shouldNotIndexPostsOfArchivedThreads() {
+        // Given
+        UUID archived = thread(TENANT, "Old announcements", ThreadStatus.ARCHIVED);
+
+        // When
+        post(TENANT, archived, "Archived sharding notes");
+        indexes.refresh();
+
+        // Then
+        assertThat(searchIndex.search(query("sharding", SearchScope.ALL, null))).isEmpty();
+    }
+
+    @Test
+    void snapshot_shouldRestoreIndexAndOffsetsOnEmptyNode() throws IOException {
+        // Given
+        indexes.recordOffset(0, 42);
+        indexes.commit();
+        indexes.snapshot();
+        indexes.destroy();
+
+        // When a node starts with an empty index directory but the same snapshots
+        indexes = new TenantIndexes(dir.resolve("fresh-node").toString(), dir.resolve("snapshots").toString());
+        searchIndex = new LuceneSearchIndex(indexes);
+
+        // Then
+        assertThat(indexes.resumeOffsets()).isEqualTo(Map.of(0, 42L));
+        assertThat(searchIndex.search(query("replication", SearchScope.ALL, null))).hasSize(3);
+    }
+
+    @Test
+    void snapshot_shouldPublishTheLatestCopyOnly() throws IOException {
+        // Given
+        indexes.commit();
+        indexes.snapshot();
+        post(TENANT, threadId, "Replication slots fill the disk");
+        indexes.commit();
+
+        // When
+        indexes.snapshot();
+        indexes.snapshot();
+        indexes.destroy();
+        indexes = new TenantIndexes(dir.resolve("fresh-node").toString(), dir.resolve("snapshots").toString());
+        searchIndex = new LuceneSearchIndex(indexes);
+
+        // Then the restored index has the new post, and only the current and previous copies remain
+        assertThat(searchIndex.search(query("replication", SearchScope.ALL, null))).hasSize(4);
+        try (Stream<Path> copies = Files.list(dir.resolve("snapshots").resolve(TENANT))) {
+            assertThat(copies.filter(Files::isDirectory)).hasSize(2);
+        }
+    }
+
+    @Test
+    void build_shouldIndexDatabaseDocumentsAndStartOverForNewVersion() throws IOException {
+        // Given a thread only the database knows about
+        UUID builtThread = UUID.randomUUID();
+        when(searchRepository.threadDocumentVersion()).thenReturn(1);
+        when(searchRepository.findThreadDocuments(null, 2)).thenReturn(List.of(new SearchDocument(
+                SearchHit.Kind.THREAD, builtThread, TENANT, builtThread, categoryId,
+                Instant.parse("2024-06-01T00:00:00Z"), "Kafka consumer lag",
+                "Kafka consumer lag Partitions fall behind the producer")));
+        when(searchRepository.findPostDocuments(null, 2)).thenReturn(List.of());
+        LuceneIndexBuilder builder = new LuceneIndexBuilder(indexes, indexer, searchRepository, 2, 10, Duration.ZERO);
+
+        // When
+        builder.build();
+        indexes.refresh();
+
+        // Then words of the opening post find the thread, and the finished build survives a restart
+        assertThat(searchIndex.search(query("partitions", SearchScope.THREADS, null)))
+                .extracting(SearchHit::id, SearchHit::title)
+                .containsExactly(tuple(builtThread, "Kafka consumer lag"));
+        assertThat(indexes.build().isDone()).isTrue();
+        indexes.commit();
+        indexes.destroy();
+        open();
+        assertThat(indexes.build()).isEqualTo(new TenantIndexes.Build(SearchDocuments.LAYOUT + ".1",
+                TenantIndexes.Build.Phase.DONE, null));
+
+        // When the thread document definition changes
+        when(searchRepository.threadDocumentVersion()).thenReturn(2);
+        builder = new LuceneIndexBuilder(indexes, indexer, searchRepository, 2, 10, Duration.ZERO);
+        builder.build();
+
+        // Then the build starts over
+        verify(searchRepository, times(2)).findThreadDocuments(null, 2);
+        assertThat(indexes.build().version()).isEqualTo(SearchDocuments.LAYOUT + ".2");
+    }
+
+    private void open() throws IOException {
+        indexes = new TenantIndexes(dir.resolve("index").toString(), dir.resolve("snapshots").toString());
+        indexer = new LuceneIndexer(indexes, threadRepository, postRepository, searchRepository);
+        searchIndex = new LuceneSearchIndex(indexes);
+    }
+
+    private SearchQuery query(String text, SearchScope scope, UUID category) {
+        return new SearchQuery(TENANT, text, scope, category, null, null, null, 10);
+    }
+
+    private UUID thread(String tenantId, String title, ThreadStatus status) {
+        UUID id = UUID.randomUUID();
+        when(threadRepository.findById(id)).thenReturn(Optional.of(threadOf(id, tenantId, title, status)));
+        when(searchRepository.findThreadDocument(id)).thenReturn(Optional.of(new SearchDocument(
+                SearchHit.Kind.THREAD, id, tenantId, id, categoryId, Instant.parse("2024-06-01T00:00:00Z"), title,
+                title)));
+        indexer.refreshThread(id);
+        return id;
+    }
+
+    private Thread threadOf(UUID id, String tenantId, String title, ThreadStatus status) {
+        return Thread.builder()
+                .id(id)
+                .tenantId(tenantId)
+                .authorId(UUID.randomUUID())
+                .categoryId(categoryId)
+                .title(title)
+                .status(status)
+                .createdAt(Instant.parse("2024-06-01T00:00:00Z"))
+                .build();
+    }
+
+    private void post(String tenantId, UUID thread, String content) {
+        Post post = Post.builder()
+                .id(UUID.randomUUID())
+                .threadId(thread)
+                .tenantId(tenantId)
+                .authorId(UUID.randomUUID())
+                .content(content)
+                .createdAt(Instant.parse("2024-06-02T00:00:00Z"))
+                .build();
+        when(postRepository.findById(post.getId())).thenReturn(Optional.of(post));
+        indexer.refreshPost(post.getId());
+    }
+}